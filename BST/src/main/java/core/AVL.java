@@ -1,10 +1,19 @@
 package core;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException; // For iterators
+import java.util.Objects;
 import java.util.LinkedList; // For printByLevels and iterators
 import java.util.Queue; // For printByLevels and iterators
-import java.util.Stack; // For iterators or iterative traversals
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
 
 public class AVL<T extends Comparable<? super T>> implements BSTreeInterface<T> {
 
@@ -16,10 +25,12 @@ public class AVL<T extends Comparable<? super T>> implements BSTreeInterface<T>
         AVLNode<T> left;
         AVLNode<T> right;
         int height;
+        int size; // Number of nodes in this subtree, for Kesimo, rank and select
 
         AVLNode(T data) {
             this.data = data;
             this.height = 0; // Height of a new leaf node is 0 (consistent with image's logic)
+            this.size = 1;
         }
 
         @Override
@@ -57,9 +68,15 @@ public class AVL<T extends Comparable<? super T>> implements BSTreeInterface<T>
         return (node == null) ? -1 : node.height; // Null nodes have height -1
     }
 
+    private int size(AVLNode<T> node) {
+        return (node == null) ? 0 : node.size;
+    }
+
+    // Height and size both depend only on the children, so they are updated together
     private void updateHeight(AVLNode<T> node) {
         if (node != null) {
             node.height = 1 + Math.max(height(node.left), height(node.right));
+            node.size = 1 + size(node.left) + size(node.right);
         }
     }
 
@@ -76,7 +93,7 @@ public class AVL<T extends Comparable<? super T>> implements BSTreeInterface<T>
         x.right = y;
         y.left = T2;
 
-        // Update heights
+        // Update heights (and sizes)
         updateHeight(y);
         updateHeight(x);
 
@@ -91,13 +108,374 @@ public class AVL<T extends Comparable<? super T>> implements BSTreeInterface<T>
         y.left = x;
         x.right = T2;
 
-        // Update heights
+        // Update heights (and sizes)
         updateHeight(x);
         updateHeight(y);
 
         return y; // New root of this subtree
     }
 
+    // Restores the AVL property at node after one of its subtrees changed height by at most 2
+    private AVLNode<T> rebalance(AVLNode<T> node) {
+        updateHeight(node);
+        int balance = getBalanceFactor(node);
+        if (balance > 1) {
+            if (getBalanceFactor(node.left) < 0) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (getBalanceFactor(node.right) > 0) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    // Bulk construction
+
+    // Builds a perfectly balanced AVL from sorted input in O(n). Repeated
+    // elements are kept once (as insert does) and nulls are skipped
+    public static <T extends Comparable<? super T>> AVL<T> fromSorted(T[] sorted) {
+        return fromSorted(Arrays.asList(sorted));
+    }
+
+    public static <T extends Comparable<? super T>> AVL<T> fromSorted(List<T> sorted) {
+        AVL<T> tree = new AVL<>();
+        Object[] elements = sorted.toArray();
+        int count = distinct(elements, true);
+        tree.root = tree.build(elements, 0, count);
+        return tree;
+    }
+
+    // Sorts a copy of the elements in parallel and builds the tree as fromSorted does
+    public static <T extends Comparable<? super T>> AVL<T> bulkLoad(Collection<? extends T> elements) {
+        AVL<T> tree = new AVL<>();
+        tree.root = tree.buildUnsorted(elements);
+        return tree;
+    }
+
+    // Adds every element not already in the tree: the new ones are sorted and
+    // built into a balanced tree, which is then merged with this one by
+    // split/join (O(m log(n/m + 1)) instead of m inserts). Returns whether
+    // the tree changed
+    public boolean addAll(Collection<? extends T> elements) {
+        int before = size(root);
+        root = union(root, buildUnsorted(elements));
+        return size(root) != before;
+    }
+
+    private AVLNode<T> buildUnsorted(Collection<? extends T> elements) {
+        Object[] array = elements.stream().filter(Objects::nonNull).toArray();
+        Arrays.parallelSort(array, (Comparator<Object>) AVL::compareElements);
+        return build(array, 0, distinct(array, false));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<? super T>> int compareElements(Object a, Object b) {
+        return ((T) a).compareTo((T) b);
+    }
+
+    // Compacts sorted elements in place, dropping repeats (and nulls if
+    // there may be any). Returns how many are left
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<? super T>> int distinct(Object[] elements, boolean checkOrder) {
+        int count = 0;
+        for (int i = 0; i < elements.length; i++) {
+            T element = (T) elements[i];
+            if (element == null) {
+                continue;
+            }
+            if (count > 0) {
+                int compareResult = element.compareTo((T) elements[count - 1]);
+                if (compareResult < 0 && checkOrder) {
+                    throw new IllegalArgumentException(String.format("Input is not sorted at index %d", i));
+                }
+                if (compareResult == 0) {
+                    continue;
+                }
+            }
+            elements[count++] = element;
+        }
+        return count;
+    }
+
+    // Middle element as root, recursion depth log n; heights and sizes are set bottom-up
+    @SuppressWarnings("unchecked")
+    private AVLNode<T> build(Object[] sorted, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        AVLNode<T> node = new AVLNode<>((T) sorted[middle]);
+        node.left = build(sorted, from, middle);
+        node.right = build(sorted, middle + 1, to);
+        updateHeight(node);
+        return node;
+    }
+
+    // Split, join and set operations
+    //
+    // They reuse the nodes of the trees they get, so those trees are left
+    // empty (use copy() to keep one). Set operations follow the join-based
+    // algorithms: split the first tree by the root of the second, solve both
+    // sides and join, which is O(m log(n/m + 1)) for sizes m <= n. Both sides
+    // touch disjoint subtrees, so while both trees have PARALLEL_THRESHOLD
+    // nodes or more they run as fork-join tasks in the common pool.
+
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    // The trees on each side of a split key
+    public static final class Split<T extends Comparable<? super T>> {
+        private final AVL<T> left;
+        private final AVL<T> right;
+        private final boolean found;
+
+        private Split(AVL<T> left, AVL<T> right, boolean found) {
+            this.left = left;
+            this.right = right;
+            this.found = found;
+        }
+
+        // Elements smaller than the key
+        public AVL<T> getLeft() {
+            return left;
+        }
+
+        // Elements greater than the key
+        public AVL<T> getRight() {
+            return right;
+        }
+
+        // Whether the key was in the tree (it is in neither side)
+        public boolean isFound() {
+            return found;
+        }
+    }
+
+    // Splits this tree by key in O(log n). This tree is left empty
+    public Split<T> split(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Split key cannot be null");
+        }
+        Parts<T> parts = split(root, key);
+        root = null;
+        return new Split<>(withRoot(parts.left), withRoot(parts.right), parts.found);
+    }
+
+    // Joins left, key and right into one tree in O(|height(left) - height(right)|).
+    // Every element of left must be smaller than key and every element of right
+    // greater. left and right are left empty
+    public static <T extends Comparable<? super T>> AVL<T> join(AVL<T> left, T key, AVL<T> right) {
+        if (key == null) {
+            throw new IllegalArgumentException("Join key cannot be null");
+        }
+        if ((left.root != null && left.getMax().compareTo(key) >= 0)
+                || (right.root != null && right.getMin().compareTo(key) <= 0)) {
+            throw new IllegalArgumentException(
+                    String.format("Join needs left < %s < right", key));
+        }
+        AVL<T> result = new AVL<>();
+        result.root = result.join(left.root, new AVLNode<>(key), right.root);
+        left.root = null;
+        right.root = null;
+        return result;
+    }
+
+    // Elements in a or b. a and b are left empty
+    public static <T extends Comparable<? super T>> AVL<T> union(AVL<T> a, AVL<T> b) {
+        AVL<T> result = new AVL<>();
+        if (a == b) {
+            result.root = a.root;
+        } else {
+            result.root = result.run(work(a.root, b.root), () -> result.union(a.root, b.root));
+        }
+        a.root = null;
+        b.root = null;
+        return result;
+    }
+
+    // Elements in both a and b. a and b are left empty
+    public static <T extends Comparable<? super T>> AVL<T> intersection(AVL<T> a, AVL<T> b) {
+        AVL<T> result = new AVL<>();
+        if (a == b) {
+            result.root = a.root;
+        } else {
+            result.root = result.run(work(a.root, b.root), () -> result.intersection(a.root, b.root));
+        }
+        a.root = null;
+        b.root = null;
+        return result;
+    }
+
+    // Elements in a and not in b. a and b are left empty
+    public static <T extends Comparable<? super T>> AVL<T> difference(AVL<T> a, AVL<T> b) {
+        AVL<T> result = new AVL<>();
+        if (a != b) {
+            result.root = result.run(work(a.root, b.root), () -> result.difference(a.root, b.root));
+        }
+        a.root = null;
+        b.root = null;
+        return result;
+    }
+
+    // A copy with new nodes, in O(n)
+    public AVL<T> copy() {
+        AVL<T> result = withRoot(copy(root));
+        result.aTraversal = aTraversal;
+        return result;
+    }
+
+    private AVLNode<T> copy(AVLNode<T> node) {
+        if (node == null) {
+            return null;
+        }
+        AVLNode<T> result = new AVLNode<>(node.data);
+        result.left = copy(node.left);
+        result.right = copy(node.right);
+        result.height = node.height;
+        result.size = node.size;
+        return result;
+    }
+
+    private static <T extends Comparable<? super T>> AVL<T> withRoot(AVLNode<T> root) {
+        AVL<T> tree = new AVL<>();
+        tree.root = root;
+        return tree;
+    }
+
+    // The cost grows with the smaller tree, so that is what decides whether to fork
+    private static int work(AVLNode<?> a, AVLNode<?> b) {
+        return Math.min(a == null ? 0 : a.size, b == null ? 0 : b.size);
+    }
+
+    // Large operations start inside the common pool, so their forks are stolen
+    private AVLNode<T> run(int work, Supplier<AVLNode<T>> operation) {
+        if (work < PARALLEL_THRESHOLD) {
+            return operation.get();
+        }
+        return ForkJoinPool.commonPool().invoke(ForkJoinTask.adapt(operation::get));
+    }
+
+    // Solves the left side in another task if the subtrees are large enough
+    private AVLNode<T> both(int work, Supplier<AVLNode<T>> leftSide, Supplier<AVLNode<T>> rightSide,
+            BinaryOperator<AVLNode<T>> combine) {
+        if (work < PARALLEL_THRESHOLD) {
+            return combine.apply(leftSide.get(), rightSide.get());
+        }
+        ForkJoinTask<AVLNode<T>> left = ForkJoinTask.adapt(leftSide::get).fork();
+        AVLNode<T> right = rightSide.get();
+        return combine.apply(left.join(), right);
+    }
+
+    private static class Parts<T extends Comparable<? super T>> {
+        AVLNode<T> left; // Elements smaller than the key
+        AVLNode<T> right; // Elements greater than the key
+        boolean found;
+    }
+
+    private Parts<T> split(AVLNode<T> node, T key) {
+        if (node == null) {
+            return new Parts<>();
+        }
+        int compareResult = key.compareTo(node.data);
+        if (compareResult == 0) {
+            Parts<T> result = new Parts<>();
+            result.left = node.left;
+            result.right = node.right;
+            result.found = true;
+            return result;
+        }
+        AVLNode<T> left = node.left;
+        AVLNode<T> right = node.right;
+        if (compareResult < 0) {
+            Parts<T> result = split(left, key);
+            result.right = join(result.right, node, right);
+            return result;
+        }
+        Parts<T> result = split(right, key);
+        result.left = join(left, node, result.left);
+        return result;
+    }
+
+    // Every element of left < middle.data < every element of right. O(|height difference|)
+    private AVLNode<T> join(AVLNode<T> left, AVLNode<T> middle, AVLNode<T> right) {
+        if (height(left) > height(right) + 1) {
+            left.right = join(left.right, middle, right);
+            return rebalance(left);
+        }
+        if (height(right) > height(left) + 1) {
+            right.left = join(left, middle, right.left);
+            return rebalance(right);
+        }
+        middle.left = left;
+        middle.right = right;
+        updateHeight(middle);
+        return middle;
+    }
+
+    // Join without a middle key: the maximum of left takes that place
+    private AVLNode<T> join(AVLNode<T> left, AVLNode<T> right) {
+        if (left == null) {
+            return right;
+        }
+        AVLNode<T> max = left;
+        while (max.right != null) {
+            max = max.right;
+        }
+        return join(removeMax(left), max, right);
+    }
+
+    private AVLNode<T> removeMax(AVLNode<T> node) {
+        if (node.right == null) {
+            return node.left;
+        }
+        node.right = removeMax(node.right);
+        return rebalance(node);
+    }
+
+    // Union of two trees; on repeats the node of b is kept
+    private AVLNode<T> union(AVLNode<T> a, AVLNode<T> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        int work = work(a, b);
+        AVLNode<T> left = b.left;
+        AVLNode<T> right = b.right;
+        Parts<T> parts = split(a, b.data);
+        return both(work, () -> union(parts.left, left), () -> union(parts.right, right),
+                (l, r) -> join(l, b, r));
+    }
+
+    private AVLNode<T> intersection(AVLNode<T> a, AVLNode<T> b) {
+        if (a == null || b == null) {
+            return null;
+        }
+        int work = work(a, b);
+        AVLNode<T> left = b.left;
+        AVLNode<T> right = b.right;
+        Parts<T> parts = split(a, b.data);
+        return both(work, () -> intersection(parts.left, left), () -> intersection(parts.right, right),
+                (l, r) -> parts.found ? join(l, b, r) : join(l, r));
+    }
+
+    private AVLNode<T> difference(AVLNode<T> a, AVLNode<T> b) {
+        if (a == null || b == null) {
+            return a;
+        }
+        int work = work(a, b);
+        AVLNode<T> left = b.left;
+        AVLNode<T> right = b.right;
+        Parts<T> parts = split(a, b.data);
+        return both(work, () -> difference(parts.left, left), () -> difference(parts.right, right),
+                this::join);
+    }
+
     // BSTreeInterface methods implementation
 
     @Override
@@ -132,6 +510,7 @@ public class AVL<T extends Comparable<? super T>> implements BSTreeInterface<T>
         int leftChildEffectiveHeight = (node.left == null) ? -1 : node.left.height;
         int rightChildEffectiveHeight = (node.right == null) ? -1 : node.right.height;
         node.height = 1 + Math.max(leftChildEffectiveHeight, rightChildEffectiveHeight);
+        node.size = 1 + size(node.left) + size(node.right);
 
         // 3. Get the balance factor for rotation decisions (using image's implied logic)
         int balance = leftChildEffectiveHeight - rightChildEffectiveHeight;
@@ -296,40 +675,30 @@ public class AVL<T extends Comparable<? super T>> implements BSTreeInterface<T>
         // For simplicity, only implementing InOrder iterator here.
         // BYLEVELS could be implemented similarly to BSTLevelOrderIterator if needed.
         if (aTraversal == Traversal.INORDER) {
-            return new AVLInOrderIterator();
+            return new TreeRangeIterator<>(root, null, true, null, true, false);
         } else if (aTraversal == Traversal.BYLEVELS) {
              return new AVLLevelOrderIterator();
         }
         throw new UnsupportedOperationException("Traversal type not supported yet for AVL iterator.");
     }
 
-    private class AVLInOrderIterator implements Iterator<T> {
-        private Stack<AVLNode<T>> stack;
-        private AVLNode<T> current;
-
-        public AVLInOrderIterator() {
-            stack = new Stack<>();
-            this.current = AVL.this.root;
-        }
+    @Override
+    public Iterator<T> iterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return new TreeRangeIterator<>(root, from, fromInclusive, to, toInclusive, false);
+    }
 
-        @Override
-        public boolean hasNext() {
-            return !stack.isEmpty() || current != null;
-        }
+    @Override
+    public Iterator<T> descendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return new TreeRangeIterator<>(root, from, fromInclusive, to, toInclusive, true);
+    }
 
-        @Override
-        public T next() {
-            while (current != null) {
-                stack.push(current);
-                current = current.left;
-            }
-            if (stack.isEmpty()) {
-                throw new NoSuchElementException();
-            }
-            AVLNode<T> node = stack.pop();
-            current = node.right;
-            return node.data;
-        }
+    @Override
+    public Spliterator<T> spliterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        // Exact range size from the subtree sizes: O(log n)
+        int below = (from == null) ? 0 : countBelow(from, !fromInclusive);
+        int above = (to == null) ? 0 : size(root) - countBelow(to, toInclusive);
+        return new TreeRangeSpliterator<>(root, from, fromInclusive, to, toInclusive,
+                Math.max(0, size(root) - below - above));
     }
     
     private class AVLLevelOrderIterator implements Iterator<T> {
@@ -453,27 +822,68 @@ public class AVL<T extends Comparable<? super T>> implements BSTreeInterface<T>
 
     @Override
     public T Kesimo(int k) {
-        // This can be implemented with an in-order traversal approach, similar to BST.
-        // The AVL property doesn't change the logic for finding k-th smallest.
-        if (k <= 0 || root == null) {
+        // k-th smallest (1-based) is the element of rank k - 1
+        if (k <= 0) {
+            return null;
+        }
+        return select(k - 1);
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public int rank(T element) {
+        if (element == null) {
+            return 0;
+        }
+        return countBelow(element, false);
+    }
+
+    @Override
+    public int countInRange(T lo, T hi) {
+        if (lo == null || hi == null || lo.compareTo(hi) > 0) {
+            return 0;
+        }
+        return countBelow(hi, true) - countBelow(lo, false);
+    }
+
+    @Override
+    public T select(int rank) {
+        if (rank < 0 || rank >= size(root)) {
             return null;
         }
-        Stack<AVLNode<T>> stack = new Stack<>();
+        // Descend using the left subtree sizes: O(log n)
         AVLNode<T> current = root;
-        int count = 0;
-        while (current != null || !stack.isEmpty()) {
-            while (current != null) {
-                stack.push(current);
+        while (true) {
+            int leftSize = size(current.left);
+            if (rank < leftSize) {
                 current = current.left;
-            }
-            current = stack.pop();
-            count++;
-            if (count == k) {
+            } else if (rank == leftSize) {
                 return current.data;
+            } else {
+                rank -= leftSize + 1;
+                current = current.right;
+            }
+        }
+    }
+
+    // Number of elements smaller than (or, if inclusive, not greater than) element
+    private int countBelow(T element, boolean inclusive) {
+        int count = 0;
+        AVLNode<T> current = root;
+        while (current != null) {
+            int compareResult = current.data.compareTo(element);
+            if (compareResult < 0 || (inclusive && compareResult == 0)) {
+                count += size(current.left) + 1;
+                current = current.right;
+            } else {
+                current = current.left;
             }
-            current = current.right;
         }
-        return null; // k is out of bounds
+        return count;
     }
 
     @Override
@@ -1,18 +1,40 @@
 package core;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Queue;
+import java.util.Spliterator;
 import java.util.LinkedList;
 import java.util.NoSuchElementException;
 import java.util.Stack;
 
 public class BST<T extends Comparable<? super T>> implements BSTreeInterface<T> {
+    // NONE: el arbol queda como lo dejan los insert (con claves ordenadas es
+    // una lista). SCAPEGOAT: si un insert queda a mas de log_{3/2}(n) de la
+    // raiz se rearma balanceado el subarbol del primer ancestro con un hijo de
+    // mas de 2/3 de su size, y si los remove dejan menos de 2/3 del maximo se
+    // rearma todo. Usa los size que ya estan en los nodos y no cambia el
+    // contrato: los repetidos se mantienen y siguen en orden
+    public enum Balancing { NONE, SCAPEGOAT }
+
+    private static final double LOG_3_2 = Math.log(1.5);
+
     private Node<T> root;
     private Traversal aTraversal;
+    private final Balancing balancing;
+    // el mayor size desde el ultimo rearmado completo (SCAPEGOAT)
+    private int maxSize;
 
     public BST() {
+        this(Balancing.NONE);
+    }
+
+    public BST(Balancing balancing) {
         root = null;
         aTraversal = Traversal.BYLEVELS; // default traversal
+        this.balancing = balancing;
     }
 
     @Override
@@ -24,7 +46,7 @@ public class BST<T extends Comparable<? super T>> implements BSTreeInterface<T>
     public Iterator<T> iterator() {
         switch (aTraversal) {
             case BYLEVELS: return new BSTLevelOrderIterator();
-            case INORDER: return new BSTInOrderIterator();
+            case INORDER: return new TreeRangeIterator<>(root, null, true, null, true, false);
             default: throw new RuntimeException("Invalid traversal parameter");
         }
     }
@@ -60,36 +82,91 @@ public class BST<T extends Comparable<? super T>> implements BSTreeInterface<T>
         }
     }
 
-    private class BSTInOrderIterator implements Iterator<T> {
-        private Stack<NodeTreeInterface<T>> stack;
-        private NodeTreeInterface<T> current;
+    @Override
+    public Iterator<T> iterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return new TreeRangeIterator<>(root, from, fromInclusive, to, toInclusive, false);
+    }
 
-        public BSTInOrderIterator() {
-            stack = new Stack<>();
-            current = root;
-        }
+    @Override
+    public Iterator<T> descendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return new TreeRangeIterator<>(root, from, fromInclusive, to, toInclusive, true);
+    }
 
-        @Override
-        public boolean hasNext() {
-            return !stack.isEmpty() || current != null;
+    @Override
+    public Spliterator<T> spliterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        // el tamano exacto del rango sale de los size: O(altura)
+        int below = (from == null) ? 0 : countBelow(from, !fromInclusive);
+        int above = (to == null) ? 0 : Node.size(root) - countBelow(to, toInclusive);
+        return new TreeRangeSpliterator<>(root, from, fromInclusive, to, toInclusive,
+                Math.max(0, Node.size(root) - below - above));
+    }
+
+    // Iterativo: los repetidos van a la derecha
+    @Override
+    public void insert(T data) {
+        Node<T> node = new Node<>(data);
+        if (root == null) {
+            root = node;
+            maxSize = 1;
+            return;
         }
 
-        @Override
-        public T next() {
-            while (current != null) {
-                stack.push(current);
-                current = current.getLeft();
+        Node<T> current = root;
+        int depth = 1;
+        while (true) {
+            current.addToSize(1);
+            if (data.compareTo(current.getData()) < 0) {
+                if (current.getLeft() == null) {
+                    current.setLeft(node);
+                    break;
+                }
+                current = (Node<T>)current.getLeft();
+            } else {
+                if (current.getRight() == null) {
+                    current.setRight(node);
+                    break;
+                }
+                current = (Node<T>)current.getRight();
             }
+            depth++;
+        }
 
-            NodeTreeInterface<T> elementToProcess = stack.pop();
-            current = elementToProcess.getRight();
-            return elementToProcess.getData();
+        if (balancing == Balancing.SCAPEGOAT) {
+            maxSize = Math.max(maxSize, root.getSize());
+            if (depth > Math.log(root.getSize()) / LOG_3_2) {
+                rebuildScapegoat(node);
+            }
         }
     }
 
-    @Override
-    public void insert(T data) {
-        root = insertRec(root, data);
+    // Sube desde el nodo insertado hasta el primer ancestro desbalanceado
+    // (un hijo con mas de 2/3 de su size) y lo rearma. Siempre existe si el
+    // nodo quedo a mas de log_{3/2}(n) de la raiz
+    private void rebuildScapegoat(Node<T> inserted) {
+        List<Node<T>> path = new ArrayList<>();
+        Node<T> current = root;
+        while (current != inserted) {
+            path.add(current);
+            current = (Node<T>)(inserted.getData().compareTo(current.getData()) < 0
+                    ? current.getLeft() : current.getRight());
+        }
+
+        Node<T> child = inserted;
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node<T> node = path.get(i);
+            if (3 * child.getSize() > 2 * node.getSize()) {
+                Node<T> rebuilt = Node.rebuild(node);
+                if (i == 0) {
+                    root = rebuilt;
+                } else if (path.get(i - 1).getLeft() == node) {
+                    path.get(i - 1).setLeft(rebuilt);
+                } else {
+                    path.get(i - 1).setRight(rebuilt);
+                }
+                return;
+            }
+            child = node;
+        }
     }
 
     public void insertDelegated(T data) {
@@ -100,20 +177,6 @@ public class BST<T extends Comparable<? super T>> implements BSTreeInterface<T>
         }
     }
 
-    private Node<T> insertRec(Node<T> current, T data) {
-        if (current == null) {
-            return new Node<>(data);
-        }
-
-        if (data.compareTo(current.getData()) < 0) {
-            current.setLeft(insertRec((Node<T>)current.getLeft(), data));
-        } else {
-            current.setRight(insertRec((Node<T>)current.getRight(), data));
-        }
-
-        return current;
-    }
-
     @Override
     public void preOrder() {
         preOrderRec(root);
@@ -175,46 +238,52 @@ public class BST<T extends Comparable<? super T>> implements BSTreeInterface<T>
         return root;
     }
 
+    // cantidad de niveles, recorriendo por niveles para no depender de la
+    // pila en arboles degenerados
     @Override
     public int getHeight() {
-        return getHeightRec(root);
-    }
-
-    private int getHeightRec(Node<T> node) {
-        if (node == null) {
-            return 0;
+        int height = 0;
+        ArrayDeque<NodeTreeInterface<T>> level = new ArrayDeque<>();
+        if (root != null) {
+            level.add(root);
+        }
+        while (!level.isEmpty()) {
+            height++;
+            for (int i = level.size(); i > 0; i--) {
+                NodeTreeInterface<T> node = level.poll();
+                if (node.getLeft() != null) {
+                    level.add(node.getLeft());
+                }
+                if (node.getRight() != null) {
+                    level.add(node.getRight());
+                }
+            }
         }
-        return 1 + Math.max(getHeightRec((Node<T>)node.getLeft()), 
-                           getHeightRec((Node<T>)node.getRight()));
+        return height;
     }
 
     @Override
     public void remove(T data) {
         if (root != null) {
             root = root.remove(data);
+            if (balancing == Balancing.SCAPEGOAT && 3 * size() < 2 * maxSize) {
+                root = Node.rebuild(root);
+                maxSize = size();
+            }
         }
     }
 
     @Override
     public boolean contains(T myData) {
-        return containsRec(root, myData);
-    }
-
-    private boolean containsRec(Node<T> current, T myData) {
-        if (current == null) {
-            return false;
-        }
-        
-        int comparison = myData.compareTo(current.getData());
-        if (comparison == 0) {
-            return true;
-        }
-        
-        if (comparison < 0) {
-            return containsRec((Node<T>)current.getLeft(), myData);
-        } else {
-            return containsRec((Node<T>)current.getRight(), myData);
+        NodeTreeInterface<T> current = root;
+        while (current != null) {
+            int comparison = myData.compareTo(current.getData());
+            if (comparison == 0) {
+                return true;
+            }
+            current = comparison < 0 ? current.getLeft() : current.getRight();
         }
+        return false;
     }
 
     @Override
@@ -222,14 +291,11 @@ public class BST<T extends Comparable<? super T>> implements BSTreeInterface<T>
         if (root == null) {
             return null;
         }
-        return getMaxRec(root);
-    }
-
-    private T getMaxRec(Node<T> current) {
-        if (current.getRight() == null) {
-            return current.getData();
+        NodeTreeInterface<T> current = root;
+        while (current.getRight() != null) {
+            current = current.getRight();
         }
-        return getMaxRec((Node<T>)current.getRight());
+        return current.getData();
     }
 
     @Override
@@ -237,14 +303,11 @@ public class BST<T extends Comparable<? super T>> implements BSTreeInterface<T>
         if (root == null) {
             return null;
         }
-        return getMinRec(root);
-    }
-
-    private T getMinRec(Node<T> current) {
-        if (current.getLeft() == null) {
-            return current.getData();
+        NodeTreeInterface<T> current = root;
+        while (current.getLeft() != null) {
+            current = current.getLeft();
         }
-        return getMinRec((Node<T>)current.getLeft());
+        return current.getData();
     }
 
     @Override
@@ -282,54 +345,75 @@ public class BST<T extends Comparable<? super T>> implements BSTreeInterface<T>
         if (root == null || element == null) {
             return 0;
         }
-        return getOcurrencesRec(root, element);
+        // los repetidos pueden quedar a ambos lados despues de un remove,
+        // asi que se cuentan con los size en lugar de buscarlos
+        return countInRange(element, element);
     }
 
-    private int getOcurrencesRec(Node<T> current, T element) {
-        if (current == null) {
+    @Override
+    public T Kesimo(int k) {
+        if (k <= 0) {
+            return null;
+        }
+        return select(k - 1);
+    }
+
+    @Override
+    public int size() {
+        return Node.size(root);
+    }
+
+    @Override
+    public int rank(T element) {
+        if (element == null) {
             return 0;
         }
+        return countBelow(element, false);
+    }
 
-        int comparison = element.compareTo(current.getData());
-        
-        if (comparison == 0) {
-            return 1 + getOcurrencesRec((Node<T>)current.getRight(), element);
-        } else if (comparison < 0) {
-            return getOcurrencesRec((Node<T>)current.getLeft(), element);
-        } else { // comparison > 0
-            return getOcurrencesRec((Node<T>)current.getRight(), element);
+    @Override
+    public int countInRange(T lo, T hi) {
+        if (lo == null || hi == null || lo.compareTo(hi) > 0) {
+            return 0;
         }
+        return countBelow(hi, true) - countBelow(lo, false);
     }
 
     @Override
-    public T Kesimo(int k) {
-        if (k <= 0 || root == null) {
+    public T select(int rank) {
+        if (rank < 0 || rank >= Node.size(root)) {
             return null;
         }
-
-        Stack<NodeTreeInterface<T>> stack = new Stack<>();
-        NodeTreeInterface<T> current = root;
-        int count = 0;
-
-        while (current != null || !stack.isEmpty()) {
-            // Go as far left as possible
-            while (current != null) {
-                stack.push(current);
-                current = current.getLeft();
-            }
-
-            // Process the current node (from stack)
-            current = stack.pop();
-            count++;
-            if (count == k) {
+        Node<T> current = root;
+        while (true) {
+            int leftSize = Node.size((Node<T>)current.getLeft());
+            if (rank < leftSize) {
+                current = (Node<T>)current.getLeft();
+            } else if (rank == leftSize) {
                 return current.getData();
+            } else {
+                rank -= leftSize + 1;
+                current = (Node<T>)current.getRight();
             }
+        }
+    }
 
-            // Move to the right subtree
-            current = current.getRight();
+    // Elementos menores (o menores o iguales si inclusive) que element: un
+    // solo camino desde la raiz, sumando el subarbol izquierdo de cada nodo
+    // que queda a la izquierda de element
+    private int countBelow(T element, boolean inclusive) {
+        int count = 0;
+        Node<T> current = root;
+        while (current != null) {
+            int comparison = current.getData().compareTo(element);
+            if (comparison < 0 || (inclusive && comparison == 0)) {
+                count += Node.size((Node<T>)current.getLeft()) + 1;
+                current = (Node<T>)current.getRight();
+            } else {
+                current = (Node<T>)current.getLeft();
+            }
         }
-        // k is larger than the number of nodes in the tree or other issues
-        return null; 
+        return count;
     }
 
     @Override
@@ -1,5 +1,10 @@
 package core;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 public interface BSTreeInterface<T extends Comparable<? super T>> extends Iterable<T> {
 
 	enum Traversal { BYLEVELS, INORDER }
@@ -32,6 +37,40 @@ public interface BSTreeInterface<T extends Comparable<? super T>> extends Iterab
 
 	T Kesimo(int k);
 
+	// cantidad de elementos, contando los repetidos
+	int size();
+
+	// cantidad de elementos estrictamente menores que element
+	int rank(T element);
+
+	// cantidad de elementos en [lo, hi]
+	int countInRange(T lo, T hi);
+
+	// el elemento con ese rank (0 es el minimo), o null si no existe
+	T select(int rank);
+
+	// Recorre en orden los elementos entre from y to, sin importar
+	// setTraversal. Un extremo null es sin cota
+	Iterator<T> iterator(T from, boolean fromInclusive, T to, boolean toInclusive);
+
+	// el mismo rango de mayor a menor
+	Iterator<T> descendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive);
+
+	default Iterator<T> descendingIterator() {
+		return descendingIterator(null, true, null, true);
+	}
+
+	// en orden, se parte por subarboles para stream().parallel()
+	Spliterator<T> spliterator(T from, boolean fromInclusive, T to, boolean toInclusive);
+
+	default Stream<T> stream(T from, boolean fromInclusive, T to, boolean toInclusive) {
+		return StreamSupport.stream(spliterator(from, fromInclusive, to, toInclusive), false);
+	}
+
+	default Stream<T> stream() {
+		return stream(null, true, null, true);
+	}
+
 	T getCommonNode(T element1, T element2);
 
 	T getCommonNodeWithRepeated(T element1, T element2);
@@ -1,14 +1,19 @@
 package core;
 
+import java.util.ArrayDeque;
+
 public class Node<T extends Comparable<? super T>> implements NodeTreeInterface<T> {
     private T data;
     private Node<T> left;
     private Node<T> right;
+    // cantidad de nodos del subarbol (para Kesimo, rank, etc.)
+    private int size;
 
     public Node(T data) {
         this.data = data;
         this.left = null;
         this.right = null;
+        this.size = 1;
     }
 
     @Override
@@ -26,71 +31,154 @@ public class Node<T extends Comparable<? super T>> implements NodeTreeInterface<
         return right;
     }
 
+    public int getSize() {
+        return size;
+    }
+
+    static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
     public void setLeft(Node<T> left) {
         this.left = left;
+        updateSize();
     }
 
     public void setRight(Node<T> right) {
         this.right = right;
+        updateSize();
+    }
+
+    // los hijos ya tienen su size correcto
+    void updateSize() {
+        size = 1 + size(left) + size(right);
+    }
+
+    // para los insert iterativos, que suman 1 en cada nodo del camino
+    void addToSize(int delta) {
+        size += delta;
     }
 
+    // Iterativo: un arbol degenerado (claves ordenadas) no desborda la pila.
+    // No inserta repetidos
     public Node<T> insert(T value) {
-        if (value.compareTo(data) < 0) {
-            if (left == null) {
-                left = new Node<>(value);
-            } else {
-                left = left.insert(value);
+        Node<T> current = this;
+        while (true) {
+            int comparison = value.compareTo(current.data);
+            if (comparison == 0) {
+                break;
+            }
+            current = comparison < 0 ? current.left : current.right;
+            if (current == null) {
+                break;
             }
-        } else if (value.compareTo(data) > 0) {
-            if (right == null) {
-                right = new Node<>(value);
+        }
+        if (current != null) {
+            return this;
+        }
+
+        // no estaba: una segunda pasada suma 1 a cada size del camino
+        current = this;
+        while (true) {
+            current.size++;
+            if (value.compareTo(current.data) < 0) {
+                if (current.left == null) {
+                    current.left = new Node<>(value);
+                    return this;
+                }
+                current = current.left;
             } else {
-                right = right.insert(value);
+                if (current.right == null) {
+                    current.right = new Node<>(value);
+                    return this;
+                }
+                current = current.right;
             }
         }
-        return this;
     }
 
+    // Iterativo. Devuelve la nueva raiz de este subarbol
     public Node<T> remove(T value) {
-        if (value.compareTo(data) < 0) {
-            if (left != null) {
-                left = left.remove(value);
-            }
+        Node<T> parent = null;
+        Node<T> current = this;
+        while (current != null && value.compareTo(current.data) != 0) {
+            parent = current;
+            current = value.compareTo(current.data) < 0 ? current.left : current.right;
+        }
+        if (current == null) {
             return this;
-        } 
-        if (value.compareTo(data) > 0) {
-            if (right != null) {
-                right = right.remove(value);
+        }
+
+        // Caso: encontramos el nodo a eliminar (value.compareTo(data) == 0).
+        // Ahora si se sabe que sale uno: cada size del camino baja en 1
+        for (Node<T> node = this; node != current; node = value.compareTo(node.data) < 0 ? node.left : node.right) {
+            node.size--;
+        }
+
+        // R3: Si tiene dos hijos
+        if (current.left != null && current.right != null) {
+            // Buscamos el mayor del subárbol izquierdo (predecesor), que no
+            // tiene hijo derecho, copiamos su dato y lo salteamos
+            current.size--;
+            Node<T> predecessorParent = current;
+            Node<T> predecessor = current.left;
+            while (predecessor.right != null) {
+                predecessor.size--;
+                predecessorParent = predecessor;
+                predecessor = predecessor.right;
+            }
+            current.data = predecessor.data;
+            if (predecessorParent == current) {
+                current.left = predecessor.left;
+            } else {
+                predecessorParent.right = predecessor.left;
             }
             return this;
         }
-        
-        // Caso: encontramos el nodo a eliminar (value.compareTo(data) == 0)
-        
-        // R1: Si es hoja, retornamos null para que el padre actualice su referencia
-        if (left == null && right == null) {
-            return null;
+
+        // R1 y R2: Si es hoja queda null, si tiene un solo hijo se enlaza ese hijo
+        Node<T> child = (current.left != null) ? current.left : current.right;
+        if (parent == null) {
+            return child;
         }
-        
-        // R2: Si tiene un solo hijo, retornamos ese hijo para que el padre lo enlace
-        if (left == null) {
-            return right;
+        if (parent.left == current) {
+            parent.left = child;
+        } else {
+            parent.right = child;
         }
-        if (right == null) {
-            return left;
+        return this;
+    }
+
+    // Rearma el subarbol completamente balanceado con los mismos nodos y el
+    // mismo orden (los repetidos siguen en orden). Devuelve la nueva raiz
+    static <T extends Comparable<? super T>> Node<T> rebuild(Node<T> root) {
+        @SuppressWarnings("unchecked")
+        Node<T>[] nodes = (Node<T>[]) new Node<?>[size(root)];
+        int count = 0;
+        ArrayDeque<Node<T>> stack = new ArrayDeque<>();
+        Node<T> current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            nodes[count++] = current;
+            current = current.right;
         }
-        
-        // R3: Si tiene dos hijos
-        // Buscamos el mayor del subárbol izquierdo (predecesor)
-        Node<T> predecessor = left;
-        while (predecessor.right != null) {
-            predecessor = predecessor.right;
+        return build(nodes, 0, count);
+    }
+
+    // la recursion tiene profundidad log n
+    private static <T extends Comparable<? super T>> Node<T> build(Node<T>[] nodes, int from, int to) {
+        if (from >= to) {
+            return null;
         }
-        // Copiamos el dato del predecesor
-        this.data = predecessor.getData();
-        // Eliminamos el predecesor del subárbol izquierdo
-        this.left = left.remove(predecessor.getData());
-        
-        return this;
+        int middle = (from + to) >>> 1;
+        Node<T> node = nodes[middle];
+        node.left = build(nodes, from, middle);
+        node.right = build(nodes, middle + 1, to);
+        node.updateSize();
+        return node;
     }
 } 
\ No newline at end of file
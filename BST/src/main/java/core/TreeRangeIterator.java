@@ -0,0 +1,87 @@
+package core;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Recorre en orden (o en orden inverso) los elementos de un arbol que estan
+// entre from y to. Un extremo null es sin cota.
+// Al crearlo se baja una sola vez desde la raiz hasta el primer elemento del
+// rango, apilando el camino: O(altura). Despues cada next() saca el tope de la
+// pila y apila la rama izquierda (derecha si es descendente) del hijo que
+// sigue. Apenas el tope se pasa del otro extremo se corta, sin visitar el
+// resto del arbol.
+// Sirve para cualquier arbol con left <= nodo <= right (BST y AVL).
+class TreeRangeIterator<T extends Comparable<? super T>> implements Iterator<T> {
+    private final ArrayDeque<NodeTreeInterface<T>> stack = new ArrayDeque<>();
+    private final T from;
+    private final boolean fromInclusive;
+    private final T to;
+    private final boolean toInclusive;
+    private final boolean descending;
+
+    TreeRangeIterator(NodeTreeInterface<T> root, T from, boolean fromInclusive, T to, boolean toInclusive,
+            boolean descending) {
+        this.from = from;
+        this.fromInclusive = fromInclusive;
+        this.to = to;
+        this.toInclusive = toInclusive;
+        this.descending = descending;
+
+        // busqueda del primer elemento: se apilan solo los nodos del rango
+        // que quedan del lado de donde se empieza
+        NodeTreeInterface<T> current = root;
+        while (current != null) {
+            if (descending ? belowTo(current.getData()) : aboveFrom(current.getData())) {
+                stack.push(current);
+                current = descending ? current.getRight() : current.getLeft();
+            } else {
+                current = descending ? current.getLeft() : current.getRight();
+            }
+        }
+    }
+
+    boolean aboveFrom(T data) {
+        if (from == null) {
+            return true;
+        }
+        int comparison = data.compareTo(from);
+        return comparison > 0 || (fromInclusive && comparison == 0);
+    }
+
+    boolean belowTo(T data) {
+        if (to == null) {
+            return true;
+        }
+        int comparison = data.compareTo(to);
+        return comparison < 0 || (toInclusive && comparison == 0);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (stack.isEmpty()) {
+            return false;
+        }
+        T data = stack.peek().getData();
+        if (descending ? aboveFrom(data) : belowTo(data)) {
+            return true;
+        }
+        // se paso del rango: lo que queda tambien
+        stack.clear();
+        return false;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        NodeTreeInterface<T> node = stack.pop();
+        NodeTreeInterface<T> current = descending ? node.getLeft() : node.getRight();
+        while (current != null) {
+            stack.push(current);
+            current = descending ? current.getRight() : current.getLeft();
+        }
+        return node.getData();
+    }
+}
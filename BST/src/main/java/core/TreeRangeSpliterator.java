@@ -0,0 +1,137 @@
+package core;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// Spliterator en orden sobre un rango de un arbol, para stream().parallel().
+// Mientras no se empezo a recorrer, lo pendiente es un elemento suelto (head,
+// puede no haber) seguido de un subarbol. trySplit baja hasta la primera raiz
+// del subarbol que cae en el rango y parte por ahi: la otra mitad se queda con
+// head y el subarbol izquierdo, esta con la raiz y el subarbol derecho. En un
+// arbol balanceado cada corte divide el rango mas o menos a la mitad sin
+// recorrer nada. Al empezar a recorrer se usa un TreeRangeIterator y ya no se
+// parte mas.
+class TreeRangeSpliterator<T extends Comparable<? super T>> implements Spliterator<T> {
+    private final T from;
+    private final boolean fromInclusive;
+    private final T to;
+    private final boolean toInclusive;
+
+    private T head;
+    private NodeTreeInterface<T> subtree;
+    private TreeRangeIterator<T> cursor;
+    private long estimate;
+
+    // estimate: cantidad de elementos del rango (countInRange)
+    TreeRangeSpliterator(NodeTreeInterface<T> root, T from, boolean fromInclusive, T to, boolean toInclusive,
+            long estimate) {
+        this(null, root, from, fromInclusive, to, toInclusive, estimate);
+    }
+
+    private TreeRangeSpliterator(T head, NodeTreeInterface<T> subtree, T from, boolean fromInclusive, T to,
+            boolean toInclusive, long estimate) {
+        this.head = head;
+        this.subtree = subtree;
+        this.from = from;
+        this.fromInclusive = fromInclusive;
+        this.to = to;
+        this.toInclusive = toInclusive;
+        this.estimate = estimate;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (cursor != null) {
+            return null;
+        }
+        // con left <= nodo <= right, si la raiz queda fuera del rango tambien
+        // queda todo un lado
+        NodeTreeInterface<T> root = subtree;
+        while (root != null && !inRange(root.getData())) {
+            root = below(root.getData()) ? root.getRight() : root.getLeft();
+        }
+        subtree = root;
+        if (root == null) {
+            return null;
+        }
+
+        estimate >>>= 1;
+        Spliterator<T> prefix = new TreeRangeSpliterator<>(head, root.getLeft(), from, fromInclusive, to,
+                toInclusive, estimate);
+        head = root.getData();
+        subtree = root.getRight();
+        return prefix;
+    }
+
+    private boolean below(T data) {
+        if (from == null) {
+            return false;
+        }
+        int comparison = data.compareTo(from);
+        return comparison < 0 || (!fromInclusive && comparison == 0);
+    }
+
+    private boolean inRange(T data) {
+        if (below(data)) {
+            return false;
+        }
+        if (to == null) {
+            return true;
+        }
+        int comparison = data.compareTo(to);
+        return comparison < 0 || (toInclusive && comparison == 0);
+    }
+
+    private void start() {
+        if (cursor == null) {
+            cursor = new TreeRangeIterator<>(subtree, from, fromInclusive, to, toInclusive, false);
+            subtree = null;
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        start();
+        if (head != null) {
+            T data = head;
+            head = null;
+            action.accept(data);
+            return true;
+        }
+        if (cursor.hasNext()) {
+            action.accept(cursor.next());
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        start();
+        if (head != null) {
+            T data = head;
+            head = null;
+            action.accept(data);
+        }
+        while (cursor.hasNext()) {
+            action.accept(cursor.next());
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SORTED | NONNULL;
+    }
+
+    // orden natural
+    @Override
+    public Comparator<? super T> getComparator() {
+        return null;
+    }
+}
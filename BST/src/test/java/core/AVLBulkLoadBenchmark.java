@@ -0,0 +1,57 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+// Armar un AVL con insert contra fromSorted / bulkLoad, y agregar claves con insert contra addAll.
+public class AVLBulkLoadBenchmark {
+
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+		int m = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+		List<Integer> sorted = new ArrayList<>(n);
+		for (int i = 0; i < n; i++)
+			sorted.add(2 * i);
+		List<Integer> shuffled = new ArrayList<>(sorted);
+		Collections.shuffle(shuffled, new Random(1));
+		List<Integer> extra = new ArrayList<>(m);
+		Random random = new Random(2);
+		for (int i = 0; i < m; i++)
+			extra.add(random.nextInt(2 * n));
+
+		System.out.printf("%d keys, %d more, %d processors%n", n, m, Runtime.getRuntime().availableProcessors());
+		for (int repetition = 0; repetition < 3; repetition++) {
+			long start = System.nanoTime();
+			AVL<Integer> inserted = new AVL<>();
+			for (Integer key : shuffled)
+				inserted.insert(key);
+			long insert = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			AVL<Integer> fromSorted = AVL.fromSorted(sorted);
+			long build = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			AVL<Integer> loaded = AVL.bulkLoad(shuffled);
+			long bulk = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (Integer key : extra)
+				inserted.insert(key);
+			long insertMore = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			loaded.addAll(extra);
+			long addAll = System.nanoTime() - start;
+
+			if (inserted.size() != loaded.size() || fromSorted.size() != n)
+				throw new IllegalStateException("different trees");
+			System.out.printf("insert %d ms, fromSorted %d ms, bulkLoad %d ms | %d inserts %d ms, addAll %d ms%n",
+					insert / 1_000_000, build / 1_000_000, bulk / 1_000_000, m, insertMore / 1_000_000,
+					addAll / 1_000_000);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// union / intersection / difference de dos AVL contra el loop de contains + insert.
+public class AVLSetOperationsBenchmark {
+
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+		String[] ms = (args.length > 1 ? args[1] : "2000,200000,2000000").split(",");
+
+		System.out.printf("n = %d, %d processors%n", n, Runtime.getRuntime().availableProcessors());
+		System.out.printf("%-10s %-13s %12s %12s %8s%n", "m", "operation", "naive ms", "join ms", "ratio");
+		List<Integer> a = keys(n, 1);
+		for (String text : ms) {
+			int m = Integer.parseInt(text.trim());
+			List<Integer> b = keys(m, 2);
+			for (int repetition = 0; repetition < 2; repetition++) {
+				for (String operation : new String[] { "union", "intersection", "difference" }) {
+					long naive = naive(operation, a, b);
+					long join = join(operation, a, b);
+					System.out.printf("%-10d %-13s %12d %12d %8.1f%n", m, operation, naive / 1_000_000,
+							join / 1_000_000, (double) naive / join);
+				}
+			}
+		}
+	}
+
+	// claves ordenadas y distintas, de a saltos al azar
+	private static List<Integer> keys(int count, long seed) {
+		Random random = new Random(seed);
+		List<Integer> keys = new ArrayList<>(count);
+		int key = 0;
+		for (int i = 0; i < count; i++) {
+			key += 1 + random.nextInt(3);
+			keys.add(key);
+		}
+		return keys;
+	}
+
+	private static long naive(String operation, List<Integer> a, List<Integer> b) {
+		AVL<Integer> treeA = AVL.fromSorted(a);
+		AVL<Integer> treeB = AVL.fromSorted(b);
+		System.gc();
+		long start = System.nanoTime();
+		AVL<Integer> result;
+		switch (operation) {
+			case "union":
+				for (Integer key : treeB)
+					treeA.insert(key);
+				result = treeA;
+				break;
+			case "intersection":
+				result = new AVL<>();
+				for (Integer key : treeB)
+					if (treeA.contains(key))
+						result.insert(key);
+				break;
+			default:
+				// AVL no tiene remove: se arma el resultado
+				result = new AVL<>();
+				for (Integer key : treeA)
+					if (!treeB.contains(key))
+						result.insert(key);
+		}
+		long time = System.nanoTime() - start;
+		check(operation, result, a, b);
+		return time;
+	}
+
+	private static long join(String operation, List<Integer> a, List<Integer> b) {
+		AVL<Integer> treeA = AVL.fromSorted(a);
+		AVL<Integer> treeB = AVL.fromSorted(b);
+		System.gc();
+		long start = System.nanoTime();
+		AVL<Integer> result;
+		switch (operation) {
+			case "union": result = AVL.union(treeA, treeB); break;
+			case "intersection": result = AVL.intersection(treeA, treeB); break;
+			default: result = AVL.difference(treeA, treeB);
+		}
+		long time = System.nanoTime() - start;
+		check(operation, result, a, b);
+		return time;
+	}
+
+	private static void check(String operation, AVL<Integer> result, List<Integer> a, List<Integer> b) {
+		AVL<Integer> treeB = AVL.fromSorted(b);
+		int common = 0;
+		for (Integer key : a)
+			if (treeB.contains(key))
+				common++;
+		int expected = switch (operation) {
+			case "union" -> a.size() + b.size() - common;
+			case "intersection" -> common;
+			default -> a.size() - common;
+		};
+		if (result.size() != expected)
+			throw new IllegalStateException(operation + ": wrong size");
+	}
+}
@@ -0,0 +1,272 @@
+package core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+class AVLTest {
+    private AVL<Integer> avl;
+
+    @BeforeEach
+    void setUp() {
+        avl = new AVL<>();
+    }
+
+    // Tests for Kesimo, rank, countInRange and select
+    @Test
+    void testOrderStatisticsAfterRotations() {
+        // ascending inserts rotate at every level
+        for (int i = 1; i <= 1000; i++) {
+            avl.insert(i * 10);
+        }
+        avl.insert(500); // duplicate: ignored
+
+        assertEquals(1000, avl.size());
+        assertTrue(avl.getHeight() <= 14);
+        for (int k = 1; k <= 1000; k++) {
+            assertEquals(k * 10, avl.Kesimo(k));
+            assertEquals(k * 10, avl.select(k - 1));
+        }
+        assertNull(avl.Kesimo(0));
+        assertNull(avl.Kesimo(1001));
+
+        assertEquals(0, avl.rank(10));
+        assertEquals(49, avl.rank(500));
+        assertEquals(50, avl.rank(505));
+        assertEquals(1000, avl.rank(20000));
+        assertEquals(11, avl.countInRange(100, 200));
+        assertEquals(10, avl.countInRange(101, 200));
+        assertEquals(1, avl.countInRange(500, 500));
+        assertEquals(0, avl.countInRange(200, 100));
+    }
+
+    @Test
+    void testEmptyTree() {
+        assertEquals(0, avl.size());
+        assertNull(avl.Kesimo(1));
+        assertNull(avl.select(0));
+        assertEquals(0, avl.rank(5));
+        assertEquals(0, avl.countInRange(0, 10));
+    }
+
+    @Test
+    void testRangeIteratorsAndParallelStream() {
+        for (int i = 0; i < 100_000; i++) {
+            avl.insert(i);
+        }
+        List<Integer> range = new ArrayList<>();
+        avl.iterator(1000, true, 1010, false).forEachRemaining(range::add);
+        assertEquals(List.of(1000, 1001, 1002, 1003, 1004, 1005, 1006, 1007, 1008, 1009), range);
+
+        range.clear();
+        avl.descendingIterator(99_997, false, null, true).forEachRemaining(range::add);
+        assertEquals(List.of(99_999, 99_998), range);
+
+        // the range spliterator splits at the first subtree root inside the range
+        Spliterator<Integer> spliterator = avl.spliterator(20_000, true, 80_000, false);
+        assertEquals(60_000, spliterator.estimateSize());
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        long prefixCount = countRemaining(prefix);
+        long suffixCount = countRemaining(spliterator);
+        assertEquals(60_000, prefixCount + suffixCount);
+        assertTrue(prefixCount > 0 && suffixCount > 0);
+
+        assertEquals(LongStream.range(20_000, 80_000).sum(),
+                avl.stream(20_000, true, 80_000, false).parallel().mapToLong(Integer::longValue).sum());
+        assertEquals(100_000, avl.stream().parallel().count());
+    }
+
+    private static long countRemaining(Spliterator<Integer> spliterator) {
+        long[] count = new long[1];
+        spliterator.forEachRemaining(value -> count[0]++);
+        return count[0];
+    }
+
+    // Tests for bulk construction
+
+    // Checks order, balance, height and size from the root; returns the height
+    private static int checkAVL(NodeTreeInterface<Integer> node, Integer min, Integer max, int[] count) {
+        if (node == null) {
+            return -1;
+        }
+        count[0]++;
+        assertTrue(min == null || node.getData() > min);
+        assertTrue(max == null || node.getData() < max);
+        int left = checkAVL(node.getLeft(), min, node.getData(), count);
+        int right = checkAVL(node.getRight(), node.getData(), max, count);
+        assertTrue(Math.abs(left - right) <= 1, "unbalanced at " + node.getData());
+        return 1 + Math.max(left, right);
+    }
+
+    private static void assertValid(AVL<Integer> tree, List<Integer> expected) {
+        int[] count = new int[1];
+        assertEquals(tree.getHeight(), checkAVL(tree.getRoot(), null, null, count));
+        assertEquals(expected.size(), count[0]);
+        assertEquals(expected.size(), tree.size());
+        assertEquals(expected, tree.stream().toList());
+        for (int k = 1; k <= expected.size(); k += 1 + expected.size() / 100) {
+            assertEquals(expected.get(k - 1), tree.Kesimo(k));
+        }
+    }
+
+    @Test
+    void testFromSorted() {
+        List<Integer> sorted = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            sorted.add(i * 2);
+        }
+        AVL<Integer> tree = AVL.fromSorted(sorted);
+        assertValid(tree, sorted);
+        assertEquals(9, tree.getHeight());
+
+        // repeated and null elements are dropped, as insert does
+        assertValid(AVL.fromSorted(new Integer[] { 1, 1, 2, null, 3, 3, 3 }), List.of(1, 2, 3));
+        assertValid(AVL.fromSorted(new Integer[0]), List.of());
+        assertThrows(IllegalArgumentException.class, () -> AVL.fromSorted(new Integer[] { 1, 3, 2 }));
+    }
+
+    @Test
+    void testBulkLoad() {
+        Random random = new Random(5);
+        List<Integer> elements = new ArrayList<>();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            int value = random.nextInt(30_000);
+            elements.add(value);
+            expected.add(value);
+        }
+        elements.add(null);
+        assertValid(AVL.bulkLoad(elements), new ArrayList<>(expected));
+    }
+
+    @Test
+    void testAddAllMergesWithTheExistingTree() {
+        Random random = new Random(9);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            int value = random.nextInt(20_000);
+            avl.insert(value);
+            expected.add(value);
+        }
+
+        // a few new keys, many new keys, only repeats, and a disjoint run
+        int[] sizes = { 10, 20_000, 0, 3_000 };
+        for (int round = 0; round < sizes.length; round++) {
+            List<Integer> batch = new ArrayList<>();
+            for (int i = 0; i < sizes[round]; i++) {
+                batch.add(round == 3 ? 100_000 + i : random.nextInt(40_000));
+            }
+            if (round == 2) {
+                batch.addAll(expected);
+            }
+            boolean changed = false;
+            for (Integer value : batch) {
+                changed |= expected.add(value);
+            }
+            assertEquals(changed, avl.addAll(batch));
+            assertValid(avl, new ArrayList<>(expected));
+        }
+
+        AVL<Integer> empty = new AVL<>();
+        assertTrue(empty.addAll(List.of(3, 1, 2)));
+        assertValid(empty, List.of(1, 2, 3));
+    }
+
+    // Tests for split, join and set operations
+    @Test
+    void testSplitAndJoin() {
+        List<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            elements.add(i * 3);
+        }
+        AVL<Integer> tree = AVL.fromSorted(elements);
+
+        AVL.Split<Integer> split = tree.split(300);
+        assertTrue(split.isFound());
+        assertEquals(0, tree.size());
+        assertValid(split.getLeft(), elements.subList(0, 100));
+        assertValid(split.getRight(), elements.subList(101, 1000));
+
+        AVL<Integer> joined = AVL.join(split.getLeft(), 301, split.getRight());
+        List<Integer> expected = new ArrayList<>(elements);
+        expected.set(100, 301);
+        assertValid(joined, expected);
+        assertEquals(0, split.getLeft().size());
+
+        split = joined.split(-5);
+        assertFalse(split.isFound());
+        assertValid(split.getLeft(), List.of());
+        assertValid(split.getRight(), expected);
+
+        // very different heights
+        AVL<Integer> small = AVL.fromSorted(List.of(1, 2));
+        AVL<Integer> large = AVL.fromSorted(elements.subList(10, 1000));
+        assertValid(AVL.join(small, 5, large), concat(List.of(1, 2, 5), elements.subList(10, 1000)));
+
+        AVL<Integer> left = AVL.fromSorted(List.of(1, 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> AVL.join(left, 3, new AVL<>()));
+        assertThrows(IllegalArgumentException.class, () -> AVL.join(new AVL<>(), 1, left));
+    }
+
+    private static List<Integer> concat(List<Integer> first, List<Integer> second) {
+        List<Integer> result = new ArrayList<>(first);
+        result.addAll(second);
+        return result;
+    }
+
+    @Test
+    void testSetOperationsMatchTreeSet() {
+        Random random = new Random(17);
+        // small, unbalanced sizes and large enough to fork
+        int[][] sizes = { { 0, 10 }, { 50, 50 }, { 20_000, 100 }, { 30, 20_000 }, { 40_000, 40_000 } };
+        for (int[] size : sizes) {
+            TreeSet<Integer> a = new TreeSet<>();
+            TreeSet<Integer> b = new TreeSet<>();
+            int range = 2 * Math.max(size[0], size[1]) + 1;
+            while (a.size() < size[0]) {
+                a.add(random.nextInt(range));
+            }
+            while (b.size() < size[1]) {
+                b.add(random.nextInt(range));
+            }
+
+            TreeSet<Integer> union = new TreeSet<>(a);
+            union.addAll(b);
+            TreeSet<Integer> intersection = new TreeSet<>(a);
+            intersection.retainAll(b);
+            TreeSet<Integer> difference = new TreeSet<>(a);
+            difference.removeAll(b);
+
+            AVL<Integer> treeA = AVL.bulkLoad(a);
+            AVL<Integer> treeB = AVL.bulkLoad(b);
+            assertValid(AVL.union(treeA.copy(), treeB.copy()), new ArrayList<>(union));
+            assertValid(AVL.intersection(treeA.copy(), treeB.copy()), new ArrayList<>(intersection));
+            assertValid(AVL.difference(treeA.copy(), treeB.copy()), new ArrayList<>(difference));
+            assertValid(AVL.difference(treeB.copy(), treeA.copy()), new ArrayList<>(difference(b, a)));
+
+            // the copies leave the originals intact; the operations empty their arguments
+            assertValid(treeA, new ArrayList<>(a));
+            AVL<Integer> result = AVL.union(treeA, treeB);
+            assertEquals(union.size(), result.size());
+            assertEquals(0, treeA.size());
+            assertEquals(0, treeB.size());
+        }
+
+        AVL<Integer> same = AVL.fromSorted(List.of(1, 2, 3));
+        assertValid(AVL.intersection(same, same), List.of(1, 2, 3));
+        same = AVL.fromSorted(List.of(1, 2, 3));
+        assertValid(AVL.difference(same, same), List.of());
+    }
+
+    private static TreeSet<Integer> difference(TreeSet<Integer> a, TreeSet<Integer> b) {
+        TreeSet<Integer> result = new TreeSet<>(a);
+        result.removeAll(b);
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+package core;
+
+import java.util.Random;
+
+// insert, contains y remove en BST sin balancear contra Balancing.SCAPEGOAT.
+public class BSTBenchmark {
+
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+		int maxUnbalanced = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+
+		System.out.printf("%-10s %-10s %10s %8s %12s %12s %12s%n", "input", "balancing", "keys", "height",
+				"insert ms", "contains ms", "remove ms");
+		for (String input : new String[] { "sorted", "reverse", "random" }) {
+			for (BST.Balancing balancing : BST.Balancing.values()) {
+				int keys = balancing == BST.Balancing.NONE && !input.equals("random") ? Math.min(n, maxUnbalanced) : n;
+				run(input, balancing, keys(input, keys));
+			}
+		}
+	}
+
+	private static int[] keys(String input, int n) {
+		int[] keys = new int[n];
+		Random random = new Random(1);
+		for (int i = 0; i < n; i++) {
+			switch (input) {
+				case "sorted": keys[i] = i; break;
+				case "reverse": keys[i] = n - i; break;
+				default: keys[i] = random.nextInt(n);
+			}
+		}
+		return keys;
+	}
+
+	private static void run(String input, BST.Balancing balancing, int[] keys) {
+		BST<Integer> tree = new BST<>(balancing);
+		long start = System.nanoTime();
+		for (int key : keys)
+			tree.insert(key);
+		long insert = System.nanoTime() - start;
+		int height = tree.getHeight();
+
+		start = System.nanoTime();
+		int found = 0;
+		for (int key : keys)
+			if (tree.contains(key))
+				found++;
+		long contains = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < keys.length; i += 2)
+			tree.remove(keys[i]);
+		long remove = System.nanoTime() - start;
+
+		if (found != keys.length || tree.size() != keys.length / 2)
+			throw new IllegalStateException("wrong tree");
+		System.out.printf("%-10s %-10s %10d %8d %12d %12d %12d%n", input, balancing, keys.length, height,
+				insert / 1_000_000, contains / 1_000_000, remove / 1_000_000);
+	}
+}
@@ -3,6 +3,13 @@ package core;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
 
 class BSTTest {
     private BST<Integer> bst;
@@ -366,4 +373,223 @@ class BSTTest {
         // LCA of 35 (right of 30) and 80 (right of 70) is 50
         assertEquals(50, bstWithDuplicates.getCommonNodeWithRepeated(35, 80));
     }
-} 
\ No newline at end of file
+
+    // Tests for rank, countInRange and select
+    @Test
+    void testRankAndCountInRangeWithDuplicates() {
+        // In-order: 10, 20, 30, 30, 35, 40, 50, 60, 70, 70, 70, 80
+        assertEquals(12, bstWithDuplicates.size());
+        assertEquals(0, bstWithDuplicates.rank(10));
+        assertEquals(2, bstWithDuplicates.rank(30));
+        assertEquals(4, bstWithDuplicates.rank(31));
+        assertEquals(8, bstWithDuplicates.rank(70));
+        assertEquals(12, bstWithDuplicates.rank(100));
+        assertEquals(0, bstWithDuplicates.rank(null));
+
+        assertEquals(4, bstWithDuplicates.countInRange(30, 40));
+        assertEquals(3, bstWithDuplicates.countInRange(70, 70));
+        assertEquals(12, bstWithDuplicates.countInRange(0, 100));
+        assertEquals(0, bstWithDuplicates.countInRange(41, 49));
+        assertEquals(0, bstWithDuplicates.countInRange(40, 30));
+        assertEquals(0, bst.countInRange(0, 100));
+    }
+
+    @Test
+    void testSelect() {
+        assertNull(bst.select(0));
+        assertEquals(10, bstWithDuplicates.select(0));
+        assertEquals(30, bstWithDuplicates.select(3));
+        assertEquals(80, bstWithDuplicates.select(11));
+        assertNull(bstWithDuplicates.select(12));
+        assertNull(bstWithDuplicates.select(-1));
+    }
+
+    @Test
+    void testOrderStatisticsAfterRemove() {
+        // removing nodes with two children moves duplicates around:
+        // the counters must still match the in-order sequence
+        Random random = new Random(7);
+        List<Integer> expected = new ArrayList<>();
+        BST<Integer> localBst = new BST<>();
+        for (int i = 0; i < 2000; i++) {
+            int value = random.nextInt(100);
+            if (random.nextInt(3) == 0 && expected.remove(Integer.valueOf(value))) {
+                localBst.remove(value);
+            } else {
+                localBst.insert(value);
+                expected.add(value);
+            }
+        }
+        Collections.sort(expected);
+
+        assertEquals(expected.size(), localBst.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), localBst.Kesimo(i + 1));
+        }
+        for (int value = -1; value <= 100; value++) {
+            assertEquals(expected.indexOf(value) < 0 ? 0 : expected.lastIndexOf(value) - expected.indexOf(value) + 1,
+                    localBst.getOcurrences(value));
+            int lower = 0;
+            while (lower < expected.size() && expected.get(lower) < value) lower++;
+            assertEquals(lower, localBst.rank(value));
+        }
+    }
+
+    // Tests for range iterators and spliterator
+    private static List<Integer> list(Iterator<Integer> iterator) {
+        List<Integer> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+        return result;
+    }
+
+    @Test
+    void testRangeIteratorWithDuplicates() {
+        // In-order: 10, 20, 30, 30, 35, 40, 50, 60, 70, 70, 70, 80
+        assertEquals(List.of(30, 30, 35, 40), list(bstWithDuplicates.iterator(30, true, 40, true)));
+        assertEquals(List.of(35), list(bstWithDuplicates.iterator(30, false, 40, false)));
+        assertEquals(List.of(70, 70, 70, 80), list(bstWithDuplicates.iterator(65, true, null, true)));
+        assertEquals(List.of(10, 20), list(bstWithDuplicates.iterator(null, true, 30, false)));
+        assertEquals(List.of(), list(bstWithDuplicates.iterator(41, true, 49, true)));
+        assertEquals(List.of(), list(bstWithDuplicates.iterator(40, true, 30, true)));
+        assertEquals(List.of(), list(bst.iterator(0, true, 10, true)));
+
+        assertEquals(List.of(80, 70, 70, 70, 60), list(bstWithDuplicates.descendingIterator(60, true, null, true)));
+        assertEquals(List.of(40, 35, 30, 30), list(bstWithDuplicates.descendingIterator(30, true, 40, true)));
+        assertEquals(List.of(80, 70, 70, 70, 60, 50, 40, 35, 30, 30, 20, 10),
+                list(bstWithDuplicates.descendingIterator()));
+
+        Iterator<Integer> iterator = bstWithDuplicates.iterator(80, true, null, true);
+        assertEquals(80, iterator.next());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void testRangeIteratorMatchesSortedList() {
+        Random random = new Random(3);
+        List<Integer> expected = new ArrayList<>();
+        BST<Integer> localBst = new BST<>();
+        for (int i = 0; i < 500; i++) {
+            int value = random.nextInt(200);
+            localBst.insert(value);
+            expected.add(value);
+        }
+        for (int i = 0; i < 100; i++) {
+            int value = random.nextInt(200);
+            if (expected.remove(Integer.valueOf(value))) {
+                localBst.remove(value);
+            }
+        }
+        Collections.sort(expected);
+
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(210) - 5;
+            int to = from + random.nextInt(50);
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+            List<Integer> range = new ArrayList<>();
+            for (Integer value : expected) {
+                if ((value > from || (fromInclusive && value == from)) && (value < to || (toInclusive && value == to))) {
+                    range.add(value);
+                }
+            }
+            assertEquals(range, list(localBst.iterator(from, fromInclusive, to, toInclusive)));
+            assertEquals(range, localBst.stream(from, fromInclusive, to, toInclusive).parallel().toList());
+            assertEquals(range.size(), localBst.spliterator(from, fromInclusive, to, toInclusive).estimateSize());
+            Collections.reverse(range);
+            assertEquals(range, list(localBst.descendingIterator(from, fromInclusive, to, toInclusive)));
+        }
+    }
+
+    @Test
+    void testSpliteratorSplitsBySubtree() {
+        // bstNoRepeats: 50 at the root, 30 and 70 below
+        Spliterator<Integer> suffix = bstNoRepeats.spliterator(null, true, null, true);
+        assertEquals(10, suffix.estimateSize());
+        Spliterator<Integer> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+
+        List<Integer> first = new ArrayList<>();
+        prefix.forEachRemaining(first::add);
+        List<Integer> second = new ArrayList<>();
+        suffix.forEachRemaining(second::add);
+        assertEquals(List.of(10, 20, 30, 40), first);
+        assertEquals(List.of(50, 60, 70, 75, 80, 90), second);
+        assertNull(suffix.trySplit());
+
+        assertEquals(bstNoRepeats.stream().mapToInt(Integer::intValue).sum(),
+                bstNoRepeats.stream(null, true, null, true).parallel().mapToInt(Integer::intValue).sum());
+    }
+
+    // Tests for iterative operations and scapegoat balancing
+    @Test
+    void testSortedInsertDoesNotOverflowTheStack() {
+        // la version recursiva desbordaba la pila cerca de 10k claves
+        BST<Integer> localBst = new BST<>();
+        for (int i = 0; i < 20_000; i++) {
+            localBst.insert(i);
+        }
+        assertEquals(20_000, localBst.getHeight());
+        assertTrue(localBst.contains(19_999));
+        assertEquals(19_999, localBst.getMax());
+        assertEquals(0, localBst.getMin());
+        for (int i = 0; i < 20_000; i += 2) {
+            localBst.remove(i);
+        }
+        assertEquals(10_000, localBst.size());
+        assertFalse(localBst.contains(0));
+        assertEquals(1, localBst.Kesimo(1));
+    }
+
+    @Test
+    void testScapegoatKeepsTheTreeBalanced() {
+        BST<Integer> localBst = new BST<>(BST.Balancing.SCAPEGOAT);
+        for (int i = 0; i < 100_000; i++) {
+            localBst.insert(i);
+        }
+        // log_{3/2}(100000) + 1 = 29.4
+        assertTrue(localBst.getHeight() <= 30);
+        for (int i = 0; i < 90_000; i++) {
+            localBst.remove(i);
+        }
+        assertEquals(10_000, localBst.size());
+        assertTrue(localBst.getHeight() <= 24);
+        assertEquals(90_000, localBst.getMin());
+        assertEquals(95_000, localBst.Kesimo(5_001));
+    }
+
+    @Test
+    void testScapegoatMatchesUnbalancedWithDuplicates() {
+        Random random = new Random(13);
+        BST<Integer> unbalanced = new BST<>();
+        BST<Integer> balanced = new BST<>(BST.Balancing.SCAPEGOAT);
+        for (int i = 0; i < 20_000; i++) {
+            // sobre todo crecientes, con repetidos
+            int value = random.nextInt(4) == 0 ? random.nextInt(500) : i / 3;
+            if (random.nextInt(4) == 0) {
+                unbalanced.remove(value);
+                balanced.remove(value);
+            } else {
+                unbalanced.insert(value);
+                balanced.insert(value);
+            }
+        }
+
+        unbalanced.setTraversal(BSTreeInterface.Traversal.INORDER);
+        balanced.setTraversal(BSTreeInterface.Traversal.INORDER);
+        List<Integer> expected = new ArrayList<>();
+        unbalanced.forEach(expected::add);
+        List<Integer> actual = new ArrayList<>();
+        balanced.forEach(actual::add);
+        assertEquals(expected, actual);
+        for (int value = 0; value < 7_000; value += 7) {
+            assertEquals(unbalanced.getOcurrences(value), balanced.getOcurrences(value));
+            assertEquals(unbalanced.contains(value), balanced.contains(value));
+        }
+        assertTrue(balanced.getHeight() < 40);
+        assertTrue(unbalanced.getHeight() > 1000);
+        // los repetidos siguen encontrando su ancestro comun
+        assertEquals(balanced.getOcurrences(100) >= 2 ? Integer.valueOf(100) : null,
+                balanced.getCommonNodeWithRepeated(100, 100));
+    }
+}
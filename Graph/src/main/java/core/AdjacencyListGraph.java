@@ -1,20 +1,27 @@
 package core;
 
 
+import java.util.AbstractCollection;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Queue;
-import java.util.Set;
-import java.util.Stack;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
+	
+	// a partir de cuantos ejes una lista de adyacencia se indexa por destino
+	// (ver Adjacency)
+	static final int HASH_THRESHOLD = 32;
 
 	private boolean isSimple;
 	protected boolean isDirected;
@@ -22,9 +29,41 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 	private boolean isWeighted;
 	protected String type;
 	
+	// resuelta una unica vez al construir el grafo (ver EdgeWeights)
+	private final ToDoubleFunction<? super E> weightFunction;
+	
 	// HashMap no respeta el orden de insercion. En el testing considerar eso
 	private Map<V,Collection<InternalEdge>> adjacencyList= new HashMap<>();
 	
+	// ids densos para los algoritmos: la misma lista de adyacencia se alcanza
+	// tambien por id, sin pasar por el hashing de V
+	private final VertexIndex<V> vertexIndex= new VertexIndex<>();
+	private final ArrayList<Collection<InternalEdge>> adjacencyById= new ArrayList<>();
+	
+	// opcional (IncomingIndex.YES) y solo en dirigidos: por cada vertice sus ejes
+	// entrantes. En esos InternalEdge "target" es el ORIGEN del eje.
+	// Con esto removeVertex e inDegree no recorren todo el grafo
+	private final ArrayList<Collection<InternalEdge>> incomingById;
+	
+	// contadores mantenidos por addEdge/removeEdge/removeVertex para que
+	// numberOfEdges y degree no recorran el grafo. Los self-loops se cuentan
+	// por vertice (id) porque en degree suman 2
+	private int edgeCount;
+	private int[] selfLoopsById= new int[16];
+	
+	// se incrementa con cada cambio (vertices o ejes): los resultados
+	// guardados de una version anterior ya no valen
+	private long version;
+	
+	// se crea en el primer connectedComponents() y desde ahi se le avisa cada cambio
+	private ConnectedComponents<V> components;
+	// copia Csr de las listas para los DFS iterativos, valida mientras version
+	// sea csrVersion. Ocupa O(V+E) hasta el proximo cambio
+	private Csr csr;
+	private long csrVersion;
+	// lo elige GraphFactory; la foto de freeze() lo hereda
+	private ShortestPathEngine shortestPathEngine= ShortestPathEngine.DIJKSTRA;
+	
 	// respeta el orden de llegada y facilita el testing
 	//	private Map<V,Collection<InternalEdge>> adjacencyList= new LinkedHashMap<>();
 	
@@ -33,11 +72,49 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 	}
 	
 	
+	protected VertexIndex<V> getVertexIndex() {
+		return vertexIndex;
+	}
+	
+	protected long getVersion() {
+		return version;
+	}
+	
+	protected ShortestPathEngine getShortestPathEngine() {
+		return shortestPathEngine;
+	}
+	
+	void setShortestPathEngine(ShortestPathEngine engine) {
+		shortestPathEngine= engine;
+	}
+	
+	protected Collection<InternalEdge> getAdjacencyList(int vertexId) {
+		return adjacencyById.get(vertexId);
+	}
+	
+	// todas las listas se crean en addVertex como Adjacency
+	private Adjacency adjacencyOf(V aVertex) {
+		return (Adjacency) getAdjacencyList().get(aVertex);
+	}
+	
+	private Adjacency incomingOf(int vertexId) {
+		return (Adjacency) incomingById.get(vertexId);
+	}
+	
+	
 	protected AdjacencyListGraph(boolean isSimple, boolean isDirected, boolean acceptSelfLoop, boolean isWeighted) {
+		this(isSimple, isDirected, acceptSelfLoop, isWeighted, null, false);
+	}
+	
+	protected AdjacencyListGraph(boolean isSimple, boolean isDirected, boolean acceptSelfLoop, boolean isWeighted,
+			ToDoubleFunction<? super E> weightFunction, boolean indexIncoming) {
 		this.isSimple = isSimple;
 		this.isDirected = isDirected;
 		this.acceptSelfLoop= acceptSelfLoop;
 		this.isWeighted = isWeighted;
+		this.weightFunction= EdgeWeights.resolve(weightFunction);
+		// en un no dirigido los entrantes ya estan en la lista de adyacencia
+		this.incomingById= indexIncoming && isDirected ? new ArrayList<>() : null;
 
 		this.type = String.format("%s %sWeighted %sGraph with %sSelfLoop", 
 				isSimple ? "Simple" : "Multi", isWeighted ? "" : "Non-",
@@ -56,9 +133,31 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 		if (aVertex == null )
 		throw new IllegalArgumentException(Messages.getString("addVertexParamCannotBeNull"));
 	
+		if (vertexIndex.contains(aVertex))
+			return;
+		
+		version++;
 		// no edges yet
-		getAdjacencyList().putIfAbsent(aVertex, 
-				new ArrayList<InternalEdge>());
+		Collection<InternalEdge> edges= new Adjacency();
+		getAdjacencyList().put(aVertex, edges);
+		
+		int id= vertexIndex.add(aVertex);
+		if (id == adjacencyById.size())
+			adjacencyById.add(edges);
+		else
+			adjacencyById.set(id, edges);
+		if (id == selfLoopsById.length)
+			selfLoopsById= Arrays.copyOf(selfLoopsById, 2 * id);
+		
+		if (incomingById != null) {
+			if (id == incomingById.size())
+				incomingById.add(new Adjacency());
+			else
+				incomingById.set(id, new Adjacency());
+		}
+		
+		if (components != null)
+			components.vertexAdded(id);
 	}
 
 	
@@ -77,59 +176,25 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 		return getAdjacencyList().containsKey(vertex);
 	}
 	
+	// en un no dirigido cada eje esta en dos listas (salvo los self-loops),
+	// pero el contador lo suma una sola vez
 	@Override
 	public int numberOfEdges() {
-		int totalEdges = 0;
-		
-		// Count all edges in the adjacency list
-		for (V vertex : getAdjacencyList().keySet()) {
-			Collection<InternalEdge> edges = getAdjacencyList().get(vertex);
-			totalEdges += edges.size();
-		}
-		
-		// If the graph is undirected, we've counted each edge twice
-		// (once from each vertex), so we need to divide by 2
-		// Exception: self-loops are only counted once even in undirected graphs
-		if (!isDirected) {
-			int selfLoops = 0;
-			
-			// Count self-loops separately
-			for (V vertex : getAdjacencyList().keySet()) {
-				Collection<InternalEdge> edges = getAdjacencyList().get(vertex);
-				for (InternalEdge edge : edges) {
-					if (edge.target.equals(vertex)) {
-						selfLoops++;
-					}
-				}
-			}
-			
-			// For undirected graphs: (total - selfLoops) / 2 + selfLoops
-			totalEdges = (totalEdges - selfLoops) / 2 + selfLoops;
-		}
-		
-		return totalEdges;
+		return edgeCount;
 	}
 
 	
 
-	@Override
-	public void addEdge(V aVertex, V otherVertex, E theEdge) {
+	// validacion y creacion de vertices comun a todos los addEdge.
+	// Devuelve el peso del eje (0 si el grafo no es con peso)
+	protected double prepareEdge(V aVertex, V otherVertex, E theEdge) {
 
 		// validation!!!!
 		if (aVertex == null || otherVertex == null || theEdge == null)
 			throw new IllegalArgumentException(Messages.getString("addEdgeParamCannotBeNull"));
 
-		// es con peso? debe tener implementado el metodo double getWeight()
-		if (isWeighted) {
-			// reflection
-			Class<? extends Object> c = theEdge.getClass();
-			try {
-				c.getDeclaredMethod("getWeight");
-			} catch (NoSuchMethodException | SecurityException e) {
-				throw new RuntimeException(
-						type + " is weighted but the method double getWeighed() is not declared in theEdge");
-			}
-		}
+		// es con peso? se extrae una sola vez y queda guardado en el InternalEdge
+		double weight= isWeighted ? weightFunction.applyAsDouble(theEdge) : 0;
 		
 		if (! acceptSelfLoop && aVertex.equals(otherVertex)) {
 			throw new RuntimeException(String.format("%s does not accept self loops between %s and %s" , 
@@ -140,7 +205,108 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 		addVertex(aVertex);
 		addVertex(otherVertex);
 		
-
+		return weight;
+	}
+	
+	// agrega un eje ya validado por prepareEdge: en la lista del origen, la
+	// del destino si no es dirigido, y en el indice de entrantes si lo hay
+	protected void insertEdge(V aVertex, V otherVertex, E theEdge, double weight) {
+		insertEdge(vertexIndex.idOf(aVertex), vertexIndex.idOf(otherVertex), theEdge, weight);
+	}
+	
+	private void insertEdge(int aId, int otherId, E theEdge, double weight) {
+		V aVertex= vertexIndex.vertexOf(aId);
+		V otherVertex= vertexIndex.vertexOf(otherId);
+		adjacencyById.get(aId).add(new InternalEdge(theEdge, otherVertex, otherId, weight));
+		
+		// If undirected and not a self-loop, add reverse edge
+		if (!isDirected && aId != otherId) {
+			adjacencyById.get(otherId).add(new InternalEdge(theEdge, aVertex, aId, weight));
+		}
+		
+		if (incomingById != null) {
+			incomingById.get(otherId).add(new InternalEdge(theEdge, aVertex, aId, weight));
+		}
+		
+		edgeCount++;
+		version++;
+		if (aId == otherId) {
+			selfLoopsById[aId]++;
+		}
+		
+		if (components != null)
+			components.edgeAdded(aId, otherId);
+	}
+	
+	// Carga masiva (ver EdgeListLoader): los vertices en orden de aparicion y
+	// cada eje como dos posiciones en esa lista. Antes de insertar se
+	// dimensiona cada lista con su grado final, y cada eje se inserta por id
+	// sin volver a buscar sus extremos por hashing. Las validaciones son las
+	// de addEdge; si una falla el grafo queda con los ejes anteriores
+	@SuppressWarnings("unchecked")
+	void addEdges(List<V> vertices, int count, int[] from, int[] to, Object[] edges) {
+		int[] ids= new int[vertices.size()];
+		for (int i= 0; i < ids.length; i++) {
+			addVertex(vertices.get(i));
+			ids[i]= vertexIndex.idOf(vertices.get(i));
+		}
+		
+		int[] outgoing= new int[vertexIndex.bound()];
+		int[] incoming= incomingById != null ? new int[vertexIndex.bound()] : null;
+		for (int e= 0; e < count; e++) {
+			outgoing[ids[from[e]]]++;
+			if (!isDirected && from[e] != to[e])
+				outgoing[ids[to[e]]]++;
+			if (incoming != null)
+				incoming[ids[to[e]]]++;
+		}
+		for (int id= 0; id < vertexIndex.bound(); id++) {
+			if (!vertexIndex.isLive(id))
+				continue;
+			((Adjacency) adjacencyById.get(id)).ensureCapacity(outgoing[id]);
+			if (incoming != null)
+				incomingOf(id).ensureCapacity(incoming[id]);
+		}
+		
+		for (int e= 0; e < count; e++) {
+			E theEdge= (E) edges[e];
+			double weight= isWeighted ? weightFunction.applyAsDouble(theEdge) : 0;
+			int aId= ids[from[e]];
+			int otherId= ids[to[e]];
+			
+			if (!acceptSelfLoop && aId == otherId) {
+				throw new RuntimeException(String.format("%s does not accept self loops between %s and %s" , 
+						type, vertexIndex.vertexOf(aId), vertexIndex.vertexOf(otherId)) );
+			}
+			
+			if (isSimple && ((Adjacency) adjacencyById.get(aId)).firstTo(vertexIndex.vertexOf(otherId)) != null) {
+				throw new RuntimeException(String.format(
+					"Simple graph does not allow multiple edges between %s and %s", 
+					vertexIndex.vertexOf(aId), vertexIndex.vertexOf(otherId)));
+			}
+			
+			insertEdge(aId, otherId, theEdge, weight);
+		}
+	}
+	
+	// un eje aVertex -> otherVertex ya fue sacado de las listas
+	private void countRemoved(V aVertex, V otherVertex) {
+		// sacar un eje puede partir una componente
+		if (components != null)
+			components.invalidate();
+		
+		edgeCount--;
+		version++;
+		if (aVertex.equals(otherVertex)) {
+			selfLoopsById[vertexIndex.idOf(aVertex)]--;
+		}
+	}
+	
+	// saca del indice de entrantes el eje aVertex -> otherVertex con esas propiedades
+	private void unlinkIncoming(V aVertex, V otherVertex, E theEdge) {
+		if (incomingById != null) {
+			incomingById.get(vertexIndex.idOf(otherVertex)).remove(new InternalEdge(theEdge, aVertex));
+		}
 	}
 
 	
@@ -152,17 +318,48 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 			return false;
 		}
 		
-		// Remove all edges that point to this vertex (incoming edges)
-		for (V vertex : getAdjacencyList().keySet()) {
-			if (!vertex.equals(aVertex)) { // Skip the vertex we're removing
-				Collection<InternalEdge> edges = getAdjacencyList().get(vertex);
-				// Use iterator to safely remove while iterating
-				edges.removeIf(edge -> edge.target.equals(aVertex));
+		int id= vertexIndex.idOf(aVertex);
+		
+		version++;
+		if (components != null)
+			components.invalidate();
+		
+		// los salientes (en un no dirigido, todos sus ejes) se van con la lista
+		edgeCount-= adjacencyById.get(id).size();
+		
+		if (incomingById != null) {
+			// los self-loops ya se contaron como salientes
+			edgeCount-= incomingById.get(id).size() - selfLoopsById[id];
+
+			// con el indice solo se tocan las listas de los vecinos: O(grado)
+			for (InternalEdge incoming : incomingById.get(id)) {
+				if (incoming.targetId != id) {
+					((Adjacency) getAdjacencyList(incoming.targetId)).removeTo(aVertex);
+				}
+			}
+			for (InternalEdge outgoing : adjacencyById.get(id)) {
+				if (outgoing.targetId != id) {
+					incomingOf(outgoing.targetId).removeTo(aVertex);
+				}
+			}
+			incomingById.set(id, null);
+		} else {
+			// Remove all edges that point to this vertex (incoming edges)
+			for (V vertex : getAdjacencyList().keySet()) {
+				if (!vertex.equals(aVertex)) { // Skip the vertex we're removing
+					int removed = adjacencyOf(vertex).removeTo(aVertex);
+					// en un no dirigido estos son las copias de ejes ya descontados
+					if (isDirected) {
+						edgeCount-= removed;
+					}
+				}
 			}
 		}
+		selfLoopsById[id]= 0;
 		
 		// Remove the vertex itself (this also removes all its outgoing edges)
 		getAdjacencyList().remove(aVertex);
+		adjacencyById.set(vertexIndex.remove(aVertex), null);
 		
 		return true;
 	}
@@ -183,29 +380,19 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 		
 		// Remove any edge from aVertex to otherVertex
 		Collection<InternalEdge> edges = getAdjacencyList().get(aVertex);
-		InternalEdge edgeToRemove = null;
-		for (InternalEdge edge : edges) {
-			if (edge.target.equals(otherVertex)) {
-				edgeToRemove = edge;
-				break;
-			}
-		}
+		InternalEdge edgeToRemove = adjacencyOf(aVertex).firstTo(otherVertex);
 		
 		if (edgeToRemove != null) {
 			edges.remove(edgeToRemove);
+			unlinkIncoming(aVertex, otherVertex, edgeToRemove.edge);
+			countRemoved(aVertex, otherVertex);
 			edgeRemoved = true;
 		}
 		
 		// If undirected and not a self-loop, also remove the reverse edge
 		if (!isDirected && !aVertex.equals(otherVertex) && edgeRemoved) {
 			Collection<InternalEdge> reverseEdges = getAdjacencyList().get(otherVertex);
-			InternalEdge reverseEdgeToRemove = null;
-			for (InternalEdge edge : reverseEdges) {
-				if (edge.target.equals(aVertex)) {
-					reverseEdgeToRemove = edge;
-					break;
-				}
-			}
+			InternalEdge reverseEdgeToRemove = adjacencyOf(otherVertex).firstTo(aVertex);
 			if (reverseEdgeToRemove != null) {
 				reverseEdges.remove(reverseEdgeToRemove);
 			}
@@ -234,6 +421,8 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 		InternalEdge targetEdge = new InternalEdge(theEdge, otherVertex);
 		
 		if (edges.remove(targetEdge)) {
+			unlinkIncoming(aVertex, otherVertex, theEdge);
+			countRemoved(aVertex, otherVertex);
 			edgeRemoved = true;
 		}
 		
@@ -248,6 +437,25 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 	}
 	
 	
+	// las propiedades de los ejes aVertex -> otherVertex (en un no dirigido, los
+	// ejes entre los dos), en el orden en que se agregaron. En listas grandes
+	// se buscan por el indice por destino: O(1) + la cantidad de ejes devueltos
+	// if any of the vertices does not exist: empty list
+	public List<E> edgesBetween(V aVertex, V otherVertex) {
+		List<E> edges= new ArrayList<>();
+		if (aVertex == null || otherVertex == null || !existsVertex(aVertex) || !existsVertex(otherVertex))
+			return edges;
+		
+		for (InternalEdge edge : adjacencyOf(aVertex).edgesTo(otherVertex))
+			edges.add(edge.edge);
+		return edges;
+	}
+	
+	// el primer eje aVertex -> otherVertex, o null. Los dos deben existir
+	protected InternalEdge firstEdge(V aVertex, V otherVertex) {
+		return adjacencyOf(aVertex).firstTo(otherVertex);
+	}
+	
 	@Override
 	public void dump() {
 		// COMPLETAR
@@ -266,18 +474,8 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 			throw new RuntimeException("Vertex does not exist");
 		}
 		
-		int degree = 0;
-		Collection<InternalEdge> edges = getAdjacencyList().get(aVertex);
-		
-		for (InternalEdge edge : edges) {
-			degree++;
-			// Self-loops contribute twice in undirected graphs
-			if (edge.target.equals(aVertex)) {
-				degree++;
-			}
-		}
-		
-		return degree;
+		// Self-loops contribute twice in undirected graphs
+		return getAdjacencyList().get(aVertex).size() + selfLoopsById[vertexIndex.idOf(aVertex)];
 	}
 
 	
@@ -293,13 +491,20 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 			throw new RuntimeException("Vertex does not exist");
 		}
 		
+		if (incomingById != null) {
+			return incomingById.get(vertexIndex.idOf(aVertex)).size();
+		}
+		
 		int inDegree = 0;
 		
 		// Count edges coming into this vertex from all other vertices
-		for (V vertex : getAdjacencyList().keySet()) {
-			Collection<InternalEdge> edges = getAdjacencyList().get(vertex);
-			for (InternalEdge edge : edges) {
-				if (edge.target.equals(aVertex)) {
+		// (por id: sin equals de V)
+		int id = vertexIndex.idOf(aVertex);
+		for (int from = 0; from < vertexIndex.bound(); from++) {
+			if (!vertexIndex.isLive(from))
+				continue;
+			for (InternalEdge edge : getAdjacencyList(from)) {
+				if (edge.targetId == id) {
 					inDegree++;
 					// Self-loops do NOT contribute twice for inDegree (unlike degree method)
 				}
@@ -322,71 +527,31 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 			throw new RuntimeException("Vertex does not exist");
 		}
 		
-		int outDegree = 0;
-		Collection<InternalEdge> edges = getAdjacencyList().get(aVertex);
-		
-		for (InternalEdge edge : edges) {
-			outDegree++;
-			// Self-loops do NOT contribute twice for outDegree (unlike degree method)
-		}
-		
-		return outDegree;
+		// Self-loops do NOT contribute twice for outDegree (unlike degree method)
+		return getAdjacencyList().get(aVertex).size();
 	}
 
+	// mismo orden que antes: los iteradores recorren igual que la version
+	// recursiva, pero con el estado por id y sin agotar la pila en grafos profundos
 	@Override
 	public void printBFS(V vertex) {
-		if (vertex == null || !getAdjacencyList().containsKey(vertex)) {
-			throw new RuntimeException("Vertex does not exist");
-		}
-		
-		Set<V> visited = new HashSet<>();
-		Queue<V> queue = new LinkedList<>();
-		
-		queue.offer(vertex);
-		visited.add(vertex);
+		Iterable<V> bfs = getBFS(vertex);
 		
 		System.out.print("BFS from " + vertex + ": ");
-		while (!queue.isEmpty()) {
-			V current = queue.poll();
+		for (V current : bfs)
 			System.out.print(current + " ");
-			
-			// Visit all neighbors
-			Collection<InternalEdge> edges = getAdjacencyList().get(current);
-			for (InternalEdge edge : edges) {
-				V neighbor = edge.target;
-				if (!visited.contains(neighbor)) {
-					visited.add(neighbor);
-					queue.offer(neighbor);
-				}
-			}
-		}
 		System.out.println();
 	}
 
 	@Override
 	public void printDFS(V vertex) {
-		if (vertex == null || !getAdjacencyList().containsKey(vertex)) {
-			throw new RuntimeException("Vertex does not exist");
-		}
+		Iterable<V> dfs = getDFS(vertex);
 		
-		Set<V> visited = new HashSet<>();
 		System.out.print("DFS from " + vertex + ": ");
-		dfsRecursive(vertex, visited);
+		for (V current : dfs)
+			System.out.print(current + " ");
 		System.out.println();
 	}
-	
-	private void dfsRecursive(V vertex, Set<V> visited) {
-		visited.add(vertex);
-		System.out.print(vertex + " ");
-		
-		Collection<InternalEdge> edges = getAdjacencyList().get(vertex);
-		for (InternalEdge edge : edges) {
-			V neighbor = edge.target;
-			if (!visited.contains(neighbor)) {
-				dfsRecursive(neighbor, visited);
-			}
-		}
-	}
 
 	@Override
 	public Iterable<V> getBFS(V vertex) {
@@ -397,6 +562,16 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 		return new BFSIterable(vertex);
 	}
 
+	// BFS por niveles en paralelo (ver ParallelBfs) sobre el common pool
+	@Override
+	public VertexLabels<V> parallelBfs(V source) {
+		if (source == null || !getAdjacencyList().containsKey(source)) {
+			throw new RuntimeException("Vertex does not exist");
+		}
+		
+		return ParallelBfs.hopDistances(indexedView(), vertexIndex.idOf(source), ForkJoinPool.commonPool());
+	}
+
 	@Override
 	public Iterable<V> getDFS(V vertex) {
 		if (vertex == null || !getAdjacencyList().containsKey(vertex)) {
@@ -409,8 +584,59 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 	@Override
 	public abstract void printAllPaths(V start, V end);
 	
+	@Override
+	public Stream<List<V>> allPaths(V start, V end) {
+		return allPaths(start, end, Integer.MAX_VALUE);
+	}
+	
+	@Override
+	public Stream<List<V>> allPaths(V start, V end, int maxLength) {
+		return StreamSupport.stream(pathSearch(start, end, maxLength), false);
+	}
+	
+	@Override
+	public long countPaths(V start, V end) {
+		return countPaths(start, end, Integer.MAX_VALUE, Long.MAX_VALUE);
+	}
+	
+	@Override
+	public long countPaths(V start, V end, int maxLength, long maxResults) {
+		return pathSearch(start, end, maxLength).count(maxResults);
+	}
+	
+	@Override
+	public long parallelCountPaths(V start, V end, int maxLength) {
+		return pathSearch(start, end, maxLength).parallelCount(ForkJoinPool.commonPool());
+	}
+	
+	private AllPaths<V> pathSearch(V start, V end, int maxLength) {
+		if (!isSimple) {
+			throw new RuntimeException("allPaths is not defined for Multigraphs");
+		}
+		
+		if (start == null || end == null) {
+			throw new RuntimeException("Start and end vertices cannot be null");
+		}
+		
+		if (!existsVertex(start)) {
+			throw new RuntimeException("Start vertex does not exist");
+		}
+		
+		if (!existsVertex(end)) {
+			throw new RuntimeException("End vertex does not exist");
+		}
+		
+		return new AllPaths<>(indexedView(), vertexIndex.idOf(start), vertexIndex.idOf(end), maxLength);
+	}
+	
 	@Override
 	public abstract DijkstraPath<V,E> dijkstra(V source);
+	
+	@Override
+	public abstract DijkstraPath<V,E> shortestPath(V from, V to);
+	
+	@Override
+	public abstract DijkstraPath<V,E> shortestPath(V from, V to, ToDoubleFunction<V> heuristic);
 
 	@Override
 	public boolean isBipartite() {
@@ -419,18 +645,16 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 			return true;
 		}
 		
-		// Map to store colors of vertices (0 = uncolored, 1 = color1, 2 = color2)
-		Map<V, Integer> colors = new HashMap<>();
-		
-		// Initialize all vertices as uncolored
-		for (V vertex : getAdjacencyList().keySet()) {
-			colors.put(vertex, 0);
-		}
+		// Colors by vertex id (0 = uncolored, 1 = color1, 2 = color2).
+		// Cada vertice entra una sola vez a la cola: alcanza con bound() lugares
+		int bound = vertexIndex.bound();
+		byte[] colors = new byte[bound];
+		int[] queue = new int[bound];
 		
 		// Check each connected component
-		for (V startVertex : getAdjacencyList().keySet()) {
-			if (colors.get(startVertex) == 0) { // Uncolored vertex
-				if (!isBipartiteComponent(startVertex, colors)) {
+		for (int start = 0; start < bound; start++) {
+			if (vertexIndex.isLive(start) && colors[start] == 0) { // Uncolored vertex
+				if (!isBipartiteComponent(start, colors, queue)) {
 					return false;
 				}
 			}
@@ -440,30 +664,27 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 	}
 
 	// Helper method to check if a connected component is bipartite using BFS
-	private boolean isBipartiteComponent(V startVertex, Map<V, Integer> colors) {
-		Queue<V> queue = new LinkedList<>();
-		queue.offer(startVertex);
-		colors.put(startVertex, 1); // Color the start vertex with color 1
-		
-		while (!queue.isEmpty()) {
-			V current = queue.poll();
-			int currentColor = colors.get(current);
-			int neighborColor = (currentColor == 1) ? 2 : 1; // Alternate color
+	private boolean isBipartiteComponent(int start, byte[] colors, int[] queue) {
+		int head = 0, tail = 0;
+		queue[tail++] = start;
+		colors[start] = 1; // Color the start vertex with color 1
+		
+		while (head < tail) {
+			int current = queue[head++];
+			byte neighborColor = (byte) (colors[current] == 1 ? 2 : 1); // Alternate color
 			
 			// Check all adjacent vertices
-			Collection<InternalEdge> edges = getAdjacencyList().get(current);
-			for (InternalEdge edge : edges) {
-				V neighbor = edge.target;
+			for (InternalEdge edge : getAdjacencyList(current)) {
+				int neighbor = edge.targetId;
 				
-				if (colors.get(neighbor) == 0) {
+				if (colors[neighbor] == 0) {
 					// Uncolored neighbor - color it with alternate color
-					colors.put(neighbor, neighborColor);
-					queue.offer(neighbor);
-				} else if (colors.get(neighbor) == currentColor) {
+					colors[neighbor] = neighborColor;
+					queue[tail++] = neighbor;
+				} else if (colors[neighbor] != neighborColor) {
 					// Neighbor has same color - not bipartite
 					return false;
 				}
-				// If neighbor has different color, continue (this is correct)
 			}
 		}
 		
@@ -485,20 +706,22 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 	}
 	
 	// Inner class for BFS Iterator
+	// El estado es por id: un BitSet de visitados (crece solo si se agregan
+	// vertices mientras se recorre) y una cola de ints
 	private class BFSIterator implements Iterator<V> {
-		private final Queue<V> queue;
-		private final Set<V> visited;
+		private int[] queue = new int[16];
+		private int head, tail;
+		private final BitSet visited = new BitSet(vertexIndex.bound());
 		
 		public BFSIterator(V startVertex) {
-			queue = new LinkedList<>();
-			visited = new HashSet<>();
-			queue.offer(startVertex);
-			visited.add(startVertex);
+			int start = vertexIndex.idOf(startVertex);
+			queue[tail++] = start;
+			visited.set(start);
 		}
 		
 		@Override
 		public boolean hasNext() {
-			return !queue.isEmpty();
+			return head < tail;
 		}
 		
 		@Override
@@ -507,19 +730,20 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 				throw new java.util.NoSuchElementException();
 			}
 			
-			V current = queue.poll();
+			int current = queue[head++];
 			
 			// Add neighbors to queue
-			Collection<InternalEdge> edges = getAdjacencyList().get(current);
-			for (InternalEdge edge : edges) {
-				V neighbor = edge.target;
-				if (!visited.contains(neighbor)) {
-					visited.add(neighbor);
-					queue.offer(neighbor);
+			for (InternalEdge edge : getAdjacencyList(current)) {
+				int neighbor = edge.targetId;
+				if (!visited.get(neighbor)) {
+					visited.set(neighbor);
+					if (tail == queue.length)
+						queue = Arrays.copyOf(queue, 2 * tail);
+					queue[tail++] = neighbor;
 				}
 			}
 			
-			return current;
+			return vertexIndex.vertexOf(current);
 		}
 	}
 	
@@ -538,37 +762,44 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 	}
 	
 	// Inner class for DFS Iterator (iterative implementation)
+	// Ids en la pila y BitSet de visitados, como BFSIterator
 	private class DFSIterator implements Iterator<V> {
-		private final Stack<V> stack;
-		private final Set<V> visited;
-		private V nextVertex;
+		private int[] stack = new int[16];
+		private int top;
+		private final BitSet visited = new BitSet(vertexIndex.bound());
+		private int nextVertex = -1;
 		
 		public DFSIterator(V startVertex) {
-			stack = new Stack<>();
-			visited = new HashSet<>();
-			stack.push(startVertex);
+			push(vertexIndex.idOf(startVertex));
 			findNext();
 		}
 		
+		private void push(int id) {
+			if (top == stack.length)
+				stack = Arrays.copyOf(stack, 2 * top);
+			stack[top++] = id;
+		}
+		
 		private void findNext() {
-			nextVertex = null;
-			while (!stack.isEmpty() && nextVertex == null) {
-				V candidate = stack.pop();
-				if (!visited.contains(candidate)) {
+			nextVertex = -1;
+			while (top > 0 && nextVertex < 0) {
+				int candidate = stack[--top];
+				if (!visited.get(candidate)) {
 					nextVertex = candidate;
-					visited.add(candidate);
+					visited.set(candidate);
 					
-					// Add neighbors to stack (in reverse order to maintain consistent traversal)
-					Collection<InternalEdge> edges = getAdjacencyList().get(candidate);
-					ArrayList<V> neighbors = new ArrayList<>();
-					for (InternalEdge edge : edges) {
-						if (!visited.contains(edge.target)) {
-							neighbors.add(edge.target);
+					// Add neighbors to stack (in reverse order to maintain consistent traversal):
+					// se apilan en orden y se da vuelta el tramo agregado
+					int from = top;
+					for (InternalEdge edge : getAdjacencyList(candidate)) {
+						if (!visited.get(edge.targetId)) {
+							push(edge.targetId);
 						}
 					}
-					// Push in reverse order so that the first neighbor is processed first
-					for (int i = neighbors.size() - 1; i >= 0; i--) {
-						stack.push(neighbors.get(i));
+					for (int i = from, j = top - 1; i < j; i++, j--) {
+						int aux = stack[i];
+						stack[i] = stack[j];
+						stack[j] = aux;
 					}
 				}
 			}
@@ -576,21 +807,43 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 		
 		@Override
 		public boolean hasNext() {
-			return nextVertex != null;
+			return nextVertex >= 0;
 		}
 		
 		@Override
 		public V next() {
-			if (nextVertex == null) {
+			if (nextVertex < 0) {
 				throw new java.util.NoSuchElementException();
 			}
 			
-			V current = nextVertex;
+			V current = vertexIndex.vertexOf(nextVertex);
 			findNext();
 			return current;
 		}
 	}
 
+	// Kahn sobre la copia Csr que comparten los DFS (ver Dags)
+	@Override
+	public List<V> topologicalOrder() {
+		return Dags.topologicalOrder(csr(), vertexIndex, isDirected);
+	}
+
+	@Override
+	public DijkstraPath<V, E> dagShortestPaths(V source) {
+		return Dags.paths(csr(), vertexIndex.copy(), isDirected, source, false);
+	}
+
+	@Override
+	public DijkstraPath<V, E> dagLongestPaths(V source) {
+		return Dags.paths(csr(), vertexIndex.copy(), isDirected, source, true);
+	}
+
+	@Override
+	public List<V> criticalPath() {
+		return Dags.criticalPath(csr(), vertexIndex, isDirected);
+	}
+
+	// DFS iterativo por ids sobre la copia Csr de las listas (ver Connectivity)
 	@Override
 	public boolean hasCycle() {
 		// Empty graph has no cycles
@@ -598,101 +851,90 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 			return false;
 		}
 		
-		if (isDirected) {
-			return hasDirectedCycle();
-		} else {
-			return hasUndirectedCycle();
-		}
+		return Connectivity.hasCycle(csr(), isDirected);
 	}
-
-	// Helper method to detect cycles in directed graphs using DFS with recursion stack
-	private boolean hasDirectedCycle() {
-		// Track visited vertices and recursion stack
-		Set<V> visited = new HashSet<>();
-		Set<V> recursionStack = new HashSet<>();
-		
-		// Check each unvisited vertex as a potential starting point
-		for (V vertex : getAdjacencyList().keySet()) {
-			if (!visited.contains(vertex)) {
-				if (hasDirectedCycleDFS(vertex, visited, recursionStack)) {
-					return true;
-				}
-			}
+	
+	// se rearma solo si el grafo cambio desde la ultima copia
+	private Csr csr() {
+		if (csr == null || csrVersion != version) {
+			csr= Csr.of(indexedView(), isWeighted);
+			csrVersion= version;
 		}
-		
-		return false;
+		return csr;
 	}
-
-	// DFS helper for directed cycle detection
-	private boolean hasDirectedCycleDFS(V vertex, Set<V> visited, Set<V> recursionStack) {
-		visited.add(vertex);
-		recursionStack.add(vertex);
-		
-		// Check all neighbors
-		Collection<InternalEdge> edges = getAdjacencyList().get(vertex);
-		for (InternalEdge edge : edges) {
-			V neighbor = edge.target;
-			
-			// If neighbor is in recursion stack, we found a back edge (cycle)
-			if (recursionStack.contains(neighbor)) {
-				return true;
-			}
-			
-			// If neighbor is unvisited, recursively check it
-			if (!visited.contains(neighbor)) {
-				if (hasDirectedCycleDFS(neighbor, visited, recursionStack)) {
-					return true;
-				}
-			}
+	
+	// Bosque generador minimo (un arbol por componente conexa) con Boruvka en
+	// paralelo sobre ForkJoinPool.commonPool() y Kruskal al final (ver
+	// SpanningForests). En un multigrafo se elige el eje paralelo mas liviano;
+	// los self-loops nunca forman parte del bosque
+	// only for weighted undirected graphs, otherwise throw exception
+	public SpanningForest<V, E> minimumSpanningForest() {
+		if (isDirected) {
+			throw new RuntimeException("Minimum spanning forest is only defined for undirected graphs");
 		}
 		
-		// Remove from recursion stack when backtracking
-		recursionStack.remove(vertex);
-		return false;
-	}
-
-	// Helper method to detect cycles in undirected graphs using DFS with parent tracking
-	private boolean hasUndirectedCycle() {
-		Set<V> visited = new HashSet<>();
-		
-		// Check each unvisited vertex as a potential starting point
-		for (V vertex : getAdjacencyList().keySet()) {
-			if (!visited.contains(vertex)) {
-				if (hasUndirectedCycleDFS(vertex, visited, null)) {
-					return true;
-				}
-			}
+		if (!isWeighted) {
+			throw new RuntimeException("Minimum spanning forest requires a weighted graph");
 		}
 		
-		return false;
-	}
-
-	// DFS helper for undirected cycle detection
-	private boolean hasUndirectedCycleDFS(V vertex, Set<V> visited, V parent) {
-		visited.add(vertex);
-		
-		// Check all neighbors
-		Collection<InternalEdge> edges = getAdjacencyList().get(vertex);
-		for (InternalEdge edge : edges) {
-			V neighbor = edge.target;
-			
-			// Skip the parent (edge we came from)
-			if (neighbor.equals(parent)) {
+		// cada eje esta en la lista de sus dos extremos: se toma desde el de menor id
+		int m= edgeCount - selfLoops();
+		int[] from= new int[m];
+		int[] to= new int[m];
+		double[] weights= new double[m];
+		Object[] properties= new Object[m];
+		int e= 0;
+		for (int id= 0; id < vertexIndex.bound(); id++) {
+			if (!vertexIndex.isLive(id))
 				continue;
-			}
-			
-			// If neighbor is already visited and it's not the parent, we found a cycle
-			if (visited.contains(neighbor)) {
-				return true;
-			}
-			
-			// If neighbor is unvisited, recursively check it
-			if (hasUndirectedCycleDFS(neighbor, visited, vertex)) {
-				return true;
+			for (InternalEdge edge : getAdjacencyList(id)) {
+				if (id < edge.targetId) {
+					from[e]= id;
+					to[e]= edge.targetId;
+					weights[e]= edge.weight;
+					properties[e++]= edge.edge;
+				}
 			}
 		}
 		
-		return false;
+		int[] chosen= SpanningForests.minimum(vertexIndex.bound(), from, to, weights, ForkJoinPool.commonPool());
+		Object[] sources= new Object[chosen.length];
+		Object[] targets= new Object[chosen.length];
+		Object[] edges= new Object[chosen.length];
+		double[] chosenWeights= new double[chosen.length];
+		for (int i= 0; i < chosen.length; i++) {
+			sources[i]= vertexIndex.vertexOf(from[chosen[i]]);
+			targets[i]= vertexIndex.vertexOf(to[chosen[i]]);
+			edges[i]= properties[chosen[i]];
+			chosenWeights[i]= weights[chosen[i]];
+		}
+		return new SpanningForest<>(sources, targets, edges, chosenWeights, vertexIndex.size() - chosen.length);
+	}
+	
+	private int selfLoops() {
+		int total= 0;
+		for (int id= 0; id < vertexIndex.bound(); id++)
+			total+= selfLoopsById[id];
+		return total;
+	}
+	
+	@Override
+	public CsrGraph<V, E> freeze() {
+		CsrGraph<V, E> snapshot= CsrGraph.copyOf(indexedView(), type, isSimple, acceptSelfLoop, isWeighted, edgeCount);
+		snapshot.setShortestPathEngine(shortestPathEngine);
+		return snapshot;
+	}
+	
+	@Override
+	public ConnectedComponents<V> connectedComponents() {
+		if (components == null)
+			components= new ConnectedComponents<>(indexedView());
+		return components;
+	}
+	
+	@Override
+	public VertexLabels<V> stronglyConnectedComponents() {
+		return Connectivity.stronglyConnectedComponents(csr(), vertexIndex);
 	}
 
 	
@@ -702,10 +944,24 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 	class InternalEdge {
 		E edge;
 		V target;
+		// cache para los algoritmos: id del destino y peso ya extraido
+		int targetId;
+		double weight;
 
+		// para buscar/comparar: equals solo usa edge y target
 		InternalEdge(E propEdge, V target) {
+			this(propEdge, target, 0);
+		}
+
+		InternalEdge(E propEdge, V target, double weight) {
+			this(propEdge, target, vertexIndex.idOf(target), weight);
+		}
+
+		InternalEdge(E propEdge, V target, int targetId, double weight) {
 			this.target = target;
 			this.edge = propEdge;
+			this.targetId = targetId;
+			this.weight = weight;
 		}
 
 		@Override
@@ -728,6 +984,324 @@ abstract public class AdjacencyListGraph<V, E> implements GraphService<V, E> {
 		}
 	}
 	
+	// Lista de adyacencia de un vertice (o de sus entrantes).
+	// Con hasta HASH_THRESHOLD ejes es un ArrayList, como siempre. Al pasarlo
+	// los ejes pasan a una lista doblemente enlazada y se agrega un indice
+	// destino -> nodos de los ejes hacia ese destino: sacar un eje dado, el
+	// primero hacia un destino o todos los de un destino, y edgesBetween, no
+	// recorren el resto de los ejes del vertice. El recorrido sigue en orden
+	// de insercion. Si despues baja de HASH_THRESHOLD / 4 ejes vuelve a ser un
+	// ArrayList, asi los vertices de grado chico no pagan el indice
+	final class Adjacency extends AbstractCollection<InternalEdge> {
+		// null mientras esta indexada
+		private ArrayList<InternalEdge> list= new ArrayList<>();
+		
+		// solo indexada
+		private HashMap<V, ArrayList<Node>> byTarget;
+		private Node first;
+		private Node last;
+		private int size;
+		
+		@Override
+		public int size() {
+			return list != null ? list.size() : size;
+		}
+		
+		@Override
+		public boolean add(InternalEdge edge) {
+			if (list != null) {
+				list.add(edge);
+				if (list.size() > HASH_THRESHOLD)
+					buildIndex();
+			} else {
+				append(edge);
+			}
+			return true;
+		}
+		
+		@Override
+		public boolean contains(Object o) {
+			if (list != null)
+				return list.contains(o);
+			if (!(o instanceof AdjacencyListGraph<?, ?>.InternalEdge))
+				return false;
+			@SuppressWarnings("unchecked")
+			InternalEdge edge = (InternalEdge) o;
+			return find(edge) != null;
+		}
+		
+		@Override
+		public boolean remove(Object o) {
+			if (list != null)
+				return list.remove(o);
+			if (!(o instanceof AdjacencyListGraph<?, ?>.InternalEdge))
+				return false;
+			
+			@SuppressWarnings("unchecked")
+			InternalEdge edge = (InternalEdge) o;
+			Node node= find(edge);
+			if (node == null)
+				return false;
+			unlink(node, true);
+			shrinkIfSmall();
+			return true;
+		}
+		
+		@Override
+		public boolean removeIf(Predicate<? super InternalEdge> filter) {
+			if (list != null)
+				return list.removeIf(filter);
+			boolean removed= super.removeIf(filter);
+			shrinkIfSmall();
+			return removed;
+		}
+		
+		@Override
+		public Iterator<InternalEdge> iterator() {
+			if (list != null)
+				return list.iterator();
+			
+			return new Iterator<InternalEdge>() {
+				private Node next= first;
+				private Node current;
+				
+				@Override
+				public boolean hasNext() {
+					return next != null;
+				}
+				
+				@Override
+				public InternalEdge next() {
+					if (next == null)
+						throw new NoSuchElementException();
+					current= next;
+					next= next.next;
+					return current.edge;
+				}
+				
+				// no vuelve a ArrayList en medio de un recorrido
+				@Override
+				public void remove() {
+					if (current == null)
+						throw new IllegalStateException();
+					unlink(current, true);
+					current= null;
+				}
+			};
+		}
+		
+		// el ArrayList de los ejes, o null si esta indexada
+		List<InternalEdge> asList() {
+			return list;
+		}
+		
+		// el primer eje hacia target en orden de insercion, o null
+		InternalEdge firstTo(V target) {
+			if (list != null) {
+				for (InternalEdge edge : list)
+					if (edge.target.equals(target))
+						return edge;
+				return null;
+			}
+			ArrayList<Node> bag= byTarget.get(target);
+			return bag == null ? null : bag.get(0).edge;
+		}
+		
+		List<InternalEdge> edgesTo(V target) {
+			List<InternalEdge> edges= new ArrayList<>();
+			if (list != null) {
+				for (InternalEdge edge : list)
+					if (edge.target.equals(target))
+						edges.add(edge);
+			} else {
+				ArrayList<Node> bag= byTarget.get(target);
+				if (bag != null)
+					for (Node node : bag)
+						edges.add(node.edge);
+			}
+			return edges;
+		}
+		
+		// saca todos los ejes hacia target y devuelve cuantos eran
+		int removeTo(V target) {
+			if (list != null) {
+				int before= list.size();
+				list.removeIf(edge -> edge.target.equals(target));
+				return before - list.size();
+			}
+			
+			ArrayList<Node> bag= byTarget.remove(target);
+			if (bag == null)
+				return 0;
+			for (Node node : bag)
+				unlink(node, false);
+			shrinkIfSmall();
+			return bag.size();
+		}
+		
+		private Node find(InternalEdge key) {
+			ArrayList<Node> bag= byTarget.get(key.target);
+			if (bag != null)
+				for (Node node : bag)
+					if (node.edge.equals(key))
+						return node;
+			return null;
+		}
+		
+		// lugar para more ejes mas (ver addEdges): si van a ser muchos se
+		// indexa de entrada en lugar de copiar al pasar HASH_THRESHOLD
+		void ensureCapacity(int more) {
+			if (list == null)
+				return;
+			if (list.size() + more > HASH_THRESHOLD)
+				buildIndex();
+			else
+				list.ensureCapacity(list.size() + more);
+		}
+		
+		private void buildIndex() {
+			ArrayList<InternalEdge> edges= list;
+			list= null;
+			byTarget= new HashMap<>();
+			for (InternalEdge edge : edges)
+				append(edge);
+		}
+		
+		private void shrinkIfSmall() {
+			if (size >= HASH_THRESHOLD / 4)
+				return;
+			ArrayList<InternalEdge> edges= new ArrayList<>(HASH_THRESHOLD);
+			for (Node node= first; node != null; node= node.next)
+				edges.add(node.edge);
+			list= edges;
+			byTarget= null;
+			first= last= null;
+			size= 0;
+		}
+		
+		private void append(InternalEdge edge) {
+			Node node= new Node(edge);
+			node.previous= last;
+			if (last == null)
+				first= node;
+			else
+				last.next= node;
+			last= node;
+			byTarget.computeIfAbsent(edge.target, target -> new ArrayList<>(1)).add(node);
+			size++;
+		}
+		
+		// fromBag: tambien sacarlo de la bolsa de su destino (por identidad)
+		private void unlink(Node node, boolean fromBag) {
+			if (node.previous == null)
+				first= node.next;
+			else
+				node.previous.next= node.next;
+			if (node.next == null)
+				last= node.previous;
+			else
+				node.next.previous= node.previous;
+			size--;
+			
+			if (fromBag) {
+				ArrayList<Node> bag= byTarget.get(node.edge.target);
+				if (bag.size() == 1)
+					byTarget.remove(node.edge.target);
+				else
+					bag.remove(node);
+			}
+		}
+	}
+	
+	private final class Node {
+		final InternalEdge edge;
+		Node previous;
+		Node next;
+		
+		Node(InternalEdge edge) {
+			this.edge= edge;
+		}
+	}
+	
+	// vista por ids para los algoritmos compartidos (ShortestPaths, etc)
+	IndexedGraph<V> indexedView() {
+		return indexedView;
+	}
+	
+	private final IndexedGraph<V> indexedView= new IndexedGraph<V>() {
+		@Override
+		public VertexIndex<V> vertexIndex() {
+			return vertexIndex;
+		}
+		
+		@Override
+		public boolean isDirected() {
+			return isDirected;
+		}
+		
+		@Override
+		public EdgeCursor outgoing() {
+			return new ListCursor(adjacencyById);
+		}
+		
+		// en un dirigido sin indice de entrantes habria que revisar todas las listas
+		@Override
+		public EdgeCursor incoming() {
+			if (!isDirected)
+				return new ListCursor(adjacencyById);
+			return incomingById == null ? null : new ListCursor(incomingById);
+		}
+	};
+	
+	private class ListCursor implements IndexedGraph.EdgeCursor {
+		private final ArrayList<Collection<InternalEdge>> lists;
+		// las listas chicas son ArrayList: se recorren por posicion sin crear iteradores
+		private List<InternalEdge> list;
+		private Iterator<InternalEdge> iterator;
+		private int position;
+		private InternalEdge current;
+		
+		ListCursor(ArrayList<Collection<InternalEdge>> lists) {
+			this.lists= lists;
+		}
+		
+		@Override
+		public void reset(int vertexId) {
+			Adjacency edges= (Adjacency) lists.get(vertexId);
+			list= edges.asList();
+			if (list != null) {
+				iterator= null;
+				position= 0;
+			} else {
+				iterator= edges.iterator();
+			}
+		}
+		
+		@Override
+		public boolean next() {
+			if (list != null) {
+				if (position == list.size())
+					return false;
+				current= list.get(position++);
+				return true;
+			}
+			if (!iterator.hasNext())
+				return false;
+			current= iterator.next();
+			return true;
+		}
+		
+		@Override
+		public int target() {
+			return current.targetId;
+		}
+		
+		@Override
+		public double weight() {
+			return current.weight;
+		}
+	}
+	
 	// Getters for subclasses
 	protected boolean isWeighted() {
 		return isWeighted;
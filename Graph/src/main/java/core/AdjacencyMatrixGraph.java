@@ -0,0 +1,816 @@
+package core;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Implementacion Densa (Storage.DENSE) para grafos simples.
+// Cada vertice se interna con un id entero y las aristas se guardan en una
+// matriz de bits empaquetada: la fila i tiene un bit por cada destino j.
+// Existencia, alta y baja de ejes son O(1). Si el grafo es con peso, una
+// matriz paralela de double guarda el peso de cada eje.
+//
+// Las propiedades E no se almacenan: lo unico que usan los algoritmos es el
+// peso, y removeEdge(V, V, E) solo puede comparar ese peso.
+public class AdjacencyMatrixGraph<V, E> implements GraphService<V, E> {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private final boolean isDirected;
+	private final boolean acceptSelfLoop;
+	private final boolean isWeighted;
+	private final String type;
+	private final ToDoubleFunction<? super E> weightFunction;
+
+	private final VertexIndex<V> index = new VertexIndex<>();
+
+	// matrix[i] tiene capacity bits; el bit j indica si existe el eje i->j
+	private long[][] matrix = new long[INITIAL_CAPACITY][];
+	// solo si isWeighted: weights[i][j] es el peso del eje i->j
+	private double[][] weights;
+
+	// cantidad de bits en la fila / columna de cada vertice
+	private int[] outCount = new int[INITIAL_CAPACITY];
+	private int[] inCount = new int[INITIAL_CAPACITY];
+
+	private int capacity = INITIAL_CAPACITY;
+	private int edgeCount;
+	// se crea en el primer connectedComponents()
+	private ConnectedComponents<V> components;
+	// copia Csr de la matriz para los DFS iterativos; cada cambio la descarta
+	private Csr csr;
+	// lo elige GraphFactory; la foto de freeze() lo hereda
+	private ShortestPathEngine shortestPathEngine = ShortestPathEngine.DIJKSTRA;
+
+	protected AdjacencyMatrixGraph(boolean isDirected, boolean acceptSelfLoop, boolean isWeighted) {
+		this(isDirected, acceptSelfLoop, isWeighted, null);
+	}
+
+	protected AdjacencyMatrixGraph(boolean isDirected, boolean acceptSelfLoop, boolean isWeighted,
+			ToDoubleFunction<? super E> weightFunction) {
+		this.weightFunction = EdgeWeights.resolve(weightFunction);
+		this.isDirected = isDirected;
+		this.acceptSelfLoop = acceptSelfLoop;
+		this.isWeighted = isWeighted;
+		if (isWeighted)
+			weights = new double[INITIAL_CAPACITY][];
+
+		this.type = String.format("Simple %sWeighted %sGraph with %sSelfLoop (dense)",
+				isWeighted ? "" : "Non-", isDirected ? "Di" : "", acceptSelfLoop ? "" : "No ");
+	}
+
+	void setShortestPathEngine(ShortestPathEngine engine) {
+		shortestPathEngine = engine;
+	}
+
+	@Override
+	public String getType() {
+		return type;
+	}
+
+	@Override
+	public void addVertex(V aVertex) {
+		if (aVertex == null)
+			throw new IllegalArgumentException("addVertex parameter cannot be null");
+
+		internVertex(aVertex);
+	}
+
+	private int internVertex(V aVertex) {
+		int id = index.idOf(aVertex);
+		if (id >= 0)
+			return id;
+
+		id = index.add(aVertex);
+		if (id >= capacity)
+			grow();
+
+		// los ids reutilizados ya tienen su fila (limpia)
+		if (matrix[id] == null) {
+			matrix[id] = new long[words(capacity)];
+			if (isWeighted)
+				weights[id] = new double[capacity];
+		}
+
+		csr = null;
+		if (components != null)
+			components.vertexAdded(id);
+		return id;
+	}
+
+	private void grow() {
+		int newCapacity = capacity * 2;
+
+		matrix = Arrays.copyOf(matrix, newCapacity);
+		for (int i = 0; i < capacity; i++)
+			if (matrix[i] != null)
+				matrix[i] = Arrays.copyOf(matrix[i], words(newCapacity));
+
+		if (isWeighted) {
+			weights = Arrays.copyOf(weights, newCapacity);
+			for (int i = 0; i < capacity; i++)
+				if (weights[i] != null)
+					weights[i] = Arrays.copyOf(weights[i], newCapacity);
+		}
+
+		outCount = Arrays.copyOf(outCount, newCapacity);
+		inCount = Arrays.copyOf(inCount, newCapacity);
+		capacity = newCapacity;
+	}
+
+	@Override
+	public int numberOfVertices() {
+		return index.size();
+	}
+
+	@Override
+	public Collection<V> getVertices() {
+		return index.vertices();
+	}
+
+	@Override
+	public void addEdge(V aVertex, V otherVertex, E theEdge) {
+		if (aVertex == null || otherVertex == null || theEdge == null)
+			throw new IllegalArgumentException("addEdge parameters cannot be null");
+
+		// se valida y se lee una unica vez, en la insercion
+		double weight = isWeighted ? weightFunction.applyAsDouble(theEdge) : 0;
+
+		if (!acceptSelfLoop && aVertex.equals(otherVertex)) {
+			throw new RuntimeException(String.format("%s does not accept self loops between %s and %s",
+					type, aVertex, otherVertex));
+		}
+
+		int from = internVertex(aVertex);
+		int to = internVertex(otherVertex);
+
+		if (hasBit(from, to)) {
+			throw new RuntimeException(String.format(
+					"Simple graph does not allow multiple edges between %s and %s", aVertex, otherVertex));
+		}
+
+		setBit(from, to, weight);
+		if (!isDirected && from != to)
+			setBit(to, from, weight);
+
+		edgeCount++;
+		csr = null;
+		if (components != null)
+			components.edgeAdded(from, to);
+	}
+
+	@Override
+	public int numberOfEdges() {
+		return edgeCount;
+	}
+
+	@Override
+	public boolean removeVertex(V aVertex) {
+		if (aVertex == null || !index.contains(aVertex))
+			return false;
+
+		int id = index.idOf(aVertex);
+		csr = null;
+		if (components != null)
+			components.invalidate();
+
+		// salientes (en no dirigido son todos los incidentes)
+		long[] row = matrix[id];
+		for (int j = nextSetBit(row, 0); j >= 0; j = nextSetBit(row, j + 1)) {
+			clearBit(id, j);
+			if (!isDirected && j != id)
+				clearBit(j, id);
+			edgeCount--;
+		}
+
+		// entrantes: recorrer la columna
+		if (isDirected) {
+			for (int i = 0; i < index.bound(); i++) {
+				if (i != id && matrix[i] != null && hasBit(i, id)) {
+					clearBit(i, id);
+					edgeCount--;
+				}
+			}
+		}
+
+		index.remove(aVertex);
+		return true;
+	}
+
+	@Override
+	public boolean removeEdge(V aVertex, V otherVertex) {
+		if (aVertex == null || otherVertex == null)
+			return false;
+
+		int from = index.idOf(aVertex);
+		int to = index.idOf(otherVertex);
+		if (from < 0 || to < 0 || !hasBit(from, to))
+			return false;
+
+		clearBit(from, to);
+		if (!isDirected && from != to)
+			clearBit(to, from);
+
+		edgeCount--;
+		csr = null;
+		if (components != null)
+			components.invalidate();
+		return true;
+	}
+
+	// como no se guardan las propiedades, un eje con otro peso es otro eje
+	// (sin peso, cualquier theEdge coincide con el eje que haya)
+	@Override
+	public boolean removeEdge(V aVertex, V otherVertex, E theEdge) {
+		if (theEdge == null || aVertex == null || otherVertex == null)
+			return false;
+
+		if (isWeighted) {
+			int from = index.idOf(aVertex);
+			int to = index.idOf(otherVertex);
+			if (from < 0 || to < 0 || !hasBit(from, to)
+					|| weights[from][to] != weightFunction.applyAsDouble(theEdge))
+				return false;
+		}
+		return removeEdge(aVertex, otherVertex);
+	}
+
+	@Override
+	public void dump() {
+		System.out.println(type);
+		for (int i = 0; i < index.bound(); i++) {
+			if (!index.isLive(i))
+				continue;
+
+			StringBuilder line = new StringBuilder().append(index.vertexOf(i)).append(':');
+			long[] row = matrix[i];
+			for (int j = nextSetBit(row, 0); j >= 0; j = nextSetBit(row, j + 1)) {
+				line.append(" -");
+				if (isWeighted)
+					line.append('[').append(weights[i][j]).append(']');
+				line.append("-(").append(index.vertexOf(j)).append(')');
+			}
+			System.out.println(line);
+		}
+	}
+
+	@Override
+	public int degree(V aVertex) {
+		if (isDirected)
+			throw new RuntimeException("degree() method is only applicable to undirected graphs");
+
+		int id = existingId(aVertex);
+
+		// Self-loops contribute twice in undirected graphs
+		return outCount[id] + (hasBit(id, id) ? 1 : 0);
+	}
+
+	@Override
+	public int inDegree(V aVertex) {
+		if (!isDirected)
+			throw new RuntimeException("inDegree() method is only applicable to directed graphs");
+
+		return inCount[existingId(aVertex)];
+	}
+
+	@Override
+	public int outDegree(V aVertex) {
+		if (!isDirected)
+			throw new RuntimeException("outDegree() method is only applicable to directed graphs");
+
+		return outCount[existingId(aVertex)];
+	}
+
+	private int existingId(V aVertex) {
+		int id = aVertex == null ? -1 : index.idOf(aVertex);
+		if (id < 0)
+			throw new RuntimeException("Vertex does not exist");
+		return id;
+	}
+
+	@Override
+	public void printBFS(V vertex) {
+		Iterable<V> bfs = getBFS(vertex);
+
+		System.out.print("BFS from " + vertex + ": ");
+		for (V current : bfs)
+			System.out.print(current + " ");
+		System.out.println();
+	}
+
+	@Override
+	public void printDFS(V vertex) {
+		Iterable<V> dfs = getDFS(vertex);
+
+		System.out.print("DFS from " + vertex + ": ");
+		for (V current : dfs)
+			System.out.print(current + " ");
+		System.out.println();
+	}
+
+	@Override
+	public Iterable<V> getBFS(V vertex) {
+		int start = existingId(vertex);
+		return () -> new BFSIterator(start);
+	}
+
+	@Override
+	public VertexLabels<V> parallelBfs(V source) {
+		int id = source == null ? -1 : index.idOf(source);
+		if (id < 0)
+			throw new RuntimeException("Vertex does not exist");
+
+		return ParallelBfs.hopDistances(indexedView, id, ForkJoinPool.commonPool());
+	}
+
+	@Override
+	public Iterable<V> getDFS(V vertex) {
+		int start = existingId(vertex);
+		return () -> new DFSIterator(start);
+	}
+
+	@Override
+	public void printAllPaths(V start, V end) {
+		if (start == null || end == null)
+			throw new RuntimeException("Start and end vertices cannot be null");
+
+		if (!index.contains(start))
+			throw new RuntimeException("Start vertex does not exist");
+
+		if (!index.contains(end))
+			throw new RuntimeException("End vertex does not exist");
+
+		if (acceptSelfLoop)
+			throw new RuntimeException("printAllPaths is not defined for graphs with self loops");
+
+		// se imprime cada camino apenas se encuentra, sin juntarlos antes
+		AllPaths.print(allPaths(start, end), start, end);
+	}
+
+	@Override
+	public Stream<List<V>> allPaths(V start, V end) {
+		return allPaths(start, end, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public Stream<List<V>> allPaths(V start, V end, int maxLength) {
+		return StreamSupport.stream(pathSearch(start, end, maxLength), false);
+	}
+
+	@Override
+	public long countPaths(V start, V end) {
+		return countPaths(start, end, Integer.MAX_VALUE, Long.MAX_VALUE);
+	}
+
+	@Override
+	public long countPaths(V start, V end, int maxLength, long maxResults) {
+		return pathSearch(start, end, maxLength).count(maxResults);
+	}
+
+	@Override
+	public long parallelCountPaths(V start, V end, int maxLength) {
+		return pathSearch(start, end, maxLength).parallelCount(ForkJoinPool.commonPool());
+	}
+
+	private AllPaths<V> pathSearch(V start, V end, int maxLength) {
+		if (start == null || end == null)
+			throw new RuntimeException("Start and end vertices cannot be null");
+
+		if (!index.contains(start))
+			throw new RuntimeException("Start vertex does not exist");
+
+		if (!index.contains(end))
+			throw new RuntimeException("End vertex does not exist");
+
+		return new AllPaths<>(indexedView, index.idOf(start), index.idOf(end), maxLength);
+	}
+
+	// Con matriz de adyacencia conviene la version O(V^2) sin cola de prioridad:
+	// elegir el minimo recorriendo el arreglo de distancias cuesta lo mismo
+	// que recorrer una fila.
+	@Override
+	public DijkstraPath<V, E> dijkstra(V source) {
+		if (!isWeighted)
+			throw new RuntimeException("Dijkstra algorithm requires a weighted graph");
+
+		if (source == null || !index.contains(source))
+			throw new RuntimeException("Source vertex does not exist");
+
+		int n = index.bound();
+		int[] prev = new int[n];
+		if (shortestPathEngine == ShortestPathEngine.DELTA_STEPPING) {
+			double[] dist = DeltaStepping.distances(Csr.of(indexedView, true), index, index.idOf(source), 0,
+					ForkJoinPool.commonPool(), prev);
+			return DijkstraPath.of(index.copy(), index.idOf(source), dist, prev);
+		}
+
+		double[] dist = new double[n];
+		boolean[] settled = new boolean[n];
+		Arrays.fill(dist, Double.POSITIVE_INFINITY);
+		Arrays.fill(prev, -1);
+		dist[index.idOf(source)] = 0;
+
+		while (true) {
+			int current = -1;
+			for (int i = 0; i < n; i++)
+				if (!settled[i] && dist[i] != Double.POSITIVE_INFINITY && (current < 0 || dist[i] < dist[current]))
+					current = i;
+
+			if (current < 0)
+				break;
+			settled[current] = true;
+
+			long[] row = matrix[current];
+			for (int j = nextSetBit(row, 0); j >= 0; j = nextSetBit(row, j + 1)) {
+				if (settled[j])
+					continue;
+
+				double weight = weights[current][j];
+				if (weight < 0)
+					throw new IllegalArgumentException(String.format(
+							"Dijkstra does not accept negative weights: %s -> %s has weight %s",
+							index.vertexOf(current), index.vertexOf(j), weight));
+
+				if (dist[current] + weight < dist[j]) {
+					dist[j] = dist[current] + weight;
+					prev[j] = current;
+				}
+			}
+		}
+
+		// copia del indice: el resultado no cambia si despues se modifica el grafo
+		return DijkstraPath.of(index.copy(), index.idOf(source), dist, prev);
+	}
+
+	@Override
+	public DijkstraPath<V, E> shortestPath(V from, V to) {
+		return shortestPath(from, to, null);
+	}
+
+	// en la matriz los entrantes son una columna: siempre se puede ir bidireccional
+	@Override
+	public DijkstraPath<V, E> shortestPath(V from, V to, ToDoubleFunction<V> heuristic) {
+		if (!isWeighted)
+			throw new RuntimeException("Dijkstra algorithm requires a weighted graph");
+
+		if (from == null || !index.contains(from))
+			throw new RuntimeException("Source vertex does not exist");
+
+		if (to == null || !index.contains(to))
+			throw new RuntimeException("Target vertex does not exist");
+
+		return ShortestPaths.between(indexedView, index.idOf(from), index.idOf(to), heuristic)
+				.toDijkstraPath(indexedView, from, to);
+	}
+
+	@Override
+	public boolean isBipartite() {
+		int n = index.bound();
+		byte[] colors = new byte[n];
+		int[] queue = new int[n];
+
+		for (int start = 0; start < n; start++) {
+			if (!index.isLive(start) || colors[start] != 0)
+				continue;
+
+			int head = 0, tail = 0;
+			queue[tail++] = start;
+			colors[start] = 1;
+			while (head < tail) {
+				int current = queue[head++];
+				byte neighborColor = (byte) (colors[current] == 1 ? 2 : 1);
+
+				long[] row = matrix[current];
+				for (int j = nextSetBit(row, 0); j >= 0; j = nextSetBit(row, j + 1)) {
+					if (colors[j] == 0) {
+						colors[j] = neighborColor;
+						queue[tail++] = j;
+					} else if (colors[j] == colors[current]) {
+						return false;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	// Kahn sobre la copia Csr que comparten los DFS (ver Dags)
+	@Override
+	public List<V> topologicalOrder() {
+		return Dags.topologicalOrder(csr(), index, isDirected);
+	}
+
+	@Override
+	public DijkstraPath<V, E> dagShortestPaths(V source) {
+		return Dags.paths(csr(), index.copy(), isDirected, source, false);
+	}
+
+	@Override
+	public DijkstraPath<V, E> dagLongestPaths(V source) {
+		return Dags.paths(csr(), index.copy(), isDirected, source, true);
+	}
+
+	@Override
+	public List<V> criticalPath() {
+		return Dags.criticalPath(csr(), index, isDirected);
+	}
+
+	// DFS iterativo: cursor[u] indica desde que columna seguir buscando vecinos
+	@Override
+	public boolean hasCycle() {
+		int n = index.bound();
+		// 0 = sin visitar, 1 = en la pila, 2 = terminado
+		byte[] state = new byte[n];
+		int[] parent = new int[n];
+		int[] cursor = new int[n];
+		int[] stack = new int[n];
+
+		for (int start = 0; start < n; start++) {
+			if (!index.isLive(start) || state[start] != 0)
+				continue;
+
+			int top = 0;
+			stack[top++] = start;
+			state[start] = 1;
+			parent[start] = -1;
+			cursor[start] = 0;
+
+			while (top > 0) {
+				int current = stack[top - 1];
+				int next = nextSetBit(matrix[current], cursor[current]);
+				if (next < 0) {
+					state[current] = 2;
+					top--;
+					continue;
+				}
+				cursor[current] = next + 1;
+
+				if (isDirected) {
+					// back edge
+					if (state[next] == 1)
+						return true;
+				} else {
+					if (next == parent[current])
+						continue;
+					// ya visitado y no es el padre
+					if (state[next] != 0)
+						return true;
+				}
+
+				if (state[next] == 0) {
+					state[next] = 1;
+					parent[next] = current;
+					cursor[next] = 0;
+					stack[top++] = next;
+				}
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public CsrGraph<V, E> freeze() {
+		CsrGraph<V, E> snapshot = CsrGraph.copyOf(indexedView, type, true, acceptSelfLoop, isWeighted, edgeCount);
+		snapshot.setShortestPathEngine(shortestPathEngine);
+		return snapshot;
+	}
+
+	@Override
+	public ConnectedComponents<V> connectedComponents() {
+		if (components == null)
+			components = new ConnectedComponents<>(indexedView);
+		return components;
+	}
+
+	@Override
+	public VertexLabels<V> stronglyConnectedComponents() {
+		return Connectivity.stronglyConnectedComponents(csr(), index);
+	}
+
+	// se rearma solo si el grafo cambio desde la ultima copia
+	private Csr csr() {
+		if (csr == null)
+			csr = Csr.of(indexedView, isWeighted);
+		return csr;
+	}
+
+	IndexedGraph<V> indexedView() {
+		return indexedView;
+	}
+
+	private final IndexedGraph<V> indexedView = new IndexedGraph<V>() {
+		@Override
+		public VertexIndex<V> vertexIndex() {
+			return index;
+		}
+
+		@Override
+		public boolean isDirected() {
+			return isDirected;
+		}
+
+		@Override
+		public EdgeCursor outgoing() {
+			return new RowCursor();
+		}
+
+		@Override
+		public EdgeCursor incoming() {
+			return isDirected ? new ColumnCursor() : new RowCursor();
+		}
+	};
+
+	private class RowCursor implements IndexedGraph.EdgeCursor {
+		private int row;
+		private int column;
+
+		@Override
+		public void reset(int vertexId) {
+			row = vertexId;
+			column = -1;
+		}
+
+		@Override
+		public boolean next() {
+			column = nextSetBit(matrix[row], column + 1);
+			return column >= 0;
+		}
+
+		@Override
+		public int target() {
+			return column;
+		}
+
+		@Override
+		public double weight() {
+			return isWeighted ? weights[row][column] : 0;
+		}
+	}
+
+	// entrantes de un vertice: recorre su columna, O(V) por vertice
+	private class ColumnCursor implements IndexedGraph.EdgeCursor {
+		private int row;
+		private int column;
+
+		@Override
+		public void reset(int vertexId) {
+			column = vertexId;
+			row = -1;
+		}
+
+		@Override
+		public boolean next() {
+			int bound = index.bound();
+			while (++row < bound)
+				if (matrix[row] != null && hasBit(row, column))
+					return true;
+			return false;
+		}
+
+		@Override
+		public int target() {
+			return row;
+		}
+
+		@Override
+		public double weight() {
+			return isWeighted ? weights[row][column] : 0;
+		}
+	}
+
+	private boolean hasBit(int row, int column) {
+		return (matrix[row][column >>> 6] & (1L << column)) != 0;
+	}
+
+	private void setBit(int row, int column, double weight) {
+		matrix[row][column >>> 6] |= 1L << column;
+		if (isWeighted)
+			weights[row][column] = weight;
+		outCount[row]++;
+		inCount[column]++;
+	}
+
+	private void clearBit(int row, int column) {
+		matrix[row][column >>> 6] &= ~(1L << column);
+		outCount[row]--;
+		inCount[column]--;
+	}
+
+	private static int words(int bits) {
+		return (bits + 63) >>> 6;
+	}
+
+	// como BitSet.nextSetBit: primer bit en 1 con posicion >= from, o -1
+	private static int nextSetBit(long[] row, int from) {
+		int w = from >>> 6;
+		if (w >= row.length)
+			return -1;
+
+		long word = row[w] & (-1L << from);
+		while (true) {
+			if (word != 0)
+				return (w << 6) + Long.numberOfTrailingZeros(word);
+			if (++w == row.length)
+				return -1;
+			word = row[w];
+		}
+	}
+
+	private class BFSIterator implements Iterator<V> {
+		private final int[] queue = new int[index.bound()];
+		private final boolean[] visited = new boolean[index.bound()];
+		private int head, tail;
+
+		BFSIterator(int start) {
+			queue[tail++] = start;
+			visited[start] = true;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return head < tail;
+		}
+
+		@Override
+		public V next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+
+			int current = queue[head++];
+			long[] row = matrix[current];
+			for (int j = nextSetBit(row, 0); j >= 0; j = nextSetBit(row, j + 1)) {
+				if (!visited[j]) {
+					visited[j] = true;
+					queue[tail++] = j;
+				}
+			}
+			return index.vertexOf(current);
+		}
+	}
+
+	// mismo orden que el DFSIterator de AdjacencyListGraph: se apilan los vecinos
+	// no visitados en orden inverso para procesar primero el de menor id
+	private class DFSIterator implements Iterator<V> {
+		private int[] stack = new int[16];
+		private int top;
+		private final boolean[] visited = new boolean[index.bound()];
+		private int nextVertex = -1;
+
+		DFSIterator(int start) {
+			push(start);
+			findNext();
+		}
+
+		private void push(int id) {
+			if (top == stack.length)
+				stack = Arrays.copyOf(stack, stack.length * 2);
+			stack[top++] = id;
+		}
+
+		private void findNext() {
+			nextVertex = -1;
+			while (top > 0 && nextVertex < 0) {
+				int candidate = stack[--top];
+				if (visited[candidate])
+					continue;
+
+				nextVertex = candidate;
+				visited[candidate] = true;
+
+				int mark = top;
+				long[] row = matrix[candidate];
+				for (int j = nextSetBit(row, 0); j >= 0; j = nextSetBit(row, j + 1))
+					if (!visited[j])
+						push(j);
+
+				// invertir lo recien apilado
+				for (int i = mark, k = top - 1; i < k; i++, k--) {
+					int aux = stack[i];
+					stack[i] = stack[k];
+					stack[k] = aux;
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextVertex >= 0;
+		}
+
+		@Override
+		public V next() {
+			if (nextVertex < 0)
+				throw new NoSuchElementException();
+
+			V current = index.vertexOf(nextVertex);
+			findNext();
+			return current;
+		}
+	}
+}
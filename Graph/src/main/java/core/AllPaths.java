@@ -0,0 +1,263 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import core.IndexedGraph.EdgeCursor;
+
+// Todos los caminos simples de start a end, de a uno y sin guardarlos.
+// DFS iterativo sobre un IndexedGraph: el estado es el camino actual (ids),
+// un cursor por nivel y un boolean[] de visitados, asi la memoria es
+// O(vertices) sin importar cuantos caminos haya. Cada camino se entrega
+// recien cuando se encuentra, en el mismo orden que el DFS recursivo de
+// printAllPaths.
+//
+// Como Spliterator se puede partir, pero solo en el primer vertice con mas
+// de un vecino (el primer nivel que ramifica): cada parte se queda con un
+// tramo de esos vecinos y recorre sus subarboles con su propia copia de los
+// visitados. Asi allPaths(..).parallel() y parallelCount() reparten el
+// trabajo entre los hilos de un ForkJoinPool.
+final class AllPaths<V> implements Spliterator<List<V>> {
+	private final IndexedGraph<V> graph;
+	private final int end;
+	// cantidad maxima de ejes de un camino
+	private final int maxLength;
+
+	private int[] path;
+	private EdgeCursor[] cursors;
+	private final boolean[] visited;
+	private int depth;
+
+	// path[0 .. base] es el prefijo fijo de esta parte. Los vecinos de
+	// path[base] que le tocan son candidates[next .. to)
+	private int base;
+	private int[] candidates;
+	private int next, to;
+
+	// start == end: un unico camino de un vertice
+	private boolean single;
+	private boolean started;
+
+	AllPaths(IndexedGraph<V> graph, int start, int end, int maxLength) {
+		if (maxLength < 0)
+			throw new RuntimeException(String.format("Invalid max length %d", maxLength));
+
+		this.graph = graph;
+		this.end = end;
+		this.maxLength = maxLength;
+		this.visited = new boolean[graph.vertexIndex().bound()];
+		this.path = new int[16];
+		this.cursors = new EdgeCursor[16];
+		this.single = start == end;
+
+		path[0] = start;
+		visited[start] = true;
+		base = 0;
+		depth = 0;
+		candidates = maxLength > 0 ? neighbours(start) : new int[0];
+		to = candidates.length;
+	}
+
+	// copia para trySplit: mismo prefijo, otro tramo de candidatos
+	private AllPaths(AllPaths<V> other, int from, int to) {
+		this.graph = other.graph;
+		this.end = other.end;
+		this.maxLength = other.maxLength;
+		this.visited = other.visited.clone();
+		this.path = Arrays.copyOf(other.path, other.path.length);
+		this.cursors = new EdgeCursor[other.cursors.length];
+		this.base = other.base;
+		this.depth = other.base;
+		this.candidates = other.candidates;
+		this.next = from;
+		this.to = to;
+	}
+
+	static <V> Stream<List<V>> stream(IndexedGraph<V> graph, int start, int end, int maxLength) {
+		return StreamSupport.stream(new AllPaths<>(graph, start, end, maxLength), false);
+	}
+
+	// el formato de printAllPaths, imprimiendo cada camino apenas se encuentra
+	static <V> void print(Stream<List<V>> paths, V start, V end) {
+		Iterator<List<V>> iterator = paths.iterator();
+		if (!iterator.hasNext()) {
+			System.out.println("No paths found from " + start + " to " + end);
+			return;
+		}
+
+		System.out.println("All paths from " + start + " to " + end + ":");
+		long count = 0;
+		while (iterator.hasNext()) {
+			List<V> currentPath = iterator.next();
+			System.out.print("Path " + (++count) + ": ");
+			for (int j = 0; j < currentPath.size(); j++) {
+				System.out.print(currentPath.get(j));
+				if (j < currentPath.size() - 1)
+					System.out.print(" -> ");
+			}
+			System.out.println();
+		}
+		System.out.println("Total paths found: " + count);
+	}
+
+	// cuenta sin armar ninguna lista; corta al llegar a maxResults
+	long count(long maxResults) {
+		if (single)
+			return maxResults > 0 ? 1 : 0;
+
+		long count = 0;
+		while (count < maxResults && advance())
+			count++;
+		return count;
+	}
+
+	long parallelCount(ForkJoinPool pool) {
+		return pool.invoke(new CountTask<>(this));
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super List<V>> action) {
+		if (single) {
+			// [start] es el unico camino, como en count(): sin candidatos
+			// advance() no sigue a caminos que vuelven a start
+			single = false;
+			next = to;
+			action.accept(List.of(graph.vertexIndex().vertexOf(end)));
+			return true;
+		}
+		if (!advance())
+			return false;
+
+		List<V> found = new ArrayList<>(depth + 2);
+		VertexIndex<V> index = graph.vertexIndex();
+		for (int i = 0; i <= depth; i++)
+			found.add(index.vertexOf(path[i]));
+		found.add(index.vertexOf(end));
+		action.accept(found);
+		return true;
+	}
+
+	@Override
+	public Spliterator<List<V>> trySplit() {
+		if (started || single)
+			return null;
+
+		// mientras el prefijo no ramifica se baja por el unico vecino
+		while (to - next == 1) {
+			int v = candidates[next];
+			if (v == end || visited[v] || base + 1 >= maxLength)
+				return null;
+			push(base + 1, v);
+			base++;
+			depth = base;
+			candidates = neighbours(v);
+			next = 0;
+			to = candidates.length;
+		}
+		if (to - next < 2)
+			return null;
+
+		// la parte nueva se queda con la primera mitad: se mantiene el orden del DFS
+		int middle = (next + to) >>> 1;
+		AllPaths<V> prefix = new AllPaths<>(this, next, middle);
+		next = middle;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+		return Long.MAX_VALUE;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | NONNULL | DISTINCT;
+	}
+
+	// deja en path[0 .. depth] + end el proximo camino, false si no hay mas
+	private boolean advance() {
+		started = true;
+		while (depth >= base) {
+			int v;
+			if (depth == base) {
+				if (next == to)
+					return false;
+				v = candidates[next++];
+			} else {
+				EdgeCursor cursor = cursors[depth];
+				if (!cursor.next()) {
+					// lo deshago
+					visited[path[depth]] = false;
+					depth--;
+					continue;
+				}
+				v = cursor.target();
+			}
+
+			if (v == end)
+				return true;
+			// con depth + 1 == maxLength v ya no podria seguir: no hace falta apilarlo
+			if (!visited[v] && depth + 1 < maxLength) {
+				depth++;
+				push(depth, v);
+				cursors[depth].reset(v);
+			}
+		}
+		return false;
+	}
+
+	private void push(int level, int v) {
+		if (level == path.length) {
+			path = Arrays.copyOf(path, 2 * level);
+			cursors = Arrays.copyOf(cursors, 2 * level);
+		}
+		if (cursors[level] == null)
+			cursors[level] = graph.outgoing();
+		path[level] = v;
+		visited[v] = true;
+	}
+
+	private int[] neighbours(int u) {
+		EdgeCursor cursor = graph.outgoing();
+		int[] list = new int[8];
+		int size = 0;
+		cursor.reset(u);
+		while (cursor.next()) {
+			if (size == list.length)
+				list = Arrays.copyOf(list, 2 * size);
+			list[size++] = cursor.target();
+		}
+		return Arrays.copyOf(list, size);
+	}
+
+	// se parte mientras se pueda y se suman las partes
+	private static final class CountTask<V> extends RecursiveTask<Long> {
+		private static final long serialVersionUID = 1L;
+
+		private final transient AllPaths<V> paths;
+
+		CountTask(AllPaths<V> paths) {
+			this.paths = paths;
+		}
+
+		@Override
+		protected Long compute() {
+			AllPaths<V> prefix = (AllPaths<V>) paths.trySplit();
+			if (prefix == null)
+				return paths.count(Long.MAX_VALUE);
+
+			CountTask<V> left = new CountTask<>(prefix);
+			left.fork();
+			long right = new CountTask<>(paths).compute();
+			return left.join() + right;
+		}
+	}
+}
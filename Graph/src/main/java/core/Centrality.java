@@ -0,0 +1,360 @@
+package core;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+// Medidas de centralidad sobre la foto CSR de un grafo (graph.freeze()):
+//  - pageRank: iteracion de potencias con el rank en double[]; cada iteracion
+//    es un producto matriz-vector "pull" (cada vertice suma lo que le mandan
+//    sus entrantes) repartido en tramos de GRAIN vertices, sin atomicos
+//  - degree / inDegree / outDegree: grado sobre n-1
+//  - closeness y betweenness (Brandes) con un BFS por origen: con samples
+//    origenes al azar si el grafo es grande, exactas si samples >= n. Los BFS
+//    de distintos origenes corren en paralelo, cada hilo con sus arreglos
+// Los pesos de los ejes no se usan: las distancias son en saltos. Los ejes
+// multiples cuentan una vez cada uno.
+//
+// Las opciones se configuran como en GraphBuilder:
+//   Centrality.of(graph).withThreads(4).withTolerance(1e-9).pageRank()
+public final class Centrality<V> {
+	static final int GRAIN = 4096;
+
+	private final VertexIndex<V> index;
+	private final Csr out;
+	private final Csr in;
+	private final boolean directed;
+	private final int n;
+
+	private int threads = 0;
+	private double tolerance = 1e-9;
+	private int maxIterations = 100;
+	private double damping = 0.85;
+	private int samples = Integer.MAX_VALUE;
+	private long seed = 1;
+
+	private Centrality(CsrGraph<V, ?> graph) {
+		this.index = graph.vertexIndex();
+		this.out = graph.csr();
+		this.in = graph.incoming();
+		this.directed = graph.isDirected();
+		this.n = index.size();
+	}
+
+	// la foto se toma ahora: cambios posteriores del grafo no se ven
+	public static <V> Centrality<V> of(GraphService<V, ?> graph) {
+		return new Centrality<>(graph.freeze());
+	}
+
+	// hilos del ForkJoinPool propio de cada calculo; 0 usa el commonPool
+	public Centrality<V> withThreads(int threads) {
+		if (threads < 0)
+			throw new RuntimeException(String.format("Invalid number of threads %d", threads));
+		this.threads = threads;
+		return this;
+	}
+
+	// PageRank termina cuando la suma de los cambios de una iteracion es menor
+	public Centrality<V> withTolerance(double tolerance) {
+		if (!(tolerance > 0))
+			throw new RuntimeException(String.format("Invalid tolerance %s", tolerance));
+		this.tolerance = tolerance;
+		return this;
+	}
+
+	public Centrality<V> withMaxIterations(int maxIterations) {
+		if (maxIterations <= 0)
+			throw new RuntimeException(String.format("Invalid number of iterations %d", maxIterations));
+		this.maxIterations = maxIterations;
+		return this;
+	}
+
+	public Centrality<V> withDamping(double damping) {
+		if (!(damping >= 0 && damping < 1))
+			throw new RuntimeException(String.format("Invalid damping factor %s", damping));
+		this.damping = damping;
+		return this;
+	}
+
+	// cantidad de origenes de closeness y betweenness
+	public Centrality<V> withSamples(int samples) {
+		if (samples <= 0)
+			throw new RuntimeException(String.format("Invalid number of samples %d", samples));
+		this.samples = samples;
+		return this;
+	}
+
+	// semilla para elegir los origenes
+	public Centrality<V> withSeed(long seed) {
+		this.seed = seed;
+		return this;
+	}
+
+	// Suma 1. Los vertices sin salientes reparten su rank entre todos.
+	// No dirigido: cada eje cuenta en los dos sentidos
+	public VertexScores<V> pageRank() {
+		ForkJoinPool pool = pool();
+		try {
+			return pageRank(pool);
+		} finally {
+			release(pool);
+		}
+	}
+
+	private VertexScores<V> pageRank(ForkJoinPool pool) {
+		double[] rank = new double[n];
+		double[] next = new double[n];
+		// rank[u] / grado de salida de u
+		double[] share = new double[n];
+		int chunks = chunks(n);
+		double[] partial = new double[chunks];
+		Arrays.fill(rank, 1.0 / n);
+
+		int iterations = 0;
+		double change = Double.POSITIVE_INFINITY;
+		while (iterations < maxIterations && change >= tolerance) {
+			double[] current = rank;
+			double[] updated = next;
+			Parallel.run(pool, chunks, c -> {
+				double dangling = 0;
+				for (int u = c * GRAIN, hi = Math.min(n, u + GRAIN); u < hi; u++) {
+					int degree = out.degree(u);
+					if (degree == 0)
+						dangling += current[u];
+					else
+						share[u] = current[u] / degree;
+				}
+				partial[c] = dangling;
+			});
+			double base = (1 - damping) / n + damping * sum(partial) / n;
+
+			Parallel.run(pool, chunks, c -> {
+				double delta = 0;
+				for (int v = c * GRAIN, hi = Math.min(n, v + GRAIN); v < hi; v++) {
+					double incoming = 0;
+					for (int e = in.offsets[v]; e < in.offsets[v + 1]; e++)
+						incoming += share[in.targets[e]];
+					updated[v] = base + damping * incoming;
+					delta += Math.abs(updated[v] - current[v]);
+				}
+				partial[c] = delta;
+			});
+			change = sum(partial);
+			next = rank;
+			rank = updated;
+			iterations++;
+		}
+		return new VertexScores<>(index, rank, iterations);
+	}
+
+	// entrantes + salientes en dirigidos
+	public VertexScores<V> degree() {
+		double[] scores = new double[n];
+		for (int v = 0; v < n; v++)
+			scores[v] = directed ? out.degree(v) + in.degree(v) : out.degree(v);
+		return normalized(scores);
+	}
+
+	public VertexScores<V> inDegree() {
+		double[] scores = new double[n];
+		for (int v = 0; v < n; v++)
+			scores[v] = in.degree(v);
+		return normalized(scores);
+	}
+
+	public VertexScores<V> outDegree() {
+		double[] scores = new double[n];
+		for (int v = 0; v < n; v++)
+			scores[v] = out.degree(v);
+		return normalized(scores);
+	}
+
+	// (alcanzados - 1) / suma de distancias a los alcanzados, yendo por los
+	// salientes. Con muestras solo se cuentan las distancias a los origenes
+	// elegidos: los BFS van por los entrantes desde cada origen
+	public VertexScores<V> closeness() {
+		ForkJoinPool pool = pool();
+		try {
+			return closeness(pool);
+		} finally {
+			release(pool);
+		}
+	}
+
+	private VertexScores<V> closeness(ForkJoinPool pool) {
+		int[] sources = sources();
+		int tasks = tasks(sources.length);
+		long[][] distanceSums = new long[tasks][];
+		int[][] reachedCounts = new int[tasks][];
+		Parallel.run(pool, tasks, t -> {
+			long[] distanceSum = new long[n];
+			int[] reached = new int[n];
+			int[] distance = new int[n];
+			int[] queue = new int[n];
+			Arrays.fill(distance, -1);
+			for (int i = t; i < sources.length; i += tasks) {
+				int count = bfs(in, sources[i], distance, queue, null);
+				for (int j = 1; j < count; j++) {
+					int v = queue[j];
+					distanceSum[v] += distance[v];
+					reached[v]++;
+				}
+				for (int j = 0; j < count; j++)
+					distance[queue[j]] = -1;
+			}
+			distanceSums[t] = distanceSum;
+			reachedCounts[t] = reached;
+		});
+
+		double[] scores = new double[n];
+		for (int v = 0; v < n; v++) {
+			long distanceSum = 0;
+			long reached = 0;
+			for (int t = 0; t < tasks; t++) {
+				distanceSum += distanceSums[t][v];
+				reached += reachedCounts[t][v];
+			}
+			scores[v] = distanceSum == 0 ? 0 : (double) reached / distanceSum;
+		}
+		return new VertexScores<>(index, scores, sources.length);
+	}
+
+	// cantidad de caminos minimos entre otros dos vertices que pasan por cada
+	// vertice (sin normalizar; en no dirigidos cada par cuenta una vez). Con
+	// muestras se escala por n / samples
+	public VertexScores<V> betweenness() {
+		ForkJoinPool pool = pool();
+		try {
+			return betweenness(pool);
+		} finally {
+			release(pool);
+		}
+	}
+
+	private VertexScores<V> betweenness(ForkJoinPool pool) {
+		int[] sources = sources();
+		int tasks = tasks(sources.length);
+		double[][] partials = new double[tasks][];
+		Parallel.run(pool, tasks, t -> {
+			double[] centrality = new double[n];
+			int[] distance = new int[n];
+			int[] queue = new int[n];
+			double[] paths = new double[n];
+			double[] dependency = new double[n];
+			Arrays.fill(distance, -1);
+			for (int i = t; i < sources.length; i += tasks) {
+				int source = sources[i];
+				int count = bfs(out, source, distance, queue, paths);
+
+				// en orden inverso de BFS: los de un nivel mas abajo ya tienen
+				// su dependencia completa
+				for (int j = count - 1; j >= 0; j--) {
+					int v = queue[j];
+					double sum = 0;
+					for (int e = out.offsets[v]; e < out.offsets[v + 1]; e++) {
+						int w = out.targets[e];
+						if (distance[w] == distance[v] + 1)
+							sum += (1 + dependency[w]) / paths[w];
+					}
+					dependency[v] = paths[v] * sum;
+					if (v != source)
+						centrality[v] += dependency[v];
+				}
+				for (int j = 0; j < count; j++) {
+					int v = queue[j];
+					distance[v] = -1;
+					paths[v] = 0;
+					dependency[v] = 0;
+				}
+			}
+			partials[t] = centrality;
+		});
+
+		double scale = (double) n / sources.length / (directed ? 1 : 2);
+		double[] scores = new double[n];
+		for (int v = 0; v < n; v++) {
+			for (int t = 0; t < tasks; t++)
+				scores[v] += partials[t][v];
+			scores[v] *= scale;
+		}
+		return new VertexScores<>(index, scores, sources.length);
+	}
+
+	// BFS desde source: deja en queue[0 .. devuelto) los alcanzados en orden y
+	// su distancia en distance (que debe venir en -1). Si paths no es null
+	// cuenta los caminos minimos a cada uno (debe venir en 0)
+	private static int bfs(Csr csr, int source, int[] distance, int[] queue, double[] paths) {
+		int head = 0, tail = 0;
+		queue[tail++] = source;
+		distance[source] = 0;
+		if (paths != null)
+			paths[source] = 1;
+		while (head < tail) {
+			int u = queue[head++];
+			for (int e = csr.offsets[u]; e < csr.offsets[u + 1]; e++) {
+				int v = csr.targets[e];
+				if (distance[v] < 0) {
+					distance[v] = distance[u] + 1;
+					queue[tail++] = v;
+				}
+				if (paths != null && distance[v] == distance[u] + 1)
+					paths[v] += paths[u];
+			}
+		}
+		return tail;
+	}
+
+	// todos los vertices, o samples distintos al azar
+	private int[] sources() {
+		int[] all = new int[n];
+		for (int v = 0; v < n; v++)
+			all[v] = v;
+		if (samples >= n)
+			return all;
+
+		// Fisher-Yates parcial
+		Random random = new Random(seed);
+		for (int i = 0; i < samples; i++) {
+			int j = i + random.nextInt(n - i);
+			int swap = all[i];
+			all[i] = all[j];
+			all[j] = swap;
+		}
+		return Arrays.copyOf(all, samples);
+	}
+
+	// una tarea por hilo: cada una con sus propios arreglos de n
+	private int tasks(int sources) {
+		int parallelism = threads > 0 ? threads : ForkJoinPool.commonPool().getParallelism();
+		return Math.max(1, Math.min(parallelism, sources));
+	}
+
+	private VertexScores<V> normalized(double[] scores) {
+		if (n > 1)
+			for (int v = 0; v < n; v++)
+				scores[v] /= n - 1;
+		return new VertexScores<>(index, scores, 0);
+	}
+
+	private static int chunks(int size) {
+		return (size + GRAIN - 1) / GRAIN;
+	}
+
+	// en orden: el resultado no depende de cuantos hilos haya
+	private static double sum(double[] values) {
+		double total = 0;
+		for (double value : values)
+			total += value;
+		return total;
+	}
+
+	// un pool propio por calculo si se pidio una cantidad de hilos
+	private ForkJoinPool pool() {
+		return threads > 0 ? new ForkJoinPool(threads) : ForkJoinPool.commonPool();
+	}
+
+	private static void release(ForkJoinPool pool) {
+		if (pool != ForkJoinPool.commonPool())
+			pool.shutdown();
+	}
+}
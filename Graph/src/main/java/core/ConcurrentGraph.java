@@ -0,0 +1,670 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+import core.IndexedGraph.EdgeCursor;
+
+// GraphService para un hilo que escribe mientras muchos otros leen, sin un
+// lock global (Concurrency.SNAPSHOT en GraphBuilder).
+//
+// Las escrituras se serializan entre si y se aplican a un AdjacencyListGraph
+// comun (master), asi las validaciones y la semantica de cada metodo son las
+// mismas que en el grafo secuencial. Despues de cada escritura se publica una
+// version nueva e inmutable, con copy-on-write por vertice: cada version es una
+// tabla de bloques de CHUNK filas y solo se copian la fila de cada vertice
+// tocado (sus vecinos como ints y sus pesos), el bloque que la contiene y la
+// tabla de bloques. Una escritura cuesta O(grado + CHUNK + V / CHUNK).
+//
+// Las lecturas toman la version publicada (un campo volatile) y trabajan solo
+// sobre ella: nunca esperan a un escritor y nunca ven una escritura a medias.
+// Cada llamada ve una version; para varias consultas sobre la misma version,
+// freeze() la devuelve como CsrGraph (se arma una sola vez por version).
+// BFS, DFS, grados e isBipartite recorren las filas; el resto de los
+// algoritmos usa esa foto CSR, que comparten todos los lectores de la version.
+//
+// Los vertices tienen un id estable que no se reutiliza: una version vieja
+// sigue encontrando sus vertices aunque ya se hayan borrado, y un vertice que
+// vuelve recupera su id. Se paga una entrada por cada vertice distinto que
+// paso por el grafo.
+public final class ConcurrentGraph<V, E> implements GraphService<V, E> {
+	static final int CHUNK = 1024;
+
+	// solo se toca con writeLock
+	private final AdjacencyListGraph<V, E> master;
+	private final String type;
+	private final boolean isDirected;
+	private final boolean isWeighted;
+	private final ShortestPathEngine shortestPathEngine;
+
+	private final Object writeLock = new Object();
+	// vertice -> id estable. Se escribe antes de publicar la version que lo usa
+	private final ConcurrentHashMap<V, Integer> ids = new ConcurrentHashMap<>();
+	// con writeLock: id estable -> vertice, id del master -> id estable
+	private final ArrayList<V> vertices = new ArrayList<>();
+	private int[] stableOf = new int[16];
+	// ids estables cuya fila cambio desde la ultima version publicada
+	private final BitSet dirty = new BitSet();
+	// dentro de update(): se publica una sola vez al final
+	private boolean batching;
+
+	private volatile Version current;
+
+	// el master dirigido debe tener IncomingIndex.YES (ver GraphFactory)
+	ConcurrentGraph(AdjacencyListGraph<V, E> master, ShortestPathEngine shortestPathEngine) {
+		this.master = master;
+		this.type = master.getType() + " (concurrent)";
+		this.isDirected = master.isDirected;
+		this.isWeighted = master.isWeighted();
+		this.shortestPathEngine = shortestPathEngine;
+		this.current = new Version(newChunks(0), 0, 0, 0);
+	}
+
+	// Varias escrituras que se publican juntas. changes recibe este mismo
+	// grafo; sus lecturas dentro del bloque todavia ven la version anterior.
+	// Solo se publica si changes termina bien. Si lanza una excepcion no hay
+	// rollback: las escrituras anteriores ya estan en el master y no se
+	// publican ahora, pero se publican con la proxima escritura
+	public void update(Consumer<? super GraphService<V, E>> changes) {
+		synchronized (writeLock) {
+			if (batching) {
+				changes.accept(this);
+				return;
+			}
+			batching = true;
+			try {
+				changes.accept(this);
+			} finally {
+				batching = false;
+			}
+			publish();
+		}
+	}
+
+	@Override
+	public String getType() {
+		return type;
+	}
+
+	@Override
+	public void addVertex(V aVertex) {
+		synchronized (writeLock) {
+			try {
+				master.addVertex(aVertex);
+			} finally {
+				touch(aVertex);
+				publish();
+			}
+		}
+	}
+
+	@Override
+	public int numberOfVertices() {
+		return current.vertexCount;
+	}
+
+	// los vertices de la version actual, en orden de id
+	@Override
+	public Collection<V> getVertices() {
+		Version version = current;
+		List<V> result = new ArrayList<>(version.vertexCount);
+		for (int id = 0; id < version.bound; id++) {
+			Row<V> row = version.row(id);
+			if (row != null)
+				result.add(row.vertex);
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	@Override
+	public void addEdge(V aVertex, V otherVertex, E theEdge) {
+		synchronized (writeLock) {
+			try {
+				master.addEdge(aVertex, otherVertex, theEdge);
+			} finally {
+				touch(aVertex);
+				touch(otherVertex);
+				publish();
+			}
+		}
+	}
+
+	@Override
+	public int numberOfEdges() {
+		return current.edgeCount;
+	}
+
+	@Override
+	public boolean removeVertex(V aVertex) {
+		synchronized (writeLock) {
+			Integer id = aVertex == null ? null : ids.get(aVertex);
+			// los vecinos de la ultima version publicada; los que se agregaron
+			// despues (dentro de update) ya estan en dirty
+			Row<V> row = id == null ? null : current.row(id);
+			boolean removed = master.removeVertex(aVertex);
+			if (removed) {
+				dirty.set(id);
+				if (row != null) {
+					for (int target : row.out)
+						dirty.set(target);
+					if (row.in != null)
+						for (int source : row.in)
+							dirty.set(source);
+				}
+				publish();
+			}
+			return removed;
+		}
+	}
+
+	@Override
+	public boolean removeEdge(V aVertex, V otherVertex) {
+		synchronized (writeLock) {
+			try {
+				return master.removeEdge(aVertex, otherVertex);
+			} finally {
+				touch(aVertex);
+				touch(otherVertex);
+				publish();
+			}
+		}
+	}
+
+	@Override
+	public boolean removeEdge(V aVertex, V otherVertex, E theEdge) {
+		synchronized (writeLock) {
+			try {
+				return master.removeEdge(aVertex, otherVertex, theEdge);
+			} finally {
+				touch(aVertex);
+				touch(otherVertex);
+				publish();
+			}
+		}
+	}
+
+	// con writeLock: la fila del vertice se vuelve a armar al publicar
+	private void touch(V aVertex) {
+		if (aVertex == null)
+			return;
+		Integer id = ids.get(aVertex);
+		if (id == null) {
+			if (!master.existsVertex(aVertex))
+				return;
+			id = vertices.size();
+			vertices.add(aVertex);
+			ids.put(aVertex, id);
+		}
+		dirty.set(id);
+	}
+
+	// con writeLock: nueva version con las filas de dirty copiadas del master
+	private void publish() {
+		if (batching || dirty.isEmpty())
+			return;
+
+		VertexIndex<V> masterIndex = master.getVertexIndex();
+		// primero los ids del master de todos los tocados: una fila puede
+		// apuntar a un vertice nuevo de esta misma version
+		for (int id = dirty.nextSetBit(0); id >= 0; id = dirty.nextSetBit(id + 1)) {
+			int masterId = masterIndex.idOf(vertices.get(id));
+			if (masterId < 0)
+				continue;
+			if (masterId >= stableOf.length)
+				stableOf = Arrays.copyOf(stableOf, Math.max(2 * stableOf.length, masterId + 1));
+			stableOf[masterId] = id;
+		}
+
+		Version before = current;
+		int bound = vertices.size();
+		Row<V>[][] chunks = Arrays.copyOf(before.chunks, (bound + CHUNK - 1) / CHUNK);
+		boolean[] copied = new boolean[chunks.length];
+		EdgeCursor outgoing = master.indexedView().outgoing();
+		EdgeCursor incoming = isDirected ? master.indexedView().incoming() : null;
+		for (int id = dirty.nextSetBit(0); id >= 0; id = dirty.nextSetBit(id + 1)) {
+			int chunk = id / CHUNK;
+			if (!copied[chunk]) {
+				chunks[chunk] = chunks[chunk] == null ? newChunk() : chunks[chunk].clone();
+				copied[chunk] = true;
+			}
+			chunks[chunk][id % CHUNK] = row(id, masterIndex.idOf(vertices.get(id)), outgoing, incoming);
+		}
+		dirty.clear();
+
+		current = new Version(chunks, bound, master.numberOfVertices(), master.numberOfEdges());
+	}
+
+	// la fila del vertice con ese id estable, o null si ya no esta en el master
+	private Row<V> row(int id, int masterId, EdgeCursor outgoing, EdgeCursor incoming) {
+		if (masterId < 0)
+			return null;
+
+		int[] out = new int[count(outgoing, masterId)];
+		double[] weights = isWeighted ? new double[out.length] : null;
+		int selfLoops = 0;
+		outgoing.reset(masterId);
+		for (int e = 0; outgoing.next(); e++) {
+			out[e] = stableOf[outgoing.target()];
+			if (weights != null)
+				weights[e] = outgoing.weight();
+			if (out[e] == id)
+				selfLoops++;
+		}
+
+		int[] in = null;
+		if (incoming != null) {
+			in = new int[count(incoming, masterId)];
+			incoming.reset(masterId);
+			for (int e = 0; incoming.next(); e++)
+				in[e] = stableOf[incoming.target()];
+		}
+		return new Row<>(vertices.get(id), out, weights, in, selfLoops);
+	}
+
+	private static int count(EdgeCursor cursor, int vertexId) {
+		int count = 0;
+		cursor.reset(vertexId);
+		while (cursor.next())
+			count++;
+		return count;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <V> Row<V>[][] newChunks(int length) {
+		return (Row<V>[][]) new Row<?>[length][];
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <V> Row<V>[] newChunk() {
+		return (Row<V>[]) new Row<?>[CHUNK];
+	}
+
+	@Override
+	public void dump() {
+		Version version = current;
+		System.out.println(type);
+		for (int id = 0; id < version.bound; id++) {
+			Row<V> row = version.row(id);
+			if (row == null)
+				continue;
+			StringBuilder line = new StringBuilder().append(row.vertex).append(':');
+			for (int e = 0; e < row.out.length; e++) {
+				line.append(" -");
+				if (row.weights != null)
+					line.append('[').append(row.weights[e]).append(']');
+				line.append("-(").append(version.row(row.out[e]).vertex).append(')');
+			}
+			System.out.println(line);
+		}
+	}
+
+	@Override
+	public int degree(V aVertex) {
+		if (isDirected)
+			throw new RuntimeException("degree() method is only applicable to undirected graphs");
+
+		Row<V> row = existingRow(current, aVertex);
+		// Self-loops contribute twice in undirected graphs
+		return row.out.length + row.selfLoops;
+	}
+
+	@Override
+	public int inDegree(V aVertex) {
+		if (!isDirected)
+			throw new RuntimeException("inDegree() method is only applicable to directed graphs");
+
+		return existingRow(current, aVertex).in.length;
+	}
+
+	@Override
+	public int outDegree(V aVertex) {
+		if (!isDirected)
+			throw new RuntimeException("outDegree() method is only applicable to directed graphs");
+
+		return existingRow(current, aVertex).out.length;
+	}
+
+	private int existingId(Version version, V aVertex) {
+		Integer id = aVertex == null ? null : ids.get(aVertex);
+		if (id == null || version.row(id) == null)
+			throw new RuntimeException("Vertex does not exist");
+		return id;
+	}
+
+	private Row<V> existingRow(Version version, V aVertex) {
+		return version.row(existingId(version, aVertex));
+	}
+
+	@Override
+	public void printBFS(V vertex) {
+		Iterable<V> bfs = getBFS(vertex);
+
+		System.out.print("BFS from " + vertex + ": ");
+		for (V current : bfs)
+			System.out.print(current + " ");
+		System.out.println();
+	}
+
+	@Override
+	public void printDFS(V vertex) {
+		Iterable<V> dfs = getDFS(vertex);
+
+		System.out.print("DFS from " + vertex + ": ");
+		for (V current : dfs)
+			System.out.print(current + " ");
+		System.out.println();
+	}
+
+	// el recorrido es sobre la version del momento en que se pidio
+	@Override
+	public Iterable<V> getBFS(V vertex) {
+		Version version = current;
+		int start = existingId(version, vertex);
+		return () -> new BFSIterator(version, start);
+	}
+
+	@Override
+	public Iterable<V> getDFS(V vertex) {
+		Version version = current;
+		int start = existingId(version, vertex);
+		return () -> new DFSIterator(version, start);
+	}
+
+	@Override
+	public VertexLabels<V> parallelBfs(V source) {
+		return current.frozen().parallelBfs(source);
+	}
+
+	@Override
+	public void printAllPaths(V start, V end) {
+		current.frozen().printAllPaths(start, end);
+	}
+
+	@Override
+	public Stream<List<V>> allPaths(V start, V end) {
+		return current.frozen().allPaths(start, end);
+	}
+
+	@Override
+	public Stream<List<V>> allPaths(V start, V end, int maxLength) {
+		return current.frozen().allPaths(start, end, maxLength);
+	}
+
+	@Override
+	public long countPaths(V start, V end) {
+		return current.frozen().countPaths(start, end);
+	}
+
+	@Override
+	public long countPaths(V start, V end, int maxLength, long maxResults) {
+		return current.frozen().countPaths(start, end, maxLength, maxResults);
+	}
+
+	@Override
+	public long parallelCountPaths(V start, V end, int maxLength) {
+		return current.frozen().parallelCountPaths(start, end, maxLength);
+	}
+
+	@Override
+	public DijkstraPath<V, E> dijkstra(V source) {
+		return current.frozen().dijkstra(source);
+	}
+
+	@Override
+	public DijkstraPath<V, E> shortestPath(V from, V to) {
+		return current.frozen().shortestPath(from, to);
+	}
+
+	@Override
+	public DijkstraPath<V, E> shortestPath(V from, V to, ToDoubleFunction<V> heuristic) {
+		return current.frozen().shortestPath(from, to, heuristic);
+	}
+
+	@Override
+	public List<V> topologicalOrder() {
+		return current.frozen().topologicalOrder();
+	}
+
+	@Override
+	public DijkstraPath<V, E> dagShortestPaths(V source) {
+		return current.frozen().dagShortestPaths(source);
+	}
+
+	@Override
+	public DijkstraPath<V, E> dagLongestPaths(V source) {
+		return current.frozen().dagLongestPaths(source);
+	}
+
+	@Override
+	public List<V> criticalPath() {
+		return current.frozen().criticalPath();
+	}
+
+	@Override
+	public boolean isBipartite() {
+		Version version = current;
+		byte[] colors = new byte[version.bound];
+		int[] queue = new int[version.bound];
+
+		for (int start = 0; start < version.bound; start++) {
+			if (colors[start] != 0 || version.row(start) == null)
+				continue;
+
+			int head = 0, tail = 0;
+			queue[tail++] = start;
+			colors[start] = 1;
+			while (head < tail) {
+				int current = queue[head++];
+				byte neighborColor = (byte) (colors[current] == 1 ? 2 : 1);
+
+				for (int target : version.row(current).out) {
+					if (colors[target] == 0) {
+						colors[target] = neighborColor;
+						queue[tail++] = target;
+					} else if (colors[target] != neighborColor) {
+						return false;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean hasCycle() {
+		return current.frozen().hasCycle();
+	}
+
+	@Override
+	public VertexLabels<V> stronglyConnectedComponents() {
+		return current.frozen().stronglyConnectedComponents();
+	}
+
+	// las de la version actual: despues de una escritura es otra instancia
+	@Override
+	public ConnectedComponents<V> connectedComponents() {
+		return current.frozen().connectedComponents();
+	}
+
+	// la version actual como CsrGraph, la misma instancia hasta la proxima escritura
+	@Override
+	public CsrGraph<V, E> freeze() {
+		return current.frozen();
+	}
+
+	// Un vertice en una version: vecinos por id estable. En dirigidos in son
+	// los origenes de los ejes entrantes; en no dirigidos null
+	private static final class Row<V> {
+		final V vertex;
+		final int[] out;
+		final double[] weights;
+		final int[] in;
+		final int selfLoops;
+
+		Row(V vertex, int[] out, double[] weights, int[] in, int selfLoops) {
+			this.vertex = vertex;
+			this.out = out;
+			this.weights = weights;
+			this.in = in;
+			this.selfLoops = selfLoops;
+		}
+	}
+
+	// Una version publicada. Los bloques no se modifican despues de publicarla
+	private final class Version {
+		final Row<V>[][] chunks;
+		final int bound;
+		final int vertexCount;
+		final int edgeCount;
+		private CsrGraph<V, E> frozen;
+
+		Version(Row<V>[][] chunks, int bound, int vertexCount, int edgeCount) {
+			this.chunks = chunks;
+			this.bound = bound;
+			this.vertexCount = vertexCount;
+			this.edgeCount = edgeCount;
+		}
+
+		Row<V> row(int id) {
+			return id < bound ? chunks[id / CHUNK][id % CHUNK] : null;
+		}
+
+		// la foto CSR de esta version, con ids 0..n-1 sin huecos
+		synchronized CsrGraph<V, E> frozen() {
+			if (frozen != null)
+				return frozen;
+
+			VertexIndex<V> index = new VertexIndex<>();
+			int[] remap = new int[bound];
+			int entries = 0;
+			for (int id = 0; id < bound; id++) {
+				Row<V> row = row(id);
+				if (row != null) {
+					remap[id] = index.add(row.vertex);
+					entries += row.out.length;
+				}
+			}
+
+			int n = index.size();
+			int[] offsets = new int[n + 1];
+			int[] targets = new int[entries];
+			double[] weights = isWeighted ? new double[entries] : null;
+			for (int id = 0; id < bound; id++) {
+				Row<V> row = row(id);
+				if (row == null)
+					continue;
+				int u = remap[id];
+				int position = offsets[u];
+				for (int e = 0; e < row.out.length; e++, position++) {
+					targets[position] = remap[row.out[e]];
+					if (weights != null)
+						weights[position] = row.weights[e];
+				}
+				offsets[u + 1] = position;
+			}
+
+			frozen = new CsrGraph<>(index, new Csr(offsets, targets, weights), master.getType() + " (csr snapshot)",
+					master.isSimple(), isDirected, master.acceptsSelfLoop(), isWeighted, edgeCount);
+			frozen.setShortestPathEngine(shortestPathEngine);
+			return frozen;
+		}
+	}
+
+	private final class BFSIterator implements Iterator<V> {
+		private final Version version;
+		private final int[] queue;
+		private final BitSet visited;
+		private int head, tail;
+
+		BFSIterator(Version version, int start) {
+			this.version = version;
+			queue = new int[version.vertexCount];
+			visited = new BitSet(version.bound);
+			queue[tail++] = start;
+			visited.set(start);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return head < tail;
+		}
+
+		@Override
+		public V next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+
+			Row<V> row = version.row(queue[head++]);
+			for (int target : row.out) {
+				if (!visited.get(target)) {
+					visited.set(target);
+					queue[tail++] = target;
+				}
+			}
+			return row.vertex;
+		}
+	}
+
+	// mismo orden que el DFSIterator de AdjacencyListGraph
+	private final class DFSIterator implements Iterator<V> {
+		private final Version version;
+		private int[] stack = new int[16];
+		private int top;
+		private final BitSet visited;
+		private int nextVertex = -1;
+
+		DFSIterator(Version version, int start) {
+			this.version = version;
+			visited = new BitSet(version.bound);
+			push(start);
+			findNext();
+		}
+
+		private void push(int id) {
+			if (top == stack.length)
+				stack = Arrays.copyOf(stack, stack.length * 2);
+			stack[top++] = id;
+		}
+
+		private void findNext() {
+			nextVertex = -1;
+			while (top > 0 && nextVertex < 0) {
+				int candidate = stack[--top];
+				if (visited.get(candidate))
+					continue;
+
+				nextVertex = candidate;
+				visited.set(candidate);
+				int[] out = version.row(candidate).out;
+				for (int e = out.length - 1; e >= 0; e--)
+					if (!visited.get(out[e]))
+						push(out[e]);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextVertex >= 0;
+		}
+
+		@Override
+		public V next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+
+			V current = version.row(nextVertex).vertex;
+			findNext();
+			return current;
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package core;
+
+import java.util.Arrays;
+
+import core.IndexedGraph.EdgeCursor;
+
+// Componentes conexas de un grafo no dirigido con union-find (disjoint set)
+// sobre los ids internos de los vertices: path compression + union by rank.
+// Se obtiene con graph.connectedComponents() y el grafo la mantiene al dia:
+//  - addVertex y addEdge la actualizan en el momento (casi O(1))
+//  - removeVertex y removeEdge pueden partir una componente, y union-find no
+//    sabe deshacer uniones: la marcan dirty y se reconstruye una sola vez,
+//    en la proxima consulta
+// No es thread-safe, igual que el grafo.
+public class ConnectedComponents<V> {
+	private final IndexedGraph<V> graph;
+
+	private int[] parent;
+	private byte[] rank;
+	private int count;
+	private boolean dirty;
+
+	ConnectedComponents(IndexedGraph<V> graph) {
+		if (graph.isDirected())
+			throw new RuntimeException("Cannot calculate connected components for directed graph");
+
+		this.graph = graph;
+		rebuild();
+	}
+
+	// true si hay un camino entre ambos vertices
+	// if any of the vertices does not exist: throw exception
+	public boolean sameComponent(V aVertex, V otherVertex) {
+		int a = idOf(aVertex);
+		int b = idOf(otherVertex);
+		refresh();
+		return find(a) == find(b);
+	}
+
+	public int componentCount() {
+		refresh();
+		return count;
+	}
+
+	// representante de la componente del vertice: dos vertices estan en la misma
+	// componente sii tienen el mismo representante (hasta la proxima modificacion)
+	// if the vertex does not exist: throw exception
+	public V representative(V aVertex) {
+		int id = idOf(aVertex);
+		refresh();
+		return graph.vertexIndex().vertexOf(find(id));
+	}
+
+
+	// avisos del grafo
+
+	void vertexAdded(int id) {
+		if (dirty)
+			return;
+		ensureCapacity(id + 1);
+		parent[id] = id;
+		rank[id] = 0;
+		count++;
+	}
+
+	void edgeAdded(int from, int to) {
+		if (!dirty)
+			union(from, to);
+	}
+
+	void invalidate() {
+		dirty = true;
+	}
+
+
+	private void refresh() {
+		if (dirty)
+			rebuild();
+	}
+
+	private void rebuild() {
+		VertexIndex<V> index = graph.vertexIndex();
+		int n = index.bound();
+		parent = new int[Math.max(n, 16)];
+		rank = new byte[parent.length];
+		count = 0;
+		for (int id = 0; id < n; id++) {
+			if (index.isLive(id)) {
+				parent[id] = id;
+				count++;
+			}
+		}
+
+		EdgeCursor cursor = graph.outgoing();
+		for (int id = 0; id < n; id++) {
+			if (!index.isLive(id))
+				continue;
+			cursor.reset(id);
+			while (cursor.next())
+				union(id, cursor.target());
+		}
+		dirty = false;
+	}
+
+	// path halving: cada vertice del camino pasa a apuntar a su abuelo
+	private int find(int id) {
+		while (parent[id] != id) {
+			parent[id] = parent[parent[id]];
+			id = parent[id];
+		}
+		return id;
+	}
+
+	private void union(int a, int b) {
+		int rootA = find(a);
+		int rootB = find(b);
+		if (rootA == rootB)
+			return;
+
+		if (rank[rootA] < rank[rootB]) {
+			parent[rootA] = rootB;
+		} else if (rank[rootA] > rank[rootB]) {
+			parent[rootB] = rootA;
+		} else {
+			parent[rootB] = rootA;
+			rank[rootA]++;
+		}
+		count--;
+	}
+
+	private void ensureCapacity(int size) {
+		if (size > parent.length) {
+			int newLength = Math.max(size, 2 * parent.length);
+			parent = Arrays.copyOf(parent, newLength);
+			rank = Arrays.copyOf(rank, newLength);
+		}
+	}
+
+	private int idOf(V aVertex) {
+		int id = aVertex == null ? -1 : graph.vertexIndex().idOf(aVertex);
+		if (id < 0)
+			throw new RuntimeException("Vertex does not exist");
+		return id;
+	}
+}
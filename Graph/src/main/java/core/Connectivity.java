@@ -0,0 +1,136 @@
+package core;
+
+import java.util.Arrays;
+
+// Deteccion de ciclos y componentes fuertemente conexas sobre un Csr.
+// Todo es iterativo (pila explicita de ids), asi que una cadena de 10^6
+// vertices no produce StackOverflowError, y solo se usan arreglos de int
+final class Connectivity {
+
+	private Connectivity() {
+	}
+
+	// directed: existe un back edge (eje hacia un vertice que esta en la pila)
+	// undirected: existe un eje hacia un vertice ya visitado que no es el padre
+	static boolean hasCycle(Csr csr, boolean directed) {
+		int n = csr.vertexBound();
+		int[] offsets = csr.offsets;
+		int[] targets = csr.targets;
+
+		// 0 = sin visitar, 1 = en la pila, 2 = terminado
+		byte[] state = new byte[n];
+		int[] parent = new int[n];
+		// proxima posicion de targets a revisar de cada vertice
+		int[] position = new int[n];
+		int[] stack = new int[n];
+
+		for (int start = 0; start < n; start++) {
+			if (state[start] != 0)
+				continue;
+
+			int top = 0;
+			stack[top++] = start;
+			state[start] = 1;
+			parent[start] = -1;
+			position[start] = offsets[start];
+
+			while (top > 0) {
+				int current = stack[top - 1];
+				if (position[current] == offsets[current + 1]) {
+					state[current] = 2;
+					top--;
+					continue;
+				}
+				int next = targets[position[current]++];
+
+				if (directed) {
+					if (state[next] == 1)
+						return true;
+				} else {
+					// como el recursivo: se saltean los ejes hacia el padre
+					if (next == parent[current])
+						continue;
+					if (state[next] != 0)
+						return true;
+				}
+
+				if (state[next] == 0) {
+					state[next] = 1;
+					parent[next] = current;
+					position[next] = offsets[next];
+					stack[top++] = next;
+				}
+			}
+		}
+		return false;
+	}
+
+	// Tarjan iterativo. Devuelve la componente de cada vertice por id (-1 para
+	// ids libres) y la cantidad de componentes. Quedan numeradas en orden
+	// topologico inverso del grafo condensado: si hay un eje de la componente
+	// a a la b (a != b), entonces a > b
+	static <V> VertexLabels<V> stronglyConnectedComponents(Csr csr, VertexIndex<V> index) {
+		int n = csr.vertexBound();
+		int[] offsets = csr.offsets;
+		int[] targets = csr.targets;
+
+		int[] order = new int[n];
+		int[] low = new int[n];
+		int[] components = new int[n];
+		int[] position = new int[n];
+		Arrays.fill(order, -1);
+		Arrays.fill(components, -1);
+
+		// pila de Tarjan (vertices sin componente asignada) y pila de llamadas
+		int[] pending = new int[n];
+		int[] calls = new int[n];
+		int pendingTop = 0;
+		int counter = 0;
+		int count = 0;
+
+		for (int start = 0; start < n; start++) {
+			if (!index.isLive(start) || order[start] != -1)
+				continue;
+
+			int callTop = 0;
+			order[start] = low[start] = counter++;
+			position[start] = offsets[start];
+			pending[pendingTop++] = start;
+			calls[callTop++] = start;
+
+			while (callTop > 0) {
+				int current = calls[callTop - 1];
+
+				if (position[current] < offsets[current + 1]) {
+					int next = targets[position[current]++];
+					if (order[next] == -1) {
+						order[next] = low[next] = counter++;
+						position[next] = offsets[next];
+						pending[pendingTop++] = next;
+						calls[callTop++] = next;
+					} else if (components[next] == -1) {
+						// sigue en la pila de Tarjan
+						low[current] = Math.min(low[current], order[next]);
+					}
+					continue;
+				}
+
+				// se terminaron los vecinos: "return" de la llamada
+				callTop--;
+				if (low[current] == order[current]) {
+					int member;
+					do {
+						member = pending[--pendingTop];
+						components[member] = count;
+					} while (member != current);
+					count++;
+				}
+				if (callTop > 0) {
+					int caller = calls[callTop - 1];
+					low[caller] = Math.min(low[caller], low[current]);
+				}
+			}
+		}
+		return new VertexLabels<>(index, components, count);
+	}
+}
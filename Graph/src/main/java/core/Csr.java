@@ -0,0 +1,117 @@
+package core;
+
+import java.util.Arrays;
+
+import core.IndexedGraph.EdgeCursor;
+
+// Copia compacta (Compressed Sparse Row) de los ejes salientes de un
+// IndexedGraph: los vecinos de u son targets[offsets[u] .. offsets[u+1]).
+// Los ids libres del VertexIndex quedan sin ejes.
+// Los algoritmos iterativos la usan para recorrer con un int por vertice
+// en lugar de un cursor por nivel de la pila
+final class Csr {
+	final int[] offsets;
+	final int[] targets;
+	// null si no se pidieron los pesos
+	final double[] weights;
+
+	Csr(int[] offsets, int[] targets, double[] weights) {
+		this.offsets = offsets;
+		this.targets = targets;
+		this.weights = weights;
+	}
+
+	static Csr of(IndexedGraph<?> graph, boolean withWeights) {
+		VertexIndex<?> index = graph.vertexIndex();
+		int n = index.bound();
+		EdgeCursor cursor = graph.outgoing();
+
+		// primera pasada: grado de salida de cada vertice
+		int[] offsets = new int[n + 1];
+		for (int u = 0; u < n; u++) {
+			int degree = 0;
+			if (index.isLive(u)) {
+				cursor.reset(u);
+				while (cursor.next())
+					degree++;
+			}
+			offsets[u + 1] = offsets[u] + degree;
+		}
+
+		// segunda pasada: los destinos (y pesos) en su lugar
+		int[] targets = new int[offsets[n]];
+		double[] weights = withWeights ? new double[offsets[n]] : null;
+		for (int u = 0; u < n; u++) {
+			if (!index.isLive(u))
+				continue;
+			int position = offsets[u];
+			cursor.reset(u);
+			while (cursor.next()) {
+				targets[position] = cursor.target();
+				if (weights != null)
+					weights[position] = cursor.weight();
+				position++;
+			}
+		}
+		return new Csr(offsets, targets, weights);
+	}
+
+	// el grafo con los ejes invertidos: los vecinos de v son los origenes de
+	// los ejes que llegan a v. Para un grafo no dirigido es el mismo grafo
+	Csr transpose() {
+		int n = vertexBound();
+		int[] reverseOffsets = new int[n + 1];
+		for (int target : targets)
+			reverseOffsets[target + 1]++;
+		for (int v = 0; v < n; v++)
+			reverseOffsets[v + 1] += reverseOffsets[v];
+
+		int[] next = Arrays.copyOf(reverseOffsets, n);
+		int[] reverseTargets = new int[targets.length];
+		double[] reverseWeights = weights == null ? null : new double[weights.length];
+		for (int u = 0; u < n; u++) {
+			for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+				int position = next[targets[e]]++;
+				reverseTargets[position] = u;
+				if (reverseWeights != null)
+					reverseWeights[position] = weights[e];
+			}
+		}
+		return new Csr(reverseOffsets, reverseTargets, reverseWeights);
+	}
+
+	int vertexBound() {
+		return offsets.length - 1;
+	}
+
+	int degree(int u) {
+		return offsets[u + 1] - offsets[u];
+	}
+
+	// EdgeCursor sobre los arreglos, para usar un Csr como IndexedGraph
+	final class Cursor implements IndexedGraph.EdgeCursor {
+		private int position;
+		private int end;
+
+		@Override
+		public void reset(int vertexId) {
+			position = offsets[vertexId] - 1;
+			end = offsets[vertexId + 1];
+		}
+
+		@Override
+		public boolean next() {
+			return ++position < end;
+		}
+
+		@Override
+		public int target() {
+			return targets[position];
+		}
+
+		@Override
+		public double weight() {
+			return weights == null ? 0 : weights[position];
+		}
+	}
+}
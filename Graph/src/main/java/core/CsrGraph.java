@@ -0,0 +1,597 @@
+package core;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import core.IndexedGraph.EdgeCursor;
+
+// Foto inmutable de un grafo en formato CSR (Compressed Sparse Row): los
+// vertices con ids 0..n-1 sin huecos, los vecinos de u en
+// targets[offsets[u] .. offsets[u+1]) y, si el grafo es con peso, los pesos
+// en weights[] con las mismas posiciones. Son 4 bytes por eje (12 con peso)
+// en lugar de un InternalEdge dentro de un ArrayList dentro de un HashMap.
+//
+// Se obtiene con graph.freeze() o CsrGraph.of(graph). Implementa la parte de
+// consulta de GraphService; los metodos que modifican el grafo tiran
+// UnsupportedOperationException.
+// Las propiedades E de cada eje no se guardan (solo su peso).
+// Al ser inmutable se puede recorrer desde varios hilos a la vez.
+public final class CsrGraph<V, E> implements GraphService<V, E> {
+	private final String type;
+	private final boolean isSimple;
+	private final boolean isDirected;
+	private final boolean acceptSelfLoop;
+	private final boolean isWeighted;
+
+	private final VertexIndex<V> index;
+	private final Csr out;
+	// dirigido: los entrantes (para inDegree y la busqueda bidireccional).
+	// No dirigido: el mismo out
+	private final Csr in;
+	private final int edgeCount;
+	// por vertice: self-loops (suman 2 en degree)
+	private final int[] selfLoops;
+
+	private ConnectedComponents<V> components;
+	// lo fija quien crea la foto, antes de devolverla
+	private ShortestPathEngine shortestPathEngine = ShortestPathEngine.DIJKSTRA;
+
+	public static <V, E> CsrGraph<V, E> of(GraphService<V, E> graph) {
+		return graph.freeze();
+	}
+
+	// copia el grafo visto por ids, renumerando los vertices para que no queden huecos
+	static <V, E> CsrGraph<V, E> copyOf(IndexedGraph<V> graph, String type, boolean isSimple,
+			boolean acceptSelfLoop, boolean isWeighted, int edgeCount) {
+		VertexIndex<V> source = graph.vertexIndex();
+		int bound = source.bound();
+		int[] remap = new int[bound];
+		VertexIndex<V> index = new VertexIndex<>();
+		for (int id = 0; id < bound; id++) {
+			if (source.isLive(id))
+				remap[id] = index.add(source.vertexOf(id));
+		}
+
+		int n = index.size();
+		EdgeCursor cursor = graph.outgoing();
+		int[] offsets = new int[n + 1];
+		for (int id = 0; id < bound; id++) {
+			if (!source.isLive(id))
+				continue;
+			int degree = 0;
+			cursor.reset(id);
+			while (cursor.next())
+				degree++;
+			offsets[remap[id] + 1] = degree;
+		}
+		for (int v = 0; v < n; v++)
+			offsets[v + 1] += offsets[v];
+
+		int[] targets = new int[offsets[n]];
+		double[] weights = isWeighted ? new double[offsets[n]] : null;
+		for (int id = 0; id < bound; id++) {
+			if (!source.isLive(id))
+				continue;
+			int position = offsets[remap[id]];
+			cursor.reset(id);
+			while (cursor.next()) {
+				targets[position] = remap[cursor.target()];
+				if (weights != null)
+					weights[position] = cursor.weight();
+				position++;
+			}
+		}
+
+		return new CsrGraph<>(index, new Csr(offsets, targets, weights), type + " (csr snapshot)", isSimple,
+				graph.isDirected(), acceptSelfLoop, isWeighted, edgeCount);
+	}
+
+	// index con ids 0..n-1 y out sobre esos ids (ver GraphFiles)
+	CsrGraph(VertexIndex<V> index, Csr out, String type, boolean isSimple, boolean isDirected,
+			boolean acceptSelfLoop, boolean isWeighted, int edgeCount) {
+		this.index = index;
+		this.out = out;
+		this.type = type;
+		this.isSimple = isSimple;
+		this.isDirected = isDirected;
+		this.acceptSelfLoop = acceptSelfLoop;
+		this.isWeighted = isWeighted;
+		this.edgeCount = edgeCount;
+
+		selfLoops = new int[index.size()];
+		for (int u = 0; u < index.size(); u++) {
+			for (int e = out.offsets[u]; e < out.offsets[u + 1]; e++)
+				if (out.targets[e] == u)
+					selfLoops[u]++;
+		}
+		in = isDirected ? out.transpose() : out;
+	}
+
+	void setShortestPathEngine(ShortestPathEngine engine) {
+		shortestPathEngine = engine;
+	}
+
+	// datos para GraphFiles
+	Csr csr() {
+		return out;
+	}
+
+	// dirigido: los entrantes; no dirigido: el mismo csr() (ver Centrality)
+	Csr incoming() {
+		return in;
+	}
+
+	VertexIndex<V> vertexIndex() {
+		return index;
+	}
+
+	boolean isSimple() {
+		return isSimple;
+	}
+
+	boolean isDirected() {
+		return isDirected;
+	}
+
+	boolean acceptsSelfLoop() {
+		return acceptSelfLoop;
+	}
+
+	boolean isWeighted() {
+		return isWeighted;
+	}
+
+	@Override
+	public String getType() {
+		return type;
+	}
+
+	@Override
+	public void addVertex(V aVertex) {
+		throw new UnsupportedOperationException("CsrGraph is immutable");
+	}
+
+	@Override
+	public int numberOfVertices() {
+		return index.size();
+	}
+
+	@Override
+	public Collection<V> getVertices() {
+		return index.vertices();
+	}
+
+	@Override
+	public void addEdge(V aVertex, V otherVertex, E theEdge) {
+		throw new UnsupportedOperationException("CsrGraph is immutable");
+	}
+
+	@Override
+	public int numberOfEdges() {
+		return edgeCount;
+	}
+
+	@Override
+	public boolean removeVertex(V aVertex) {
+		throw new UnsupportedOperationException("CsrGraph is immutable");
+	}
+
+	@Override
+	public boolean removeEdge(V aVertex, V otherVertex) {
+		throw new UnsupportedOperationException("CsrGraph is immutable");
+	}
+
+	@Override
+	public boolean removeEdge(V aVertex, V otherVertex, E theEdge) {
+		throw new UnsupportedOperationException("CsrGraph is immutable");
+	}
+
+	@Override
+	public void dump() {
+		System.out.println(type);
+		for (int u = 0; u < index.size(); u++) {
+			StringBuilder line = new StringBuilder().append(index.vertexOf(u)).append(':');
+			for (int e = out.offsets[u]; e < out.offsets[u + 1]; e++) {
+				line.append(" -");
+				if (isWeighted)
+					line.append('[').append(out.weights[e]).append(']');
+				line.append("-(").append(index.vertexOf(out.targets[e])).append(')');
+			}
+			System.out.println(line);
+		}
+	}
+
+	@Override
+	public int degree(V aVertex) {
+		if (isDirected)
+			throw new RuntimeException("degree() method is only applicable to undirected graphs");
+
+		int id = existingId(aVertex);
+		// Self-loops contribute twice in undirected graphs
+		return out.degree(id) + selfLoops[id];
+	}
+
+	@Override
+	public int inDegree(V aVertex) {
+		if (!isDirected)
+			throw new RuntimeException("inDegree() method is only applicable to directed graphs");
+
+		return in.degree(existingId(aVertex));
+	}
+
+	@Override
+	public int outDegree(V aVertex) {
+		if (!isDirected)
+			throw new RuntimeException("outDegree() method is only applicable to directed graphs");
+
+		return out.degree(existingId(aVertex));
+	}
+
+	private int existingId(V aVertex) {
+		int id = aVertex == null ? -1 : index.idOf(aVertex);
+		if (id < 0)
+			throw new RuntimeException("Vertex does not exist");
+		return id;
+	}
+
+	@Override
+	public void printBFS(V vertex) {
+		Iterable<V> bfs = getBFS(vertex);
+
+		System.out.print("BFS from " + vertex + ": ");
+		for (V current : bfs)
+			System.out.print(current + " ");
+		System.out.println();
+	}
+
+	@Override
+	public void printDFS(V vertex) {
+		Iterable<V> dfs = getDFS(vertex);
+
+		System.out.print("DFS from " + vertex + ": ");
+		for (V current : dfs)
+			System.out.print(current + " ");
+		System.out.println();
+	}
+
+	@Override
+	public Iterable<V> getBFS(V vertex) {
+		int start = existingId(vertex);
+		return () -> new BFSIterator(start);
+	}
+
+	@Override
+	public Iterable<V> getDFS(V vertex) {
+		int start = existingId(vertex);
+		return () -> new DFSIterator(start);
+	}
+
+	// no hace falta copiar a otro Csr: se usan los arreglos de la foto
+	@Override
+	public VertexLabels<V> parallelBfs(V source) {
+		return ParallelBfs.hopDistances(out, isDirected, index, existingId(source), ForkJoinPool.commonPool());
+	}
+
+	@Override
+	public void printAllPaths(V start, V end) {
+		if (start == null || end == null)
+			throw new RuntimeException("Start and end vertices cannot be null");
+
+		if (!index.contains(start))
+			throw new RuntimeException("Start vertex does not exist");
+
+		if (!index.contains(end))
+			throw new RuntimeException("End vertex does not exist");
+
+		if (acceptSelfLoop)
+			throw new RuntimeException("printAllPaths is not defined for graphs with self loops");
+
+		// se imprime cada camino apenas se encuentra, sin juntarlos antes
+		AllPaths.print(allPaths(start, end), start, end);
+	}
+
+	@Override
+	public Stream<List<V>> allPaths(V start, V end) {
+		return allPaths(start, end, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public Stream<List<V>> allPaths(V start, V end, int maxLength) {
+		return StreamSupport.stream(pathSearch(start, end, maxLength), false);
+	}
+
+	@Override
+	public long countPaths(V start, V end) {
+		return countPaths(start, end, Integer.MAX_VALUE, Long.MAX_VALUE);
+	}
+
+	@Override
+	public long countPaths(V start, V end, int maxLength, long maxResults) {
+		return pathSearch(start, end, maxLength).count(maxResults);
+	}
+
+	@Override
+	public long parallelCountPaths(V start, V end, int maxLength) {
+		return pathSearch(start, end, maxLength).parallelCount(ForkJoinPool.commonPool());
+	}
+
+	private AllPaths<V> pathSearch(V start, V end, int maxLength) {
+		if (!isSimple)
+			throw new RuntimeException("allPaths is not defined for Multigraphs");
+
+		if (start == null || end == null)
+			throw new RuntimeException("Start and end vertices cannot be null");
+
+		if (!index.contains(start))
+			throw new RuntimeException("Start vertex does not exist");
+
+		if (!index.contains(end))
+			throw new RuntimeException("End vertex does not exist");
+
+		return new AllPaths<>(indexedView, index.idOf(start), index.idOf(end), maxLength);
+	}
+
+	@Override
+	public DijkstraPath<V, E> dijkstra(V source) {
+		if (!isSimple)
+			throw new RuntimeException("Dijkstra algorithm is only allowed for simple graphs");
+
+		if (!isWeighted)
+			throw new RuntimeException("Dijkstra algorithm requires a weighted graph");
+
+		if (source == null || !index.contains(source))
+			throw new RuntimeException("Source vertex does not exist");
+
+		int n = index.size();
+		int[] prev = new int[n];
+		if (shortestPathEngine == ShortestPathEngine.DELTA_STEPPING) {
+			double[] dist = DeltaStepping.distances(out, index, index.idOf(source), 0, ForkJoinPool.commonPool(), prev);
+			return DijkstraPath.of(index, index.idOf(source), dist, prev);
+		}
+
+		int[] offsets = out.offsets;
+		int[] targets = out.targets;
+		double[] weights = out.weights;
+
+		double[] dist = new double[n];
+		Arrays.fill(dist, Double.POSITIVE_INFINITY);
+		Arrays.fill(prev, -1);
+
+		IndexedMinHeap pq = new IndexedMinHeap(n);
+		int start = index.idOf(source);
+		dist[start] = 0;
+		pq.insertOrDecrease(start, 0);
+		while (!pq.isEmpty()) {
+			int current = pq.poll();
+			for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+				int target = targets[e];
+				double weight = weights[e];
+				if (weight < 0)
+					throw new IllegalArgumentException(String.format(
+							"Dijkstra does not accept negative weights: %s -> %s has weight %s",
+							index.vertexOf(current), index.vertexOf(target), weight));
+
+				if (dist[current] + weight < dist[target]) {
+					dist[target] = dist[current] + weight;
+					prev[target] = current;
+					pq.insertOrDecrease(target, dist[target]);
+				}
+			}
+		}
+
+		// el indice de la foto no cambia: el resultado lo usa directamente
+		return DijkstraPath.of(index, index.idOf(source), dist, prev);
+	}
+
+	@Override
+	public DijkstraPath<V, E> shortestPath(V from, V to) {
+		return shortestPath(from, to, null);
+	}
+
+	@Override
+	public DijkstraPath<V, E> shortestPath(V from, V to, ToDoubleFunction<V> heuristic) {
+		if (!isSimple)
+			throw new RuntimeException("Dijkstra algorithm is only allowed for simple graphs");
+
+		if (!isWeighted)
+			throw new RuntimeException("Dijkstra algorithm requires a weighted graph");
+
+		if (from == null || !index.contains(from))
+			throw new RuntimeException("Source vertex does not exist");
+
+		if (to == null || !index.contains(to))
+			throw new RuntimeException("Target vertex does not exist");
+
+		return ShortestPaths.between(indexedView, index.idOf(from), index.idOf(to), heuristic)
+				.toDijkstraPath(indexedView, from, to);
+	}
+
+	@Override
+	public boolean isBipartite() {
+		int n = index.size();
+		byte[] colors = new byte[n];
+		int[] queue = new int[n];
+
+		for (int start = 0; start < n; start++) {
+			if (colors[start] != 0)
+				continue;
+
+			int head = 0, tail = 0;
+			queue[tail++] = start;
+			colors[start] = 1;
+			while (head < tail) {
+				int current = queue[head++];
+				byte neighborColor = (byte) (colors[current] == 1 ? 2 : 1);
+
+				for (int e = out.offsets[current]; e < out.offsets[current + 1]; e++) {
+					int target = out.targets[e];
+					if (colors[target] == 0) {
+						colors[target] = neighborColor;
+						queue[tail++] = target;
+					} else if (colors[target] != neighborColor) {
+						return false;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public List<V> topologicalOrder() {
+		return Dags.topologicalOrder(out, index, isDirected);
+	}
+
+	@Override
+	public DijkstraPath<V, E> dagShortestPaths(V source) {
+		return Dags.paths(out, index, isDirected, source, false);
+	}
+
+	@Override
+	public DijkstraPath<V, E> dagLongestPaths(V source) {
+		return Dags.paths(out, index, isDirected, source, true);
+	}
+
+	@Override
+	public List<V> criticalPath() {
+		return Dags.criticalPath(out, index, isDirected);
+	}
+
+	@Override
+	public boolean hasCycle() {
+		return Connectivity.hasCycle(out, isDirected);
+	}
+
+	@Override
+	public VertexLabels<V> stronglyConnectedComponents() {
+		return Connectivity.stronglyConnectedComponents(out, index);
+	}
+
+	// como el grafo no cambia, se calcula una vez y nunca se invalida
+	@Override
+	public synchronized ConnectedComponents<V> connectedComponents() {
+		if (components == null)
+			components = new ConnectedComponents<>(indexedView);
+		return components;
+	}
+
+	@Override
+	public CsrGraph<V, E> freeze() {
+		return this;
+	}
+
+	IndexedGraph<V> indexedView() {
+		return indexedView;
+	}
+
+	private final IndexedGraph<V> indexedView = new IndexedGraph<V>() {
+		@Override
+		public VertexIndex<V> vertexIndex() {
+			return index;
+		}
+
+		@Override
+		public boolean isDirected() {
+			return isDirected;
+		}
+
+		@Override
+		public EdgeCursor outgoing() {
+			return out.new Cursor();
+		}
+
+		@Override
+		public EdgeCursor incoming() {
+			return in.new Cursor();
+		}
+	};
+
+	private class BFSIterator implements Iterator<V> {
+		private final int[] queue = new int[index.size()];
+		private final boolean[] visited = new boolean[index.size()];
+		private int head, tail;
+
+		BFSIterator(int start) {
+			queue[tail++] = start;
+			visited[start] = true;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return head < tail;
+		}
+
+		@Override
+		public V next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+
+			int current = queue[head++];
+			for (int e = out.offsets[current]; e < out.offsets[current + 1]; e++) {
+				int target = out.targets[e];
+				if (!visited[target]) {
+					visited[target] = true;
+					queue[tail++] = target;
+				}
+			}
+			return index.vertexOf(current);
+		}
+	}
+
+	// mismo orden que el DFSIterator de AdjacencyListGraph: se apilan los vecinos
+	// no visitados en orden inverso para procesar primero el primero de la lista
+	private class DFSIterator implements Iterator<V> {
+		private int[] stack = new int[16];
+		private int top;
+		private final boolean[] visited = new boolean[index.size()];
+		private int nextVertex = -1;
+
+		DFSIterator(int start) {
+			push(start);
+			findNext();
+		}
+
+		private void push(int id) {
+			if (top == stack.length)
+				stack = Arrays.copyOf(stack, stack.length * 2);
+			stack[top++] = id;
+		}
+
+		private void findNext() {
+			nextVertex = -1;
+			while (top > 0 && nextVertex < 0) {
+				int candidate = stack[--top];
+				if (visited[candidate])
+					continue;
+
+				nextVertex = candidate;
+				visited[candidate] = true;
+				for (int e = out.offsets[candidate + 1] - 1; e >= out.offsets[candidate]; e--)
+					if (!visited[out.targets[e]])
+						push(out.targets[e]);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextVertex >= 0;
+		}
+
+		@Override
+		public V next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+
+			V current = index.vertexOf(nextVertex);
+			findNext();
+			return current;
+		}
+	}
+}
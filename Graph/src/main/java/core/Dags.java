@@ -0,0 +1,193 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Algoritmos para grafos dirigidos aciclicos sobre un Csr:
+//  - orden topologico con Kahn (grados de entrada en un int[], sin recursion)
+//  - caminos minimos/maximos desde un origen relajando los ejes en orden
+//    topologico: O(V+E), sin cola de prioridad y con pesos negativos
+//  - camino critico: el camino de mayor peso de todo el DAG
+// Si el grafo tiene un ciclo se corta enseguida con una excepcion que lo
+// muestra (ver cycleMessage).
+final class Dags {
+
+	private Dags() {
+	}
+
+	// lo que usan las implementaciones de GraphService. index debe ser uno que
+	// no cambie (una copia si el grafo es modificable): queda en el resultado
+
+	static <V> List<V> topologicalOrder(Csr out, VertexIndex<V> index, boolean isDirected) {
+		if (!isDirected)
+			throw new RuntimeException("Topological order is only defined for directed graphs");
+
+		List<V> order = new ArrayList<>(index.size());
+		for (int id : topologicalOrder(out, index))
+			order.add(index.vertexOf(id));
+		return order;
+	}
+
+	static <V, E> DijkstraPath<V, E> paths(Csr out, VertexIndex<V> index, boolean isDirected, V source,
+			boolean longest) {
+		checkWeightedDag(out, isDirected);
+		if (source == null || !index.contains(source))
+			throw new RuntimeException("Source vertex does not exist");
+
+		int sourceId = index.idOf(source);
+		int[] prev = new int[out.vertexBound()];
+		double[] dist = paths(out, topologicalOrder(out, index), sourceId, longest, prev);
+		return DijkstraPath.of(index, sourceId, dist, prev);
+	}
+
+	static <V> List<V> criticalPath(Csr out, VertexIndex<V> index, boolean isDirected) {
+		checkWeightedDag(out, isDirected);
+
+		List<V> path = new ArrayList<>();
+		for (int id : criticalPath(out, topologicalOrder(out, index)))
+			path.add(index.vertexOf(id));
+		return path;
+	}
+
+	private static void checkWeightedDag(Csr out, boolean isDirected) {
+		if (!isDirected)
+			throw new RuntimeException("DAG algorithms are only defined for directed graphs");
+
+		if (out.weights == null)
+			throw new RuntimeException("DAG paths require a weighted graph");
+	}
+
+	// ids de los vertices vivos en orden topologico; entre vertices sin
+	// dependencias se respeta el orden de los ids
+	static int[] topologicalOrder(Csr out, VertexIndex<?> index) {
+		int n = out.vertexBound();
+		int[] inDegree = new int[n];
+		for (int target : out.targets)
+			inDegree[target]++;
+
+		int[] order = new int[index.size()];
+		int head = 0, tail = 0;
+		for (int v = 0; v < n; v++)
+			if (index.isLive(v) && inDegree[v] == 0)
+				order[tail++] = v;
+
+		// order hace de cola: lo ya sacado es el orden topologico
+		while (head < tail) {
+			int u = order[head++];
+			for (int e = out.offsets[u]; e < out.offsets[u + 1]; e++)
+				if (--inDegree[out.targets[e]] == 0)
+					order[tail++] = out.targets[e];
+		}
+
+		if (tail < order.length)
+			throw new RuntimeException(cycleMessage(out, index, inDegree));
+		return order;
+	}
+
+	// distancias desde source (infinito si no se alcanza) y el anterior de cada
+	// vertice en prev. longest: el camino de mayor peso en lugar del menor
+	static double[] paths(Csr out, int[] order, int source, boolean longest, int[] prev) {
+		int n = out.vertexBound();
+		// el maximo se calcula como minimo con los pesos negados
+		double sign = longest ? -1 : 1;
+		double[] dist = new double[n];
+		Arrays.fill(dist, Double.POSITIVE_INFINITY);
+		Arrays.fill(prev, -1);
+		dist[source] = 0;
+
+		// antes de source en el orden no hay nada alcanzable
+		int start = 0;
+		while (order[start] != source)
+			start++;
+		for (int i = start; i < order.length; i++) {
+			int u = order[i];
+			if (dist[u] == Double.POSITIVE_INFINITY)
+				continue;
+			for (int e = out.offsets[u]; e < out.offsets[u + 1]; e++) {
+				int v = out.targets[e];
+				double candidate = dist[u] + sign * out.weights[e];
+				if (candidate < dist[v]) {
+					dist[v] = candidate;
+					prev[v] = u;
+				}
+			}
+		}
+
+		if (longest)
+			for (int v = 0; v < n; v++)
+				if (dist[v] != Double.POSITIVE_INFINITY)
+					dist[v] = -dist[v];
+		return dist;
+	}
+
+	// ids del camino de mayor peso del DAG (puede empezar en cualquier vertice)
+	static int[] criticalPath(Csr out, int[] order) {
+		if (order.length == 0)
+			return new int[0];
+
+		int n = out.vertexBound();
+		// mayor peso de un camino que termina en cada vertice: cualquiera puede
+		// ser el primero, asi que arrancan todos en 0
+		double[] finish = new double[n];
+		int[] prev = new int[n];
+		Arrays.fill(prev, -1);
+		for (int u : order) {
+			for (int e = out.offsets[u]; e < out.offsets[u + 1]; e++) {
+				int v = out.targets[e];
+				double candidate = finish[u] + out.weights[e];
+				if (candidate > finish[v]) {
+					finish[v] = candidate;
+					prev[v] = u;
+				}
+			}
+		}
+
+		int last = order[0];
+		for (int u : order)
+			if (finish[u] > finish[last])
+				last = u;
+
+		int length = 1;
+		for (int v = last; prev[v] >= 0; v = prev[v])
+			length++;
+		int[] path = new int[length];
+		for (int v = last, i = length - 1; v >= 0; v = prev[v], i--)
+			path[i] = v;
+		return path;
+	}
+
+	// Los que quedaron con grado de entrada > 0 despues de Kahn tienen todos un
+	// predecesor que tambien quedo: yendo hacia atras por esos predecesores se
+	// repite un vertice, y eso es un ciclo
+	private static String cycleMessage(Csr out, VertexIndex<?> index, int[] inDegree) {
+		Csr in = out.transpose();
+		int n = out.vertexBound();
+		int[] seenAt = new int[n];
+		Arrays.fill(seenAt, -1);
+
+		int v = 0;
+		while (inDegree[v] == 0)
+			v++;
+
+		List<Integer> walk = new ArrayList<>();
+		while (seenAt[v] < 0) {
+			seenAt[v] = walk.size();
+			walk.add(v);
+			int next = -1;
+			for (int e = in.offsets[v]; e < in.offsets[v + 1] && next < 0; e++)
+				if (inDegree[in.targets[e]] > 0)
+					next = in.targets[e];
+			v = next;
+		}
+
+		// se recorrio al reves: el ciclo va de v hacia atras en walk
+		List<Object> cycle = new ArrayList<>();
+		for (int i = seenAt[v]; i < walk.size(); i++)
+			cycle.add(index.vertexOf(walk.get(i)));
+		cycle.add(index.vertexOf(v));
+		Collections.reverse(cycle);
+		return String.format("Graph is not a DAG, it has the cycle %s", cycle);
+	}
+}
@@ -0,0 +1,242 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Caminos minimos desde un origen con delta-stepping (Meyer y Sanders) sobre
+// un Csr con pesos no negativos: ShortestPathEngine.DELTA_STEPPING.
+//
+// Los vertices alcanzados esperan en baldes de ancho delta segun su distancia.
+// Se vacia el primer balde no vacio relajando en paralelo los ejes livianos
+// (peso <= delta) de sus vertices, que pueden volver a caer en el mismo balde;
+// cuando queda vacio se relajan una sola vez los ejes pesados de todos los que
+// pasaron por el. Cada fase reparte el frente en tramos de GRAIN vertices en
+// el ForkJoinPool.
+//
+// Cada fase relaja con las distancias del frente al empezar la fase, en dos
+// pasadas: la primera baja las distancias (CAS sobre los bits del double, que
+// para valores no negativos ordenan igual que el double) y la segunda elige
+// como anterior al de menor id entre los que lograron esa distancia. Asi el
+// resultado no depende de cuantos hilos haya ni de como se intercalen.
+final class DeltaStepping {
+	static final int GRAIN = 1024;
+
+	private final Csr out;
+	// solo para los mensajes de error
+	private final VertexIndex<?> index;
+	private final double delta;
+	private final ForkJoinPool pool;
+	private final int n;
+
+	private final AtomicLongArray distances;
+	private final AtomicIntegerArray previous;
+	// fase en la que cambio la distancia de cada vertice
+	private final AtomicIntegerArray changedAt;
+	private int phase;
+
+	// balde en el que esta cada vertice (-1 si en ninguno). Las listas de los
+	// baldes pueden tener entradas viejas: valen solo si coinciden con bucketOf
+	private final long[] bucketOf;
+	private final List<IntList> buckets = new ArrayList<>();
+	// ultimo balde en el que se saco cada vertice (para no repetirlo en settled)
+	private final long[] settledIn;
+
+	private DeltaStepping(Csr out, VertexIndex<?> index, double delta, ForkJoinPool pool) {
+		this.out = out;
+		this.index = index;
+		this.delta = delta;
+		this.pool = pool;
+		this.n = out.vertexBound();
+		this.distances = new AtomicLongArray(n);
+		this.previous = new AtomicIntegerArray(n);
+		this.changedAt = new AtomicIntegerArray(n);
+		this.bucketOf = new long[n];
+		this.settledIn = new long[n];
+		long infinity = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+		for (int v = 0; v < n; v++) {
+			distances.set(v, infinity);
+			previous.set(v, -1);
+		}
+		Arrays.fill(bucketOf, -1);
+		Arrays.fill(settledIn, -1);
+	}
+
+	// distancias desde source (infinito si no se alcanza) y el anterior de cada
+	// vertice en prev (-1 si no hay). delta <= 0: se elige con defaultDelta.
+	// Como dijkstra, un peso negativo alcanzable es un error
+	static double[] distances(Csr out, VertexIndex<?> index, int source, double delta, ForkJoinPool pool,
+			int[] prev) {
+		if (delta <= 0)
+			delta = defaultDelta(out);
+		DeltaStepping search = new DeltaStepping(out, index, delta, pool);
+		search.run(source);
+
+		double[] dist = new double[search.n];
+		for (int v = 0; v < search.n; v++) {
+			dist[v] = Double.longBitsToDouble(search.distances.get(v));
+			prev[v] = search.previous.get(v);
+		}
+		return dist;
+	}
+
+	// peso maximo / grado promedio (Meyer y Sanders): con baldes mas anchos hay
+	// mas trabajo repetido, con mas angostos mas fases
+	static double defaultDelta(Csr out) {
+		double max = 0;
+		for (double weight : out.weights)
+			max = Math.max(max, weight);
+		int n = Math.max(1, out.vertexBound());
+		double averageDegree = Math.max(1, (double) out.targets.length / n);
+		double delta = max / averageDegree;
+		return delta > 0 ? delta : 1;
+	}
+
+	private void run(int source) {
+		distances.set(source, Double.doubleToRawLongBits(0));
+		place(source);
+
+		for (int current = 0; current < buckets.size(); current++) {
+			IntList settled = new IntList();
+			IntList frontier = take(current, settled);
+			while (frontier.size > 0) {
+				relax(frontier, true);
+				frontier = take(current, settled);
+			}
+			if (settled.size > 0)
+				relax(settled, false);
+			buckets.set(current, null);
+		}
+	}
+
+	// los vertices que siguen en el balde i, vaciandolo
+	private IntList take(int i, IntList settled) {
+		IntList bucket = buckets.get(i);
+		IntList frontier = new IntList();
+		if (bucket == null)
+			return frontier;
+
+		buckets.set(i, new IntList());
+		for (int k = 0; k < bucket.size; k++) {
+			int v = bucket.values[k];
+			if (bucketOf[v] != i)
+				continue;
+			bucketOf[v] = -1;
+			frontier.add(v);
+			if (settledIn[v] != i) {
+				settledIn[v] = i;
+				settled.add(v);
+			}
+		}
+		return frontier;
+	}
+
+	// una fase: los ejes livianos (light) o los pesados de los vertices dados
+	private void relax(IntList vertices, boolean light) {
+		phase++;
+		int size = vertices.size;
+		int[] frontier = vertices.values;
+		double[] start = new double[size];
+		for (int k = 0; k < size; k++)
+			start[k] = distance(frontier[k]);
+
+		int chunks = (size + GRAIN - 1) / GRAIN;
+		IntList[] changed = new IntList[chunks];
+
+		// primera pasada: bajar las distancias
+		Parallel.run(pool, chunks, c -> {
+			IntList mine = new IntList();
+			for (int k = c * GRAIN, hi = Math.min(size, k + GRAIN); k < hi; k++) {
+				int u = frontier[k];
+				for (int e = out.offsets[u]; e < out.offsets[u + 1]; e++) {
+					double weight = out.weights[e];
+					if (weight < 0)
+						throw new IllegalArgumentException(String.format(
+								"Dijkstra does not accept negative weights: %s -> %s has weight %s",
+								index.vertexOf(u), index.vertexOf(out.targets[e]), weight));
+					if ((weight <= delta) != light)
+						continue;
+					int v = out.targets[e];
+					if (lowerDistance(v, start[k] + weight) && changedAt.getAndSet(v, phase) != phase) {
+						previous.set(v, Integer.MAX_VALUE);
+						mine.add(v);
+					}
+				}
+			}
+			changed[c] = mine;
+		});
+
+		// segunda pasada: el anterior de los que cambiaron
+		Parallel.run(pool, chunks, c -> {
+			for (int k = c * GRAIN, hi = Math.min(size, k + GRAIN); k < hi; k++) {
+				int u = frontier[k];
+				for (int e = out.offsets[u]; e < out.offsets[u + 1]; e++) {
+					double weight = out.weights[e];
+					if ((weight <= delta) != light)
+						continue;
+					int v = out.targets[e];
+					if (changedAt.get(v) == phase && start[k] + weight == distance(v))
+						lowerPrevious(v, u);
+				}
+			}
+		});
+
+		for (IntList mine : changed)
+			for (int k = 0; k < mine.size; k++)
+				place(mine.values[k]);
+	}
+
+	private double distance(int v) {
+		return Double.longBitsToDouble(distances.get(v));
+	}
+
+	private boolean lowerDistance(int v, double candidate) {
+		long bits = Double.doubleToRawLongBits(candidate);
+		long current;
+		do {
+			current = distances.get(v);
+			if (bits >= current)
+				return false;
+		} while (!distances.compareAndSet(v, current, bits));
+		return true;
+	}
+
+	private void lowerPrevious(int v, int u) {
+		int current;
+		do {
+			current = previous.get(v);
+			if (u >= current)
+				return;
+		} while (!previous.compareAndSet(v, current, u));
+	}
+
+	// al balde de su distancia actual
+	private void place(int v) {
+		long i = (long) (distance(v) / delta);
+		if (i >= Integer.MAX_VALUE)
+			throw new RuntimeException(String.format("Delta %s is too small for distance %s", delta, distance(v)));
+		while (buckets.size() <= i)
+			buckets.add(null);
+		IntList bucket = buckets.get((int) i);
+		if (bucket == null) {
+			bucket = new IntList();
+			buckets.set((int) i, bucket);
+		}
+		bucket.add(v);
+		bucketOf[v] = i;
+	}
+
+	private static final class IntList {
+		int[] values = new int[8];
+		int size;
+
+		void add(int value) {
+			if (size == values.length)
+				values = Arrays.copyOf(values, 2 * size);
+			values[size++] = value;
+		}
+	}
+}
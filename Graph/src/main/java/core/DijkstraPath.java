@@ -1,65 +1,191 @@
 package core;
 
-import java.util.ArrayList;  
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
+// Las distancias y el vertice anterior se guardan en arreglos por id de un
+// VertexIndex que no cambia (una copia si el grafo es modificable): son 8
+// bytes por vertice, y varios resultados de la misma version del grafo
+// comparten el mismo indice (ver ShortestPathCache).
+// getDistances() es una vista de solo lectura sobre esos arreglos.
 public class DijkstraPath<V,E> {
-	
-	private Map<V,Integer> distancesFromSource;
-	private Map<V,V> prevVertex; 
-	
+
+	private final VertexIndex<V> index;
+	// por id: Integer.MAX_VALUE si no se alcanza
+	private final int[] distances;
+	// por id: -1 si no hay anterior
+	private final int[] previous;
+	private final int sourceId;
+
 	public DijkstraPath( Map<V,Integer> distancesFromSource,  Map<V,V> prevVertex) {
-		this.distancesFromSource= distancesFromSource;
-		this.prevVertex= prevVertex;
-		
+		this.index= new VertexIndex<>();
+		for (V aV: distancesFromSource.keySet())
+			index.add(aV);
+		for (Map.Entry<V, V> entry : prevVertex.entrySet()) {
+			index.add(entry.getKey());
+			if (entry.getValue() != null)
+				index.add(entry.getValue());
+		}
+
+		this.distances= new int[index.bound()];
+		this.previous= new int[index.bound()];
+		for (int id = 0; id < index.bound(); id++) {
+			V aV= index.vertexOf(id);
+			Integer distance= distancesFromSource.get(aV);
+			V prev= prevVertex.get(aV);
+			distances[id]= distance == null ? Integer.MAX_VALUE : distance;
+			previous[id]= prev == null ? -1 : index.idOf(prev);
+		}
+
+		// el vertice con distancia 0
+		int source= -1;
+		for (Map.Entry<V, Integer> entry : distancesFromSource.entrySet()) {
+			if (entry.getValue() == 0) {
+				source= index.idOf(entry.getKey());
+				break;
+			}
+		}
+		this.sourceId= source;
+	}
+
+	// index no se debe modificar despues; los arreglos van por id de index
+	DijkstraPath(VertexIndex<V> index, int sourceId, int[] distances, int[] previous) {
+		this.index= index;
+		this.sourceId= sourceId;
+		this.distances= distances;
+		this.previous= previous;
 	}
-	
+
+	// las distancias del grafo con peso double, truncadas como siempre
+	static <V,E> DijkstraPath<V,E> of(VertexIndex<V> index, int sourceId, double[] costo, int[] prev) {
+		int[] distances= new int[costo.length];
+		for (int id = 0; id < costo.length; id++)
+			distances[id]= costo[id] == Double.POSITIVE_INFINITY ? Integer.MAX_VALUE : (int) costo[id];
+		return new DijkstraPath<>(index, sourceId, distances, prev);
+	}
+
 	// Getter method for distances map
 	public Map<V,Integer> getDistances() {
-		return distancesFromSource;
+		return distanceView;
+	}
+
+	// Integer.MAX_VALUE si no se alcanza
+	// if the vertex is not part of the result: throw exception
+	public int getDistance(V vertex) {
+		int id= index.idOf(vertex);
+		if (id < 0)
+			throw new RuntimeException(String.format("Vertex %s is not part of this result", vertex));
+		return distances[id];
+	}
+
+	// bytes de los arreglos, sin contar el indice compartido
+	long footprint() {
+		return 2L * Integer.BYTES * distances.length;
 	}
-	
+
 	@Override
 	public String toString() {
-		String rta= "";
-		for(V aV: distancesFromSource.keySet()) {
-			if ( distancesFromSource.get(aV) == Integer.MAX_VALUE )
-				rta+= "INF: " + getShortestPathTo(aV) + "\n";
+		StringBuilder rta= new StringBuilder();
+		for (int id = 0; id < distances.length; id++) {
+			if (!index.isLive(id))
+				continue;
+			V aV= index.vertexOf(id);
+			if ( distances[id] == Integer.MAX_VALUE )
+				rta.append("INF: ").append(getShortestPathTo(aV)).append("\n");
 			else
-				rta+= distancesFromSource.get(aV)+ ": " + getShortestPathTo(aV) + "\n";
+				rta.append(distances[id]).append(": ").append(getShortestPathTo(aV)).append("\n");
 		}
-		
-		return rta;
+
+		return rta.toString();
 	}
-	
-	
-	
+
+
+
 	public String getShortestPathTo(V targetVertex){
-		
+
 		// habia camino?
-		if (prevVertex.get(targetVertex) == null && !targetVertex.equals(getSourceVertex()) )
+		int target= index.idOf(targetVertex);
+		if (target < 0 || (previous[target] < 0 && target != sourceId))
 			return "[]";
-		
+
         List<V> path = new ArrayList<>();
- 
-        for(V vertex=targetVertex;vertex!=null;vertex=prevVertex.get(vertex)){
-            path.add(vertex);
+
+        for(int id=target;id >= 0;id=previous[id]){
+            path.add(index.vertexOf(id));
         }
- 
+
         Collections.reverse(path);
-        
+
          return path.toString();
     }
- 
-	// Helper method to get the source vertex (vertex with distance 0)
-	private V getSourceVertex() {
-		for (Map.Entry<V, Integer> entry : distancesFromSource.entrySet()) {
-			if (entry.getValue() == 0) {
-				return entry.getKey();
-			}
+
+
+	// Map<V,Integer> de solo lectura sobre los arreglos
+	private final Map<V,Integer> distanceView = new AbstractMap<V,Integer>() {
+		@Override
+		public Integer get(Object key) {
+			int id= idOf(key);
+			return id < 0 ? null : distances[id];
 		}
-		return null; // Should not happen in valid Dijkstra result
-	}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return idOf(key) >= 0;
+		}
+
+		@Override
+		public int size() {
+			return index.size();
+		}
+
+		@Override
+		public Set<Map.Entry<V,Integer>> entrySet() {
+			return new AbstractSet<Map.Entry<V,Integer>>() {
+				@Override
+				public int size() {
+					return index.size();
+				}
+
+				@Override
+				public Iterator<Map.Entry<V,Integer>> iterator() {
+					return new Iterator<Map.Entry<V,Integer>>() {
+						private int id= skipFree(0);
+
+						@Override
+						public boolean hasNext() {
+							return id < distances.length;
+						}
+
+						@Override
+						public Map.Entry<V,Integer> next() {
+							if (!hasNext())
+								throw new NoSuchElementException();
+							Map.Entry<V,Integer> entry= new AbstractMap.SimpleImmutableEntry<>(index.vertexOf(id), distances[id]);
+							id= skipFree(id + 1);
+							return entry;
+						}
+					};
+				}
+			};
+		}
+
+		// un key de otro tipo simplemente no esta en el HashMap del indice
+		@SuppressWarnings("unchecked")
+		private int idOf(Object key) {
+			return index.idOf((V) key);
+		}
+
+		private int skipFree(int id) {
+			while (id < distances.length && !index.isLive(id))
+				id++;
+			return id;
+		}
+	};
 }
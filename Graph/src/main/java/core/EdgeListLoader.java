@@ -0,0 +1,300 @@
+package core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+// Carga masiva de una lista de ejes sobre el grafo que arma un GraphBuilder,
+// en lugar de llamar addEdge por cada linea.
+//
+// El texto tiene un eje por linea: origen, destino y opcionalmente el resto
+// de la linea para armar el E, separados por espacios, tabs o comas. Las
+// lineas vacias y las que empiezan con # o % (comentarios de SNAP y Matrix
+// Market) se ignoran. vertexParser convierte cada extremo y edgeParser el
+// resto de la linea ("" si no hay).
+//
+// Se lee en bloques de BLOCK bytes cortados en un fin de linea; cada tanda de
+// bloques se parsea en paralelo en el ForkJoinPool comun y se agrega en orden
+// a una lista de ejes por posicion (los vertices se numeran en orden de
+// aparicion). Con todo leido se cuentan los grados y el grafo se arma de una
+// vez: las listas de adyacencia nacen con su tamano final y cada eje se
+// inserta por id (ver AdjacencyListGraph.addEdges). El orden de los ejes y
+// las validaciones son los mismos que con addEdge linea por linea; el peso de
+// cada eje se obtiene con la funcion del grafo, que se resuelve una sola vez.
+// Otros almacenamientos (DENSE, Concurrency.SNAPSHOT) reciben los vertices y
+// despues addEdge por eje, en un solo update() si es concurrente.
+public final class EdgeListLoader {
+	static final int BLOCK = 1 << 22;
+
+	private EdgeListLoader() {
+	}
+
+	// Un eje para load(builder, iterator)
+	public static final class Entry<V, E> {
+		private final V source;
+		private final V target;
+		private final E edge;
+
+		public Entry(V source, V target, E edge) {
+			this.source = source;
+			this.target = target;
+			this.edge = edge;
+		}
+
+		public V getSource() {
+			return source;
+		}
+
+		public V getTarget() {
+			return target;
+		}
+
+		public E getEdge() {
+			return edge;
+		}
+	}
+
+	public static <V, E> GraphService<V, E> load(GraphBuilder<V, E> builder, Path path,
+			Function<String, V> vertexParser, Function<String, E> edgeParser) throws IOException {
+		try (InputStream in = Files.newInputStream(path)) {
+			return load(builder, in, vertexParser, edgeParser);
+		}
+	}
+
+	// no cierra el stream
+	@SuppressWarnings("unchecked")
+	public static <V, E> GraphService<V, E> load(GraphBuilder<V, E> builder, InputStream in,
+			Function<String, V> vertexParser, Function<String, E> edgeParser) throws IOException {
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		int batch = 2 * Math.max(1, pool.getParallelism());
+		EdgeList<V, E> edges = new EdgeList<>();
+		BlockReader reader = new BlockReader(in);
+		long firstLine = 1;
+
+		List<Block<V, E>> blocks = new ArrayList<>();
+		for (byte[] bytes = reader.next(); bytes != null; ) {
+			blocks.clear();
+			while (bytes != null && blocks.size() < batch) {
+				blocks.add(new Block<>(bytes, reader.length()));
+				bytes = reader.next();
+			}
+			Parallel.run(pool, blocks.size(), b -> blocks.get(b).parse(vertexParser, edgeParser));
+
+			// en orden, asi los ids y los ejes quedan como si se leyera linea por linea
+			for (Block<V, E> block : blocks) {
+				if (block.error != null)
+					throw new RuntimeException(String.format("Line %d: %s", firstLine + block.errorLine,
+							block.error));
+				for (int i = 0; i < block.count; i++)
+					edges.add((V) block.sources[i], (V) block.targets[i], block.edges[i]);
+				firstLine += block.lines;
+			}
+		}
+		return build(builder, edges);
+	}
+
+	public static <V, E> GraphService<V, E> load(GraphBuilder<V, E> builder,
+			Iterator<? extends Entry<? extends V, ? extends E>> entries) {
+		EdgeList<V, E> edges = new EdgeList<>();
+		for (long position = 1; entries.hasNext(); position++) {
+			Entry<? extends V, ? extends E> entry = entries.next();
+			if (entry == null || entry.source == null || entry.target == null || entry.edge == null)
+				throw new RuntimeException(String.format("Entry %d has a null vertex or edge", position));
+			edges.add(entry.source, entry.target, entry.edge);
+		}
+		return build(builder, edges);
+	}
+
+	private static <V, E> GraphService<V, E> build(GraphBuilder<V, E> builder, EdgeList<V, E> edges) {
+		GraphService<V, E> graph = builder.build();
+		if (graph instanceof AdjacencyListGraph) {
+			((AdjacencyListGraph<V, E>) graph).addEdges(edges.vertices, edges.count, edges.from, edges.to,
+					edges.edges);
+		} else if (graph instanceof ConcurrentGraph) {
+			((ConcurrentGraph<V, E>) graph).update(batch -> addEach(batch, edges));
+		} else {
+			addEach(graph, edges);
+		}
+		return graph;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <V, E> void addEach(GraphService<V, E> graph, EdgeList<V, E> edges) {
+		for (V vertex : edges.vertices)
+			graph.addVertex(vertex);
+		for (int e = 0; e < edges.count; e++)
+			graph.addEdge(edges.vertices.get(edges.from[e]), edges.vertices.get(edges.to[e]), (E) edges.edges[e]);
+	}
+
+	// Los ejes por posicion: vertices en orden de aparicion
+	private static final class EdgeList<V, E> {
+		final List<V> vertices = new ArrayList<>();
+		final Map<V, Integer> positions = new HashMap<>();
+		int[] from = new int[1024];
+		int[] to = new int[1024];
+		Object[] edges = new Object[1024];
+		int count;
+
+		void add(V source, V target, Object edge) {
+			if (count == from.length) {
+				from = Arrays.copyOf(from, 2 * count);
+				to = Arrays.copyOf(to, 2 * count);
+				edges = Arrays.copyOf(edges, 2 * count);
+			}
+			from[count] = positionOf(source);
+			to[count] = positionOf(target);
+			edges[count++] = edge;
+		}
+
+		private int positionOf(V vertex) {
+			Integer position = positions.get(vertex);
+			if (position == null) {
+				position = vertices.size();
+				vertices.add(vertex);
+				positions.put(vertex, position);
+			}
+			return position;
+		}
+	}
+
+	// Lee bloques de hasta BLOCK bytes que terminan en un fin de linea (salvo
+	// el ultimo). Lo que queda despues del ultimo fin de linea pasa al siguiente
+	private static final class BlockReader {
+		private final InputStream in;
+		private byte[] carry = new byte[0];
+		private int length;
+		private boolean eof;
+
+		BlockReader(InputStream in) {
+			this.in = in;
+		}
+
+		// el proximo bloque (usar los primeros length() bytes), o null al final
+		byte[] next() throws IOException {
+			while (!eof) {
+				byte[] bytes = Arrays.copyOf(carry, carry.length + BLOCK);
+				int read = in.readNBytes(bytes, carry.length, BLOCK);
+				int total = carry.length + read;
+				if (read < BLOCK) {
+					eof = true;
+					carry = new byte[0];
+					length = total;
+					return total > 0 ? bytes : null;
+				}
+
+				int end = total;
+				while (end > 0 && bytes[end - 1] != '\n')
+					end--;
+				// una linea mas larga que el bloque: se sigue leyendo
+				if (end == 0) {
+					carry = Arrays.copyOf(bytes, total);
+					continue;
+				}
+				carry = Arrays.copyOfRange(bytes, end, total);
+				length = end;
+				return bytes;
+			}
+			return null;
+		}
+
+		int length() {
+			return length;
+		}
+	}
+
+	// Un bloque de lineas parseado por un hilo
+	private static final class Block<V, E> {
+		private final byte[] bytes;
+		private final int length;
+
+		Object[] sources;
+		Object[] targets;
+		Object[] edges;
+		int count;
+		// lineas del bloque, para numerar las del siguiente
+		int lines;
+		String error;
+		int errorLine;
+
+		Block(byte[] bytes, int length) {
+			this.bytes = bytes;
+			this.length = length;
+		}
+
+		void parse(Function<String, V> vertexParser, Function<String, E> edgeParser) {
+			int capacity = Math.max(16, length / 16);
+			sources = new Object[capacity];
+			targets = new Object[capacity];
+			edges = new Object[capacity];
+
+			for (int start = 0; start < length; lines++) {
+				int end = start;
+				while (end < length && bytes[end] != '\n')
+					end++;
+				String line = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+				start = end + 1;
+				try {
+					parseLine(line, vertexParser, edgeParser);
+				} catch (RuntimeException e) {
+					error = e.getMessage() != null ? e.getMessage() : e.toString();
+					errorLine = lines;
+					return;
+				}
+			}
+		}
+
+		private void parseLine(String line, Function<String, V> vertexParser, Function<String, E> edgeParser) {
+			int length = line.length();
+			int position = skipSeparators(line, 0);
+			if (position == length || line.charAt(position) == '#' || line.charAt(position) == '%')
+				return;
+
+			int sourceEnd = token(line, position);
+			int targetStart = skipSeparators(line, sourceEnd);
+			int targetEnd = token(line, targetStart);
+			if (targetStart == targetEnd)
+				throw new RuntimeException("expected source and target: " + line.strip());
+
+			V source = vertexParser.apply(line.substring(position, sourceEnd));
+			V target = vertexParser.apply(line.substring(targetStart, targetEnd));
+			E edge = edgeParser.apply(line.substring(skipSeparators(line, targetEnd)).strip());
+			if (source == null || target == null || edge == null)
+				throw new RuntimeException("null vertex or edge for " + line.strip());
+
+			if (count == sources.length) {
+				sources = Arrays.copyOf(sources, 2 * count);
+				targets = Arrays.copyOf(targets, 2 * count);
+				edges = Arrays.copyOf(edges, 2 * count);
+			}
+			sources[count] = source;
+			targets[count] = target;
+			edges[count++] = edge;
+		}
+
+		private static boolean isSeparator(char c) {
+			return c == ' ' || c == '\t' || c == ',' || c == '\r';
+		}
+
+		private static int skipSeparators(String line, int position) {
+			while (position < line.length() && isSeparator(line.charAt(position)))
+				position++;
+			return position;
+		}
+
+		private static int token(String line, int position) {
+			while (position < line.length() && !isSeparator(line.charAt(position)))
+				position++;
+			return position;
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package core;
+
+import java.lang.reflect.Method;
+import java.util.function.ToDoubleFunction;
+
+// Como obtener el peso de un eje. El grafo resuelve la funcion una unica vez
+// (en GraphBuilder.build) y la aplica al insertar cada eje; los algoritmos
+// leen el peso ya guardado y nunca vuelven a usar reflection.
+final class EdgeWeights {
+
+	// Method getWeight() por clase de eje, buscado una sola vez por clase
+	private static final ClassValue<Method> GET_WEIGHT = new ClassValue<>() {
+		@Override
+		protected Method computeValue(Class<?> type) {
+			try {
+				return type.getMethod("getWeight");
+			} catch (NoSuchMethodException | SecurityException e) {
+				return null;
+			}
+		}
+	};
+
+	private EdgeWeights() {
+	}
+
+	// la funcion indicada en el builder o, si no hay, la por defecto
+	static <E> ToDoubleFunction<? super E> resolve(ToDoubleFunction<? super E> custom) {
+		return custom != null ? custom : EdgeWeights::byDefault;
+	}
+
+	// WeightedEdge se lee en forma nativa; cualquier otra clase debe tener
+	// un metodo publico getWeight() que devuelva un numero
+	static double byDefault(Object theEdge) {
+		if (theEdge instanceof WeightedEdge)
+			return ((WeightedEdge) theEdge).getWeight();
+
+		Method fn = GET_WEIGHT.get(theEdge.getClass());
+		if (fn != null) {
+			try {
+				Object weight = fn.invoke(theEdge);
+				if (weight instanceof Number)
+					return ((Number) weight).doubleValue();
+			} catch (ReflectiveOperationException e) {
+				throw new RuntimeException(e);
+			}
+		}
+
+		throw new RuntimeException(String.format(
+				"the graph is weighted but the method double getWeight() is not declared in %s",
+				theEdge.getClass().getName()));
+	}
+}
@@ -1,12 +1,18 @@
 package core;
 import core.GraphService.*;
+import java.util.function.ToDoubleFunction;
 
 public class GraphBuilder<V,E> {
-	private Multiplicity multiplicity= Multiplicity.SIMPLE;
-	private EdgeMode edgeMode= EdgeMode.DIRECTED;
-	private SelfLoop acceptSelfLoops= SelfLoop.NO;
-	private Weight hasWeight= Weight.NO;
-	private Storage implementation= Storage.SPARSE;
+	// package-private: GraphFactory.create(GraphBuilder) los lee directamente
+	Multiplicity multiplicity= Multiplicity.SIMPLE;
+	EdgeMode edgeMode= EdgeMode.DIRECTED;
+	SelfLoop acceptSelfLoops= SelfLoop.NO;
+	Weight hasWeight= Weight.NO;
+	Storage implementation= Storage.SPARSE;
+	ToDoubleFunction<? super E> weightFunction= null;
+	IncomingIndex incomingIndex= IncomingIndex.NO;
+	ShortestPathEngine shortestPathEngine= ShortestPathEngine.DIJKSTRA;
+	Concurrency concurrency= Concurrency.NONE;
 	
 	public GraphBuilder<V,E> withMultiplicity(Multiplicity param) {
 		this.multiplicity= param;
@@ -28,13 +34,36 @@ public class GraphBuilder<V,E> {
 		return this;
 	}
 	
+	// como leer el peso de cada eje. Si no se indica, WeightedEdge se lee en forma
+	// nativa y cualquier otro E debe declarar getWeight() (se busca por reflection)
+	public GraphBuilder<V,E> withWeightFunction(ToDoubleFunction<? super E> param) {
+		this.weightFunction= param;
+		this.hasWeight= Weight.YES;
+		return this;
+	}
+	
 	public GraphBuilder<V,E> withStorage(Storage param) {
 		this.implementation= param;
 		return this;
 	}
 	
+	public GraphBuilder<V,E> withIncomingIndex(IncomingIndex param) {
+		this.incomingIndex= param;
+		return this;
+	}
+	
+	public GraphBuilder<V,E> withShortestPathEngine(ShortestPathEngine param) {
+		this.shortestPathEngine= param;
+		return this;
+	}
+	
+	public GraphBuilder<V,E> withConcurrency(Concurrency param) {
+		this.concurrency= param;
+		return this;
+	}
+	
 	public GraphService<V,E> build() {
-	  return GraphFactory.create(multiplicity, edgeMode, acceptSelfLoops, hasWeight, implementation);
+	  return GraphFactory.create(this);
   }
 
 }
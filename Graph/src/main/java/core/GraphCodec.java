@@ -0,0 +1,65 @@
+package core;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Como se guardan los vertices (V) y las propiedades de los ejes (E) en un
+// archivo de GraphFiles. Cada valor se escribe con write y se vuelve a leer
+// con read desde la posicion actual del buffer (big-endian, como DataOutput),
+// que debe quedar despues del valor leido.
+public interface GraphCodec<T> {
+
+	void write(T value, DataOutput out) throws IOException;
+
+	T read(ByteBuffer in);
+
+
+	static GraphCodec<Integer> integers() {
+		return new GraphCodec<Integer>() {
+			@Override
+			public void write(Integer value, DataOutput out) throws IOException {
+				out.writeInt(value);
+			}
+
+			@Override
+			public Integer read(ByteBuffer in) {
+				return in.getInt();
+			}
+		};
+	}
+
+	static GraphCodec<Character> characters() {
+		return new GraphCodec<Character>() {
+			@Override
+			public void write(Character value, DataOutput out) throws IOException {
+				out.writeChar(value);
+			}
+
+			@Override
+			public Character read(ByteBuffer in) {
+				return in.getChar();
+			}
+		};
+	}
+
+	// largo + bytes en UTF-8
+	static GraphCodec<String> strings() {
+		return new GraphCodec<String>() {
+			@Override
+			public void write(String value, DataOutput out) throws IOException {
+				byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+
+			@Override
+			public String read(ByteBuffer in) {
+				byte[] bytes = new byte[in.getInt()];
+				in.get(bytes);
+				return new String(bytes, StandardCharsets.UTF_8);
+			}
+		};
+	}
+}
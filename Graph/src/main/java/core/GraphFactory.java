@@ -1,27 +1,73 @@
 package core;
 
 import core.GraphService.*;
+import java.util.function.ToDoubleFunction;
 
 abstract public class GraphFactory<V, E> {
 
+	// Las demas opciones (weightFunction, IncomingIndex, ShortestPathEngine,
+	// Concurrency) se eligen con GraphBuilder
 	public static <V, E> GraphService<V, E> create(Multiplicity edgeMultiplicity, EdgeMode theEdgeMode, 
 			SelfLoop acceptSelfLoops, Weight hasWeight, Storage theStorage) {
+		return new GraphBuilder<V, E>().withMultiplicity(edgeMultiplicity).withDirected(theEdgeMode)
+				.withAcceptSelfLoop(acceptSelfLoops).withAcceptWeight(hasWeight).withStorage(theStorage).build();
+	}
+	
+	// weightFunction null: peso por defecto (ver EdgeWeights)
+	static <V, E> GraphService<V, E> create(GraphBuilder<V, E> options) {
+		Multiplicity edgeMultiplicity= options.multiplicity;
+		EdgeMode theEdgeMode= options.edgeMode;
+		SelfLoop acceptSelfLoops= options.acceptSelfLoops;
+		Weight hasWeight= options.hasWeight;
+		Storage theStorage= options.implementation;
+		ToDoubleFunction<? super E> weightFunction= options.weightFunction;
+		IncomingIndex incomingIndex= options.incomingIndex;
+		ShortestPathEngine shortestPathEngine= options.shortestPathEngine;
+		Concurrency concurrency= options.concurrency;
 		
-		if (theStorage== Storage.SPARSE)  // manejando 8 tipos con 2 clases concretas
-			if (edgeMultiplicity== Multiplicity.SIMPLE)
-				return new SimpleOrDefault<V,E>(theEdgeMode==EdgeMode.DIRECTED, 
-												acceptSelfLoops==SelfLoop.YES, 
-											    hasWeight==Weight.YES );
-			else
-				return new Multi<V,E>(theEdgeMode==EdgeMode.DIRECTED, 
-											acceptSelfLoops==SelfLoop.YES, 
-											hasWeight==Weight.YES );
+		if (concurrency== Concurrency.SNAPSHOT) {
+			if (theStorage!= Storage.SPARSE)
+				throw new RuntimeException("Concurrent graphs are only available with sparse storage");
+			
+			// el master dirigido necesita los entrantes para saber que filas cambian en removeVertex
+			AdjacencyListGraph<V,E> master= newSparse(edgeMultiplicity, theEdgeMode, acceptSelfLoops, hasWeight, 
+					weightFunction, theEdgeMode==EdgeMode.DIRECTED ? IncomingIndex.YES : incomingIndex);
+			master.setShortestPathEngine(shortestPathEngine);
+			return new ConcurrentGraph<V,E>(master, shortestPathEngine);
+		}
 		
-		// todavia no lo hemos implementado en forma Densa Matriz
-		//	return new AdjacencymatrixGraph<V,E>(isSimple, isDirected, isWeighted );
+		if (theStorage== Storage.SPARSE) {
+			AdjacencyListGraph<V,E> graph= newSparse(edgeMultiplicity, theEdgeMode, acceptSelfLoops, hasWeight, 
+					weightFunction, incomingIndex);
+			graph.setShortestPathEngine(shortestPathEngine);
+			return graph;
+		}
 		
+		// en forma Densa Matriz: una matriz de bits no puede guardar ejes paralelos
+		if (edgeMultiplicity== Multiplicity.SIMPLE) {
+			AdjacencyMatrixGraph<V,E> graph= new AdjacencyMatrixGraph<V,E>(theEdgeMode==EdgeMode.DIRECTED, 
+												acceptSelfLoops==SelfLoop.YES, 
+												hasWeight==Weight.YES, weightFunction );
+			graph.setShortestPathEngine(shortestPathEngine);
+			return graph;
+		}
 		
-		throw new RuntimeException("Not yet implemented");
+		throw new RuntimeException("Dense storage is only available for simple graphs");
+	}
+	
+	private static <V, E> AdjacencyListGraph<V, E> newSparse(Multiplicity edgeMultiplicity, EdgeMode theEdgeMode, 
+			SelfLoop acceptSelfLoops, Weight hasWeight, 
+			ToDoubleFunction<? super E> weightFunction, IncomingIndex incomingIndex) {
+		// manejando 8 tipos con 2 clases concretas
+		if (edgeMultiplicity== Multiplicity.SIMPLE)
+			return new SimpleOrDefault<V,E>(theEdgeMode==EdgeMode.DIRECTED, 
+											acceptSelfLoops==SelfLoop.YES, 
+										    hasWeight==Weight.YES, weightFunction,
+										    incomingIndex==IncomingIndex.YES );
+		return new Multi<V,E>(theEdgeMode==EdgeMode.DIRECTED, 
+									acceptSelfLoops==SelfLoop.YES, 
+									hasWeight==Weight.YES, weightFunction,
+									incomingIndex==IncomingIndex.YES );
 	}
 	
 	private GraphFactory() {
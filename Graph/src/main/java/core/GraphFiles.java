@@ -0,0 +1,283 @@
+package core;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+// Formato binario para guardar un grafo y abrirlo sin volver a llamar addEdge.
+//
+//   header: MAGIC, VERSION, flags, vertices, entradas, ejes,
+//           (posicion, largo) de cada seccion, largo + type en UTF-8
+//   OFFSETS       int[vertices + 1]   como en Csr
+//   TARGETS       int[entradas]
+//   WEIGHTS       double[entradas]    solo si el grafo es con peso
+//   VERTICES      cada vertice con el GraphCodec de V, en orden de id
+//   VERTEX_INDEX  int[vertices + 1]   donde empieza cada vertice en VERTICES
+//   EDGES         cada E con su GraphCodec, en el orden de TARGETS (opcional)
+//   EDGE_INDEX    int[entradas + 1]   donde empieza cada E en EDGES
+//   VERTEX_LOOKUP int[potencia de 2]  hash abierto (sondeo lineal) de los
+//                                     vertices: id + 1, o 0 si esta libre
+//
+// Las entradas son las de Csr: en un grafo no dirigido cada eje aparece en
+// la lista de sus dos extremos. Todo es big-endian y cada seccion empieza
+// alineada a 8 bytes.
+// open() solo lee el header y mapea cada seccion con FileChannel.map: el
+// costo no depende del tamano del grafo y el recorrido lee directamente de
+// los buffers mapeados (ver MappedGraph). Cada seccion se mapea por separado,
+// asi que cada una debe ser menor a 2GB (unas 500M entradas).
+// VERTEX_LOOKUP se arma con el hash de los bytes que escribe el codec (no con
+// hashCode, que puede cambiar entre ejecuciones), asi MappedGraph.idOf
+// encuentra un vertice sin decodificar los demas. Por eso el codec tiene que
+// escribir los mismos bytes para valores iguales.
+public final class GraphFiles {
+	static final int MAGIC = 0x45444147; // "EDAG"
+	static final int VERSION = 2;
+
+	static final int DIRECTED = 1;
+	static final int WEIGHTED = 2;
+	static final int SIMPLE = 4;
+	static final int SELF_LOOPS = 8;
+	static final int HAS_EDGES = 16;
+
+	static final int OFFSETS = 0;
+	static final int TARGETS = 1;
+	static final int WEIGHTS = 2;
+	static final int VERTICES = 3;
+	static final int VERTEX_INDEX = 4;
+	static final int EDGES = 5;
+	static final int EDGE_INDEX = 6;
+	static final int VERTEX_LOOKUP = 7;
+	static final int SECTIONS = 8;
+
+	private static final int FIXED_HEADER = 6 * Integer.BYTES + SECTIONS * 2 * Long.BYTES;
+
+	private GraphFiles() {
+	}
+
+	// edgeCodec puede ser null: solo se guardan la estructura y los pesos.
+	// Las propiedades de los ejes solo las guarda el almacenamiento SPARSE
+	public static <V, E> void write(GraphService<V, E> graph, Path path, GraphCodec<V> vertexCodec,
+			GraphCodec<E> edgeCodec) throws IOException {
+		if (edgeCodec != null && !(graph instanceof AdjacencyListGraph))
+			throw new RuntimeException(String.format("%s does not keep edge properties", graph.getType()));
+
+		CsrGraph<V, E> csr = graph.freeze();
+		Csr arrays = csr.csr();
+		VertexIndex<V> index = csr.vertexIndex();
+		int n = index.size();
+		int entries = arrays.targets.length;
+
+		int flags = (csr.isDirected() ? DIRECTED : 0) | (csr.isWeighted() ? WEIGHTED : 0)
+				| (csr.isSimple() ? SIMPLE : 0) | (csr.acceptsSelfLoop() ? SELF_LOOPS : 0)
+				| (edgeCodec != null ? HAS_EDGES : 0);
+		byte[] type = graph.getType().getBytes(StandardCharsets.UTF_8);
+		long[] positions = new long[SECTIONS];
+		long[] lengths = new long[SECTIONS];
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			CountingStream counter = new CountingStream(
+					new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+			DataOutputStream out = new DataOutputStream(counter);
+
+			// el header se reescribe al final, con las posiciones ya conocidas
+			out.write(new byte[FIXED_HEADER + Integer.BYTES + type.length]);
+
+			section(OFFSETS, out, counter, positions);
+			for (int offset : arrays.offsets)
+				out.writeInt(offset);
+			close(OFFSETS, counter, positions, lengths);
+
+			section(TARGETS, out, counter, positions);
+			for (int target : arrays.targets)
+				out.writeInt(target);
+			close(TARGETS, counter, positions, lengths);
+
+			if (csr.isWeighted()) {
+				section(WEIGHTS, out, counter, positions);
+				for (double weight : arrays.weights)
+					out.writeDouble(weight);
+				close(WEIGHTS, counter, positions, lengths);
+			}
+
+			int[] vertexIndex = new int[n + 1];
+			int[] lookup = new int[lookupCapacity(n)];
+			section(VERTICES, out, counter, positions);
+			for (int id = 0; id < n; id++) {
+				vertexIndex[id] = relative(VERTICES, counter, positions);
+				byte[] vertex = encode(vertexCodec, index.vertexOf(id));
+				out.write(vertex);
+				int slot = hash(ByteBuffer.wrap(vertex)) & (lookup.length - 1);
+				while (lookup[slot] != 0)
+					slot = (slot + 1) & (lookup.length - 1);
+				lookup[slot] = id + 1;
+			}
+			vertexIndex[n] = relative(VERTICES, counter, positions);
+			close(VERTICES, counter, positions, lengths);
+			writeInts(VERTEX_INDEX, vertexIndex, out, counter, positions, lengths);
+
+			if (edgeCodec != null) {
+				// mismo orden que freeze(): ids vivos en orden y cada lista en su orden
+				@SuppressWarnings("unchecked")
+				AdjacencyListGraph<V, E> lists = (AdjacencyListGraph<V, E>) graph;
+				VertexIndex<V> source = lists.getVertexIndex();
+				int[] edgeIndex = new int[entries + 1];
+				int entry = 0;
+				section(EDGES, out, counter, positions);
+				for (int id = 0; id < source.bound(); id++) {
+					if (!source.isLive(id))
+						continue;
+					Collection<AdjacencyListGraph<V, E>.InternalEdge> edges = lists.getAdjacencyList(id);
+					for (AdjacencyListGraph<V, E>.InternalEdge edge : edges) {
+						edgeIndex[entry++] = relative(EDGES, counter, positions);
+						edgeCodec.write(edge.edge, out);
+					}
+				}
+				edgeIndex[entries] = relative(EDGES, counter, positions);
+				close(EDGES, counter, positions, lengths);
+				writeInts(EDGE_INDEX, edgeIndex, out, counter, positions, lengths);
+			}
+			writeInts(VERTEX_LOOKUP, lookup, out, counter, positions, lengths);
+			out.flush();
+
+			ByteBuffer header = ByteBuffer.allocate(FIXED_HEADER + Integer.BYTES + type.length);
+			header.putInt(MAGIC).putInt(VERSION).putInt(flags).putInt(n).putInt(entries).putInt(csr.numberOfEdges());
+			for (int s = 0; s < SECTIONS; s++)
+				header.putLong(positions[s]).putLong(lengths[s]);
+			header.putInt(type.length).put(type);
+			header.flip();
+			channel.write(header, 0);
+		}
+	}
+
+	public static <V, E> MappedGraph<V, E> open(Path path, GraphCodec<V> vertexCodec, GraphCodec<E> edgeCodec)
+			throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer fixed = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+					Math.min(channel.size(), FIXED_HEADER + Integer.BYTES));
+			if (fixed.limit() < FIXED_HEADER + Integer.BYTES || fixed.getInt() != MAGIC)
+				throw new RuntimeException(String.format("%s is not a graph file", path));
+			int version = fixed.getInt();
+			if (version != VERSION)
+				throw new RuntimeException(String.format("Unsupported graph file version %d", version));
+
+			int flags = fixed.getInt();
+			int n = fixed.getInt();
+			int entries = fixed.getInt();
+			int edgeCount = fixed.getInt();
+			MappedByteBuffer[] sections = new MappedByteBuffer[SECTIONS];
+			for (int s = 0; s < SECTIONS; s++) {
+				long position = fixed.getLong();
+				long length = fixed.getLong();
+				if (length > Integer.MAX_VALUE)
+					throw new RuntimeException(String.format("Section %d of %s is too large to be mapped", s, path));
+				// las secciones que no estan quedan vacias
+				sections[s] = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+			}
+
+			byte[] type = new byte[fixed.getInt()];
+			channel.read(ByteBuffer.wrap(type), FIXED_HEADER + Integer.BYTES);
+
+			// sin codec las propiedades guardadas simplemente no se leen
+			if ((flags & HAS_EDGES) == 0)
+				edgeCodec = null;
+
+			// el mapeo sigue siendo valido despues de cerrar el canal
+			return new MappedGraph<>(new String(type, StandardCharsets.UTF_8), flags, n, entries, edgeCount,
+					sections, vertexCodec, edgeCodec);
+		}
+	}
+
+	// los bytes que el codec escribe para value
+	static <T> byte[] encode(GraphCodec<T> codec, T value) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try {
+			codec.write(value, new DataOutputStream(bytes));
+		} catch (IOException e) {
+			// un ByteArrayOutputStream no tira IOException: solo puede venir del codec
+			throw new RuntimeException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	// FNV-1a de position a limit, sin moverlos, y la mezcla final de murmur3:
+	// con sondeo lineal hace falta que claves casi iguales (enteros chicos,
+	// con casi todos los bytes en 0) queden lejos en la tabla
+	static int hash(ByteBuffer bytes) {
+		int h = 0x811c9dc5;
+		for (int i = bytes.position(); i < bytes.limit(); i++)
+			h = (h ^ (bytes.get(i) & 0xff)) * 0x01000193;
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		return h ^ (h >>> 16);
+	}
+
+	// potencia de 2 con al menos el doble de lugares que vertices
+	private static int lookupCapacity(int n) {
+		int capacity = 1;
+		while (capacity < 2L * n)
+			capacity <<= 1;
+		return capacity;
+	}
+
+	private static void section(int s, DataOutputStream out, CountingStream counter, long[] positions)
+			throws IOException {
+		// alineada a 8 para que las vistas int/double queden alineadas
+		while (counter.count % 8 != 0)
+			out.writeByte(0);
+		positions[s] = counter.count;
+	}
+
+	private static void close(int s, CountingStream counter, long[] positions, long[] lengths) {
+		lengths[s] = counter.count - positions[s];
+	}
+
+	private static int relative(int s, CountingStream counter, long[] positions) {
+		long offset = counter.count - positions[s];
+		if (offset > Integer.MAX_VALUE)
+			throw new RuntimeException("Section is too large to be mapped");
+		return (int) offset;
+	}
+
+	private static void writeInts(int s, int[] values, DataOutputStream out, CountingStream counter,
+			long[] positions, long[] lengths) throws IOException {
+		section(s, out, counter, positions);
+		for (int value : values)
+			out.writeInt(value);
+		close(s, counter, positions, lengths);
+	}
+
+	// DataOutputStream.size() es un int: con mas de 2GB se satura
+	private static final class CountingStream extends FilterOutputStream {
+		long count;
+
+		CountingStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+	}
+}
@@ -6,6 +6,9 @@ package core;
 
 
 import java.util.Collection;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
 
 
 // same interface for graph, digraph, multigraph, weighted graph, etc
@@ -26,6 +29,17 @@ public interface GraphService<V,E> {
 	enum SelfLoop { NO, YES};
 	enum Weight{ NO, YES	};
 	enum Storage { SPARSE, DENSE };
+	// indice de ejes entrantes en grafos dirigidos SPARSE: mas memoria a cambio de
+	// removeVertex e inDegree en O(grado). En DENSE y no dirigidos no cambia nada
+	enum IncomingIndex { NO, YES };
+	// como calcula dijkstra(source) los caminos minimos: DIJKSTRA secuencial con
+	// una cola de prioridad, DELTA_STEPPING en paralelo sobre el ForkJoinPool
+	// comun (ver DeltaStepping). Los resultados son los mismos
+	enum ShortestPathEngine { DIJKSTRA, DELTA_STEPPING };
+	// NONE: un grafo comun, sin sincronizacion. SNAPSHOT: un hilo escribe
+	// mientras otros leen sin lock, cada lectura sobre una version consistente
+	// (ver ConcurrentGraph). Solo con Storage.SPARSE
+	enum Concurrency { NONE, SNAPSHOT };
 
 	// devuelve caracteristicas de la forma en que fue creado
 	public String getType();
@@ -109,15 +123,79 @@ public interface GraphService<V,E> {
 	// if vertex does not exist: throw exception
 	public Iterable<V> getDFS(V vertex);
 	
+	// Hop distances from source computed with a parallel level-synchronous BFS.
+	// get(v) is the number of edges of the shortest path (-1 if unreachable) and
+	// count() the number of BFS levels
+	// if the vertex does not exist: throw exception
+	public VertexLabels<V> parallelBfs(V source);
+	
 	// Prints all possible paths from start to end vertex
 	// Only for simple graphs without self-loops, otherwise throw exception
 	// if start or end vertex does not exist: throw exception
 	public void printAllPaths(V start, V end);
 	
+	// All simple paths from start to end, produced lazily in the same order as
+	// printAllPaths: each path is a new list from start to end, built only when
+	// the stream reaches it. Memory is O(vertices) however many paths there are;
+	// use limit() to stop after some results. A parallel() stream splits the
+	// search at the first vertex with more than one neighbour.
+	// Self-loops are never part of a simple path, so they are ignored
+	// Only for simple graphs, otherwise throw exception
+	// if start or end vertex does not exist: throw exception
+	public Stream<List<V>> allPaths(V start, V end);
+	
+	// same as above, only paths with at most maxLength edges
+	public Stream<List<V>> allPaths(V start, V end, int maxLength);
+	
+	// number of paths of allPaths(start, end) without building any of them
+	public long countPaths(V start, V end);
+	
+	// number of paths with at most maxLength edges, stops counting at maxResults
+	public long countPaths(V start, V end, int maxLength, long maxResults);
+	
+	// countPaths with fork-join: every task takes some of the neighbours of the
+	// first branching vertex
+	public long parallelCountPaths(V start, V end, int maxLength);
+	
 	// only for simple graph/digraph
 	// multi: throw exception
 	public DijkstraPath<V,E> dijkstra(V source);
 	
+	// shortest path between two vertices: stops as soon as "to" is settled,
+	// using a bidirectional search when incoming edges can be traversed.
+	// The result only contains the vertices of the path found
+	// only for simple weighted graph/digraph
+	// multi: throw exception
+	// if any of the vertices does not exist: throw exception
+	public DijkstraPath<V,E> shortestPath(V from, V to);
+	
+	// same as above, using A* with the given heuristic.
+	// heuristic(v) must never overestimate the distance from v to "to"
+	public DijkstraPath<V,E> shortestPath(V from, V to, ToDoubleFunction<V> heuristic);
+	
+	// Vertices in topological order (Kahn's algorithm, O(V+E)): every edge goes
+	// from an earlier vertex to a later one
+	// undirected: throw exception
+	// if the graph has a cycle: throw exception showing the cycle
+	public List<V> topologicalOrder();
+	
+	// Distances from source in a DAG, relaxing the edges in topological order:
+	// O(V+E) and negative weights are allowed. Unreachable vertices are INF,
+	// like in dijkstra
+	// only for weighted directed graphs, otherwise throw exception
+	// if the graph has a cycle: throw exception showing the cycle
+	// if the vertex does not exist: throw exception
+	public DijkstraPath<V,E> dagShortestPaths(V source);
+	
+	// same as above with the heaviest path to every vertex
+	public DijkstraPath<V,E> dagLongestPaths(V source);
+	
+	// Heaviest path of the whole DAG, from any vertex (the critical path when the
+	// weights are task durations)
+	// only for weighted directed graphs, otherwise throw exception
+	// if the graph has a cycle: throw exception showing the cycle
+	public List<V> criticalPath();
+	
 	// Returns true if the graph is bipartite, false otherwise
 	// A graph is bipartite if its vertices can be colored with two colors
 	// such that no two adjacent vertices have the same color
@@ -128,4 +206,21 @@ public interface GraphService<V,E> {
 	// For undirected graphs: detects cycles using DFS with parent tracking
 	public boolean hasCycle();
 	
+	// Strongly connected components (connected components if undirected).
+	// Every vertex gets a component id in [0, count()); for a directed graph the
+	// ids follow the reverse topological order of the condensation: an edge
+	// between different components always goes from a higher id to a lower one
+	public VertexLabels<V> stronglyConnectedComponents();
+	
+	// Connected components of an undirected graph, kept up to date by the graph:
+	// addVertex/addEdge update it incrementally, removals trigger one lazy rebuild.
+	// Always returns the same instance
+	// directed: throw exception
+	public ConnectedComponents<V> connectedComponents();
+	
+	// Immutable Compressed Sparse Row copy of the graph for read-heavy workloads:
+	// same queries and traversals, a fraction of the memory. Edge properties are
+	// not kept, only their weight. Later changes to this graph are not reflected
+	public CsrGraph<V,E> freeze();
+	
 }
@@ -0,0 +1,45 @@
+package core;
+
+// Vista de un grafo por ids internos (ver VertexIndex) que comparten los
+// algoritmos, sin importar si el grafo es lista de adyacencia o matriz.
+// Cada implementacion la expone con un metodo package-private, asi no se
+// agrega nada a la interfaz publica GraphService.
+interface IndexedGraph<V> {
+
+	VertexIndex<V> vertexIndex();
+
+	// cota de los ids (ver VertexIndex.bound)
+	default int bound() {
+		return vertexIndex().bound();
+	}
+
+	default V vertexOf(int id) {
+		return vertexIndex().vertexOf(id);
+	}
+
+	boolean isDirected();
+
+	// nuevo cursor sobre los ejes salientes de un vertice
+	EdgeCursor outgoing();
+
+	// nuevo cursor sobre los ejes entrantes, o null si el grafo dirigido no
+	// tiene como recorrerlos sin revisar todos los vertices.
+	// En un grafo no dirigido es lo mismo que outgoing()
+	EdgeCursor incoming();
+
+
+	// Recorrido de ejes sin alocar por vecino:
+	//   cursor.reset(u);
+	//   while (cursor.next()) { cursor.target(); cursor.weight(); }
+	// Un cursor no es thread-safe; cada hilo usa el suyo.
+	interface EdgeCursor {
+
+		void reset(int vertexId);
+
+		boolean next();
+
+		int target();
+
+		double weight();
+	}
+}
@@ -0,0 +1,114 @@
+package core;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// Cola de prioridad d-aria indexada sobre ids enteros en [0, capacity).
+// A diferencia de java.util.PriorityQueue admite decrease-key, asi cada id
+// esta a lo sumo una vez en la cola (sin duplicados "perezosos") y las
+// claves se guardan en un double[] sin boxing.
+final class IndexedMinHeap {
+
+	private static final int ARITY = 4;
+
+	private final int[] heap;       // heap[i] = id en la posicion i
+	private final int[] position;   // position[id] = posicion en heap o -1
+	private final double[] keys;    // keys[id] = prioridad actual
+	private int size;
+
+	IndexedMinHeap(int capacity) {
+		heap = new int[capacity];
+		position = new int[capacity];
+		keys = new double[capacity];
+		Arrays.fill(position, -1);
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean contains(int id) {
+		return position[id] >= 0;
+	}
+
+	double peekKey() {
+		if (size == 0)
+			throw new NoSuchElementException();
+		return keys[heap[0]];
+	}
+
+	// inserta id o, si ya estaba con clave mayor, la disminuye
+	void insertOrDecrease(int id, double key) {
+		int pos = position[id];
+		if (pos < 0) {
+			pos = size++;
+			heap[pos] = id;
+			position[id] = pos;
+		} else if (key >= keys[id]) {
+			return;
+		}
+		keys[id] = key;
+		siftUp(pos);
+	}
+
+	// extrae el id de menor clave
+	int poll() {
+		if (size == 0)
+			throw new NoSuchElementException();
+
+		int min = heap[0];
+		position[min] = -1;
+		int last = heap[--size];
+		if (size > 0) {
+			heap[0] = last;
+			position[last] = 0;
+			siftDown(0);
+		}
+		return min;
+	}
+
+	private void siftUp(int pos) {
+		int id = heap[pos];
+		double key = keys[id];
+		while (pos > 0) {
+			int parent = (pos - 1) / ARITY;
+			int parentId = heap[parent];
+			if (keys[parentId] <= key)
+				break;
+			heap[pos] = parentId;
+			position[parentId] = pos;
+			pos = parent;
+		}
+		heap[pos] = id;
+		position[id] = pos;
+	}
+
+	private void siftDown(int pos) {
+		int id = heap[pos];
+		double key = keys[id];
+		while (true) {
+			int first = pos * ARITY + 1;
+			if (first >= size)
+				break;
+
+			// el menor de los (hasta) ARITY hijos
+			int best = first;
+			int end = Math.min(first + ARITY, size);
+			for (int child = first + 1; child < end; child++)
+				if (keys[heap[child]] < keys[heap[best]])
+					best = child;
+
+			if (keys[heap[best]] >= key)
+				break;
+			heap[pos] = heap[best];
+			position[heap[pos]] = pos;
+			pos = best;
+		}
+		heap[pos] = id;
+		position[id] = pos;
+	}
+}
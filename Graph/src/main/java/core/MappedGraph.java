@@ -0,0 +1,340 @@
+package core;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import core.IndexedGraph.EdgeCursor;
+
+// Un archivo de GraphFiles abierto con FileChannel.map. Los arreglos del Csr
+// no se copian: offsets, targets y weights se leen directamente de los
+// buffers mapeados, asi abrir el archivo no depende del tamano del grafo y el
+// sistema operativo trae del disco solo las paginas que se recorren.
+// Los vertices se decodifican con su GraphCodec recien cuando se piden, y
+// idOf los busca en la tabla VERTEX_LOOKUP del archivo comparando bytes:
+// getBFS, shortestPath o neighbours desde un vertice no arman un mapa de
+// todos los vertices. Solo toCsrGraph y los algoritmos que piden el
+// VertexIndex completo (vertexIndex() de la vista) pagan ese O(V) una vez.
+//
+// Es de solo lectura. Para volver a tener un grafo en memoria: toCsrGraph()
+// copia los arreglos; toGraph(builder) ademas necesita las propiedades E.
+public final class MappedGraph<V, E> {
+	private final String type;
+	private final int flags;
+	private final int n;
+	private final int entries;
+	private final int edgeCount;
+
+	private final IntBuffer offsets;
+	private final IntBuffer targets;
+	// null si el grafo no es con peso
+	private final DoubleBuffer weights;
+	private final ByteBuffer vertices;
+	private final IntBuffer vertexIndex;
+	private final IntBuffer vertexLookup;
+	// null si no se guardaron (o no se pidieron) las propiedades de los ejes
+	private final ByteBuffer edges;
+	private final IntBuffer edgeIndex;
+
+	private final GraphCodec<V> vertexCodec;
+	private final GraphCodec<E> edgeCodec;
+
+	// V -> id con todos los vertices decodificados, solo si alguien lo pide
+	private VertexIndex<V> index;
+
+	MappedGraph(String type, int flags, int n, int entries, int edgeCount, MappedByteBuffer[] sections,
+			GraphCodec<V> vertexCodec, GraphCodec<E> edgeCodec) {
+		this.type = type;
+		this.flags = flags;
+		this.n = n;
+		this.entries = entries;
+		this.edgeCount = edgeCount;
+		this.vertexCodec = vertexCodec;
+		this.edgeCodec = edgeCodec;
+
+		offsets = sections[GraphFiles.OFFSETS].asIntBuffer();
+		targets = sections[GraphFiles.TARGETS].asIntBuffer();
+		weights = isWeighted() ? sections[GraphFiles.WEIGHTS].asDoubleBuffer() : null;
+		vertices = sections[GraphFiles.VERTICES];
+		vertexIndex = sections[GraphFiles.VERTEX_INDEX].asIntBuffer();
+		vertexLookup = sections[GraphFiles.VERTEX_LOOKUP].asIntBuffer();
+		edges = edgeCodec != null ? sections[GraphFiles.EDGES] : null;
+		edgeIndex = edgeCodec != null ? sections[GraphFiles.EDGE_INDEX].asIntBuffer() : null;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public boolean isDirected() {
+		return (flags & GraphFiles.DIRECTED) != 0;
+	}
+
+	public boolean isWeighted() {
+		return (flags & GraphFiles.WEIGHTED) != 0;
+	}
+
+	public boolean isSimple() {
+		return (flags & GraphFiles.SIMPLE) != 0;
+	}
+
+	public boolean acceptsSelfLoop() {
+		return (flags & GraphFiles.SELF_LOOPS) != 0;
+	}
+
+	public boolean hasEdgeProperties() {
+		return edges != null;
+	}
+
+	public int numberOfVertices() {
+		return n;
+	}
+
+	public int numberOfEdges() {
+		return edgeCount;
+	}
+
+	// los ids van de 0 a numberOfVertices() - 1, en el orden en que se guardaron
+	public V vertexAt(int id) {
+		if (id < 0 || id >= n)
+			throw new IndexOutOfBoundsException(String.format("Vertex id %d out of range [0, %d)", id, n));
+		// duplicate: cada lectura con su propia posicion, se puede leer desde varios hilos
+		ByteBuffer in = vertices.duplicate();
+		in.position(vertexIndex.get(id));
+		return vertexCodec.read(in);
+	}
+
+	// -1 si el vertice no esta en el grafo. Sondeo lineal en VERTEX_LOOKUP:
+	// se codifica vertex y se comparan sus bytes con los de cada candidato
+	public int idOf(V vertex) {
+		if (vertex == null)
+			return -1;
+
+		ByteBuffer wanted = ByteBuffer.wrap(GraphFiles.encode(vertexCodec, vertex));
+		int mask = vertexLookup.limit() - 1;
+		for (int slot = GraphFiles.hash(wanted) & mask;; slot = (slot + 1) & mask) {
+			int entry = vertexLookup.get(slot);
+			if (entry == 0)
+				return -1;
+
+			ByteBuffer stored = vertices.duplicate();
+			stored.limit(vertexIndex.get(entry));
+			stored.position(vertexIndex.get(entry - 1));
+			if (stored.equals(wanted))
+				return entry - 1;
+		}
+	}
+
+	public int outDegree(V aVertex) {
+		int id = checkedId(aVertex);
+		return offsets.get(id + 1) - offsets.get(id);
+	}
+
+	// vecinos salientes de aVertex, en el orden en que estaban en su lista
+	public List<V> neighbours(V aVertex) {
+		int id = checkedId(aVertex);
+		List<V> list = new ArrayList<>(offsets.get(id + 1) - offsets.get(id));
+		for (int e = offsets.get(id); e < offsets.get(id + 1); e++)
+			list.add(vertexAt(targets.get(e)));
+		return list;
+	}
+
+	// propiedades de los ejes salientes de aVertex, en el mismo orden que neighbours
+	public List<E> edgesFrom(V aVertex) {
+		if (edges == null)
+			throw new RuntimeException("The graph file has no edge properties");
+
+		int id = checkedId(aVertex);
+		List<E> list = new ArrayList<>(offsets.get(id + 1) - offsets.get(id));
+		for (int e = offsets.get(id); e < offsets.get(id + 1); e++)
+			list.add(edgeAt(e));
+		return list;
+	}
+
+	public Iterable<V> getBFS(V vertex) {
+		int start = checkedId(vertex);
+		return () -> new BFSIterator(start);
+	}
+
+	// misma busqueda que GraphService.shortestPath, leyendo los ejes del archivo
+	public DijkstraPath<V, E> shortestPath(V from, V to) {
+		if (!isSimple())
+			throw new RuntimeException("Dijkstra algorithm is only allowed for simple graphs");
+
+		if (!isWeighted())
+			throw new RuntimeException("Dijkstra algorithm requires a weighted graph");
+
+		int source = idOf(from);
+		if (source < 0)
+			throw new RuntimeException("Source vertex does not exist");
+
+		int target = idOf(to);
+		if (target < 0)
+			throw new RuntimeException("Target vertex does not exist");
+
+		return ShortestPaths.between(indexedView, source, target, null).toDijkstraPath(indexedView, from, to);
+	}
+
+	// copia los arreglos a memoria; las propiedades E no se guardan en un CsrGraph
+	public CsrGraph<V, E> toCsrGraph() {
+		int[] offsetArray = new int[n + 1];
+		offsets.duplicate().get(offsetArray);
+		int[] targetArray = new int[entries];
+		targets.duplicate().get(targetArray);
+		double[] weightArray = null;
+		if (weights != null) {
+			weightArray = new double[entries];
+			weights.duplicate().get(weightArray);
+		}
+		return new CsrGraph<>(index(), new Csr(offsetArray, targetArray, weightArray), type + " (csr snapshot)",
+				isSimple(), isDirected(), acceptsSelfLoop(), isWeighted(), edgeCount);
+	}
+
+	// vuelve a cargar el grafo con addEdge sobre lo que arme el builder, que
+	// deberia tener la misma configuracion que el grafo guardado
+	public GraphService<V, E> toGraph(GraphBuilder<V, E> builder) {
+		if (edges == null)
+			throw new RuntimeException("The graph file has no edge properties");
+
+		GraphService<V, E> graph = builder.build();
+		for (int id = 0; id < n; id++)
+			graph.addVertex(vertexAt(id));
+
+		for (int u = 0; u < n; u++) {
+			V aVertex = vertexAt(u);
+			for (int e = offsets.get(u); e < offsets.get(u + 1); e++) {
+				int v = targets.get(e);
+				// no dirigido: cada eje esta en las dos listas, se agrega desde el extremo menor
+				// (un self-loop esta una sola vez)
+				if (isDirected() || u <= v)
+					graph.addEdge(aVertex, vertexAt(v), edgeAt(e));
+			}
+		}
+		return graph;
+	}
+
+	IndexedGraph<V> indexedView() {
+		return indexedView;
+	}
+
+	private E edgeAt(int entry) {
+		ByteBuffer in = edges.duplicate();
+		in.position(edgeIndex.get(entry));
+		return edgeCodec.read(in);
+	}
+
+	private int checkedId(V aVertex) {
+		int id = aVertex == null ? -1 : idOf(aVertex);
+		if (id < 0)
+			throw new RuntimeException(String.format("Vertex %s does not exist", aVertex));
+		return id;
+	}
+
+	// ids 0..n-1 en el mismo orden del archivo
+	private synchronized VertexIndex<V> index() {
+		if (index == null) {
+			VertexIndex<V> built = new VertexIndex<>();
+			for (int id = 0; id < n; id++)
+				built.add(vertexAt(id));
+			index = built;
+		}
+		return index;
+	}
+
+	private final IndexedGraph<V> indexedView = new IndexedGraph<V>() {
+		@Override
+		public VertexIndex<V> vertexIndex() {
+			return index();
+		}
+
+		@Override
+		public int bound() {
+			return n;
+		}
+
+		@Override
+		public V vertexOf(int id) {
+			return vertexAt(id);
+		}
+
+		@Override
+		public boolean isDirected() {
+			return MappedGraph.this.isDirected();
+		}
+
+		@Override
+		public EdgeCursor outgoing() {
+			return new MappedCursor();
+		}
+
+		@Override
+		public EdgeCursor incoming() {
+			// los entrantes no se guardan en el archivo
+			return isDirected() ? null : new MappedCursor();
+		}
+	};
+
+	// como Csr.Cursor pero sobre los buffers mapeados
+	private final class MappedCursor implements EdgeCursor {
+		private int position;
+		private int end;
+
+		@Override
+		public void reset(int vertexId) {
+			position = offsets.get(vertexId) - 1;
+			end = offsets.get(vertexId + 1);
+		}
+
+		@Override
+		public boolean next() {
+			return ++position < end;
+		}
+
+		@Override
+		public int target() {
+			return targets.get(position);
+		}
+
+		@Override
+		public double weight() {
+			return weights == null ? 0 : weights.get(position);
+		}
+	}
+
+	private class BFSIterator implements Iterator<V> {
+		private final int[] queue = new int[n];
+		private final boolean[] visited = new boolean[n];
+		private int head, tail;
+
+		BFSIterator(int start) {
+			queue[tail++] = start;
+			visited[start] = true;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return head < tail;
+		}
+
+		@Override
+		public V next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+
+			int current = queue[head++];
+			for (int e = offsets.get(current); e < offsets.get(current + 1); e++) {
+				int target = targets.get(e);
+				if (!visited[target]) {
+					visited[target] = true;
+					queue[tail++] = target;
+				}
+			}
+			return vertexAt(current);
+		}
+	}
+}
@@ -1,7 +1,7 @@
 package core;
 
 
-import java.util.Collection;
+import java.util.function.ToDoubleFunction;
 
 
 
@@ -14,25 +14,26 @@ public class Multi<V,E> extends AdjacencyListGraph<V,E> {
 		
 	}
 	
+	protected Multi(boolean isDirected, boolean acceptSelfLoops, boolean isWeighted,
+			ToDoubleFunction<? super E> weightFunction) {
+		this(isDirected, acceptSelfLoops, isWeighted, weightFunction, false);
+	}
+	
+	protected Multi(boolean isDirected, boolean acceptSelfLoops, boolean isWeighted,
+			ToDoubleFunction<? super E> weightFunction, boolean indexIncoming) {
+		super(false, isDirected, acceptSelfLoops, isWeighted, weightFunction, indexIncoming);
+	}
+	
 	
 	
 	@Override
 	public void addEdge(V aVertex, V otherVertex, E theEdge) {
 
 		// validacion y creacion de vertices si fuera necesario
-		super.addEdge(aVertex, otherVertex, theEdge);
+		double weight= prepareEdge(aVertex, otherVertex, theEdge);
 
 		// Multi graph allows multiple edges, so simply add without checking duplicates
-		Collection<InternalEdge> adjacentEdges = getAdjacencyList().get(aVertex);
-		InternalEdge newEdge = new InternalEdge(theEdge, otherVertex);
-		adjacentEdges.add(newEdge);
-		
-		// If undirected and not a self-loop, add reverse edge
-		if (!isDirected && !aVertex.equals(otherVertex)) {
-			Collection<InternalEdge> reverseAdjacentEdges = getAdjacencyList().get(otherVertex);
-			InternalEdge reverseEdge = new InternalEdge(theEdge, aVertex);
-			reverseAdjacentEdges.add(reverseEdge);
-		}
+		insertEdge(aVertex, otherVertex, theEdge, weight);
 	}
 	
 	@Override
@@ -40,6 +41,16 @@ public class Multi<V,E> extends AdjacencyListGraph<V,E> {
 		throw new RuntimeException("Dijkstra algorithm is only allowed for simple graphs");
 	}
 	
+	@Override
+	public DijkstraPath<V,E> shortestPath(V from, V to) {
+		throw new RuntimeException("Dijkstra algorithm is only allowed for simple graphs");
+	}
+	
+	@Override
+	public DijkstraPath<V,E> shortestPath(V from, V to, ToDoubleFunction<V> heuristic) {
+		throw new RuntimeException("Dijkstra algorithm is only allowed for simple graphs");
+	}
+	
 	@Override
 	public void printAllPaths(V start, V end) {
 		throw new RuntimeException(Messages.getString("printAllPathsNotDefinedForMulti"));
@@ -0,0 +1,20 @@
+package core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+// Reparte los tramos [0, chunks) en un ForkJoinPool y espera a que terminen.
+// Con un solo tramo lo corre en el hilo actual, sin pasar por el pool.
+final class Parallel {
+
+	private Parallel() {
+	}
+
+	static void run(ForkJoinPool pool, int chunks, IntConsumer chunk) {
+		if (chunks == 1)
+			chunk.accept(0);
+		else if (chunks > 1)
+			pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(chunk)).join();
+	}
+}
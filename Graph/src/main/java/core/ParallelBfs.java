@@ -0,0 +1,185 @@
+package core;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// BFS por niveles en paralelo sobre un Csr. Devuelve la distancia en saltos
+// desde el origen (-1 si no se alcanza).
+// Cada nivel se reparte en tareas de GRAIN vertices en un ForkJoinPool y un
+// bitmap atomico decide que tarea se queda con cada vertice descubierto.
+// Direction-optimizing (Beamer): mientras el frente es chico cada vertice del
+// frente revisa sus vecinos (top-down); cuando el frente tiene mas ejes que
+// lo que falta explorar / ALPHA, cada vertice sin visitar busca entre sus
+// entrantes alguno del frente y corta en el primero (bottom-up). Se vuelve a
+// top-down cuando el frente baja de n / BETA vertices
+final class ParallelBfs {
+	static final int ALPHA = 14;
+	static final int BETA = 24;
+	static final int GRAIN = 1024;
+
+	private final Csr out;
+	// entrantes, se calcula recien cuando hace falta el primer paso bottom-up
+	private Csr in;
+	private final boolean directed;
+	private final ForkJoinPool pool;
+	private final int n;
+
+	private final int[] distances;
+	private final AtomicLongArray visited;
+	private int levels;
+
+	private ParallelBfs(Csr out, boolean directed, ForkJoinPool pool) {
+		this.out = out;
+		this.directed = directed;
+		this.pool = pool;
+		this.n = out.vertexBound();
+		this.distances = new int[n];
+		this.visited = new AtomicLongArray((n + 63) >>> 6);
+		Arrays.fill(distances, -1);
+	}
+
+	static <V> VertexLabels<V> hopDistances(IndexedGraph<V> graph, int source, ForkJoinPool pool) {
+		return hopDistances(Csr.of(graph, false), graph.isDirected(), graph.vertexIndex(), source, pool);
+	}
+
+	static <V> VertexLabels<V> hopDistances(Csr out, boolean directed, VertexIndex<V> index, int source,
+			ForkJoinPool pool) {
+		ParallelBfs bfs = new ParallelBfs(out, directed, pool);
+		bfs.run(source);
+		return new VertexLabels<>(index, bfs.distances, bfs.levels);
+	}
+
+	private void run(int source) {
+		mark(source);
+		distances[source] = 0;
+
+		Frontier frontier = new Frontier(new int[] { source }, 1, out.degree(source));
+		long unexploredEdges = out.targets.length - frontier.edges;
+		boolean bottomUp = false;
+		int level = 0;
+
+		while (frontier.size > 0) {
+			if (!bottomUp && frontier.edges > unexploredEdges / ALPHA)
+				bottomUp = true;
+			else if (bottomUp && frontier.size < n / BETA)
+				bottomUp = false;
+
+			frontier = bottomUp ? bottomUpStep(level) : topDownStep(frontier, level);
+			unexploredEdges -= frontier.edges;
+			level++;
+		}
+		levels = level;
+	}
+
+	private Frontier topDownStep(Frontier frontier, int level) {
+		int[] vertices = frontier.vertices;
+		int[] offsets = out.offsets;
+		int[] targets = out.targets;
+
+		return parallel(frontier.size, (from, to, found) -> {
+			for (int i = from; i < to; i++) {
+				int u = vertices[i];
+				for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+					int v = targets[e];
+					// la lectura de distances es solo un filtro barato, decide mark()
+					if (distances[v] == -1 && mark(v)) {
+						distances[v] = level + 1;
+						found.add(v, out.degree(v));
+					}
+				}
+			}
+		});
+	}
+
+	private Frontier bottomUpStep(int level) {
+		if (in == null)
+			in = directed ? out.transpose() : out;
+		int[] offsets = in.offsets;
+		int[] sources = in.targets;
+
+		// cada vertice lo revisa una sola tarea: no compite con nadie por su distancia
+		return parallel(n, (from, to, found) -> {
+			for (int v = from; v < to; v++) {
+				if (isMarked(v))
+					continue;
+				for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+					// los del frente tienen exactamente level; los descubiertos en
+					// este mismo paso tienen level + 1 y no cuentan
+					if (distances[sources[e]] == level) {
+						mark(v);
+						distances[v] = level + 1;
+						found.add(v, out.degree(v));
+						break;
+					}
+				}
+			}
+		});
+	}
+
+	// reparte [0, size) en tramos de GRAIN; cada tramo junta lo que descubre
+	// en su propio buffer y al final se concatenan
+	private Frontier parallel(int size, Chunk chunk) {
+		int chunks = (size + GRAIN - 1) / GRAIN;
+		Frontier[] found = new Frontier[chunks];
+		for (int c = 0; c < chunks; c++)
+			found[c] = new Frontier(new int[16], 0, 0);
+
+		Parallel.run(pool, chunks, c -> chunk.run(c * GRAIN, Math.min(size, (c + 1) * GRAIN), found[c]));
+
+		int total = 0;
+		long edges = 0;
+		for (Frontier part : found) {
+			total += part.size;
+			edges += part.edges;
+		}
+		int[] vertices = new int[total];
+		int position = 0;
+		for (Frontier part : found) {
+			System.arraycopy(part.vertices, 0, vertices, position, part.size);
+			position += part.size;
+		}
+		return new Frontier(vertices, total, edges);
+	}
+
+	private boolean isMarked(int v) {
+		return (visited.get(v >>> 6) & (1L << v)) != 0;
+	}
+
+	// true si este hilo es el que marco v
+	private boolean mark(int v) {
+		int word = v >>> 6;
+		long mask = 1L << v;
+		long old;
+		do {
+			old = visited.get(word);
+			if ((old & mask) != 0)
+				return false;
+		} while (!visited.compareAndSet(word, old, old | mask));
+		return true;
+	}
+
+	private interface Chunk {
+		void run(int from, int to, Frontier found);
+	}
+
+	// vertices de un nivel y la suma de sus grados de salida
+	private static final class Frontier {
+		int[] vertices;
+		int size;
+		long edges;
+
+		Frontier(int[] vertices, int size, long edges) {
+			this.vertices = vertices;
+			this.size = size;
+			this.edges = edges;
+		}
+
+		void add(int v, int degree) {
+			if (size == vertices.length)
+				vertices = Arrays.copyOf(vertices, 2 * size);
+			vertices[size++] = v;
+			edges += degree;
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package core;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Cache opcional de dijkstra(source) de SimpleOrDefault (ver
+// enableShortestPathCache). Guarda un DijkstraPath por origen, en orden LRU,
+// mientras la suma de sus arreglos no pase de maxBytes; al pasarse se
+// descartan los usados hace mas tiempo.
+// Cada resultado corresponde a una version del grafo: cualquier addVertex,
+// addEdge, removeEdge o removeVertex incrementa la version y en el proximo
+// acceso se descarta todo (invalidations). Los DijkstraPath son inmutables, asi
+// que un mismo resultado se puede devolver a varios llamadores.
+public final class ShortestPathCache<V, E> {
+	private final long maxBytes;
+	private final LinkedHashMap<V, DijkstraPath<V, E>> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long bytes;
+	private long version;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long invalidations;
+
+	ShortestPathCache(long maxBytes) {
+		if (maxBytes <= 0)
+			throw new RuntimeException(String.format("Invalid cache size %d", maxBytes));
+		this.maxBytes = maxBytes;
+	}
+
+	// null si no esta (o era de otra version del grafo)
+	synchronized DijkstraPath<V, E> get(V source, long graphVersion) {
+		if (graphVersion != version) {
+			if (!entries.isEmpty())
+				invalidations++;
+			entries.clear();
+			bytes = 0;
+			version = graphVersion;
+		}
+
+		DijkstraPath<V, E> path = entries.get(source);
+		if (path == null)
+			misses++;
+		else
+			hits++;
+		return path;
+	}
+
+	synchronized void put(V source, long graphVersion, DijkstraPath<V, E> path) {
+		// se calculo con otra version: ya no sirve
+		if (graphVersion != version)
+			return;
+
+		// uno solo no entra: no se guarda, en lugar de vaciar todo el cache
+		long size = path.footprint();
+		if (size > maxBytes)
+			return;
+
+		DijkstraPath<V, E> old = entries.put(source, path);
+		if (old != null)
+			bytes -= old.footprint();
+		bytes += size;
+
+		Iterator<Map.Entry<V, DijkstraPath<V, E>>> eldest = entries.entrySet().iterator();
+		while (bytes > maxBytes) {
+			bytes -= eldest.next().getValue().footprint();
+			eldest.remove();
+			evictions++;
+		}
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		bytes = 0;
+	}
+
+	public synchronized long hits() {
+		return hits;
+	}
+
+	public synchronized long misses() {
+		return misses;
+	}
+
+	public synchronized long evictions() {
+		return evictions;
+	}
+
+	// cuantas veces se descarto el cache por un cambio en el grafo
+	public synchronized long invalidations() {
+		return invalidations;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	// memoria de los arreglos guardados
+	public synchronized long bytes() {
+		return bytes;
+	}
+
+	public long maxBytes() {
+		return maxBytes;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format("%d entries, %d/%d bytes, %d hits, %d misses, %d evictions, %d invalidations",
+				entries.size(), bytes, maxBytes, hits, misses, evictions, invalidations);
+	}
+}
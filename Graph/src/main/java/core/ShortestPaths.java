@@ -0,0 +1,235 @@
+package core;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+import core.IndexedGraph.EdgeCursor;
+
+// Caminos minimos punto a punto sobre un IndexedGraph.
+// A diferencia de dijkstra(source) cortan apenas el destino queda fijo:
+//  - con heuristica: A*
+//  - sin heuristica y con ejes entrantes disponibles: Dijkstra bidireccional
+//  - si no: Dijkstra desde el origen que corta al fijar el destino
+final class ShortestPaths {
+
+	private ShortestPaths() {
+	}
+
+	static <V> Route between(IndexedGraph<V> graph, int from, int to, ToDoubleFunction<? super V> heuristic) {
+		if (heuristic != null)
+			return aStar(graph, from, to, heuristic);
+
+		EdgeCursor incoming = graph.incoming();
+		if (incoming != null)
+			return bidirectional(graph, from, to, graph.outgoing(), incoming);
+
+		return aStar(graph, from, to, null);
+	}
+
+	// A*: la clave es costo acumulado + heuristica. Se admiten heuristicas solo
+	// admisibles (no necesariamente consistentes): un vertice ya fijado se
+	// reabre si aparece un camino mejor
+	static <V> Route aStar(IndexedGraph<V> graph, int from, int to, ToDoubleFunction<? super V> heuristic) {
+		int n = graph.bound();
+
+		double[] costo = new double[n];
+		int[] prev = new int[n];
+		Arrays.fill(costo, Double.POSITIVE_INFINITY);
+		Arrays.fill(prev, -1);
+
+		// la heuristica se evalua una sola vez por vertice
+		double[] estimate = null;
+		if (heuristic != null) {
+			estimate = new double[n];
+			Arrays.fill(estimate, Double.NaN);
+		}
+
+		IndexedMinHeap pq = new IndexedMinHeap(n);
+		EdgeCursor cursor = graph.outgoing();
+		int settled = 0;
+
+		costo[from] = 0;
+		pq.insertOrDecrease(from, 0);
+		while (!pq.isEmpty()) {
+			int current = pq.poll();
+			settled++;
+			if (current == to)
+				break;
+
+			cursor.reset(current);
+			while (cursor.next()) {
+				int target = cursor.target();
+				double newCosto = costo[current] + checked(graph, current, target, cursor.weight());
+				if (newCosto < costo[target]) {
+					costo[target] = newCosto;
+					prev[target] = current;
+
+					double h = 0;
+					if (estimate != null) {
+						if (Double.isNaN(estimate[target]))
+							estimate[target] = heuristic.applyAsDouble(graph.vertexOf(target));
+						h = estimate[target];
+					}
+					pq.insertOrDecrease(target, newCosto + h);
+				}
+			}
+		}
+
+		if (costo[to] == Double.POSITIVE_INFINITY)
+			return new Route(null, null, settled);
+
+		int length = 0;
+		for (int v = to; v != -1; v = prev[v])
+			length++;
+		int[] path = new int[length];
+		double[] distances = new double[length];
+		for (int v = to, i = length - 1; v != -1; v = prev[v], i--) {
+			path[i] = v;
+			distances[i] = costo[v];
+		}
+		return new Route(path, distances, settled);
+	}
+
+	// Dos busquedas de Dijkstra, una desde el origen por los ejes salientes y
+	// otra desde el destino por los entrantes. Se expande siempre el frente con
+	// menor clave y se corta cuando la suma de ambos minimos no puede mejorar
+	// el mejor camino visto (mu)
+	static <V> Route bidirectional(IndexedGraph<V> graph, int from, int to, EdgeCursor outgoing, EdgeCursor incoming) {
+		int n = graph.bound();
+
+		double[] forward = new double[n];
+		double[] backward = new double[n];
+		int[] prevForward = new int[n];
+		int[] nextBackward = new int[n];
+		boolean[] settledForward = new boolean[n];
+		boolean[] settledBackward = new boolean[n];
+		Arrays.fill(forward, Double.POSITIVE_INFINITY);
+		Arrays.fill(backward, Double.POSITIVE_INFINITY);
+		Arrays.fill(prevForward, -1);
+		Arrays.fill(nextBackward, -1);
+
+		IndexedMinHeap forwardPq = new IndexedMinHeap(n);
+		IndexedMinHeap backwardPq = new IndexedMinHeap(n);
+		forward[from] = 0;
+		backward[to] = 0;
+		forwardPq.insertOrDecrease(from, 0);
+		backwardPq.insertOrDecrease(to, 0);
+
+		double mu = from == to ? 0 : Double.POSITIVE_INFINITY;
+		int meeting = from == to ? from : -1;
+		int settled = 0;
+
+		while (!forwardPq.isEmpty() && !backwardPq.isEmpty()
+				&& forwardPq.peekKey() + backwardPq.peekKey() < mu) {
+
+			boolean goForward = forwardPq.peekKey() <= backwardPq.peekKey();
+			IndexedMinHeap pq = goForward ? forwardPq : backwardPq;
+			EdgeCursor cursor = goForward ? outgoing : incoming;
+			double[] dist = goForward ? forward : backward;
+			double[] otherDist = goForward ? backward : forward;
+			int[] link = goForward ? prevForward : nextBackward;
+			boolean[] done = goForward ? settledForward : settledBackward;
+
+			int current = pq.poll();
+			done[current] = true;
+			settled++;
+
+			cursor.reset(current);
+			while (cursor.next()) {
+				int target = cursor.target();
+				if (done[target])
+					continue;
+
+				double newCosto = dist[current] + (goForward
+						? checked(graph, current, target, cursor.weight())
+						: checked(graph, target, current, cursor.weight()));
+				if (newCosto < dist[target]) {
+					dist[target] = newCosto;
+					link[target] = current;
+					pq.insertOrDecrease(target, newCosto);
+				}
+				// el otro frente ya llego a target: hay un camino completo
+				if (dist[target] + otherDist[target] < mu) {
+					mu = dist[target] + otherDist[target];
+					meeting = target;
+				}
+			}
+		}
+
+		if (meeting < 0)
+			return new Route(null, null, settled);
+
+		// origen .. meeting por prevForward, meeting .. destino por nextBackward
+		int length = 0;
+		for (int v = meeting; v != -1; v = prevForward[v])
+			length++;
+		int head = length;
+		for (int v = nextBackward[meeting]; v != -1; v = nextBackward[v])
+			length++;
+
+		int[] path = new int[length];
+		double[] distances = new double[length];
+		int i = head - 1;
+		for (int v = meeting; v != -1; v = prevForward[v], i--) {
+			path[i] = v;
+			distances[i] = forward[v];
+		}
+		i = head;
+		for (int v = nextBackward[meeting]; v != -1; v = nextBackward[v], i++) {
+			path[i] = v;
+			distances[i] = mu - backward[v];
+		}
+		return new Route(path, distances, settled);
+	}
+
+	private static double checked(IndexedGraph<?> graph, int from, int to, double weight) {
+		if (weight < 0)
+			throw new IllegalArgumentException(String.format(
+					"Dijkstra does not accept negative weights: %s -> %s has weight %s",
+					graph.vertexOf(from), graph.vertexOf(to), weight));
+		return weight;
+	}
+
+
+	// Resultado de una busqueda punto a punto: el camino (ids) con la distancia
+	// acumulada en cada vertice, y cuantos vertices se fijaron para encontrarlo
+	static final class Route {
+		final int[] path;
+		final double[] distances;
+		final int settled;
+
+		Route(int[] path, double[] distances, int settled) {
+			this.path = path;
+			this.distances = distances;
+			this.settled = settled;
+		}
+
+		boolean found() {
+			return path != null;
+		}
+
+		// el DijkstraPath solo contiene los vertices del camino. Si no hay camino,
+		// from queda con distancia 0 y to con infinito, como en dijkstra(source)
+		<V, E> DijkstraPath<V, E> toDijkstraPath(IndexedGraph<V> graph, V from, V to) {
+			Map<V, Integer> costo = new HashMap<>();
+			Map<V, V> prev = new HashMap<>();
+
+			if (!found()) {
+				costo.put(from, 0);
+				prev.put(from, null);
+				costo.put(to, Integer.MAX_VALUE);
+				prev.put(to, null);
+				return new DijkstraPath<>(costo, prev);
+			}
+
+			for (int i = 0; i < path.length; i++) {
+				V aV = graph.vertexOf(path[i]);
+				costo.put(aV, (int) distances[i]);
+				prev.put(aV, i == 0 ? null : graph.vertexOf(path[i - 1]));
+			}
+			return new DijkstraPath<>(costo, prev);
+		}
+	}
+}
@@ -1,50 +1,48 @@
 package core;
  
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Set;
-import java.util.ArrayList;
-import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
 
 
 
 public class SimpleOrDefault<V,E> extends AdjacencyListGraph<V,E> {
 
+	private ShortestPathCache<V, E> pathCache;
+	private VertexIndex<V> snapshot;
+	private long snapshotVersion;
+
 	protected SimpleOrDefault(boolean isDirected, boolean acceptSelfLoops, boolean isWeighted) {
 		super(true, isDirected, acceptSelfLoops, isWeighted);
 	
 	}
 	
+	protected SimpleOrDefault(boolean isDirected, boolean acceptSelfLoops, boolean isWeighted,
+			ToDoubleFunction<? super E> weightFunction) {
+		this(isDirected, acceptSelfLoops, isWeighted, weightFunction, false);
+	}
+	
+	protected SimpleOrDefault(boolean isDirected, boolean acceptSelfLoops, boolean isWeighted,
+			ToDoubleFunction<? super E> weightFunction, boolean indexIncoming) {
+		super(true, isDirected, acceptSelfLoops, isWeighted, weightFunction, indexIncoming);
+	}
+	
 	
 	@Override
 	public void addEdge(V aVertex, V otherVertex, E theEdge) {
 
 		// validacion y creacion de vertices si fuera necesario
-		super.addEdge(aVertex, otherVertex, theEdge);
+		double weight= prepareEdge(aVertex, otherVertex, theEdge);
 
 		// Check if edge already exists (simple graph constraint)
-		Collection<InternalEdge> adjacentEdges = getAdjacencyList().get(aVertex);
-		for (InternalEdge existingEdge : adjacentEdges) {
-			if (existingEdge.target.equals(otherVertex)) {
-				throw new RuntimeException(String.format(
-					"Simple graph does not allow multiple edges between %s and %s", 
-					aVertex, otherVertex));
-			}
+		if (firstEdge(aVertex, otherVertex) != null) {
+			throw new RuntimeException(String.format(
+				"Simple graph does not allow multiple edges between %s and %s", 
+				aVertex, otherVertex));
 		}
 		
-		// Add the edge
-		InternalEdge newEdge = new InternalEdge(theEdge, otherVertex);
-		adjacentEdges.add(newEdge);
-		
-		// If undirected and not a self-loop, add reverse edge
-		if (!isDirected && !aVertex.equals(otherVertex)) {
-			Collection<InternalEdge> reverseAdjacentEdges = getAdjacencyList().get(otherVertex);
-			InternalEdge reverseEdge = new InternalEdge(theEdge, aVertex);
-			reverseAdjacentEdges.add(reverseEdge);
-		}
+		// Add the edge (and the reverse / incoming ones)
+		insertEdge(aVertex, otherVertex, theEdge, weight);
 	}
 
 	@Override
@@ -60,77 +58,139 @@ public class SimpleOrDefault<V,E> extends AdjacencyListGraph<V,E> {
 			throw new RuntimeException("Source vertex does not exist");
 		}
 
-		
-		PriorityQueue<NodePQ> pq= new PriorityQueue<>();
+
+		long version= getVersion();
+		if (pathCache != null) {
+			DijkstraPath<V, E> cached= pathCache.get(source, version);
+			if (cached != null)
+				return cached;
+		}
+
+		DijkstraPath<V, E> result;
+		if (getShortestPathEngine() == ShortestPathEngine.DELTA_STEPPING)
+			result= deltaStepping(source);
+		else
+			result= sequentialDijkstra(source);
+		if (pathCache != null)
+			pathCache.put(source, version, result);
+		return result;
+	}
 	
+	private DijkstraPath<V, E> sequentialDijkstra(V source) {
+		// todo el estado va en arreglos indexados por id de vertice
+		VertexIndex<V> index= getVertexIndex();
+		int n= index.bound();
+		
 		//stores shortest distance from source to every vertex
-		Map<V,Integer> costo = new HashMap<>();
-		Map<V,V> prev= new HashMap<>();
-	
-		// empieza vacio
-		Set<V> nodesVisisted= new HashSet<>();
-	
-		// inicializacion+
-		for(V aV: getAdjacencyList().keySet() ) {
-			if (aV.equals(source)) {
-			pq.add(new NodePQ(source, 0));
-			costo.put(source, 0);
-			}
-			else {
-			costo.put(aV, Integer.MAX_VALUE);
-			}
-		prev.put(aV, null);
-		}
+		double[] costo= new double[n];
+		int[] prev= new int[n];
+		boolean[] nodesVisited= new boolean[n];
+		Arrays.fill(costo, Double.POSITIVE_INFINITY);
+		Arrays.fill(prev, -1);
+		
+		// cada vertice esta a lo sumo una vez: si mejora se hace decrease-key
+		IndexedMinHeap pq= new IndexedMinHeap(n);
+		int sourceId= index.idOf(source);
+		costo[sourceId]= 0;
+		pq.insertOrDecrease(sourceId, 0);
 		
 		while( ! pq.isEmpty()) {
-			NodePQ current = pq.poll(); // el menor
-			
-			if (nodesVisisted.contains(current.vertex)) // ya lo procese
-				continue;
+			int current = pq.poll(); // el menor
 	
 			// a procesarlo! Con esto tambien se ignora self-loop
-			nodesVisisted.add(current.vertex);
+			nodesVisited[current]= true;
 	
 			// ahora recorrer todos los ejes incidentes a current
-			Collection<AdjacencyListGraph<V, E>.InternalEdge> adjList = getAdjacencyList().get(current.vertex);
-			for(InternalEdge neighbor: adjList) {
+			for(InternalEdge neighbor: getAdjacencyList(current)) {
 				// si fue visitado seguir. Esto tambien excluye los self loops...
-				if ( nodesVisisted.contains(neighbor.target)) {
+				if (nodesVisited[neighbor.targetId]) {
 					continue;
 				}
 	
-				// invocando a getWeight (se ha validado en insercion)
-				int weight=0;
-				// peso de ese eje?
-				try {
-					Method fn = neighbor.edge.getClass().getMethod("getWeight");
-					weight = (int) fn.invoke(neighbor.edge);
-				}
-				catch (Exception e) {
-				throw new RuntimeException(e);
-				}
+				// peso ya extraido en la insercion
+				double weight= neighbor.weight;
 
 				// verificacion
 				if (weight < 0 )
 					throw new IllegalArgumentException(
 							String.format(Messages.getString("dijkstraWithNegativeWeight"),
-										current.vertex, neighbor.target, weight));
+										index.vertexOf(current), neighbor.target, (int) weight));
 	
 				// cual seria el costo de neighbor viniendo desde current?
-				int newCosto = costo.get(current.vertex) + weight;
+				double newCosto = costo[current] + weight;
 
 				// es una mejora?
-				if (newCosto < costo.get(neighbor.target) ) {
-					// insertar neighbor con ese valor mejorado
-					costo.put(neighbor.target, newCosto);
-					pq.add(new NodePQ(neighbor.target, newCosto));
+				if (newCosto < costo[neighbor.targetId]) {
+					costo[neighbor.targetId]= newCosto;
+					pq.insertOrDecrease(neighbor.targetId, newCosto);
 					
 					// armar camino
-					prev.put(neighbor.target, current.vertex);
+					prev[neighbor.targetId]= current;
 				}
 			}
 		}
-		return new DijkstraPath<>(costo, prev);
+		
+		return DijkstraPath.of(indexSnapshot(), sourceId, costo, prev);
+	}
+	
+	// ShortestPathEngine.DELTA_STEPPING: en paralelo sobre una copia CSR de los ejes
+	private DijkstraPath<V, E> deltaStepping(V source) {
+		VertexIndex<V> index= getVertexIndex();
+		int sourceId= index.idOf(source);
+		int[] prev= new int[index.bound()];
+		double[] costo= DeltaStepping.distances(Csr.of(indexedView(), true), index, sourceId, 0,
+				ForkJoinPool.commonPool(), prev);
+		return DijkstraPath.of(indexSnapshot(), sourceId, costo, prev);
+	}
+	
+	// Cache LRU de dijkstra(source) limitado a maxBytes (distancias y anteriores,
+	// 8 bytes por vertice cada resultado). Cualquier cambio en el grafo lo invalida.
+	// Volver a llamarlo descarta el cache anterior
+	public void enableShortestPathCache(long maxBytes) {
+		pathCache= new ShortestPathCache<>(maxBytes);
+	}
+	
+	public void disableShortestPathCache() {
+		pathCache= null;
+	}
+	
+	// estadisticas (hits, misses, evictions); null si no esta habilitado
+	public ShortestPathCache<V, E> getShortestPathCache() {
+		return pathCache;
+	}
+	
+	// copia del indice de la version actual, compartida por todos los resultados
+	// de esa version: asi cada DijkstraPath son solo sus dos arreglos
+	private VertexIndex<V> indexSnapshot() {
+		if (snapshot == null || snapshotVersion != getVersion()) {
+			snapshot= getVertexIndex().copy();
+			snapshotVersion= getVersion();
+		}
+		return snapshot;
+	}
+
+	@Override
+	public DijkstraPath<V, E> shortestPath(V from, V to) {
+		return shortestPath(from, to, null);
+	}
+	
+	@Override
+	public DijkstraPath<V, E> shortestPath(V from, V to, ToDoubleFunction<V> heuristic) {
+		if (!isWeighted()) {
+			throw new RuntimeException("Dijkstra algorithm requires a weighted graph");
+		}
+		
+		if (from == null || !existsVertex(from)) {
+			throw new RuntimeException("Source vertex does not exist");
+		}
+		
+		if (to == null || !existsVertex(to)) {
+			throw new RuntimeException("Target vertex does not exist");
+		}
+		
+		VertexIndex<V> index= getVertexIndex();
+		return ShortestPaths.between(indexedView(), index.idOf(from), index.idOf(to), heuristic)
+				.toDijkstraPath(indexedView(), from, to);
 	}
 
 	@Override
@@ -151,77 +211,8 @@ public class SimpleOrDefault<V,E> extends AdjacencyListGraph<V,E> {
 		if (acceptsSelfLoop())
 			throw new RuntimeException(Messages.getString("printAllPathsNotDefinedForGraphsWithSelfLoops"));
 		
-		Set<V> visited= new HashSet<V>();
-		ArrayList<V> path= new ArrayList<>();
-		ArrayList<ArrayList<V>> allPaths = new ArrayList<>();
-		
-		// Collect all paths
-		collectAllPaths(startNode, endNode, visited, path, allPaths);
-		
-		// Print results in the expected format
-		if (allPaths.isEmpty()) {
-			System.out.println("No paths found from " + startNode + " to " + endNode);
-		} else {
-			System.out.println("All paths from " + startNode + " to " + endNode + ":");
-			for (int i = 0; i < allPaths.size(); i++) {
-				ArrayList<V> currentPath = allPaths.get(i);
-				System.out.print("Path " + (i + 1) + ": ");
-				for (int j = 0; j < currentPath.size(); j++) {
-					System.out.print(currentPath.get(j));
-					if (j < currentPath.size() - 1) {
-						System.out.print(" -> ");
-					}
-				}
-				System.out.println();
-			}
-			System.out.println("Total paths found: " + allPaths.size());
-		}
-	}
-	
-	
-	private void collectAllPaths(V startNode, V endNode, Set<V> visited, ArrayList<V> path, ArrayList<ArrayList<V>> allPaths) {
-		// proceso el nodo
-		path.add(startNode);
-		visited.add(startNode);
-		
-		// end?
-		if (startNode.equals(endNode)) {
-			// Add a copy of the current path to allPaths
-			allPaths.add(new ArrayList<>(path));
-			
-			// deshago aca porque no voy a pasar por flujo normal
-			visited.remove(endNode);
-			path.remove(path.size() - 1);
-			return;
-		}
-		
-		// go on
-		Collection<InternalEdge> adjListOther = getAdjacencyList().get(startNode);
-		for (InternalEdge internalEdge : adjListOther) {
-			if (! visited.contains(internalEdge.target)) {
-				collectAllPaths(internalEdge.target, endNode, visited, path, allPaths);
-			}
-		}
-		
-		// lo deshago
-		visited.remove(startNode);
-		path.remove(path.size() - 1);
-	}
-
-	// Clase interna para la PriorityQueue
-	class NodePQ implements Comparable<NodePQ> {
-		V vertex;
-		Double distance;
-
-		public NodePQ(V vertex, double distance) {
-			this.vertex= vertex;
-			this.distance= distance;
-		}
-		
-		@Override
-		public int compareTo(NodePQ o2) {
-			return Double.compare( distance, o2.distance);
-		}
+		// se imprime cada camino apenas se encuentra, sin juntarlos antes
+		AllPaths.print(allPaths(startNode, endNode), startNode, endNode);
 	}
 
 
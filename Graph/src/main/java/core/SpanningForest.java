@@ -0,0 +1,67 @@
+package core;
+
+// Resultado de minimumSpanningForest(): un arbol generador minimo por cada
+// componente conexa. Los ejes se guardan en arreglos (extremos, propiedad y
+// peso) y no estan en ningun orden en particular.
+public final class SpanningForest<V, E> {
+	private final Object[] sources;
+	private final Object[] targets;
+	private final Object[] edges;
+	private final double[] weights;
+	private final int trees;
+	private final double totalWeight;
+
+	SpanningForest(Object[] sources, Object[] targets, Object[] edges, double[] weights, int trees) {
+		this.sources = sources;
+		this.targets = targets;
+		this.edges = edges;
+		this.weights = weights;
+		this.trees = trees;
+
+		double total = 0;
+		for (double weight : weights)
+			total += weight;
+		this.totalWeight = total;
+	}
+
+	// vertices - componentes conexas
+	public int numberOfEdges() {
+		return weights.length;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V source(int i) {
+		return (V) sources[i];
+	}
+
+	@SuppressWarnings("unchecked")
+	public V target(int i) {
+		return (V) targets[i];
+	}
+
+	@SuppressWarnings("unchecked")
+	public E edge(int i) {
+		return (E) edges[i];
+	}
+
+	public double weight(int i) {
+		return weights[i];
+	}
+
+	public double totalWeight() {
+		return totalWeight;
+	}
+
+	// cantidad de arboles, uno por componente conexa (los vertices aislados tambien)
+	public int treeCount() {
+		return trees;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder rta = new StringBuilder();
+		for (int i = 0; i < weights.length; i++)
+			rta.append(sources[i]).append(" - ").append(targets[i]).append(" (").append(weights[i]).append(")\n");
+		return rta.append("Total weight: ").append(totalWeight).append("\n").toString();
+	}
+}
@@ -0,0 +1,230 @@
+package core;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Bosque generador minimo sobre una lista de ejes por ids (from[e], to[e],
+// weight[e]) de un grafo no dirigido.
+//
+// Primero fases de Boruvka en paralelo: cada componente elige su eje mas
+// liviano hacia otra componente (un CAS por extremo, repartiendo los ejes en
+// tramos de GRAIN sobre el ForkJoinPool), se unen todas las elegidas y se
+// descartan los ejes que quedaron dentro de una misma componente. Cada fase
+// al menos divide por dos la cantidad de componentes.
+// Cuando quedan KRUSKAL_EDGES ejes o menos, termina Kruskal: los ejes que
+// quedan ordenados por peso sobre el mismo union-find.
+// Los empates se desempatan por el numero de eje en las dos etapas: el orden
+// es total, asi que no se forman ciclos y el resultado no depende de cuantos
+// hilos haya.
+final class SpanningForests {
+	static final int GRAIN = 4096;
+	static final int KRUSKAL_EDGES = 1 << 16;
+
+	private final int[] from;
+	private final int[] to;
+	private final double[] weights;
+	private final ForkJoinPool pool;
+
+	// union-find por id de vertice: union by rank + path halving
+	private final int[] parent;
+	private final byte[] rank;
+
+	private int[] chosen;
+	private int chosenCount;
+
+	private SpanningForests(int vertexBound, int[] from, int[] to, double[] weights, ForkJoinPool pool) {
+		this.from = from;
+		this.to = to;
+		this.weights = weights;
+		this.pool = pool;
+		this.parent = new int[vertexBound];
+		this.rank = new byte[vertexBound];
+		for (int v = 0; v < vertexBound; v++)
+			parent[v] = v;
+		this.chosen = new int[Math.max(16, Math.min(from.length, vertexBound))];
+	}
+
+	// los numeros de eje del bosque, en el orden en que se eligieron
+	static int[] minimum(int vertexBound, int[] from, int[] to, double[] weights, ForkJoinPool pool) {
+		SpanningForests forest = new SpanningForests(vertexBound, from, to, weights, pool);
+		int[] alive = new int[from.length];
+		for (int e = 0; e < alive.length; e++)
+			alive[e] = e;
+
+		while (alive.length > KRUSKAL_EDGES) {
+			int before = forest.chosenCount;
+			alive = forest.boruvkaPhase(alive);
+			if (forest.chosenCount == before)
+				break;
+		}
+		forest.kruskal(alive);
+		return Arrays.copyOf(forest.chosen, forest.chosenCount);
+	}
+
+	private int[] boruvkaPhase(int[] alive) {
+		// raiz de cada vertice, solo lectura durante la fase
+		int n = parent.length;
+		int[] root = new int[n];
+		parallel(n, (lo, hi) -> {
+			for (int v = lo; v < hi; v++)
+				root[v] = rootOf(v);
+		});
+
+		// eje mas liviano de cada componente (por id de su raiz)
+		AtomicIntegerArray lightest = new AtomicIntegerArray(n);
+		for (int v = 0; v < n; v++)
+			lightest.set(v, -1);
+		parallel(alive.length, (lo, hi) -> {
+			for (int i = lo; i < hi; i++) {
+				int e = alive[i];
+				int a = root[from[e]];
+				int b = root[to[e]];
+				if (a != b) {
+					offer(lightest, a, e);
+					offer(lightest, b, e);
+				}
+			}
+		});
+
+		// las uniones son secuenciales: a lo sumo una por componente
+		for (int v = 0; v < n; v++) {
+			int e = lightest.get(v);
+			if (e >= 0 && union(from[e], to[e]))
+				add(e);
+		}
+
+		// quedan los ejes entre componentes distintas
+		parallel(n, (lo, hi) -> {
+			for (int v = lo; v < hi; v++)
+				root[v] = rootOf(v);
+		});
+		return filter(alive, root);
+	}
+
+	private void kruskal(int[] alive) {
+		sortByWeight(alive, 0, alive.length - 1);
+		for (int e : alive)
+			if (union(from[e], to[e]))
+				add(e);
+	}
+
+	// se queda con e si es mas liviano que el elegido hasta ahora
+	private void offer(AtomicIntegerArray lightest, int component, int e) {
+		int current;
+		do {
+			current = lightest.get(component);
+			if (current >= 0 && !lighter(e, current))
+				return;
+		} while (!lightest.compareAndSet(component, current, e));
+	}
+
+	private boolean lighter(int e, int f) {
+		return weights[e] < weights[f] || (weights[e] == weights[f] && e < f);
+	}
+
+	// cada tramo copia sus ejes a su propio arreglo y al final se concatenan
+	private int[] filter(int[] alive, int[] root) {
+		int chunks = (alive.length + GRAIN - 1) / GRAIN;
+		int[][] kept = new int[chunks][];
+		int[] counts = new int[chunks];
+		Parallel.run(pool, chunks, c -> {
+			int lo = c * GRAIN;
+			int hi = Math.min(alive.length, lo + GRAIN);
+			int[] part = new int[hi - lo];
+			int count = 0;
+			for (int i = lo; i < hi; i++) {
+				int e = alive[i];
+				if (root[from[e]] != root[to[e]])
+					part[count++] = e;
+			}
+			kept[c] = part;
+			counts[c] = count;
+		});
+
+		int total = 0;
+		for (int count : counts)
+			total += count;
+		int[] result = new int[total];
+		int position = 0;
+		for (int c = 0; c < chunks; c++) {
+			System.arraycopy(kept[c], 0, result, position, counts[c]);
+			position += counts[c];
+		}
+		return result;
+	}
+
+	private void parallel(int size, Range range) {
+		int chunks = (size + GRAIN - 1) / GRAIN;
+		Parallel.run(pool, chunks, c -> range.run(c * GRAIN, Math.min(size, (c + 1) * GRAIN)));
+	}
+
+	// raiz sin comprimir: se puede llamar desde varios hilos mientras nadie une
+	private int rootOf(int v) {
+		while (parent[v] != v)
+			v = parent[v];
+		return v;
+	}
+
+	private int find(int v) {
+		while (parent[v] != v) {
+			parent[v] = parent[parent[v]];
+			v = parent[v];
+		}
+		return v;
+	}
+
+	private boolean union(int a, int b) {
+		a = find(a);
+		b = find(b);
+		if (a == b)
+			return false;
+		if (rank[a] < rank[b]) {
+			int swap = a;
+			a = b;
+			b = swap;
+		}
+		parent[b] = a;
+		if (rank[a] == rank[b])
+			rank[a]++;
+		return true;
+	}
+
+	private void add(int e) {
+		if (chosenCount == chosen.length)
+			chosen = Arrays.copyOf(chosen, 2 * chosenCount);
+		chosen[chosenCount++] = e;
+	}
+
+	// quicksort de 3 vias sobre los numeros de eje, por (peso, numero de eje).
+	// Se recursiona sobre la parte mas chica: la pila queda en O(log m)
+	private void sortByWeight(int[] edges, int lo, int hi) {
+		while (lo < hi) {
+			int pivot = edges[lo + (hi - lo) / 2];
+			int lt = lo, i = lo, gt = hi;
+			while (i <= gt) {
+				int e = edges[i];
+				if (lighter(e, pivot)) {
+					edges[i++] = edges[lt];
+					edges[lt++] = e;
+				} else if (lighter(pivot, e)) {
+					edges[i] = edges[gt];
+					edges[gt--] = e;
+				} else {
+					i++;
+				}
+			}
+			if (lt - lo < hi - gt) {
+				sortByWeight(edges, lo, lt - 1);
+				lo = gt + 1;
+			} else {
+				sortByWeight(edges, gt + 1, hi);
+				hi = lt - 1;
+			}
+		}
+	}
+
+	private interface Range {
+		void run(int from, int to);
+	}
+}
@@ -0,0 +1,100 @@
+package core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Asigna a cada vertice un id entero denso en [0, bound()) para que los
+// algoritmos puedan guardar su estado en arreglos primitivos en lugar de
+// HashMap<V,...>. Los ids liberados por remove se reutilizan (free list),
+// asi bound() se mantiene cerca de size() aunque haya mucha rotacion.
+class VertexIndex<V> {
+
+	private final Map<V, Integer> ids = new HashMap<>();
+	private Object[] vertices = new Object[16];
+
+	private int[] freeIds = new int[16];
+	private int freeCount;
+
+	// primer id nunca usado
+	private int bound;
+
+	// -1 si el vertice no fue indexado
+	int idOf(V vertex) {
+		Integer id = ids.get(vertex);
+		return id == null ? -1 : id;
+	}
+
+	@SuppressWarnings("unchecked")
+	V vertexOf(int id) {
+		return (V) vertices[id];
+	}
+
+	boolean contains(V vertex) {
+		return ids.containsKey(vertex);
+	}
+
+	// if exists devuelve su id, else le asigna uno (reutilizando si hay libres)
+	int add(V vertex) {
+		Integer current = ids.get(vertex);
+		if (current != null)
+			return current;
+
+		int id;
+		if (freeCount > 0) {
+			id = freeIds[--freeCount];
+		} else {
+			id = bound++;
+			if (id == vertices.length)
+				vertices = Arrays.copyOf(vertices, vertices.length * 2);
+		}
+		vertices[id] = vertex;
+		ids.put(vertex, id);
+		return id;
+	}
+
+	// devuelve el id liberado o -1 si no existia
+	int remove(V vertex) {
+		Integer id = ids.remove(vertex);
+		if (id == null)
+			return -1;
+
+		vertices[id] = null;
+		if (freeCount == freeIds.length)
+			freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+		freeIds[freeCount++] = id;
+		return id;
+	}
+
+	// cota superior (exclusiva) de los ids en uso, para dimensionar arreglos
+	int bound() {
+		return bound;
+	}
+
+	int size() {
+		return ids.size();
+	}
+
+	// un id < bound() puede estar libre
+	boolean isLive(int id) {
+		return id >= 0 && id < bound && vertices[id] != null;
+	}
+
+	// copia independiente con los mismos ids, para resultados que no deben
+	// cambiar si despues se modifica el grafo
+	VertexIndex<V> copy() {
+		VertexIndex<V> copy = new VertexIndex<>();
+		copy.ids.putAll(ids);
+		copy.vertices = vertices.clone();
+		copy.freeIds = freeIds.clone();
+		copy.freeCount = freeCount;
+		copy.bound = bound;
+		return copy;
+	}
+
+	Set<V> vertices() {
+		return Collections.unmodifiableSet(ids.keySet());
+	}
+}
@@ -0,0 +1,80 @@
+package core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Resultado de un algoritmo que asigna un entero a cada vertice (componente,
+// distancia, posicion...). Los valores se guardan en un int[] indexado por el
+// id interno del vertice, sin un objeto por vertice.
+// Es una foto: si despues se agregan o sacan vertices del grafo, get() solo
+// responde por los vertices que existian al calcularlo.
+public class VertexLabels<V> {
+	private final VertexIndex<V> index;
+	private final Object[] vertices;
+	private final int[] labels;
+	private final int count;
+
+	VertexLabels(VertexIndex<V> index, int[] labels, int count) {
+		this.index = index;
+		this.labels = labels;
+		this.count = count;
+		this.vertices = new Object[labels.length];
+		for (int id = 0; id < labels.length; id++) {
+			if (index.isLive(id))
+				vertices[id] = index.vertexOf(id);
+		}
+	}
+
+	// valor asignado al vertice
+	// if the vertex was not in the graph when this result was computed: throw exception
+	public int get(V aVertex) {
+		int id = idOf(aVertex);
+		if (id < 0)
+			throw new RuntimeException(String.format("Vertex %s is not part of this result", aVertex));
+		return labels[id];
+	}
+
+	public boolean contains(V aVertex) {
+		return idOf(aVertex) >= 0;
+	}
+
+	// cantidad de valores distintos (por ejemplo, cantidad de componentes)
+	public int count() {
+		return count;
+	}
+
+	// los valores por id interno, en [0, bound()). Los ids sin vertice valen -1.
+	// Es el arreglo interno: no debe modificarse
+	public int[] labels() {
+		return labels;
+	}
+
+	public int bound() {
+		return labels.length;
+	}
+
+	// vertice con ese id interno, o null si el id estaba libre
+	@SuppressWarnings("unchecked")
+	public V vertexAt(int id) {
+		return (V) vertices[id];
+	}
+
+	public Map<V, Integer> toMap() {
+		Map<V, Integer> map = new HashMap<>();
+		for (int id = 0; id < labels.length; id++) {
+			if (vertices[id] != null)
+				map.put(vertexAt(id), labels[id]);
+		}
+		return map;
+	}
+
+	private int idOf(V aVertex) {
+		if (aVertex == null)
+			return -1;
+		int id = index.idOf(aVertex);
+		// el id pudo haberse liberado y reusado despues de calcular el resultado
+		if (id < 0 || id >= vertices.length || !aVertex.equals(vertices[id]))
+			return -1;
+		return id;
+	}
+}
@@ -0,0 +1,124 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Resultado de una medida de centralidad: un double por vertice, en un
+// double[] indexado por el id interno del vertice (como VertexLabels con int).
+// Es una foto: no cambia si despues se modifica el grafo.
+public final class VertexScores<V> {
+	private final VertexIndex<V> index;
+	private final double[] scores;
+	private final int rounds;
+
+	VertexScores(VertexIndex<V> index, double[] scores, int rounds) {
+		this.index = index;
+		this.scores = scores;
+		this.rounds = rounds;
+	}
+
+	// if the vertex was not in the graph when this result was computed: throw exception
+	public double get(V aVertex) {
+		int id = aVertex == null ? -1 : index.idOf(aVertex);
+		if (id < 0)
+			throw new RuntimeException(String.format("Vertex %s is not part of this result", aVertex));
+		return scores[id];
+	}
+
+	public boolean contains(V aVertex) {
+		return aVertex != null && index.idOf(aVertex) >= 0;
+	}
+
+	// PageRank: iteraciones hechas. Closeness y betweenness: origenes usados.
+	// Grado: 0
+	public int rounds() {
+		return rounds;
+	}
+
+	// los valores por id interno, en [0, bound()). Es el arreglo interno: no
+	// debe modificarse
+	public double[] scores() {
+		return scores;
+	}
+
+	public int bound() {
+		return scores.length;
+	}
+
+	// vertice con ese id interno
+	public V vertexAt(int id) {
+		return index.vertexOf(id);
+	}
+
+	// los k vertices de mayor valor, de mayor a menor (a igual valor, por id)
+	public List<V> top(int k) {
+		// seleccion con un heap de minimos de tamano k: O(n log k)
+		int size = Math.min(Math.max(k, 0), index.size());
+		int[] heap = new int[size];
+		int count = 0;
+		for (int id = 0; id < scores.length; id++) {
+			if (!index.isLive(id) || size == 0)
+				continue;
+			if (count < size) {
+				heap[count] = id;
+				siftUp(heap, count++);
+			} else if (before(id, heap[0])) {
+				heap[0] = id;
+				siftDown(heap, 0, count);
+			}
+		}
+
+		List<V> top = new ArrayList<>(count);
+		for (int i = count - 1; i >= 0; i--) {
+			top.add(index.vertexOf(heap[0]));
+			heap[0] = heap[i];
+			siftDown(heap, 0, i);
+		}
+		Collections.reverse(top);
+		return top;
+	}
+
+	public Map<V, Double> toMap() {
+		Map<V, Double> map = new HashMap<>();
+		for (int id = 0; id < scores.length; id++) {
+			if (index.isLive(id))
+				map.put(index.vertexOf(id), scores[id]);
+		}
+		return map;
+	}
+
+	// a va antes que b en top()
+	private boolean before(int a, int b) {
+		return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+	}
+
+	// en la raiz del heap queda el que va ultimo
+	private void siftUp(int[] heap, int i) {
+		while (i > 0) {
+			int parent = (i - 1) / 2;
+			if (!before(heap[parent], heap[i]))
+				return;
+			int swap = heap[parent];
+			heap[parent] = heap[i];
+			heap[i] = swap;
+			i = parent;
+		}
+	}
+
+	private void siftDown(int[] heap, int i, int count) {
+		while (2 * i + 1 < count) {
+			int child = 2 * i + 1;
+			if (child + 1 < count && before(heap[child], heap[child + 1]))
+				child++;
+			if (!before(heap[i], heap[child]))
+				return;
+			int swap = heap[child];
+			heap[child] = heap[i];
+			heap[i] = swap;
+			i = child;
+		}
+	}
+}
@@ -0,0 +1,214 @@
+import core.*;
+import core.GraphService.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Test cases for allPaths(), countPaths() and parallelCountPaths()
+ * Paths are produced lazily, in the same order as printAllPaths
+ */
+public class AllPathsStreamTest {
+
+    private GraphService<Character, EmptyEdgeProp> smallGraph(EdgeMode mode, Storage storage) {
+        // A -> B -> D
+        // |    |
+        // v    v
+        // C -> E
+        GraphService<Character, EmptyEdgeProp> g = new GraphBuilder<Character, EmptyEdgeProp>()
+                .withMultiplicity(Multiplicity.SIMPLE)
+                .withDirected(mode)
+                .withAcceptSelfLoop(SelfLoop.NO)
+                .withAcceptWeight(Weight.NO)
+                .withStorage(storage)
+                .build();
+        g.addEdge('A', 'B', new EmptyEdgeProp());
+        g.addEdge('A', 'C', new EmptyEdgeProp());
+        g.addEdge('B', 'D', new EmptyEdgeProp());
+        g.addEdge('B', 'E', new EmptyEdgeProp());
+        g.addEdge('C', 'E', new EmptyEdgeProp());
+        return g;
+    }
+
+    // todos los ejes i -> j con i < j: 2^(n-2) caminos de 0 a n-1
+    private GraphService<Integer, EmptyEdgeProp> completeDag(int n) {
+        GraphService<Integer, EmptyEdgeProp> g = new GraphBuilder<Integer, EmptyEdgeProp>()
+                .withDirected(EdgeMode.DIRECTED)
+                .build();
+        for (int i = 0; i < n; i++)
+            for (int j = i + 1; j < n; j++)
+                g.addEdge(i, j, new EmptyEdgeProp());
+        return g;
+    }
+
+    private GraphService<Integer, EmptyEdgeProp> random(EdgeMode mode, Storage storage, long seed) {
+        GraphService<Integer, EmptyEdgeProp> g = new GraphBuilder<Integer, EmptyEdgeProp>()
+                .withDirected(mode)
+                .withAcceptSelfLoop(SelfLoop.YES)
+                .withStorage(storage)
+                .build();
+        Random random = new Random(seed);
+        for (int i = 0; i < 14; i++)
+            g.addVertex(i);
+        for (int i = 0; i < 30; i++) {
+            int from = random.nextInt(14);
+            int to = random.nextInt(14);
+            if (!g.removeEdge(from, to))
+                g.addEdge(from, to, new EmptyEdgeProp());
+        }
+        return g;
+    }
+
+    @Test
+    public void testPathsInDfsOrder() {
+        for (Storage storage : Storage.values()) {
+            GraphService<Character, EmptyEdgeProp> g = smallGraph(EdgeMode.DIRECTED, storage);
+            assertEquals(List.of(List.of('A', 'B', 'E'), List.of('A', 'C', 'E')),
+                    g.allPaths('A', 'E').collect(Collectors.toList()), storage.name());
+            assertEquals(List.of(List.of('A', 'B', 'E'), List.of('A', 'C', 'E')),
+                    g.freeze().allPaths('A', 'E').collect(Collectors.toList()), storage.name());
+            assertEquals(0, g.allPaths('D', 'A').count(), storage.name());
+        }
+    }
+
+    @Test
+    public void testUndirectedGraph() {
+        GraphService<Character, EmptyEdgeProp> g = smallGraph(EdgeMode.UNDIRECTED, Storage.SPARSE);
+        assertEquals(List.of(List.of('A', 'B', 'D'), List.of('A', 'C', 'E', 'B', 'D')),
+                g.allPaths('A', 'D').collect(Collectors.toList()));
+        assertEquals(2, g.countPaths('A', 'D'));
+    }
+
+    @Test
+    public void testStartEqualsEnd() {
+        GraphService<Character, EmptyEdgeProp> g = smallGraph(EdgeMode.DIRECTED, Storage.SPARSE);
+        assertEquals(List.of(List.of('A')), g.allPaths('A', 'A').collect(Collectors.toList()));
+        assertEquals(1, g.countPaths('A', 'A'));
+        assertEquals(1, g.parallelCountPaths('A', 'A', Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testStartEqualsEndOnACycle() {
+        // A <-> B y un self-loop en A: los ciclos que vuelven a A no son caminos
+        for (Storage storage : Storage.values()) {
+            GraphService<Character, EmptyEdgeProp> g = new GraphBuilder<Character, EmptyEdgeProp>()
+                    .withDirected(EdgeMode.DIRECTED)
+                    .withAcceptSelfLoop(SelfLoop.YES)
+                    .withStorage(storage)
+                    .build();
+            g.addEdge('A', 'B', new EmptyEdgeProp());
+            g.addEdge('B', 'A', new EmptyEdgeProp());
+            g.addEdge('A', 'A', new EmptyEdgeProp());
+
+            assertEquals(List.of(List.of('A')), g.allPaths('A', 'A').collect(Collectors.toList()), storage.name());
+            assertEquals(List.of(List.of('A')), g.freeze().allPaths('A', 'A').collect(Collectors.toList()),
+                    storage.name());
+            assertEquals(1, g.countPaths('A', 'A'), storage.name());
+            assertEquals(1, g.parallelCountPaths('A', 'A', Integer.MAX_VALUE), storage.name());
+
+            // printAllPaths no acepta grafos con self-loops: se imprime A <-> B solo
+            GraphService<Character, EmptyEdgeProp> cycle = new GraphBuilder<Character, EmptyEdgeProp>()
+                    .withDirected(EdgeMode.DIRECTED)
+                    .withStorage(storage)
+                    .build();
+            cycle.addEdge('A', 'B', new EmptyEdgeProp());
+            cycle.addEdge('B', 'A', new EmptyEdgeProp());
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            PrintStream originalOut = System.out;
+            System.setOut(new PrintStream(baos));
+            try {
+                cycle.printAllPaths('A', 'A');
+            } finally {
+                System.setOut(originalOut);
+            }
+            assertTrue(baos.toString().contains("Total paths found: 1"), storage.name());
+        }
+    }
+
+    @Test
+    public void testStreamIsLazy() {
+        // 2^38 caminos: solo se pueden recorrer los primeros
+        GraphService<Integer, EmptyEdgeProp> g = completeDag(40);
+        List<List<Integer>> first = g.allPaths(0, 39).limit(3).collect(Collectors.toList());
+        assertEquals(List.of(0, 1, 2, 3), first.get(0).subList(0, 4));
+        assertEquals(3, first.size());
+        assertEquals(1000, g.countPaths(0, 39, Integer.MAX_VALUE, 1000));
+    }
+
+    @Test
+    public void testMaxLength() {
+        GraphService<Integer, EmptyEdgeProp> g = completeDag(10);
+        // caminos de 0 a 9 con k ejes: C(8, k - 1)
+        assertEquals(0, g.countPaths(0, 9, 0, Long.MAX_VALUE));
+        assertEquals(1, g.countPaths(0, 9, 1, Long.MAX_VALUE));
+        assertEquals(1 + 8, g.countPaths(0, 9, 2, Long.MAX_VALUE));
+        assertEquals(1 + 8 + 28, g.countPaths(0, 9, 3, Long.MAX_VALUE));
+        assertEquals(256, g.countPaths(0, 9));
+        assertTrue(g.allPaths(0, 9, 3).allMatch(path -> path.size() <= 4));
+        assertEquals(1 + 8 + 28, g.parallelCountPaths(0, 9, 3));
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        for (Storage storage : Storage.values()) {
+            for (EdgeMode mode : EdgeMode.values()) {
+                for (long seed = 0; seed < 5; seed++) {
+                    GraphService<Integer, EmptyEdgeProp> g = random(mode, storage, seed);
+                    String name = storage + " " + mode + " " + seed;
+                    List<List<Integer>> sequential = g.allPaths(0, 13).collect(Collectors.toList());
+
+                    assertEquals(sequential.size(), g.countPaths(0, 13), name);
+                    assertEquals(sequential.size(), g.parallelCountPaths(0, 13, Integer.MAX_VALUE), name);
+                    assertEquals(sequential, g.allPaths(0, 13).parallel().collect(Collectors.toList()), name);
+                    assertEquals(sequential, g.freeze().allPaths(0, 13).collect(Collectors.toList()), name);
+
+                    for (List<Integer> path : sequential) {
+                        assertEquals(path.size(), path.stream().distinct().count(), name + " camino simple");
+                        assertEquals(0, path.get(0));
+                        assertEquals(13, path.get(path.size() - 1));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParallelSplitsAfterAChain() {
+        // 0 -> 1 -> 2 y recien 2 ramifica
+        GraphService<Integer, EmptyEdgeProp> g = completeDag(14);
+        GraphService<Integer, EmptyEdgeProp> chain = new GraphBuilder<Integer, EmptyEdgeProp>()
+                .withDirected(EdgeMode.DIRECTED)
+                .build();
+        chain.addEdge(-2, -1, new EmptyEdgeProp());
+        chain.addEdge(-1, 0, new EmptyEdgeProp());
+        for (int i = 0; i < 14; i++)
+            for (int j = i + 1; j < 14; j++)
+                chain.addEdge(i, j, new EmptyEdgeProp());
+
+        assertEquals(g.countPaths(0, 13), chain.parallelCountPaths(-2, 13, Integer.MAX_VALUE));
+        List<List<Integer>> paths = new ArrayList<>();
+        chain.allPaths(-2, 13).parallel().forEachOrdered(paths::add);
+        assertEquals(chain.allPaths(-2, 13).collect(Collectors.toList()), paths);
+    }
+
+    @Test
+    public void testExceptions() {
+        GraphService<Character, EmptyEdgeProp> multi = new GraphBuilder<Character, EmptyEdgeProp>()
+                .withMultiplicity(Multiplicity.MULTIPLE)
+                .withDirected(EdgeMode.DIRECTED)
+                .build();
+        multi.addEdge('A', 'B', new EmptyEdgeProp());
+        assertThrows(RuntimeException.class, () -> multi.allPaths('A', 'B'));
+        assertThrows(RuntimeException.class, () -> multi.countPaths('A', 'B'));
+
+        GraphService<Character, EmptyEdgeProp> g = smallGraph(EdgeMode.DIRECTED, Storage.SPARSE);
+        assertThrows(RuntimeException.class, () -> g.allPaths('A', 'Z'));
+        assertThrows(RuntimeException.class, () -> g.allPaths(null, 'A'));
+        assertThrows(RuntimeException.class, () -> g.countPaths('A', 'E', -1, 10));
+    }
+}
@@ -9,6 +9,11 @@ import static org.junit.jupiter.api.Assertions.*;
  * Tests the bipartite detection functionality
  */
 public class BipartiteTest {
+
+    // DenseStorageTest lo redefine para correr la suite con Storage.DENSE
+    protected Storage storage() {
+        return Storage.SPARSE;
+    }
     
     private GraphService<Character, EmptyEdgeProp> simpleUndirectedGraph;
     private GraphService<Character, EmptyEdgeProp> simpleDirectedGraph;
@@ -22,6 +27,7 @@ public class BipartiteTest {
                 .withDirected(EdgeMode.UNDIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
         
         // Create a simple directed graph for testing
@@ -30,6 +36,7 @@ public class BipartiteTest {
                 .withDirected(EdgeMode.DIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
         
         // Create a graph with integer vertices
@@ -38,6 +45,7 @@ public class BipartiteTest {
                 .withDirected(EdgeMode.UNDIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
     }
 
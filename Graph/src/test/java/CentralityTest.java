@@ -0,0 +1,197 @@
+import core.*;
+import core.GraphService.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Test cases for Centrality
+ * PageRank, degree, closeness and betweenness against small known graphs and brute force
+ */
+public class CentralityTest {
+
+    private static final double EPSILON = 1e-9;
+
+    private static GraphService<Integer, EmptyEdgeProp> graph(EdgeMode mode) {
+        return new GraphBuilder<Integer, EmptyEdgeProp>()
+                .withDirected(mode)
+                .build();
+    }
+
+    private static GraphService<Integer, EmptyEdgeProp> path(int n) {
+        GraphService<Integer, EmptyEdgeProp> g = graph(EdgeMode.UNDIRECTED);
+        for (int i = 0; i + 1 < n; i++)
+            g.addEdge(i, i + 1, new EmptyEdgeProp());
+        return g;
+    }
+
+    // dirigido al azar, sin ejes repetidos; adjacency[u][v] si hay eje u -> v
+    private static GraphService<Integer, EmptyEdgeProp> random(int n, double density, long seed, boolean[][] adjacency) {
+        GraphService<Integer, EmptyEdgeProp> g = graph(EdgeMode.DIRECTED);
+        Random random = new Random(seed);
+        for (int i = 0; i < n; i++)
+            g.addVertex(i);
+        for (int u = 0; u < n; u++)
+            for (int v = 0; v < n; v++)
+                if (u != v && random.nextDouble() < density) {
+                    g.addEdge(u, v, new EmptyEdgeProp());
+                    adjacency[u][v] = true;
+                }
+        return g;
+    }
+
+    @Test
+    public void testPageRankOnCycleIsUniform() {
+        GraphService<Integer, EmptyEdgeProp> g = graph(EdgeMode.DIRECTED);
+        for (int i = 0; i < 5; i++)
+            g.addEdge(i, (i + 1) % 5, new EmptyEdgeProp());
+
+        VertexScores<Integer> rank = Centrality.of(g).pageRank();
+        for (int i = 0; i < 5; i++)
+            assertEquals(0.2, rank.get(i), EPSILON);
+    }
+
+    @Test
+    public void testPageRankAgainstPowerIteration() {
+        int n = 40;
+        boolean[][] adjacency = new boolean[n][n];
+        GraphService<Integer, EmptyEdgeProp> g = random(n, 0.08, 3, adjacency);
+
+        // iteracion de potencias directa sobre la matriz
+        double[] rank = new double[n];
+        Arrays.fill(rank, 1.0 / n);
+        for (int iteration = 0; iteration < 200; iteration++) {
+            double[] next = new double[n];
+            for (int u = 0; u < n; u++) {
+                int degree = 0;
+                for (int v = 0; v < n; v++)
+                    if (adjacency[u][v])
+                        degree++;
+                for (int v = 0; v < n; v++)
+                    next[v] += degree == 0 ? 0.85 * rank[u] / n : adjacency[u][v] ? 0.85 * rank[u] / degree : 0;
+            }
+            for (int v = 0; v < n; v++)
+                next[v] += 0.15 / n;
+            rank = next;
+        }
+
+        VertexScores<Integer> single = Centrality.of(g).withThreads(1).withTolerance(1e-12).pageRank();
+        VertexScores<Integer> parallel = Centrality.of(g).withThreads(3).withTolerance(1e-12).pageRank();
+        double total = 0;
+        for (int v = 0; v < n; v++) {
+            assertEquals(rank[v], single.get(v), 1e-9);
+            assertEquals(single.get(v), parallel.get(v));
+            total += single.get(v);
+        }
+        assertEquals(1, total, 1e-9);
+        assertTrue(single.rounds() < 200);
+    }
+
+    @Test
+    public void testPageRankStopsAtMaxIterations() {
+        GraphService<Integer, EmptyEdgeProp> g = graph(EdgeMode.DIRECTED);
+        g.addEdge(0, 1, new EmptyEdgeProp());
+        g.addEdge(1, 2, new EmptyEdgeProp());
+        assertEquals(2, Centrality.of(g).withMaxIterations(2).pageRank().rounds());
+    }
+
+    @Test
+    public void testDegreeCentrality() {
+        // estrella: 0 apunta a los demas
+        GraphService<Integer, EmptyEdgeProp> g = graph(EdgeMode.DIRECTED);
+        for (int i = 1; i <= 4; i++)
+            g.addEdge(0, i, new EmptyEdgeProp());
+
+        Centrality<Integer> centrality = Centrality.of(g);
+        assertEquals(1, centrality.degree().get(0), EPSILON);
+        assertEquals(0.25, centrality.degree().get(3), EPSILON);
+        assertEquals(1, centrality.outDegree().get(0), EPSILON);
+        assertEquals(0, centrality.inDegree().get(0), EPSILON);
+        assertEquals(0.25, centrality.inDegree().get(2), EPSILON);
+        assertEquals(Arrays.asList(0, 1), centrality.degree().top(2));
+    }
+
+    @Test
+    public void testClosenessOnPath() {
+        VertexScores<Integer> closeness = Centrality.of(path(3)).closeness();
+        assertEquals(2.0 / 3, closeness.get(0), EPSILON);
+        assertEquals(1, closeness.get(1), EPSILON);
+        assertEquals(3, closeness.rounds());
+    }
+
+    @Test
+    public void testBetweennessOnPath() {
+        VertexScores<Integer> betweenness = Centrality.of(path(4)).betweenness();
+        assertEquals(0, betweenness.get(0), EPSILON);
+        assertEquals(2, betweenness.get(1), EPSILON);
+        assertEquals(2, betweenness.get(2), EPSILON);
+        assertEquals(0, betweenness.get(3), EPSILON);
+    }
+
+    @Test
+    public void testExactAgainstBruteForce() {
+        int n = 30;
+        boolean[][] adjacency = new boolean[n][n];
+        GraphService<Integer, EmptyEdgeProp> g = random(n, 0.1, 11, adjacency);
+
+        // distancias y cantidad de caminos minimos entre todos los pares
+        int[][] distance = new int[n][n];
+        long[][] paths = new long[n][n];
+        for (int s = 0; s < n; s++) {
+            Arrays.fill(distance[s], -1);
+            distance[s][s] = 0;
+            paths[s][s] = 1;
+            for (int level = 0; level < n; level++)
+                for (int u = 0; u < n; u++)
+                    if (distance[s][u] == level)
+                        for (int v = 0; v < n; v++)
+                            if (adjacency[u][v] && (distance[s][v] < 0 || distance[s][v] == level + 1)) {
+                                distance[s][v] = level + 1;
+                                paths[s][v] += paths[s][u];
+                            }
+        }
+
+        VertexScores<Integer> closeness = Centrality.of(g).withThreads(2).closeness();
+        VertexScores<Integer> betweenness = Centrality.of(g).withThreads(2).betweenness();
+        for (int v = 0; v < n; v++) {
+            int reached = 0;
+            long sum = 0;
+            double through = 0;
+            for (int t = 0; t < n; t++) {
+                if (t != v && distance[v][t] > 0) {
+                    reached++;
+                    sum += distance[v][t];
+                }
+                for (int s = 0; s < n; s++)
+                    if (s != v && t != v && s != t && distance[s][t] > 0 && distance[s][v] > 0 && distance[v][t] > 0
+                            && distance[s][v] + distance[v][t] == distance[s][t])
+                        through += (double) paths[s][v] * paths[v][t] / paths[s][t];
+            }
+            assertEquals(sum == 0 ? 0 : (double) reached / sum, closeness.get(v), EPSILON, "closeness " + v);
+            assertEquals(through, betweenness.get(v), 1e-6, "betweenness " + v);
+        }
+    }
+
+    @Test
+    public void testSampledSources() {
+        int n = 60;
+        GraphService<Integer, EmptyEdgeProp> g = random(n, 0.1, 5, new boolean[n][n]);
+
+        VertexScores<Integer> sampled = Centrality.of(g).withSamples(20).withSeed(7).betweenness();
+        assertEquals(20, sampled.rounds());
+        assertArrayEquals(sampled.scores(),
+                Centrality.of(g).withSamples(20).withSeed(7).withThreads(3).betweenness().scores(), 1e-9);
+        assertEquals(n, Centrality.of(g).withSamples(1000).closeness().rounds());
+    }
+
+    @Test
+    public void testInvalidOptions() {
+        Centrality<Integer> centrality = Centrality.of(path(3));
+        assertThrows(RuntimeException.class, () -> centrality.withThreads(-1));
+        assertThrows(RuntimeException.class, () -> centrality.withTolerance(0));
+        assertThrows(RuntimeException.class, () -> centrality.withDamping(1));
+        assertThrows(RuntimeException.class, () -> centrality.withSamples(0));
+        assertThrows(RuntimeException.class, () -> centrality.degree().get(9));
+    }
+}
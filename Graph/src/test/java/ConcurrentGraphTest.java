@@ -0,0 +1,278 @@
+import core.*;
+import core.GraphService.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test cases for Concurrency.SNAPSHOT
+ * Every read must see one published version of the graph, and that version
+ * must answer like the sequential graph after the same writes
+ */
+public class ConcurrentGraphTest {
+
+    private static GraphService<Integer, WeightedEdge> graph(Multiplicity multiplicity, EdgeMode mode,
+            Concurrency concurrency) {
+        return new GraphBuilder<Integer, WeightedEdge>()
+                .withMultiplicity(multiplicity)
+                .withDirected(mode)
+                .withAcceptSelfLoop(SelfLoop.YES)
+                .withAcceptWeight(Weight.YES)
+                .withConcurrency(concurrency)
+                .build();
+    }
+
+    private static List<Integer> list(Iterable<Integer> traversal) {
+        List<Integer> result = new ArrayList<>();
+        for (Integer vertex : traversal)
+            result.add(vertex);
+        return result;
+    }
+
+    @Test
+    public void testMatchesSequentialGraph() {
+        for (Multiplicity multiplicity : Multiplicity.values()) {
+            for (EdgeMode mode : EdgeMode.values()) {
+                GraphService<Integer, WeightedEdge> expected = graph(multiplicity, mode, Concurrency.NONE);
+                GraphService<Integer, WeightedEdge> g = graph(multiplicity, mode, Concurrency.SNAPSHOT);
+                Random random = new Random(5);
+                for (int op = 0; op < 3000; op++) {
+                    int from = random.nextInt(60);
+                    int to = random.nextInt(60);
+                    int choice = random.nextInt(10);
+                    if (choice < 6) {
+                        WeightedEdge edge = new WeightedEdge(1 + random.nextInt(9));
+                        // en simples se saca antes el eje repetido
+                        if (multiplicity == Multiplicity.SIMPLE)
+                            assertEquals(expected.removeEdge(from, to), g.removeEdge(from, to));
+                        expected.addEdge(from, to, edge);
+                        g.addEdge(from, to, edge);
+                    } else if (choice < 8) {
+                        assertEquals(expected.removeEdge(from, to), g.removeEdge(from, to));
+                    } else if (choice < 9) {
+                        assertEquals(expected.removeVertex(from), g.removeVertex(from));
+                    } else {
+                        expected.addVertex(from);
+                        g.addVertex(from);
+                    }
+
+                    if (op % 50 == 0)
+                        assertSameGraph(expected, g, multiplicity + " " + mode + " " + op);
+                }
+            }
+        }
+    }
+
+    private static void assertSameGraph(GraphService<Integer, WeightedEdge> expected,
+            GraphService<Integer, WeightedEdge> g, String name) {
+        assertEquals(expected.numberOfVertices(), g.numberOfVertices(), name);
+        assertEquals(expected.numberOfEdges(), g.numberOfEdges(), name);
+        assertEquals(new HashSet<>(expected.getVertices()), new HashSet<>(g.getVertices()), name);
+        assertEquals(expected.isBipartite(), g.isBipartite(), name);
+        assertEquals(expected.hasCycle(), g.hasCycle(), name);
+        boolean directed = g.getType().contains("DiGraph");
+        for (Integer v : expected.getVertices()) {
+            assertEquals(list(expected.getBFS(v)), list(g.getBFS(v)), name + " bfs " + v);
+            assertEquals(list(expected.getDFS(v)), list(g.getDFS(v)), name + " dfs " + v);
+            if (directed) {
+                assertEquals(expected.inDegree(v), g.inDegree(v), name + " in " + v);
+                assertEquals(expected.outDegree(v), g.outDegree(v), name + " out " + v);
+            } else {
+                assertEquals(expected.degree(v), g.degree(v), name + " degree " + v);
+            }
+        }
+        if (!g.getType().startsWith("Multi") && !expected.getVertices().isEmpty()) {
+            Integer source = expected.getVertices().iterator().next();
+            assertEquals(expected.dijkstra(source).getDistances(), g.dijkstra(source).getDistances(), name);
+        }
+    }
+
+    @Test
+    public void testReadersKeepTheirVersion() {
+        ConcurrentGraph<Integer, WeightedEdge> g = (ConcurrentGraph<Integer, WeightedEdge>) graph(
+                Multiplicity.SIMPLE, EdgeMode.UNDIRECTED, Concurrency.SNAPSHOT);
+        for (int i = 0; i < 5; i++)
+            g.addEdge(i, i + 1, new WeightedEdge(1));
+
+        CsrGraph<Integer, WeightedEdge> before = g.freeze();
+        assertSame(before, g.freeze());
+        Iterator<Integer> bfs = g.getBFS(0).iterator();
+        assertEquals(0, bfs.next());
+
+        g.removeVertex(3);
+        g.addEdge(0, 9, new WeightedEdge(1));
+
+        // el recorrido empezado sigue sobre la version vieja
+        List<Integer> rest = new ArrayList<>();
+        bfs.forEachRemaining(rest::add);
+        assertEquals(List.of(1, 2, 3, 4, 5), rest);
+        assertEquals(5, before.numberOfEdges());
+        assertTrue(before.getVertices().contains(3));
+
+        assertNotSame(before, g.freeze());
+        assertEquals(List.of(0, 1, 9, 2), list(g.getBFS(0)));
+        assertEquals(4, g.numberOfEdges());
+        assertThrows(RuntimeException.class, () -> g.getBFS(3));
+
+        // un vertice que vuelve recupera su id
+        g.addEdge(3, 4, new WeightedEdge(2));
+        assertEquals(List.of(3, 4, 5), list(g.getBFS(3)));
+        assertEquals(2, g.dijkstra(4).getDistance(3));
+    }
+
+    @Test
+    public void testUpdatePublishesOnce() {
+        ConcurrentGraph<Integer, WeightedEdge> g = (ConcurrentGraph<Integer, WeightedEdge>) graph(
+                Multiplicity.MULTIPLE, EdgeMode.DIRECTED, Concurrency.SNAPSHOT);
+        g.addEdge(0, 1, new WeightedEdge(1));
+        CsrGraph<Integer, WeightedEdge> before = g.freeze();
+
+        g.update(batch -> {
+            batch.addEdge(1, 2, new WeightedEdge(1));
+            batch.addEdge(2, 0, new WeightedEdge(1));
+            // dentro del bloque todavia se lee la version anterior
+            assertSame(before, g.freeze());
+            assertEquals(1, g.numberOfEdges());
+            batch.removeVertex(1);
+            batch.addEdge(2, 3, new WeightedEdge(1));
+        });
+
+        assertEquals(2, g.numberOfEdges());
+        assertEquals(List.of(2, 0, 3), list(g.getBFS(2)));
+        assertEquals(1, g.inDegree(0));
+        assertEquals(0, g.outDegree(0));
+        assertFalse(g.hasCycle());
+    }
+
+    @Test
+    public void testUpdateDoesNotPublishWhenChangesThrow() {
+        ConcurrentGraph<Integer, WeightedEdge> g = (ConcurrentGraph<Integer, WeightedEdge>) graph(
+                Multiplicity.SIMPLE, EdgeMode.DIRECTED, Concurrency.SNAPSHOT);
+        g.addEdge(0, 1, new WeightedEdge(1));
+        CsrGraph<Integer, WeightedEdge> before = g.freeze();
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> g.update(batch -> {
+            batch.addEdge(1, 2, new WeightedEdge(1));
+            throw new RuntimeException("changes failed");
+        }));
+        assertEquals("changes failed", e.getMessage());
+
+        // la escritura anterior a la excepcion no se ve
+        assertSame(before, g.freeze());
+        assertEquals(1, g.numberOfEdges());
+        assertEquals(List.of(0, 1), list(g.getBFS(0)));
+
+        // pero ya esta en el master: se publica con la proxima escritura
+        g.addEdge(2, 3, new WeightedEdge(1));
+        assertEquals(3, g.numberOfEdges());
+        assertEquals(List.of(0, 1, 2, 3), list(g.getBFS(0)));
+    }
+
+    @Test
+    public void testDenseStorageIsRejected() {
+        assertThrows(RuntimeException.class, () -> new GraphBuilder<Integer, WeightedEdge>()
+                .withStorage(Storage.DENSE)
+                .withConcurrency(Concurrency.SNAPSHOT)
+                .build());
+    }
+
+    // Un escritor mueve ejes de a pares dentro de update(): la cantidad de ejes
+    // no cambia y cada version es un grafo valido. Los lectores lo verifican
+    // sin ningun lock mientras tanto
+    @Test
+    public void testConcurrentReadersSeeConsistentVersions() throws InterruptedException {
+        ConcurrentGraph<Integer, WeightedEdge> g = (ConcurrentGraph<Integer, WeightedEdge>) graph(
+                Multiplicity.SIMPLE, EdgeMode.DIRECTED, Concurrency.SNAPSHOT);
+        int vertices = 200;
+        for (int v = 0; v < vertices; v++)
+            for (int k = 1; k <= 3; k++)
+                g.addEdge(v, (v + k) % vertices, new WeightedEdge(k));
+        int edges = g.numberOfEdges();
+
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicLong reads = new AtomicLong();
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Random random = new Random(t);
+            Thread reader = new Thread(() -> {
+                try {
+                    while (!done.get()) {
+                        CsrGraph<Integer, WeightedEdge> version = g.freeze();
+                        assertEquals(edges, version.numberOfEdges());
+                        int out = 0, in = 0;
+                        for (Integer v : version.getVertices()) {
+                            out += version.outDegree(v);
+                            in += version.inDegree(v);
+                        }
+                        assertEquals(edges, out);
+                        assertEquals(edges, in);
+
+                        assertEquals(edges, g.numberOfEdges());
+                        int source = random.nextInt(vertices);
+                        if (g.getVertices().contains(source)) {
+                            try {
+                                list(g.getBFS(source));
+                                g.dijkstra(source);
+                            } catch (RuntimeException e) {
+                                // el vertice se pudo borrar entre las dos lecturas
+                                if (!"Vertex does not exist".equals(e.getMessage())
+                                        && !"Source vertex does not exist".equals(e.getMessage()))
+                                    throw e;
+                            }
+                        }
+                        g.isBipartite();
+                        reads.incrementAndGet();
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+
+        Random random = new Random(42);
+        for (int round = 0; round < 2000; round++) {
+            int from = random.nextInt(vertices);
+            int to = random.nextInt(vertices);
+            int extra = vertices + round;
+            g.update(batch -> {
+                // saca un eje y agrega otro: mismo total
+                Integer target = null;
+                for (Integer v : g.getBFS(from))
+                    if (!v.equals(from) && batch.removeEdge(from, v)) {
+                        target = v;
+                        break;
+                    }
+                if (target != null) {
+                    try {
+                        batch.addEdge(from, to, new WeightedEdge(1 + random.nextInt(9)));
+                    } catch (RuntimeException e) {
+                        // ya existia: se vuelve a poner el que se saco
+                        batch.addEdge(from, target, new WeightedEdge(1));
+                    }
+                }
+                // un vertice que aparece y desaparece en la misma version
+                batch.addEdge(extra, from, new WeightedEdge(1));
+                batch.removeVertex(extra);
+            });
+        }
+        done.set(true);
+        for (Thread reader : readers)
+            reader.join();
+
+        if (failure.get() != null)
+            fail(failure.get());
+        assertTrue(reads.get() > 0);
+        assertEquals(edges, g.numberOfEdges());
+        assertEquals(vertices, g.numberOfVertices());
+    }
+}
@@ -0,0 +1,116 @@
+import core.*;
+import core.GraphService.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+
+/**
+ * Test cases for the incremental ConnectedComponents service
+ * Results must match the components computed from scratch after every change
+ */
+public class ConnectedComponentsTest {
+
+    private GraphService<Character, EmptyEdgeProp> undirected(Storage storage) {
+        return new GraphBuilder<Character, EmptyEdgeProp>()
+                .withDirected(EdgeMode.UNDIRECTED)
+                .withStorage(storage)
+                .build();
+    }
+
+    @Test
+    public void testIncrementalUpdates() {
+        for (Storage storage : Storage.values()) {
+            GraphService<Character, EmptyEdgeProp> g = undirected(storage);
+            ConnectedComponents<Character> components = g.connectedComponents();
+            assertEquals(0, components.componentCount());
+
+            g.addVertex('A');
+            g.addVertex('B');
+            g.addEdge('C', 'D', new EmptyEdgeProp());
+            assertEquals(3, components.componentCount(), storage.name());
+            assertFalse(components.sameComponent('A', 'B'));
+            assertTrue(components.sameComponent('C', 'D'));
+
+            g.addEdge('B', 'C', new EmptyEdgeProp());
+            assertEquals(2, components.componentCount(), storage.name());
+            assertTrue(components.sameComponent('B', 'D'));
+            assertEquals(components.representative('B'), components.representative('D'));
+
+            assertSame(components, g.connectedComponents(), "el grafo mantiene una sola instancia");
+        }
+    }
+
+    @Test
+    public void testRemovalsRebuildLazily() {
+        for (Storage storage : Storage.values()) {
+            GraphService<Character, EmptyEdgeProp> g = undirected(storage);
+            g.addEdge('A', 'B', new EmptyEdgeProp());
+            g.addEdge('B', 'C', new EmptyEdgeProp());
+            g.addEdge('C', 'D', new EmptyEdgeProp());
+            ConnectedComponents<Character> components = g.connectedComponents();
+            assertEquals(1, components.componentCount());
+
+            g.removeEdge('B', 'C');
+            assertEquals(2, components.componentCount(), storage.name());
+            assertFalse(components.sameComponent('A', 'D'));
+
+            g.removeVertex('A');
+            // el id de A se reutiliza con E
+            g.addEdge('E', 'B', new EmptyEdgeProp());
+            assertEquals(2, components.componentCount(), storage.name());
+            assertTrue(components.sameComponent('E', 'B'));
+            assertFalse(components.sameComponent('E', 'C'));
+        }
+    }
+
+    @Test
+    public void testExceptions() {
+        GraphService<Character, EmptyEdgeProp> directed = new GraphBuilder<Character, EmptyEdgeProp>()
+                .withDirected(EdgeMode.DIRECTED)
+                .build();
+        RuntimeException exception = assertThrows(RuntimeException.class, directed::connectedComponents);
+        assertTrue(exception.getMessage().contains("Cannot calculate connected components for directed graph"));
+
+        GraphService<Character, EmptyEdgeProp> g = undirected(Storage.SPARSE);
+        g.addVertex('A');
+        exception = assertThrows(RuntimeException.class, () -> g.connectedComponents().sameComponent('A', 'Z'));
+        assertTrue(exception.getMessage().contains("Vertex does not exist"));
+    }
+
+    @Test
+    public void testRandomSequenceAgainstFullRecomputation() {
+        for (Storage storage : Storage.values()) {
+            GraphService<Integer, EmptyEdgeProp> g = new GraphBuilder<Integer, EmptyEdgeProp>()
+                    .withDirected(EdgeMode.UNDIRECTED)
+                    .withAcceptSelfLoop(SelfLoop.YES)
+                    .withStorage(storage)
+                    .build();
+            ConnectedComponents<Integer> components = g.connectedComponents();
+            Random random = new Random(21);
+
+            for (int step = 0; step < 2000; step++) {
+                int from = random.nextInt(80);
+                int to = random.nextInt(80);
+                int action = random.nextInt(20);
+                if (action < 14) {
+                    if (!g.getVertices().contains(from) || !g.removeEdge(from, to))
+                        g.addEdge(from, to, new EmptyEdgeProp());
+                } else if (action < 18) {
+                    g.addVertex(from);
+                } else {
+                    g.removeVertex(from);
+                }
+
+                if (step % 25 == 0) {
+                    VertexLabels<Integer> expected = g.stronglyConnectedComponents();
+                    assertEquals(expected.count(), components.componentCount(), storage + " step " + step);
+                    for (Integer v : g.getVertices()) {
+                        for (Integer w : g.getVertices()) {
+                            assertEquals(expected.get(v) == expected.get(w), components.sameComponent(v, w));
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
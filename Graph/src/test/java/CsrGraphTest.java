@@ -0,0 +1,125 @@
+import core.*;
+import core.GraphService.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test cases for freeze() / CsrGraph
+ * The snapshot must answer every query exactly like the graph it was taken from
+ */
+public class CsrGraphTest {
+
+    private static List<Object> order(Iterable<?> traversal) {
+        List<Object> list = new ArrayList<>();
+        for (Object v : traversal)
+            list.add(v);
+        return list;
+    }
+
+    private GraphService<Integer, WeightedEdge> random(Multiplicity multiplicity, EdgeMode mode, Storage storage, long seed) {
+        GraphService<Integer, WeightedEdge> g = new GraphBuilder<Integer, WeightedEdge>()
+                .withMultiplicity(multiplicity)
+                .withDirected(mode)
+                .withAcceptSelfLoop(SelfLoop.YES)
+                .withAcceptWeight(Weight.YES)
+                .withStorage(storage)
+                .build();
+        Random random = new Random(seed);
+        for (int i = 0; i < 120; i++)
+            g.addVertex(i);
+        for (int i = 0; i < 400; i++) {
+            int from = random.nextInt(120);
+            int to = random.nextInt(120);
+            if (multiplicity == Multiplicity.MULTIPLE || !g.removeEdge(from, to))
+                g.addEdge(from, to, new WeightedEdge(random.nextInt(30)));
+        }
+        // deja ids libres en el grafo original: la foto los compacta
+        for (int i = 0; i < 120; i += 17)
+            g.removeVertex(i);
+        return g;
+    }
+
+    @Test
+    public void testSnapshotAnswersLikeTheOriginal() {
+        for (Storage storage : Storage.values()) {
+            for (EdgeMode mode : EdgeMode.values()) {
+                GraphService<Integer, WeightedEdge> g = random(Multiplicity.SIMPLE, mode, storage, 4);
+                CsrGraph<Integer, WeightedEdge> csr = g.freeze();
+                String name = storage + " " + mode;
+
+                assertEquals(g.numberOfVertices(), csr.numberOfVertices(), name);
+                assertEquals(g.numberOfEdges(), csr.numberOfEdges(), name);
+                assertEquals(g.getVertices(), new HashSet<>(csr.getVertices()), name);
+                assertEquals(g.hasCycle(), csr.hasCycle(), name);
+                assertEquals(g.isBipartite(), csr.isBipartite(), name);
+                assertEquals(g.stronglyConnectedComponents().count(), csr.stronglyConnectedComponents().count(), name);
+
+                for (Integer v : g.getVertices()) {
+                    if (mode == EdgeMode.DIRECTED) {
+                        assertEquals(g.inDegree(v), csr.inDegree(v), name + " inDegree " + v);
+                        assertEquals(g.outDegree(v), csr.outDegree(v), name + " outDegree " + v);
+                    } else {
+                        assertEquals(g.degree(v), csr.degree(v), name + " degree " + v);
+                    }
+                }
+
+                for (int source = 1; source < 120; source += 19) {
+                    assertEquals(order(g.getBFS(source)), order(csr.getBFS(source)), name + " bfs " + source);
+                    assertEquals(order(g.getDFS(source)), order(csr.getDFS(source)), name + " dfs " + source);
+                    assertEquals(g.dijkstra(source).getDistances(), csr.dijkstra(source).getDistances(), name);
+                    assertEquals(g.parallelBfs(source).toMap(), csr.parallelBfs(source).toMap(), name);
+                    for (int target = 2; target < 120; target += 23) {
+                        assertEquals(g.shortestPath(source, target).getDistances().get(target),
+                                csr.shortestPath(source, target).getDistances().get(target), name);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMultigraphSnapshot() {
+        GraphService<Integer, WeightedEdge> g = random(Multiplicity.MULTIPLE, EdgeMode.UNDIRECTED, Storage.SPARSE, 9);
+        CsrGraph<Integer, WeightedEdge> csr = CsrGraph.of(g);
+
+        assertEquals(g.numberOfEdges(), csr.numberOfEdges());
+        for (Integer v : g.getVertices())
+            assertEquals(g.degree(v), csr.degree(v), "degree " + v);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> csr.dijkstra(1));
+        assertTrue(exception.getMessage().contains("Dijkstra algorithm is only allowed for simple graphs"));
+    }
+
+    @Test
+    public void testSnapshotIsImmutableAndIndependent() {
+        GraphService<Character, WeightedEdge> g = new GraphBuilder<Character, WeightedEdge>()
+                .withDirected(EdgeMode.UNDIRECTED)
+                .withAcceptWeight(Weight.YES)
+                .build();
+        g.addEdge('A', 'B', new WeightedEdge(4));
+        g.addEdge('B', 'C', new WeightedEdge(1));
+
+        CsrGraph<Character, WeightedEdge> csr = g.freeze();
+        assertSame(csr, csr.freeze());
+        assertTrue(csr.getType().contains("csr snapshot"));
+
+        assertThrows(UnsupportedOperationException.class, () -> csr.addVertex('D'));
+        assertThrows(UnsupportedOperationException.class, () -> csr.addEdge('A', 'C', new WeightedEdge(1)));
+        assertThrows(UnsupportedOperationException.class, () -> csr.removeVertex('A'));
+        assertThrows(UnsupportedOperationException.class, () -> csr.removeEdge('A', 'B'));
+        assertThrows(UnsupportedOperationException.class, () -> csr.getVertices().add('Z'));
+
+        // los cambios posteriores del grafo no llegan a la foto
+        g.removeEdge('B', 'C');
+        assertEquals(2, g.freeze().connectedComponents().componentCount());
+        assertEquals(1, csr.connectedComponents().componentCount());
+        assertEquals(5, csr.dijkstra('A').getDistances().get('C').intValue());
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> csr.degree('Z'));
+        assertTrue(exception.getMessage().contains("Vertex does not exist"));
+    }
+}
@@ -9,6 +9,11 @@ import static org.junit.jupiter.api.Assertions.*;
  * Tests cycle detection functionality for both directed and undirected graphs
  */
 public class CycleDetectionTest {
+
+    // DenseStorageTest lo redefine para correr la suite con Storage.DENSE
+    protected Storage storage() {
+        return Storage.SPARSE;
+    }
     
     private GraphService<Character, EmptyEdgeProp> undirectedGraph;
     private GraphService<Character, EmptyEdgeProp> directedGraph;
@@ -22,6 +27,7 @@ public class CycleDetectionTest {
                 .withDirected(EdgeMode.UNDIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
         
         // Create a directed graph for testing
@@ -30,6 +36,7 @@ public class CycleDetectionTest {
                 .withDirected(EdgeMode.DIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
         
         // Create a graph with integer vertices
@@ -38,6 +45,7 @@ public class CycleDetectionTest {
                 .withDirected(EdgeMode.UNDIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
     }
 
@@ -161,6 +169,7 @@ public class CycleDetectionTest {
                 .withDirected(EdgeMode.DIRECTED)
                 .withAcceptSelfLoop(SelfLoop.YES)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
         
         selfLoopGraph.addEdge('A', 'A', new EmptyEdgeProp());
@@ -274,4 +283,24 @@ public class CycleDetectionTest {
         
         assertTrue(undirectedGraph.hasCycle(), "Adding edge to create cycle should be detected");
     }
-} 
\ No newline at end of file
+
+    @Test
+    public void testLongChainDoesNotOverflowTheStack() {
+        // una cadena de 10^6 vertices: la version recursiva tiraba StackOverflowError
+        int length = 1_000_000;
+        for (EdgeMode mode : EdgeMode.values()) {
+            GraphService<Integer, EmptyEdgeProp> chain = new GraphBuilder<Integer, EmptyEdgeProp>()
+                    .withDirected(mode)
+                    .build();
+            EmptyEdgeProp edge = new EmptyEdgeProp();
+            for (int i = 0; i + 1 < length; i++) {
+                chain.addEdge(i, i + 1, edge);
+            }
+            assertFalse(chain.hasCycle(), mode + ": una cadena no tiene ciclos");
+
+            // cerrar la cadena forma un unico ciclo de largo 10^6
+            chain.addEdge(length - 1, 0, edge);
+            assertTrue(chain.hasCycle(), mode + ": la cadena cerrada es un ciclo");
+        }
+    }
+}
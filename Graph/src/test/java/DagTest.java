@@ -0,0 +1,246 @@
+import core.*;
+import core.GraphService.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Test cases for topologicalOrder(), dagShortestPaths(), dagLongestPaths() and criticalPath()
+ * Graphs with a cycle must fail showing the cycle
+ */
+public class DagTest {
+
+    private static GraphService<Integer, WeightedEdge> graph(Multiplicity multiplicity, Storage storage) {
+        return new GraphBuilder<Integer, WeightedEdge>()
+                .withMultiplicity(multiplicity)
+                .withDirected(EdgeMode.DIRECTED)
+                .withAcceptSelfLoop(SelfLoop.YES)
+                .withAcceptWeight(Weight.YES)
+                .withStorage(storage)
+                .build();
+    }
+
+    // ejes de un vertice mas chico a uno mas grande en una permutacion al azar:
+    // nunca hay ciclos. En edges quedan {from, to, weight} de los que siguen
+    private static GraphService<Integer, WeightedEdge> randomDag(Storage storage, long seed, List<int[]> edges) {
+        GraphService<Integer, WeightedEdge> g = graph(Multiplicity.SIMPLE, storage);
+        Random random = new Random(seed);
+        List<Integer> rank = new ArrayList<>();
+        for (int i = 0; i < 80; i++)
+            rank.add(i);
+        Collections.shuffle(rank, random);
+        for (int i = 0; i < 80; i++)
+            g.addVertex(rank.get(i));
+        Set<List<Integer>> used = new HashSet<>();
+        for (int i = 0; i < 300; i++) {
+            int a = random.nextInt(80);
+            int b = random.nextInt(80);
+            int weight = random.nextInt(21) - 5;
+            int from = rank.get(Math.min(a, b));
+            int to = rank.get(Math.max(a, b));
+            if (a != b && used.add(Arrays.asList(from, to))) {
+                g.addEdge(from, to, new WeightedEdge(weight));
+                edges.add(new int[] { from, to, weight });
+            }
+        }
+        // deja ids libres
+        for (int i = 0; i < 80; i += 13) {
+            Integer removed = rank.get(i);
+            g.removeVertex(removed);
+            edges.removeIf(edge -> edge[0] == removed || edge[1] == removed);
+        }
+        return g;
+    }
+
+    private static void assertTopological(GraphService<Integer, WeightedEdge> g, List<int[]> edges, List<Integer> order) {
+        assertEquals(g.numberOfVertices(), order.size());
+        Map<Integer, Integer> position = new HashMap<>();
+        for (int i = 0; i < order.size(); i++)
+            position.put(order.get(i), i);
+        for (int[] edge : edges)
+            assertTrue(position.get(edge[0]) < position.get(edge[1]), edge[0] + " -> " + edge[1]);
+    }
+
+    @Test
+    public void testTopologicalOrderOnRandomDags() {
+        for (Storage storage : Storage.values()) {
+            for (long seed = 1; seed <= 4; seed++) {
+                List<int[]> edges = new ArrayList<>();
+                GraphService<Integer, WeightedEdge> g = randomDag(storage, seed, edges);
+                assertTopological(g, edges, g.topologicalOrder());
+                assertTopological(g, edges, g.freeze().topologicalOrder());
+            }
+        }
+    }
+
+    @Test
+    public void testCycleIsReported() {
+        for (Storage storage : Storage.values()) {
+            GraphService<Integer, WeightedEdge> g = graph(Multiplicity.SIMPLE, storage);
+            g.addEdge(0, 1, new WeightedEdge(1));
+            g.addEdge(1, 2, new WeightedEdge(1));
+            g.addEdge(2, 3, new WeightedEdge(1));
+            g.addEdge(3, 1, new WeightedEdge(1));
+            g.addEdge(3, 4, new WeightedEdge(1));
+
+            RuntimeException e = assertThrows(RuntimeException.class, g::topologicalOrder);
+            assertEquals("Graph is not a DAG, it has the cycle [1, 2, 3, 1]", e.getMessage());
+            e = assertThrows(RuntimeException.class, () -> g.freeze().dagShortestPaths(0));
+            assertEquals("Graph is not a DAG, it has the cycle [1, 2, 3, 1]", e.getMessage());
+            assertThrows(RuntimeException.class, g::criticalPath);
+        }
+    }
+
+    @Test
+    public void testResultsFollowChanges() {
+        // los metodos del grafo reutilizan la copia Csr hasta el proximo cambio
+        for (Storage storage : Storage.values()) {
+            GraphService<Integer, WeightedEdge> g = graph(Multiplicity.SIMPLE, storage);
+            g.addEdge(0, 1, new WeightedEdge(2));
+            g.addEdge(1, 2, new WeightedEdge(3));
+            assertEquals(List.of(0, 1, 2), g.topologicalOrder(), storage.name());
+            assertEquals(5, g.dagLongestPaths(0).getDistance(2), storage.name());
+
+            g.addEdge(2, 0, new WeightedEdge(1));
+            assertThrows(RuntimeException.class, g::topologicalOrder, storage.name());
+
+            g.removeEdge(2, 0);
+            g.addEdge(0, 2, new WeightedEdge(10));
+            assertEquals(10, g.dagLongestPaths(0).getDistance(2), storage.name());
+            assertEquals(List.of(0, 2), g.criticalPath(), storage.name());
+
+            g.removeVertex(1);
+            g.addVertex(3);
+            // 3 puede reutilizar el id de 1: solo importa que 0 quede antes que 2
+            List<Integer> order = g.topologicalOrder();
+            assertEquals(Set.of(0, 2, 3), new HashSet<>(order), storage.name());
+            assertTrue(order.indexOf(0) < order.indexOf(2), storage.name());
+            assertEquals(10, g.dagShortestPaths(0).getDistance(2), storage.name());
+        }
+    }
+
+    @Test
+    public void testSelfLoopIsACycle() {
+        GraphService<Integer, WeightedEdge> g = graph(Multiplicity.SIMPLE, Storage.SPARSE);
+        g.addEdge(0, 1, new WeightedEdge(1));
+        g.addEdge(1, 1, new WeightedEdge(1));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> g.dagLongestPaths(0));
+        assertEquals("Graph is not a DAG, it has the cycle [1, 1]", e.getMessage());
+    }
+
+    @Test
+    public void testShortestPathsMatchDijkstra() {
+        // el grafo dirigido de DijkstraTest
+        GraphService<Character, WeightedEdge> g = new GraphBuilder<Character, WeightedEdge>()
+                .withMultiplicity(Multiplicity.SIMPLE)
+                .withDirected(EdgeMode.DIRECTED)
+                .withAcceptSelfLoop(SelfLoop.NO)
+                .withAcceptWeight(Weight.YES)
+                .build();
+        g.addEdge('A', 'B', new WeightedEdge(5));
+        g.addEdge('A', 'C', new WeightedEdge(3));
+        g.addEdge('B', 'D', new WeightedEdge(2));
+        g.addEdge('B', 'E', new WeightedEdge(6));
+        g.addEdge('C', 'E', new WeightedEdge(1));
+
+        for (Character source : g.getVertices()) {
+            DijkstraPath<Character, WeightedEdge> expected = g.dijkstra(source);
+            DijkstraPath<Character, WeightedEdge> result = g.dagShortestPaths(source);
+            assertEquals(expected.getDistances(), result.getDistances());
+            for (Character target : g.getVertices())
+                assertEquals(expected.getShortestPathTo(target), result.getShortestPathTo(target));
+        }
+
+        DijkstraPath<Character, WeightedEdge> fromA = g.dagShortestPaths('A');
+        assertEquals(4, fromA.getDistance('E'));
+        assertEquals("[A, C, E]", fromA.getShortestPathTo('E'));
+        assertEquals(Integer.MAX_VALUE, g.dagShortestPaths('C').getDistance('A'));
+    }
+
+    @Test
+    public void testRandomDagsAgainstBellmanFord() {
+        for (Storage storage : Storage.values()) {
+            List<int[]> edges = new ArrayList<>();
+            GraphService<Integer, WeightedEdge> g = randomDag(storage, 7, edges);
+            Integer source = g.topologicalOrder().get(0);
+            DijkstraPath<Integer, WeightedEdge> shortest = g.dagShortestPaths(source);
+            DijkstraPath<Integer, WeightedEdge> longest = g.dagLongestPaths(source);
+
+            Map<Integer, Long> min = bellmanFord(g.numberOfVertices(), edges, source, 1);
+            Map<Integer, Long> max = bellmanFord(g.numberOfVertices(), edges, source, -1);
+            for (Integer v : g.getVertices()) {
+                long expectedMin = min.getOrDefault(v, (long) Integer.MAX_VALUE);
+                long expectedMax = max.containsKey(v) ? -max.get(v) : Integer.MAX_VALUE;
+                assertEquals(expectedMin, shortest.getDistance(v), storage + " " + v);
+                assertEquals(expectedMax, longest.getDistance(v), storage + " " + v);
+            }
+        }
+    }
+
+    // distancias con los pesos multiplicados por sign, solo de los alcanzados
+    private static Map<Integer, Long> bellmanFord(int n, List<int[]> edges, Integer source, int sign) {
+        Map<Integer, Long> dist = new HashMap<>();
+        dist.put(source, 0L);
+        for (int round = 0; round < n; round++)
+            for (int[] edge : edges)
+                if (dist.containsKey(edge[0])) {
+                    long candidate = dist.get(edge[0]) + sign * edge[2];
+                    if (candidate < dist.getOrDefault(edge[1], Long.MAX_VALUE))
+                        dist.put(edge[1], candidate);
+                }
+        return dist;
+    }
+
+    @Test
+    public void testCriticalPath() {
+        // tareas con su duracion en el eje que sale de ellas
+        GraphService<String, WeightedEdge> g = new GraphBuilder<String, WeightedEdge>()
+                .withMultiplicity(Multiplicity.MULTIPLE)
+                .withDirected(EdgeMode.DIRECTED)
+                .withAcceptWeight(Weight.YES)
+                .build();
+        g.addEdge("start", "design", new WeightedEdge(0));
+        g.addEdge("design", "backend", new WeightedEdge(3));
+        g.addEdge("design", "frontend", new WeightedEdge(3));
+        g.addEdge("backend", "tests", new WeightedEdge(5));
+        g.addEdge("frontend", "tests", new WeightedEdge(2));
+        g.addEdge("frontend", "tests", new WeightedEdge(4));
+        g.addEdge("tests", "release", new WeightedEdge(1));
+
+        assertEquals(Arrays.asList("design", "backend", "tests", "release"), g.criticalPath());
+        assertEquals(9, g.dagLongestPaths("start").getDistance("release"));
+        assertEquals(Arrays.asList("design", "backend", "tests", "release"), g.freeze().criticalPath());
+    }
+
+    @Test
+    public void testInvalidGraphs() {
+        GraphService<Integer, WeightedEdge> undirected = new GraphBuilder<Integer, WeightedEdge>()
+                .withDirected(EdgeMode.UNDIRECTED)
+                .withAcceptWeight(Weight.YES)
+                .build();
+        undirected.addEdge(0, 1, new WeightedEdge(1));
+        assertThrows(RuntimeException.class, undirected::topologicalOrder);
+        assertThrows(RuntimeException.class, () -> undirected.dagShortestPaths(0));
+
+        GraphService<Integer, EmptyEdgeProp> unweighted = new GraphBuilder<Integer, EmptyEdgeProp>()
+                .withDirected(EdgeMode.DIRECTED)
+                .build();
+        unweighted.addEdge(0, 1, new EmptyEdgeProp());
+        assertEquals(Arrays.asList(0, 1), unweighted.topologicalOrder());
+        assertThrows(RuntimeException.class, unweighted::criticalPath);
+        assertThrows(RuntimeException.class, () -> unweighted.dagLongestPaths(0));
+
+        GraphService<Integer, WeightedEdge> g = graph(Multiplicity.SIMPLE, Storage.DENSE);
+        g.addEdge(0, 1, new WeightedEdge(1));
+        assertThrows(RuntimeException.class, () -> g.dagShortestPaths(7));
+    }
+}
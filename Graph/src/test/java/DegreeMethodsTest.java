@@ -2,6 +2,9 @@ import core.*;
 import core.GraphService.*;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 /**
  * Test cases for degree(), inDegree(), and outDegree() methods
@@ -9,6 +12,11 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 public class DegreeMethodsTest {
 
+    // DenseStorageTest lo redefine para correr la suite con Storage.DENSE
+    protected Storage storage() {
+        return Storage.SPARSE;
+    }
+
     @Test
     public void testCasoDeUsoA_DegreeOnDirectedGraphThrowsException() {
         // Caso de Uso A: degree() en grafo dirigido debe lanzar excepción
@@ -96,6 +104,7 @@ public class DegreeMethodsTest {
                 .withDirected(EdgeMode.UNDIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
 
         g.addVertex('A');
@@ -119,6 +128,7 @@ public class DegreeMethodsTest {
                 .withDirected(EdgeMode.DIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -166,6 +176,7 @@ public class DegreeMethodsTest {
                 .withDirected(EdgeMode.DIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
 
         g.addEdge('A', 'B', new EmptyEdgeProp());
@@ -179,4 +190,63 @@ public class DegreeMethodsTest {
         assertEquals(2, g.inDegree('C'), "C tiene 2 aristas entrantes");
         assertEquals(0, g.outDegree('C'), "C no tiene aristas salientes");
     }
-} 
\ No newline at end of file
+
+    @Test
+    public void testDegreesAfterMutationHeavySequence() {
+        // mezcla de altas y bajas de ejes y vertices (con self-loops y ejes
+        // paralelos); los grados se recalculan desde un modelo en cada paso
+        for (EdgeMode mode : EdgeMode.values()) {
+            GraphService<Integer, WeightedEdge> g = new GraphBuilder<Integer, WeightedEdge>()
+                    .withMultiplicity(Multiplicity.MULTIPLE)
+                    .withDirected(mode)
+                    .withAcceptSelfLoop(SelfLoop.YES)
+                    .withAcceptWeight(Weight.YES)
+                    .build();
+            List<int[]> model = new ArrayList<>();
+            Random random = new Random(3);
+
+            for (int step = 0; step < 3000; step++) {
+                int from = random.nextInt(15);
+                int to = random.nextInt(15);
+                int action = random.nextInt(10);
+                if (action < 6) {
+                    g.addEdge(from, to, new WeightedEdge(2));
+                    model.add(new int[] { from, to });
+                } else if (action < 9) {
+                    int found = -1;
+                    for (int i = 0; i < model.size() && found < 0; i++) {
+                        int[] edge = model.get(i);
+                        if (edge[0] == from && edge[1] == to
+                                || mode == EdgeMode.UNDIRECTED && edge[0] == to && edge[1] == from)
+                            found = i;
+                    }
+                    assertEquals(found >= 0, g.removeEdge(from, to));
+                    if (found >= 0)
+                        model.remove(found);
+                } else {
+                    g.removeVertex(from);
+                    model.removeIf(edge -> edge[0] == from || edge[1] == from);
+                }
+
+                if (step % 10 != 0)
+                    continue;
+                for (Integer v : g.getVertices()) {
+                    int out = 0, in = 0;
+                    for (int[] edge : model) {
+                        if (edge[0] == v)
+                            out++;
+                        if (edge[1] == v)
+                            in++;
+                    }
+                    if (mode == EdgeMode.DIRECTED) {
+                        assertEquals(out, g.outDegree(v), "outDegree " + v + " step " + step);
+                        assertEquals(in, g.inDegree(v), "inDegree " + v + " step " + step);
+                    } else {
+                        // un self-loop suma 2: una vez como origen y otra como destino
+                        assertEquals(out + in, g.degree(v), "degree " + v + " step " + step);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+import core.*;
+import core.GraphService.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Test cases for ShortestPathEngine.DELTA_STEPPING
+ * dijkstra must give the same DijkstraPath as the sequential engine
+ */
+public class DeltaSteppingTest {
+
+    private static <V> GraphService<V, WeightedEdge> graph(EdgeMode mode, Storage storage, ShortestPathEngine engine) {
+        return new GraphBuilder<V, WeightedEdge>()
+                .withMultiplicity(Multiplicity.SIMPLE)
+                .withDirected(mode)
+                .withAcceptSelfLoop(SelfLoop.YES)
+                .withAcceptWeight(Weight.YES)
+                .withStorage(storage)
+                .withShortestPathEngine(engine)
+                .build();
+    }
+
+    // los grafos de DijkstraTest
+    private static GraphService<Character, WeightedEdge> fixture(EdgeMode mode, Storage storage, ShortestPathEngine engine) {
+        GraphService<Character, WeightedEdge> g = graph(mode, storage, engine);
+        if (mode == EdgeMode.DIRECTED) {
+            g.addEdge('A', 'B', new WeightedEdge(5));
+            g.addEdge('A', 'C', new WeightedEdge(3));
+            g.addEdge('B', 'D', new WeightedEdge(2));
+            g.addEdge('B', 'E', new WeightedEdge(6));
+            g.addEdge('C', 'E', new WeightedEdge(1));
+        } else {
+            g.addEdge('A', 'B', new WeightedEdge(4));
+            g.addEdge('A', 'C', new WeightedEdge(7));
+            g.addEdge('B', 'D', new WeightedEdge(2));
+            g.addEdge('B', 'E', new WeightedEdge(3));
+            g.addEdge('C', 'E', new WeightedEdge(1));
+        }
+        g.addVertex('F');
+        return g;
+    }
+
+    // en weights queda el peso de cada eje {from, to} (en los dos sentidos si no es dirigido)
+    private static GraphService<Integer, WeightedEdge> random(EdgeMode mode, Storage storage, ShortestPathEngine engine,
+            long seed, Map<List<Integer>, Integer> weights) {
+        GraphService<Integer, WeightedEdge> g = graph(mode, storage, engine);
+        Random random = new Random(seed);
+        for (int i = 0; i < 300; i++)
+            g.addVertex(i);
+        for (int i = 0; i < 1500; i++) {
+            int from = random.nextInt(300);
+            int to = random.nextInt(300);
+            // pesos chicos, con ceros: muchos empates
+            int weight = random.nextInt(8);
+            if (g.removeEdge(from, to)) {
+                weights.remove(Arrays.asList(from, to));
+                weights.remove(Arrays.asList(to, from));
+            } else {
+                g.addEdge(from, to, new WeightedEdge(weight));
+                weights.put(Arrays.asList(from, to), weight);
+                if (mode == EdgeMode.UNDIRECTED)
+                    weights.put(Arrays.asList(to, from), weight);
+            }
+        }
+        return g;
+    }
+
+    @Test
+    public void testDijkstraFixtures() {
+        for (Storage storage : Storage.values()) {
+            for (EdgeMode mode : EdgeMode.values()) {
+                GraphService<Character, WeightedEdge> expected = fixture(mode, storage, ShortestPathEngine.DIJKSTRA);
+                GraphService<Character, WeightedEdge> g = fixture(mode, storage, ShortestPathEngine.DELTA_STEPPING);
+                for (Character source : expected.getVertices()) {
+                    String name = storage + " " + mode + " " + source;
+                    assertEquals(expected.dijkstra(source).toString(), g.dijkstra(source).toString(), name);
+                    assertEquals(expected.dijkstra(source).toString(), g.freeze().dijkstra(source).toString(), name);
+                }
+            }
+        }
+
+        DijkstraPath<Character, WeightedEdge> result = fixture(EdgeMode.DIRECTED, Storage.SPARSE,
+                ShortestPathEngine.DELTA_STEPPING).dijkstra('A');
+        assertEquals(7, result.getDistance('D'));
+        assertEquals("[A, B, D]", result.getShortestPathTo('D'));
+        assertEquals("[A, C, E]", result.getShortestPathTo('E'));
+        assertEquals(Integer.MAX_VALUE, result.getDistance('F'));
+        assertEquals("[]", result.getShortestPathTo('F'));
+    }
+
+    @Test
+    public void testRandomGraphsMatchDijkstra() {
+        for (Storage storage : Storage.values()) {
+            for (EdgeMode mode : EdgeMode.values()) {
+                Map<List<Integer>, Integer> weights = new HashMap<>();
+                GraphService<Integer, WeightedEdge> expected = random(mode, storage, ShortestPathEngine.DIJKSTRA, 3,
+                        new HashMap<>());
+                GraphService<Integer, WeightedEdge> g = random(mode, storage, ShortestPathEngine.DELTA_STEPPING, 3,
+                        weights);
+                for (int source = 0; source < 300; source += 37) {
+                    String name = storage + " " + mode + " " + source;
+                    DijkstraPath<Integer, WeightedEdge> sequential = expected.dijkstra(source);
+                    DijkstraPath<Integer, WeightedEdge> parallel = g.dijkstra(source);
+                    assertEquals(sequential.getDistances(), parallel.getDistances(), name);
+                    assertEquals(sequential.getDistances(), g.freeze().dijkstra(source).getDistances(), name);
+                    // con empates el camino puede ser otro, pero del mismo largo
+                    for (int target = 0; target < 300; target++)
+                        if (parallel.getDistance(target) != Integer.MAX_VALUE)
+                            assertEquals(parallel.getDistance(target), length(weights, parallel.getShortestPathTo(target)),
+                                    name + " -> " + target);
+                }
+            }
+        }
+    }
+
+    // peso del camino "[a, b, c]"
+    private static int length(Map<List<Integer>, Integer> weights, String path) {
+        String[] vertices = path.substring(1, path.length() - 1).split(", ");
+        int total = 0;
+        for (int i = 0; i + 1 < vertices.length; i++)
+            total += weights.get(Arrays.asList(Integer.parseInt(vertices[i]), Integer.parseInt(vertices[i + 1])));
+        return total;
+    }
+
+    @Test
+    public void testNegativeWeight() {
+        GraphService<Character, WeightedEdge> g = graph(EdgeMode.DIRECTED, Storage.DENSE,
+                ShortestPathEngine.DELTA_STEPPING);
+        g.addEdge('A', 'B', new WeightedEdge(2));
+        g.addEdge('B', 'C', new WeightedEdge(-1));
+        RuntimeException e = assertThrows(IllegalArgumentException.class, () -> g.dijkstra('A'));
+        assertEquals("Dijkstra does not accept negative weights: B -> C has weight -1.0", e.getMessage());
+    }
+
+    @Test
+    public void testValidation() {
+        GraphService<Character, WeightedEdge> g = fixture(EdgeMode.DIRECTED, Storage.SPARSE,
+                ShortestPathEngine.DELTA_STEPPING);
+        assertThrows(RuntimeException.class, () -> g.dijkstra('Z'));
+        assertThrows(RuntimeException.class, () -> g.dijkstra(null));
+    }
+}
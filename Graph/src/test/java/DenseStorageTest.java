@@ -0,0 +1,162 @@
+import core.*;
+import core.GraphService.*;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for Storage.DENSE (adjacency matrix)
+ * Runs the sparse test suites again with dense storage for every simple
+ * graph, plus cases specific to the dense implementation
+ */
+public class DenseStorageTest {
+
+    // Cada suite arma sus grafos simples con storage(); estas subclases la
+    // redefinen y asi se vuelven a correr todos sus casos sobre la matriz.
+    // Los multigrafos quedan en SPARSE porque la matriz no los admite, y
+    // algun grafo muy grande tambien (la matriz ocupa V^2 bits)
+
+    @Nested
+    class Traversal extends TraversalTest {
+        @Override
+        protected Storage storage() {
+            return Storage.DENSE;
+        }
+    }
+
+    @Nested
+    class Bipartite extends BipartiteTest {
+        @Override
+        protected Storage storage() {
+            return Storage.DENSE;
+        }
+    }
+
+    @Nested
+    class CycleDetection extends CycleDetectionTest {
+        @Override
+        protected Storage storage() {
+            return Storage.DENSE;
+        }
+    }
+
+    @Nested
+    class DegreeMethods extends DegreeMethodsTest {
+        @Override
+        protected Storage storage() {
+            return Storage.DENSE;
+        }
+    }
+
+    @Nested
+    class NumberOfEdges extends NumberOfEdgesTest {
+        @Override
+        protected Storage storage() {
+            return Storage.DENSE;
+        }
+    }
+
+    @Nested
+    class Dijkstra extends DijkstraTest {
+        @Override
+        protected Storage storage() {
+            return Storage.DENSE;
+        }
+    }
+
+    @Nested
+    class RemoveEdge extends RemoveEdgeTest {
+        @Override
+        protected Storage storage() {
+            return Storage.DENSE;
+        }
+    }
+
+    @Nested
+    class RemoveVertex extends RemoveVertexTest {
+        @Override
+        protected Storage storage() {
+            return Storage.DENSE;
+        }
+    }
+
+    private <E> GraphService<Character, E> dense(EdgeMode mode, SelfLoop selfLoop, Weight weight) {
+        return new GraphBuilder<Character, E>()
+                .withMultiplicity(Multiplicity.SIMPLE)
+                .withDirected(mode)
+                .withAcceptSelfLoop(selfLoop)
+                .withAcceptWeight(weight)
+                .withStorage(Storage.DENSE)
+                .build();
+    }
+
+    @Test
+    public void testMultiGraphIsNotSupported() {
+        assertThrows(RuntimeException.class, () -> new GraphBuilder<Character, EmptyEdgeProp>()
+                .withMultiplicity(Multiplicity.MULTIPLE)
+                .withStorage(Storage.DENSE)
+                .build());
+    }
+
+    @Test
+    public void testDuplicateEdgeThrows() {
+        GraphService<Character, EmptyEdgeProp> g = dense(EdgeMode.UNDIRECTED, SelfLoop.NO, Weight.NO);
+        g.addEdge('A', 'B', new EmptyEdgeProp());
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> g.addEdge('B', 'A', new EmptyEdgeProp()));
+        assertTrue(exception.getMessage().contains("Simple graph does not allow multiple edges"));
+    }
+
+    @Test
+    public void testSelfLoopRejected() {
+        GraphService<Character, EmptyEdgeProp> g = dense(EdgeMode.DIRECTED, SelfLoop.NO, Weight.NO);
+        assertThrows(RuntimeException.class, () -> g.addEdge('A', 'A', new EmptyEdgeProp()));
+    }
+
+    @Test
+    public void testRemoveEdgeComparesOnlyTheWeight() {
+        // la matriz no guarda las propiedades: la etiqueta no cuenta
+        GraphService<Character, WeightedEdge> g = dense(EdgeMode.UNDIRECTED, SelfLoop.NO, Weight.YES);
+        g.addEdge('A', 'B', new WeightedEdge(1, "ab"));
+
+        assertFalse(g.removeEdge('B', 'A', new WeightedEdge(2, "ab")));
+        assertTrue(g.removeEdge('B', 'A', new WeightedEdge(1, "otra")));
+        assertEquals(0, g.numberOfEdges());
+    }
+
+    @Test
+    public void testGrowsBeyondInitialCapacity() {
+        GraphService<Integer, EmptyEdgeProp> g = new GraphBuilder<Integer, EmptyEdgeProp>()
+                .withDirected(EdgeMode.DIRECTED)
+                .withStorage(Storage.DENSE)
+                .build();
+
+        for (int i = 0; i < 500; i++)
+            g.addEdge(i, i + 1, new EmptyEdgeProp());
+
+        assertEquals(501, g.numberOfVertices());
+        assertEquals(500, g.numberOfEdges());
+        assertEquals(1, g.inDegree(500));
+        assertFalse(g.hasCycle());
+
+        g.addEdge(500, 0, new EmptyEdgeProp());
+        assertTrue(g.hasCycle());
+    }
+
+    @Test
+    public void testDijkstraExceptions() {
+        GraphService<Character, EmptyEdgeProp> unweighted = dense(EdgeMode.DIRECTED, SelfLoop.NO, Weight.NO);
+        unweighted.addEdge('A', 'B', new EmptyEdgeProp());
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> unweighted.dijkstra('A'));
+        assertTrue(exception.getMessage().contains("Dijkstra algorithm requires a weighted graph"));
+
+        GraphService<Character, WeightedEdge> weighted = dense(EdgeMode.DIRECTED, SelfLoop.NO, Weight.YES);
+        exception = assertThrows(RuntimeException.class, () -> weighted.dijkstra('Z'));
+        assertTrue(exception.getMessage().contains("Source vertex does not exist"));
+
+        weighted.addEdge('A', 'B', new WeightedEdge(-1));
+        assertThrows(IllegalArgumentException.class, () -> weighted.dijkstra('A'));
+    }
+}
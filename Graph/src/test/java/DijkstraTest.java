@@ -9,6 +9,11 @@ import static org.junit.jupiter.api.Assertions.*;
  * Tests the shortest path finding functionality
  */
 public class DijkstraTest {
+
+    // DenseStorageTest lo redefine para correr la suite con Storage.DENSE
+    protected Storage storage() {
+        return Storage.SPARSE;
+    }
     
     private GraphService<Character, WeightedEdge> weightedDirectedGraph;
     private GraphService<Character, WeightedEdge> weightedUndirectedGraph;
@@ -29,6 +34,7 @@ public class DijkstraTest {
                 .withDirected(EdgeMode.DIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.YES)
+                .withStorage(storage())
                 .build();
         
         weightedDirectedGraph.addEdge('A', 'B', new WeightedEdge(5));
@@ -48,6 +54,7 @@ public class DijkstraTest {
                 .withDirected(EdgeMode.UNDIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.YES)
+                .withStorage(storage())
                 .build();
         
         weightedUndirectedGraph.addEdge('A', 'B', new WeightedEdge(4));
@@ -62,6 +69,7 @@ public class DijkstraTest {
                 .withDirected(EdgeMode.DIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
         
         // Create a multi graph (should throw exception)
@@ -188,6 +196,7 @@ public class DijkstraTest {
                 .withDirected(EdgeMode.DIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.YES)
+                .withStorage(storage())
                 .build();
         
         singleVertexGraph.addVertex('A');
@@ -0,0 +1,163 @@
+import core.*;
+import core.GraphService.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test cases for EdgeListLoader
+ * Loading an edge list must give the same graph as calling addEdge line by line
+ */
+public class EdgeListLoaderTest {
+
+    private static GraphBuilder<Integer, WeightedEdge> builder(Multiplicity multiplicity, EdgeMode mode) {
+        return new GraphBuilder<Integer, WeightedEdge>()
+                .withMultiplicity(multiplicity)
+                .withDirected(mode)
+                .withAcceptSelfLoop(SelfLoop.YES)
+                .withAcceptWeight(Weight.YES);
+    }
+
+    private static WeightedEdge edge(String rest) {
+        return rest.isEmpty() ? new WeightedEdge(1) : new WeightedEdge(Integer.parseInt(rest));
+    }
+
+    private static GraphService<Integer, WeightedEdge> load(GraphBuilder<Integer, WeightedEdge> builder, String text)
+            throws IOException {
+        return EdgeListLoader.load(builder, new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)),
+                Integer::valueOf, EdgeListLoaderTest::edge);
+    }
+
+    private static List<Integer> list(Iterable<Integer> traversal) {
+        List<Integer> result = new ArrayList<>();
+        for (Integer vertex : traversal)
+            result.add(vertex);
+        return result;
+    }
+
+    private static void assertSameGraph(GraphService<Integer, WeightedEdge> expected,
+            GraphService<Integer, WeightedEdge> g) {
+        assertEquals(expected.numberOfVertices(), g.numberOfVertices());
+        assertEquals(expected.numberOfEdges(), g.numberOfEdges());
+        for (Integer v : expected.getVertices()) {
+            if (v % 10 != 0)
+                continue;
+            assertEquals(list(expected.getBFS(v)), list(g.getBFS(v)), "bfs " + v);
+            assertEquals(list(expected.getDFS(v)), list(g.getDFS(v)), "dfs " + v);
+        }
+    }
+
+    @Test
+    public void testTextFormat() throws IOException {
+        String text = "# comment\n"
+                + "% matrix market comment\n"
+                + "1 2 5\n"
+                + "\n"
+                + "  2\t3\t7\r\n"
+                + "3,1,2\n"
+                + "3 4\n"
+                + "4 4 3";
+        GraphService<Integer, WeightedEdge> g = load(builder(Multiplicity.SIMPLE, EdgeMode.DIRECTED), text);
+
+        assertEquals(4, g.numberOfVertices());
+        assertEquals(5, g.numberOfEdges());
+        assertEquals(List.of(1, 2, 3, 4), list(g.getBFS(1)));
+        assertEquals(12, g.dijkstra(1).getDistance(3));
+        assertEquals(13, g.dijkstra(1).getDistance(4));
+        // 3 -> 4 y el self-loop
+        assertEquals(2, g.inDegree(4));
+    }
+
+    @Test
+    public void testMatchesAddEdge() throws IOException {
+        for (Multiplicity multiplicity : Multiplicity.values()) {
+            for (EdgeMode mode : EdgeMode.values()) {
+                GraphService<Integer, WeightedEdge> expected = builder(multiplicity, mode).build();
+                StringBuilder text = new StringBuilder();
+                List<EdgeListLoader.Entry<Integer, WeightedEdge>> entries = new ArrayList<>();
+                Random random = new Random(11);
+                for (int i = 0; i < 2000; i++) {
+                    int from = random.nextInt(300);
+                    // los simples no aceptan ejes repetidos: un destino distinto por eje
+                    int to = multiplicity == Multiplicity.SIMPLE ? (i * 7 + from) % 100_000 : random.nextInt(300);
+                    if (multiplicity == Multiplicity.SIMPLE && mode == EdgeMode.UNDIRECTED && to < 300)
+                        to += 300;
+                    int weight = 1 + random.nextInt(9);
+                    expected.addEdge(from, to, new WeightedEdge(weight));
+                    text.append(from).append(' ').append(to).append(' ').append(weight).append('\n');
+                    entries.add(new EdgeListLoader.Entry<>(from, to, new WeightedEdge(weight)));
+                }
+
+                assertSameGraph(expected, load(builder(multiplicity, mode), text.toString()));
+                assertSameGraph(expected, EdgeListLoader.load(builder(multiplicity, mode), entries.iterator()));
+                assertSameGraph(expected, EdgeListLoader.load(
+                        builder(multiplicity, mode).withConcurrency(Concurrency.SNAPSHOT), entries.iterator()));
+            }
+        }
+    }
+
+    @Test
+    public void testFileLargerThanOneBlock(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("edges.txt");
+        GraphService<Integer, WeightedEdge> expected = builder(Multiplicity.MULTIPLE, EdgeMode.DIRECTED)
+                .withIncomingIndex(IncomingIndex.YES).build();
+        Random random = new Random(3);
+        try (Writer out = Files.newBufferedWriter(file)) {
+            // unos 6MB: mas de un bloque de lectura
+            for (int i = 0; i < 400_000; i++) {
+                int from = random.nextInt(50_000);
+                int to = random.nextInt(50_000);
+                int weight = 1 + random.nextInt(9);
+                expected.addEdge(from, to, new WeightedEdge(weight));
+                out.write(from + "\t" + to + "\t" + weight + "\n");
+            }
+        }
+
+        GraphService<Integer, WeightedEdge> g = EdgeListLoader.load(
+                builder(Multiplicity.MULTIPLE, EdgeMode.DIRECTED).withIncomingIndex(IncomingIndex.YES), file,
+                Integer::valueOf, EdgeListLoaderTest::edge);
+        assertEquals(expected.numberOfVertices(), g.numberOfVertices());
+        assertEquals(expected.numberOfEdges(), g.numberOfEdges());
+        for (int v = 0; v < 50_000; v += 997) {
+            if (expected.getVertices().contains(v)) {
+                assertEquals(expected.outDegree(v), g.outDegree(v));
+                assertEquals(expected.inDegree(v), g.inDegree(v));
+                assertEquals(list(expected.getBFS(v)).subList(0, 20), list(g.getBFS(v)).subList(0, 20));
+            }
+        }
+    }
+
+    @Test
+    public void testErrors() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> load(builder(Multiplicity.SIMPLE, EdgeMode.DIRECTED), "# header\n1 2\n2 3\n1 2\n"));
+        assertEquals("Simple graph does not allow multiple edges between 1 and 2", e.getMessage());
+
+        e = assertThrows(RuntimeException.class,
+                () -> load(builder(Multiplicity.SIMPLE, EdgeMode.DIRECTED), "1 2\n\n3\n"));
+        assertEquals("Line 3: expected source and target: 3", e.getMessage());
+
+        e = assertThrows(RuntimeException.class,
+                () -> load(builder(Multiplicity.SIMPLE, EdgeMode.DIRECTED), "1 2\nx 3\n"));
+        assertTrue(e.getMessage().startsWith("Line 2: "));
+
+        e = assertThrows(RuntimeException.class, () -> load(builder(Multiplicity.SIMPLE, EdgeMode.DIRECTED)
+                .withAcceptSelfLoop(SelfLoop.NO), "1 2\n2 2\n"));
+        assertTrue(e.getMessage().endsWith("does not accept self loops between 2 and 2"));
+
+        // el peso se valida con la funcion del grafo
+        e = assertThrows(RuntimeException.class, () -> EdgeListLoader.load(
+                new GraphBuilder<Integer, EmptyEdgeProp>().withAcceptWeight(Weight.YES),
+                List.of(new EdgeListLoader.Entry<>(1, 2, new EmptyEdgeProp())).iterator()));
+        assertTrue(e.getMessage().contains("getWeight()"));
+    }
+}
@@ -0,0 +1,261 @@
+import core.*;
+import core.GraphService.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test cases for GraphFiles / MappedGraph
+ * A graph written to disk and mapped back must answer like the original
+ */
+public class GraphFilesTest {
+
+    @TempDir
+    Path dir;
+
+    // peso + etiqueta, como equals de WeightedEdge
+    private static final GraphCodec<WeightedEdge> WEIGHTED_EDGES = new GraphCodec<WeightedEdge>() {
+        @Override
+        public void write(WeightedEdge value, DataOutput out) throws IOException {
+            out.writeInt(value.getWeight());
+            out.writeUTF(value.getLabel());
+        }
+
+        @Override
+        public WeightedEdge read(ByteBuffer in) {
+            int weight = in.getInt();
+            byte[] label = new byte[in.getShort()];
+            in.get(label);
+            return new WeightedEdge(weight, new String(label));
+        }
+    };
+
+    private static List<Object> order(Iterable<?> traversal) {
+        List<Object> list = new ArrayList<>();
+        for (Object v : traversal)
+            list.add(v);
+        return list;
+    }
+
+    private static <V> List<Integer> degrees(GraphService<V, ?> g, V v, EdgeMode mode) {
+        if (mode == EdgeMode.UNDIRECTED)
+            return List.of(g.degree(v));
+        return List.of(g.inDegree(v), g.outDegree(v));
+    }
+
+    private GraphService<Character, WeightedEdge> dijkstraFixture(EdgeMode mode) {
+        GraphService<Character, WeightedEdge> g = new GraphBuilder<Character, WeightedEdge>()
+                .withMultiplicity(Multiplicity.SIMPLE)
+                .withDirected(mode)
+                .withAcceptSelfLoop(SelfLoop.NO)
+                .withAcceptWeight(Weight.YES)
+                .build();
+        g.addEdge('A', 'B', new WeightedEdge(5));
+        g.addEdge('A', 'C', new WeightedEdge(3));
+        g.addEdge('B', 'D', new WeightedEdge(2));
+        g.addEdge('B', 'E', new WeightedEdge(6));
+        g.addEdge('C', 'E', new WeightedEdge(1));
+        g.addVertex('F');
+        return g;
+    }
+
+    private GraphService<Integer, WeightedEdge> random(Multiplicity multiplicity, EdgeMode mode, Storage storage) {
+        GraphService<Integer, WeightedEdge> g = new GraphBuilder<Integer, WeightedEdge>()
+                .withMultiplicity(multiplicity)
+                .withDirected(mode)
+                .withAcceptSelfLoop(SelfLoop.YES)
+                .withAcceptWeight(Weight.YES)
+                .withStorage(storage)
+                .build();
+        Random random = new Random(10);
+        for (int i = 0; i < 80; i++)
+            g.addVertex(i);
+        for (int i = 0; i < 300; i++) {
+            int from = random.nextInt(80);
+            int to = random.nextInt(80);
+            if (multiplicity == Multiplicity.MULTIPLE || !g.removeEdge(from, to))
+                g.addEdge(from, to, new WeightedEdge(random.nextInt(20), "e" + i));
+        }
+        for (int i = 0; i < 80; i += 11)
+            g.removeVertex(i);
+        return g;
+    }
+
+    @Test
+    public void testRoundTripDijkstraFixtures() throws IOException {
+        for (EdgeMode mode : EdgeMode.values()) {
+            GraphService<Character, WeightedEdge> g = dijkstraFixture(mode);
+            Path file = dir.resolve("dijkstra-" + mode);
+            GraphFiles.write(g, file, GraphCodec.characters(), WEIGHTED_EDGES);
+            MappedGraph<Character, WeightedEdge> mapped = GraphFiles.open(file, GraphCodec.characters(), WEIGHTED_EDGES);
+
+            assertEquals(g.getType(), mapped.getType());
+            assertEquals(mode == EdgeMode.DIRECTED, mapped.isDirected());
+            assertTrue(mapped.isWeighted());
+            assertTrue(mapped.hasEdgeProperties());
+            assertEquals(g.numberOfVertices(), mapped.numberOfVertices());
+            assertEquals(g.numberOfEdges(), mapped.numberOfEdges());
+            assertEquals(order(g.getBFS('A')), order(mapped.getBFS('A')));
+            assertEquals(mode == EdgeMode.DIRECTED ? 2 : 3, mapped.outDegree('B'));
+            assertEquals(0, mapped.outDegree('F'));
+
+            for (char to = 'A'; to <= 'F'; to++)
+                assertEquals(g.shortestPath('A', to).getShortestPathTo(to), mapped.shortestPath('A', to).getShortestPathTo(to),
+                        "A -> " + to + " " + mode);
+
+            GraphService<Character, WeightedEdge> reloaded = mapped.toGraph(new GraphBuilder<Character, WeightedEdge>()
+                    .withMultiplicity(Multiplicity.SIMPLE)
+                    .withDirected(mode)
+                    .withAcceptSelfLoop(SelfLoop.NO)
+                    .withAcceptWeight(Weight.YES));
+            assertEquals(g.numberOfEdges(), reloaded.numberOfEdges());
+            assertEquals(g.dijkstra('A').getDistances(), reloaded.dijkstra('A').getDistances());
+            for (char v = 'A'; v <= 'F'; v++)
+                assertEquals(degrees(g, v, mode), degrees(reloaded, v, mode));
+        }
+    }
+
+    @Test
+    public void testEdgePropertiesKeepListOrder() throws IOException {
+        GraphService<Character, WeightedEdge> g = dijkstraFixture(EdgeMode.DIRECTED);
+        Path file = dir.resolve("edges");
+        GraphFiles.write(g, file, GraphCodec.characters(), WEIGHTED_EDGES);
+        MappedGraph<Character, WeightedEdge> mapped = GraphFiles.open(file, GraphCodec.characters(), WEIGHTED_EDGES);
+
+        assertEquals(List.of('B', 'C'), mapped.neighbours('A'));
+        assertEquals(List.of(new WeightedEdge(5), new WeightedEdge(3)), mapped.edgesFrom('A'));
+        assertEquals(List.of(), mapped.edgesFrom('D'));
+    }
+
+    @Test
+    public void testRoundTripRandomGraphs() throws IOException {
+        for (Multiplicity multiplicity : Multiplicity.values()) {
+            for (EdgeMode mode : EdgeMode.values()) {
+                GraphService<Integer, WeightedEdge> g = random(multiplicity, mode, Storage.SPARSE);
+                String name = multiplicity + " " + mode;
+                Path file = dir.resolve("random-" + multiplicity + "-" + mode);
+                GraphFiles.write(g, file, GraphCodec.integers(), WEIGHTED_EDGES);
+                MappedGraph<Integer, WeightedEdge> mapped = GraphFiles.open(file, GraphCodec.integers(), WEIGHTED_EDGES);
+
+                assertEquals(g.numberOfVertices(), mapped.numberOfVertices(), name);
+                assertEquals(g.numberOfEdges(), mapped.numberOfEdges(), name);
+                assertEquals(order(g.getBFS(1)), order(mapped.getBFS(1)), name);
+
+                CsrGraph<Integer, WeightedEdge> csr = mapped.toCsrGraph();
+                assertEquals(g.numberOfEdges(), csr.numberOfEdges(), name);
+                assertEquals(order(g.getDFS(1)), order(csr.getDFS(1)), name);
+
+                GraphService<Integer, WeightedEdge> reloaded = mapped.toGraph(new GraphBuilder<Integer, WeightedEdge>()
+                        .withMultiplicity(multiplicity)
+                        .withDirected(mode)
+                        .withAcceptSelfLoop(SelfLoop.YES)
+                        .withAcceptWeight(Weight.YES));
+                assertEquals(g.numberOfEdges(), reloaded.numberOfEdges(), name);
+                assertEquals(g.getVertices(), reloaded.getVertices(), name);
+                for (Integer v : g.getVertices())
+                    assertEquals(degrees(g, v, mode), degrees(reloaded, v, mode), name + " " + v);
+                // dirigido: cada lista se vuelve a cargar en el mismo orden
+                if (mode == EdgeMode.DIRECTED)
+                    assertEquals(order(g.getBFS(1)), order(reloaded.getBFS(1)), name);
+            }
+        }
+    }
+
+    @Test
+    public void testStructureOnlyFromDenseStorage() throws IOException {
+        GraphService<Integer, WeightedEdge> g = random(Multiplicity.SIMPLE, EdgeMode.UNDIRECTED, Storage.DENSE);
+        Path file = dir.resolve("dense");
+        GraphFiles.write(g, file, GraphCodec.integers(), null);
+        MappedGraph<Integer, WeightedEdge> mapped = GraphFiles.open(file, GraphCodec.integers(), WEIGHTED_EDGES);
+
+        assertFalse(mapped.hasEdgeProperties());
+        assertEquals(g.numberOfEdges(), mapped.numberOfEdges());
+        assertEquals(order(g.getBFS(1)), order(mapped.getBFS(1)));
+        assertEquals(g.shortestPath(1, 50).getShortestPathTo(50), mapped.shortestPath(1, 50).getShortestPathTo(50));
+        assertThrows(RuntimeException.class, () -> mapped.edgesFrom(1));
+        assertThrows(RuntimeException.class, () -> mapped.toGraph(new GraphBuilder<>()));
+    }
+
+    @Test
+    public void testExceptionForEdgePropertiesOfDenseStorage() {
+        GraphService<Integer, WeightedEdge> g = random(Multiplicity.SIMPLE, EdgeMode.DIRECTED, Storage.DENSE);
+        assertThrows(RuntimeException.class,
+                () -> GraphFiles.write(g, dir.resolve("dense-edges"), GraphCodec.integers(), WEIGHTED_EDGES));
+    }
+
+    @Test
+    public void testExceptionForNotAGraphFile() throws IOException {
+        Path file = dir.resolve("garbage");
+        Files.write(file, new byte[200]);
+        assertThrows(RuntimeException.class, () -> GraphFiles.open(file, GraphCodec.integers(), null));
+
+        Path empty = dir.resolve("empty");
+        Files.write(empty, new byte[0]);
+        assertThrows(RuntimeException.class, () -> GraphFiles.open(empty, GraphCodec.integers(), null));
+    }
+
+    @Test
+    public void testExceptionForMissingVertex() throws IOException {
+        Path file = dir.resolve("missing");
+        GraphFiles.write(dijkstraFixture(EdgeMode.DIRECTED), file, GraphCodec.characters(), null);
+        MappedGraph<Character, WeightedEdge> mapped = GraphFiles.open(file, GraphCodec.characters(), null);
+
+        assertEquals(-1, mapped.idOf('Z'));
+        assertThrows(RuntimeException.class, () -> mapped.outDegree('Z'));
+        assertThrows(RuntimeException.class, () -> mapped.shortestPath('A', 'Z'));
+    }
+
+    @Test
+    public void testLookupDoesNotDecodeEveryVertex() throws IOException {
+        // cuenta cuantos vertices se decodifican desde el archivo
+        int[] reads = new int[1];
+        GraphCodec<String> counting = new GraphCodec<String>() {
+            @Override
+            public void write(String value, DataOutput out) throws IOException {
+                GraphCodec.strings().write(value, out);
+            }
+
+            @Override
+            public String read(ByteBuffer in) {
+                reads[0]++;
+                return GraphCodec.strings().read(in);
+            }
+        };
+        GraphService<String, WeightedEdge> g = new GraphBuilder<String, WeightedEdge>()
+                .withMultiplicity(Multiplicity.SIMPLE)
+                .withDirected(EdgeMode.UNDIRECTED)
+                .withAcceptSelfLoop(SelfLoop.NO)
+                .withAcceptWeight(Weight.YES)
+                .build();
+        for (int i = 0; i + 1 < 1000; i++)
+            g.addEdge("v" + i, "v" + (i + 1), new WeightedEdge(1));
+        Path file = dir.resolve("lookup");
+        GraphFiles.write(g, file, counting, null);
+        MappedGraph<String, WeightedEdge> mapped = GraphFiles.open(file, counting, null);
+
+        for (int i = 0; i < 1000; i++)
+            assertEquals(i, mapped.idOf("v" + i));
+        assertEquals(-1, mapped.idOf("v1000"));
+        assertEquals(-1, mapped.idOf(""));
+        assertEquals(0, reads[0], "idOf compara bytes, no decodifica");
+
+        DijkstraPath<String, WeightedEdge> path = mapped.shortestPath("v0", "v3");
+        assertEquals(3, path.getDistance("v3"));
+        List<Object> bfs = new ArrayList<>();
+        for (String v : mapped.getBFS("v10")) {
+            bfs.add(v);
+            if (bfs.size() == 3)
+                break;
+        }
+        assertEquals(List.of("v10", "v9", "v11"), bfs);
+        assertTrue(reads[0] < 20, "solo se decodifican los vertices del camino y del recorrido: " + reads[0]);
+    }
+}
@@ -0,0 +1,141 @@
+import core.*;
+import core.GraphService.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test cases for high-degree vertices in Multi graphs
+ * Hub adjacency lists are indexed by target: edgesBetween, removeEdge and
+ * removeVertex must behave exactly as with small lists
+ */
+public class HubAdjacencyTest {
+
+    private static AdjacencyListGraph<Integer, WeightedEdge> graph(EdgeMode mode, IncomingIndex incomingIndex) {
+        return (AdjacencyListGraph<Integer, WeightedEdge>) new GraphBuilder<Integer, WeightedEdge>()
+                .withMultiplicity(Multiplicity.MULTIPLE)
+                .withDirected(mode)
+                .withAcceptSelfLoop(SelfLoop.YES)
+                .withAcceptWeight(Weight.YES)
+                .withIncomingIndex(incomingIndex)
+                .build();
+    }
+
+    // el modelo: los ejes {from, to, weight} en orden de insercion
+    private static List<WeightedEdge> expectedBetween(List<int[]> edges, int from, int to, boolean directed) {
+        List<WeightedEdge> between = new ArrayList<>();
+        for (int[] edge : edges)
+            if ((edge[0] == from && edge[1] == to) || (!directed && edge[0] == to && edge[1] == from))
+                between.add(new WeightedEdge(edge[2], "e" + edge[3]));
+        return between;
+    }
+
+    @Test
+    public void testEdgesBetweenKeepInsertionOrder() {
+        AdjacencyListGraph<Integer, WeightedEdge> g = graph(EdgeMode.DIRECTED, IncomingIndex.NO);
+        List<WeightedEdge> toSeven = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            WeightedEdge edge = new WeightedEdge(i, "e" + i);
+            g.addEdge(0, i % 50, edge);
+            if (i % 50 == 7)
+                toSeven.add(edge);
+        }
+
+        assertEquals(toSeven, g.edgesBetween(0, 7));
+        assertEquals(500, g.outDegree(0));
+        assertTrue(g.edgesBetween(7, 0).isEmpty());
+        assertTrue(g.edgesBetween(0, 99).isEmpty());
+
+        // el BFS ve los vecinos en el orden del primer eje hacia cada uno
+        List<Integer> bfs = new ArrayList<>();
+        for (Integer v : g.getBFS(0))
+            bfs.add(v);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++)
+            expected.add(i);
+        assertEquals(expected, bfs);
+    }
+
+    @Test
+    public void testRemoveFromHub() {
+        AdjacencyListGraph<Integer, WeightedEdge> g = graph(EdgeMode.UNDIRECTED, IncomingIndex.NO);
+        for (int i = 0; i < 200; i++)
+            g.addEdge(0, i % 10, new WeightedEdge(i, "e" + i));
+
+        assertTrue(g.removeEdge(0, 3, new WeightedEdge(13, "e13")));
+        assertFalse(g.removeEdge(0, 3, new WeightedEdge(13, "e13")));
+        assertEquals(19, g.edgesBetween(0, 3).size());
+        assertEquals(19, g.edgesBetween(3, 0).size());
+
+        // sin propiedades saca el primero
+        assertTrue(g.removeEdge(0, 4));
+        assertEquals(new WeightedEdge(14, "e14"), g.edgesBetween(4, 0).get(0));
+        assertEquals(198, g.numberOfEdges());
+
+        assertTrue(g.removeVertex(5));
+        assertEquals(178, g.numberOfEdges());
+        assertTrue(g.edgesBetween(0, 5).isEmpty());
+
+        // vuelve a ser una lista chica y sigue andando
+        for (int v = 1; v < 10; v++)
+            while (g.removeEdge(0, v))
+                ;
+        assertEquals(20, g.numberOfEdges());
+        assertEquals(Arrays.asList(new WeightedEdge(0, "e0"), new WeightedEdge(10, "e10")),
+                g.edgesBetween(0, 0).subList(0, 2));
+        g.addEdge(0, 1, new WeightedEdge(1, "again"));
+        assertEquals(Arrays.asList(new WeightedEdge(1, "again")), g.edgesBetween(1, 0));
+    }
+
+    @Test
+    public void testRandomOperationsAgainstModel() {
+        for (EdgeMode mode : EdgeMode.values()) {
+            for (IncomingIndex incomingIndex : IncomingIndex.values()) {
+                AdjacencyListGraph<Integer, WeightedEdge> g = graph(mode, incomingIndex);
+                boolean directed = mode == EdgeMode.DIRECTED;
+                List<int[]> edges = new ArrayList<>();
+                Random random = new Random(17);
+                for (int op = 0; op < 4000; op++) {
+                    // casi todos los ejes tocan al hub 0
+                    int from = random.nextInt(4) == 0 ? random.nextInt(30) : 0;
+                    int to = random.nextInt(30);
+                    int weight = random.nextInt(3);
+                    int choice = random.nextInt(10);
+                    if (choice < 6) {
+                        g.addEdge(from, to, new WeightedEdge(weight, "e" + op));
+                        edges.add(new int[] { from, to, weight, op });
+                    } else if (choice < 8) {
+                        // el primero en orden de insercion
+                        int[] first = null;
+                        for (int[] edge : edges)
+                            if ((edge[0] == from && edge[1] == to) || (!directed && edge[0] == to && edge[1] == from)) {
+                                first = edge;
+                                break;
+                            }
+                        assertEquals(first != null, g.removeEdge(from, to));
+                        if (first != null)
+                            edges.remove(first);
+                    } else if (choice < 9 && !edges.isEmpty()) {
+                        int[] edge = edges.get(random.nextInt(edges.size()));
+                        assertTrue(g.removeEdge(edge[0], edge[1], new WeightedEdge(edge[2], "e" + edge[3])));
+                        edges.remove(edge);
+                    } else if (to != 0) {
+                        g.removeVertex(to);
+                        edges.removeIf(edge -> edge[0] == to || edge[1] == to);
+                    }
+
+                    if (op % 100 == 0) {
+                        String name = mode + " " + incomingIndex + " " + op;
+                        assertEquals(edges.size(), g.numberOfEdges(), name);
+                        for (int v = 0; v < 30; v++)
+                            if (g.getVertices().contains(v))
+                                assertEquals(expectedBetween(edges, 0, v, directed), g.edgesBetween(0, v), name);
+                    }
+                }
+            }
+        }
+    }
+}
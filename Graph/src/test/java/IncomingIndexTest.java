@@ -0,0 +1,134 @@
+import core.*;
+import core.GraphService.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+
+/**
+ * Test cases for the optional incoming edge index (IncomingIndex.YES)
+ * A graph with the index must behave exactly like one without it
+ */
+public class IncomingIndexTest {
+
+    private GraphService<Integer, WeightedEdge> build(Multiplicity multiplicity, IncomingIndex index) {
+        return new GraphBuilder<Integer, WeightedEdge>()
+                .withMultiplicity(multiplicity)
+                .withDirected(EdgeMode.DIRECTED)
+                .withAcceptSelfLoop(SelfLoop.YES)
+                .withAcceptWeight(Weight.YES)
+                .withIncomingIndex(index)
+                .build();
+    }
+
+    @Test
+    public void testInDegreeAndRemoveVertex() {
+        GraphService<Integer, WeightedEdge> g = build(Multiplicity.MULTIPLE, IncomingIndex.YES);
+        g.addEdge(1, 2, new WeightedEdge(1));
+        g.addEdge(1, 2, new WeightedEdge(2));
+        g.addEdge(3, 2, new WeightedEdge(1));
+        g.addEdge(2, 2, new WeightedEdge(1));
+        g.addEdge(2, 4, new WeightedEdge(1));
+
+        assertEquals(4, g.inDegree(2));
+        assertEquals(2, g.outDegree(2));
+
+        assertTrue(g.removeEdge(1, 2, new WeightedEdge(2)));
+        assertEquals(3, g.inDegree(2));
+
+        assertTrue(g.removeVertex(2));
+        assertEquals(0, g.outDegree(1));
+        assertEquals(0, g.outDegree(3));
+        assertEquals(0, g.inDegree(4));
+        assertEquals(0, g.numberOfEdges());
+
+        // el vertice puede volver a agregarse con su indice vacio
+        g.addEdge(4, 2, new WeightedEdge(1));
+        assertEquals(1, g.inDegree(2));
+    }
+
+    @Test
+    public void testSameBehaviourWithAndWithoutIndex() {
+        for (Multiplicity multiplicity : Multiplicity.values()) {
+            GraphService<Integer, WeightedEdge> plain = build(multiplicity, IncomingIndex.NO);
+            GraphService<Integer, WeightedEdge> indexed = build(multiplicity, IncomingIndex.YES);
+
+            Random random = new Random(99);
+            for (int step = 0; step < 3000; step++) {
+                int from = random.nextInt(60);
+                int to = random.nextInt(60);
+                int action = random.nextInt(10);
+                if (action < 6) {
+                    WeightedEdge edge = new WeightedEdge(1 + random.nextInt(3));
+                    if (multiplicity == Multiplicity.MULTIPLE || !plain.getVertices().contains(from)
+                            || !plain.removeEdge(from, to)) {
+                        plain.addEdge(from, to, edge);
+                        indexed.addEdge(from, to, edge);
+                    } else {
+                        assertTrue(indexed.removeEdge(from, to));
+                    }
+                } else if (action < 9) {
+                    assertEquals(plain.removeEdge(from, to), indexed.removeEdge(from, to));
+                } else {
+                    assertEquals(plain.removeVertex(from), indexed.removeVertex(from));
+                }
+            }
+
+            assertEquals(plain.getVertices(), indexed.getVertices());
+            assertEquals(plain.numberOfEdges(), indexed.numberOfEdges());
+            for (Integer v : plain.getVertices()) {
+                assertEquals(plain.inDegree(v), indexed.inDegree(v), multiplicity + " inDegree " + v);
+                assertEquals(plain.outDegree(v), indexed.outDegree(v), multiplicity + " outDegree " + v);
+            }
+        }
+    }
+
+    @Test
+    public void testShortestPathUsesIncomingEdges() {
+        GraphService<Integer, WeightedEdge> plain = build(Multiplicity.SIMPLE, IncomingIndex.NO);
+        GraphService<Integer, WeightedEdge> indexed = build(Multiplicity.SIMPLE, IncomingIndex.YES);
+
+        Random random = new Random(5);
+        for (int i = 0; i < 600; i++) {
+            int from = random.nextInt(100);
+            int to = random.nextInt(100);
+            if (from == to || plain.getVertices().contains(from) && plain.removeEdge(from, to)) {
+                indexed.removeEdge(from, to);
+                continue;
+            }
+            WeightedEdge edge = new WeightedEdge(random.nextInt(10));
+            plain.addEdge(from, to, edge);
+            indexed.addEdge(from, to, edge);
+        }
+
+        for (int source = 0; source < 100; source += 13) {
+            if (!plain.getVertices().contains(source))
+                continue;
+            for (int target = 0; target < 100; target += 7) {
+                if (!plain.getVertices().contains(target))
+                    continue;
+                assertEquals(plain.shortestPath(source, target).getDistances().get(target),
+                        indexed.shortestPath(source, target).getDistances().get(target), source + " -> " + target);
+            }
+        }
+    }
+
+    @Test
+    public void testIgnoredForUndirectedAndDense() {
+        GraphService<Character, WeightedEdge> undirected = new GraphBuilder<Character, WeightedEdge>()
+                .withDirected(EdgeMode.UNDIRECTED)
+                .withAcceptWeight(Weight.YES)
+                .withIncomingIndex(IncomingIndex.YES)
+                .build();
+        undirected.addEdge('A', 'B', new WeightedEdge(1));
+        assertTrue(undirected.removeVertex('B'));
+        assertEquals(0, undirected.degree('A'));
+
+        GraphService<Character, WeightedEdge> dense = new GraphBuilder<Character, WeightedEdge>()
+                .withAcceptWeight(Weight.YES)
+                .withStorage(Storage.DENSE)
+                .withIncomingIndex(IncomingIndex.YES)
+                .build();
+        dense.addEdge('A', 'B', new WeightedEdge(1));
+        assertEquals(1, dense.inDegree('B'));
+    }
+}
@@ -0,0 +1,155 @@
+import core.*;
+import core.GraphService.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test cases for minimumSpanningForest()
+ * The forest must be acyclic, span every component and have minimum weight
+ */
+public class MinimumSpanningForestTest {
+
+    private static AdjacencyListGraph<Integer, WeightedEdge> graph(Multiplicity multiplicity) {
+        return (AdjacencyListGraph<Integer, WeightedEdge>) new GraphBuilder<Integer, WeightedEdge>()
+                .withMultiplicity(multiplicity)
+                .withDirected(EdgeMode.UNDIRECTED)
+                .withAcceptSelfLoop(SelfLoop.YES)
+                .withAcceptWeight(Weight.YES)
+                .build();
+    }
+
+    // union-find minimo para verificar el resultado
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v)
+            v = parent[v] = parent[parent[v]];
+        return v;
+    }
+
+    // Kruskal de referencia sobre la lista de ejes {from, to, weight}
+    private static long kruskalWeight(int n, List<int[]> edges) {
+        List<int[]> sorted = new ArrayList<>(edges);
+        sorted.sort(Comparator.comparingInt(edge -> edge[2]));
+        int[] parent = new int[n];
+        for (int v = 0; v < n; v++)
+            parent[v] = v;
+        long total = 0;
+        for (int[] edge : sorted) {
+            int a = find(parent, edge[0]);
+            int b = find(parent, edge[1]);
+            if (a != b) {
+                parent[a] = b;
+                total += edge[2];
+            }
+        }
+        return total;
+    }
+
+    // sin ciclos y con un eje menos que vertices por arbol
+    private static void assertForest(int n, SpanningForest<Integer, WeightedEdge> forest) {
+        int[] parent = new int[n];
+        for (int v = 0; v < n; v++)
+            parent[v] = v;
+        for (int i = 0; i < forest.numberOfEdges(); i++) {
+            int a = find(parent, forest.source(i));
+            int b = find(parent, forest.target(i));
+            assertNotEquals(a, b, "cycle at edge " + i);
+            parent[a] = b;
+            assertEquals(forest.edge(i).getWeight(), forest.weight(i));
+        }
+        assertEquals(n - forest.treeCount(), forest.numberOfEdges());
+    }
+
+    @Test
+    public void testClassicExample() {
+        // el ejemplo de Cormen et al.: peso 37
+        AdjacencyListGraph<Integer, WeightedEdge> g = graph(Multiplicity.SIMPLE);
+        int[][] edges = { { 0, 1, 4 }, { 0, 7, 8 }, { 1, 2, 8 }, { 1, 7, 11 }, { 2, 3, 7 }, { 2, 8, 2 }, { 2, 5, 4 },
+                { 3, 4, 9 }, { 3, 5, 14 }, { 4, 5, 10 }, { 5, 6, 2 }, { 6, 7, 1 }, { 6, 8, 6 }, { 7, 8, 7 } };
+        for (int[] edge : edges)
+            g.addEdge(edge[0], edge[1], new WeightedEdge(edge[2]));
+
+        SpanningForest<Integer, WeightedEdge> forest = g.minimumSpanningForest();
+        assertEquals(37, forest.totalWeight());
+        assertEquals(8, forest.numberOfEdges());
+        assertEquals(1, forest.treeCount());
+        assertForest(9, forest);
+    }
+
+    @Test
+    public void testDisconnectedGraph() {
+        AdjacencyListGraph<Integer, WeightedEdge> g = graph(Multiplicity.SIMPLE);
+        g.addEdge(0, 1, new WeightedEdge(3));
+        g.addEdge(1, 2, new WeightedEdge(1));
+        g.addEdge(0, 2, new WeightedEdge(2));
+        g.addEdge(3, 4, new WeightedEdge(5));
+        g.addEdge(4, 4, new WeightedEdge(0));
+        g.addVertex(5);
+
+        SpanningForest<Integer, WeightedEdge> forest = g.minimumSpanningForest();
+        assertEquals(3, forest.treeCount());
+        assertEquals(3, forest.numberOfEdges());
+        assertEquals(1 + 2 + 5, forest.totalWeight());
+        assertForest(6, forest);
+    }
+
+    @Test
+    public void testMultigraphTakesLightestParallelEdge() {
+        AdjacencyListGraph<Integer, WeightedEdge> g = graph(Multiplicity.MULTIPLE);
+        g.addEdge(0, 1, new WeightedEdge(9, "heavy"));
+        g.addEdge(0, 1, new WeightedEdge(2, "light"));
+        g.addEdge(1, 0, new WeightedEdge(5, "middle"));
+
+        SpanningForest<Integer, WeightedEdge> forest = g.minimumSpanningForest();
+        assertEquals(1, forest.numberOfEdges());
+        assertEquals("light", forest.edge(0).getLabel());
+    }
+
+    @Test
+    public void testLargeRandomGraphs() {
+        // mas ejes que SpanningForests.KRUSKAL_EDGES: pasa por las fases de Boruvka
+        for (Multiplicity multiplicity : Multiplicity.values()) {
+            int n = 30_000;
+            AdjacencyListGraph<Integer, WeightedEdge> g = graph(multiplicity);
+            List<int[]> edges = new ArrayList<>();
+            Random random = new Random(multiplicity.ordinal());
+            for (int v = 0; v < n; v++)
+                g.addVertex(v);
+            for (int i = 0; i < 120_000; i++) {
+                int from = random.nextInt(n);
+                int to = random.nextInt(n);
+                int weight = random.nextInt(50);
+                if (multiplicity == Multiplicity.SIMPLE && from == to)
+                    continue;
+                if (multiplicity == Multiplicity.SIMPLE && g.removeEdge(from, to)) {
+                    g.addEdge(from, to, new WeightedEdge(weight));
+                    edges.removeIf(edge -> (edge[0] == from && edge[1] == to) || (edge[0] == to && edge[1] == from));
+                } else {
+                    g.addEdge(from, to, new WeightedEdge(weight));
+                }
+                edges.add(new int[] { from, to, weight });
+            }
+
+            SpanningForest<Integer, WeightedEdge> forest = g.minimumSpanningForest();
+            assertForest(n, forest);
+            assertEquals(kruskalWeight(n, edges), (long) forest.totalWeight(), multiplicity.name());
+        }
+    }
+
+    @Test
+    public void testExceptions() {
+        GraphService<Integer, WeightedEdge> directed = new GraphBuilder<Integer, WeightedEdge>()
+                .withDirected(EdgeMode.DIRECTED)
+                .withAcceptWeight(Weight.YES)
+                .build();
+        assertThrows(RuntimeException.class, () -> ((AdjacencyListGraph<Integer, WeightedEdge>) directed).minimumSpanningForest());
+
+        GraphService<Integer, EmptyEdgeProp> unweighted = new GraphBuilder<Integer, EmptyEdgeProp>()
+                .withDirected(EdgeMode.UNDIRECTED)
+                .build();
+        assertThrows(RuntimeException.class, () -> ((AdjacencyListGraph<Integer, EmptyEdgeProp>) unweighted).minimumSpanningForest());
+    }
+}
@@ -2,6 +2,11 @@ import core.*;
 import core.GraphService.*;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 /**
  * Test cases for numberOfEdges() method implementation
@@ -9,6 +14,11 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 public class NumberOfEdgesTest {
 
+    // DenseStorageTest lo redefine para correr la suite con Storage.DENSE
+    protected Storage storage() {
+        return Storage.SPARSE;
+    }
+
     @Test
     public void testCasoDeUsoA_SimpleDirectedGraph() {
         // Caso de Uso A: Grafo simple dirigido sin self-loops
@@ -17,6 +27,7 @@ public class NumberOfEdgesTest {
                 .withDirected(EdgeMode.DIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
 
         g.addEdge('E', 'B', new EmptyEdgeProp());
@@ -42,6 +53,7 @@ public class NumberOfEdgesTest {
                 .withDirected(EdgeMode.DIRECTED)
                 .withAcceptSelfLoop(SelfLoop.YES)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
 
         g.addEdge('E', 'B', new EmptyEdgeProp());
@@ -117,6 +129,7 @@ public class NumberOfEdgesTest {
                 .withDirected(EdgeMode.UNDIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
 
         g.addEdge('A', 'B', new EmptyEdgeProp());
@@ -134,6 +147,7 @@ public class NumberOfEdgesTest {
                 .withDirected(EdgeMode.UNDIRECTED)
                 .withAcceptSelfLoop(SelfLoop.YES)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
 
         g.addEdge('A', 'B', new EmptyEdgeProp());
@@ -151,6 +165,7 @@ public class NumberOfEdgesTest {
                 .withDirected(EdgeMode.DIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
 
         assertEquals(0, g.numberOfEdges(), "Grafo vacío debe tener 0 aristas");
@@ -164,6 +179,7 @@ public class NumberOfEdgesTest {
                 .withDirected(EdgeMode.DIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
 
         g.addVertex('A');
@@ -191,4 +207,58 @@ public class NumberOfEdgesTest {
 
         assertEquals(5, g.numberOfEdges(), "Multigrafo no dirigido con múltiples self-loops");
     }
-} 
\ No newline at end of file
+
+    @Test
+    public void testCountersAfterMutationHeavySequence() {
+        // numberOfEdges ya no recorre el grafo: se contrasta con un modelo que
+        // cuenta los ejes por par de vertices despues de cada operacion
+        for (Multiplicity multiplicity : Multiplicity.values()) {
+            for (EdgeMode mode : EdgeMode.values()) {
+                GraphService<Integer, WeightedEdge> g = new GraphBuilder<Integer, WeightedEdge>()
+                        .withMultiplicity(multiplicity)
+                        .withDirected(mode)
+                        .withAcceptSelfLoop(SelfLoop.YES)
+                        .withAcceptWeight(Weight.YES)
+                        .withStorage(multiplicity == Multiplicity.SIMPLE ? storage() : Storage.SPARSE)
+                        .build();
+                Map<List<Integer>, Integer> model = new HashMap<>();
+                Random random = new Random(17);
+
+                for (int step = 0; step < 4000; step++) {
+                    int from = random.nextInt(25);
+                    int to = random.nextInt(25);
+                    List<Integer> key = key(mode, from, to);
+                    int action = random.nextInt(20);
+                    if (action < 11) {
+                        if (multiplicity == Multiplicity.SIMPLE && model.getOrDefault(key, 0) > 0)
+                            continue;
+                        g.addEdge(from, to, new WeightedEdge(1));
+                        model.merge(key, 1, Integer::sum);
+                    } else if (action < 16) {
+                        boolean expected = model.getOrDefault(key, 0) > 0;
+                        assertEquals(expected, g.removeEdge(from, to));
+                        if (expected)
+                            model.merge(key, -1, Integer::sum);
+                    } else if (action < 19) {
+                        boolean expected = model.getOrDefault(key, 0) > 0;
+                        assertEquals(expected, g.removeEdge(from, to, new WeightedEdge(1)));
+                        if (expected)
+                            model.merge(key, -1, Integer::sum);
+                    } else {
+                        g.removeVertex(from);
+                        model.keySet().removeIf(edge -> edge.contains(from));
+                    }
+
+                    int expectedEdges = model.values().stream().mapToInt(Integer::intValue).sum();
+                    assertEquals(expectedEdges, g.numberOfEdges(), multiplicity + " " + mode + " step " + step);
+                }
+            }
+        }
+    }
+
+    private static List<Integer> key(EdgeMode mode, int from, int to) {
+        if (mode == EdgeMode.UNDIRECTED && from > to)
+            return Arrays.asList(to, from);
+        return Arrays.asList(from, to);
+    }
+}
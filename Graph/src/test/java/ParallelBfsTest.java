@@ -0,0 +1,103 @@
+import core.*;
+import core.GraphService.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test cases for parallelBfs()
+ * Hop distances must match a sequential BFS, including when the search
+ * switches to bottom-up steps
+ */
+public class ParallelBfsTest {
+
+    @Test
+    public void testSmallGraph() {
+        for (Storage storage : Storage.values()) {
+            GraphService<Character, EmptyEdgeProp> g = new GraphBuilder<Character, EmptyEdgeProp>()
+                    .withDirected(EdgeMode.DIRECTED)
+                    .withStorage(storage)
+                    .build();
+            g.addEdge('A', 'B', new EmptyEdgeProp());
+            g.addEdge('A', 'C', new EmptyEdgeProp());
+            g.addEdge('B', 'D', new EmptyEdgeProp());
+            g.addEdge('C', 'D', new EmptyEdgeProp());
+            g.addEdge('D', 'E', new EmptyEdgeProp());
+            g.addEdge('F', 'A', new EmptyEdgeProp());
+
+            VertexLabels<Character> hops = g.parallelBfs('A');
+            assertEquals(0, hops.get('A'), storage.name());
+            assertEquals(1, hops.get('C'), storage.name());
+            assertEquals(2, hops.get('D'), storage.name());
+            assertEquals(3, hops.get('E'), storage.name());
+            assertEquals(-1, hops.get('F'), "F no es alcanzable desde A");
+            assertEquals(4, hops.count(), "niveles 0..3");
+        }
+    }
+
+    @Test
+    public void testSourceMustExist() {
+        GraphService<Character, EmptyEdgeProp> g = new GraphBuilder<Character, EmptyEdgeProp>().build();
+        g.addVertex('A');
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> g.parallelBfs('Z'));
+        assertTrue(exception.getMessage().contains("Vertex does not exist"));
+    }
+
+    @Test
+    public void testLargeRandomGraphsMatchSequentialBfs() {
+        // grafos con frentes grandes: se reparten en varias tareas y pasan a bottom-up
+        int n = 30000;
+        for (EdgeMode mode : EdgeMode.values()) {
+            GraphService<Integer, EmptyEdgeProp> g = new GraphBuilder<Integer, EmptyEdgeProp>()
+                    .withMultiplicity(Multiplicity.MULTIPLE)
+                    .withDirected(mode)
+                    .withAcceptSelfLoop(SelfLoop.YES)
+                    .build();
+            List<List<Integer>> adjacency = new ArrayList<>();
+            for (int v = 0; v < n; v++) {
+                g.addVertex(v);
+                adjacency.add(new ArrayList<>());
+            }
+            Random random = new Random(8);
+            EmptyEdgeProp edge = new EmptyEdgeProp();
+            for (int e = 0; e < 8 * n; e++) {
+                int from = random.nextInt(n);
+                int to = random.nextInt(n);
+                g.addEdge(from, to, edge);
+                adjacency.get(from).add(to);
+                if (mode == EdgeMode.UNDIRECTED)
+                    adjacency.get(to).add(from);
+            }
+
+            for (int source : new int[] { 0, 777, n - 1 }) {
+                int[] expected = sequentialBfs(adjacency, source);
+                VertexLabels<Integer> hops = g.parallelBfs(source);
+                for (int v = 0; v < n; v++) {
+                    assertEquals(expected[v], hops.get(v), mode + " " + source + " -> " + v);
+                }
+            }
+        }
+    }
+
+    private static int[] sequentialBfs(List<List<Integer>> adjacency, int source) {
+        int[] distances = new int[adjacency.size()];
+        Arrays.fill(distances, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        distances[source] = 0;
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            for (int v : adjacency.get(u)) {
+                if (distances[v] == -1) {
+                    distances[v] = distances[u] + 1;
+                    queue.add(v);
+                }
+            }
+        }
+        return distances;
+    }
+}
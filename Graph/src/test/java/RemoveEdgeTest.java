@@ -9,6 +9,11 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 public class RemoveEdgeTest {
 
+    // DenseStorageTest lo redefine para correr la suite con Storage.DENSE
+    protected Storage storage() {
+        return Storage.SPARSE;
+    }
+
     @Test
     public void testRemoveAnyEdgeDirectedGraph() {
         // Test removeEdge(V, V) en grafo dirigido
@@ -122,6 +127,7 @@ public class RemoveEdgeTest {
                 .withDirected(EdgeMode.DIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.YES)
+                .withStorage(storage())
                 .build();
 
         g.addEdge('A', 'B', new WeightedEdge(1));
@@ -148,6 +154,7 @@ public class RemoveEdgeTest {
                 .withDirected(EdgeMode.DIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.YES)
+                .withStorage(storage())
                 .build();
 
         g.addEdge('A', 'B', new WeightedEdge(1));
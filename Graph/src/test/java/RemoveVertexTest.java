@@ -9,6 +9,11 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 public class RemoveVertexTest {
 
+    // DenseStorageTest lo redefine para correr la suite con Storage.DENSE
+    protected Storage storage() {
+        return Storage.SPARSE;
+    }
+
     @Test
     public void testCasoDeUsoA_RemoveVertexWithIncomingAndOutgoingEdges() {
         // Caso de Uso A: Remover vértice G que tiene aristas entrantes y salientes
@@ -110,6 +115,7 @@ public class RemoveVertexTest {
                 .withDirected(EdgeMode.DIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.YES)
+                .withStorage(storage())
                 .build();
 
         g.addVertex('A');
@@ -127,6 +133,7 @@ public class RemoveVertexTest {
                 .withDirected(EdgeMode.DIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.YES)
+                .withStorage(storage())
                 .build();
 
         g.addVertex('A');
@@ -0,0 +1,138 @@
+import core.*;
+import core.GraphService.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test cases for the opt-in dijkstra cache of SimpleOrDefault
+ * Any change to the graph must invalidate the cached results
+ */
+public class ShortestPathCacheTest {
+
+    private SimpleOrDefault<Character, WeightedEdge> graph;
+
+    @BeforeEach
+    public void setUp() {
+        // A --(5)--> B --(2)--> D
+        // |          |
+        // (3)        (6)
+        // v          v
+        // C --(1)--> E
+        graph = (SimpleOrDefault<Character, WeightedEdge>) new GraphBuilder<Character, WeightedEdge>()
+                .withMultiplicity(Multiplicity.SIMPLE)
+                .withDirected(EdgeMode.DIRECTED)
+                .withAcceptSelfLoop(SelfLoop.NO)
+                .withAcceptWeight(Weight.YES)
+                .build();
+        graph.addEdge('A', 'B', new WeightedEdge(5));
+        graph.addEdge('A', 'C', new WeightedEdge(3));
+        graph.addEdge('B', 'D', new WeightedEdge(2));
+        graph.addEdge('B', 'E', new WeightedEdge(6));
+        graph.addEdge('C', 'E', new WeightedEdge(1));
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertNull(graph.getShortestPathCache());
+        assertNotSame(graph.dijkstra('A'), graph.dijkstra('A'));
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        graph.enableShortestPathCache(1 << 20);
+        ShortestPathCache<Character, WeightedEdge> cache = graph.getShortestPathCache();
+
+        DijkstraPath<Character, WeightedEdge> first = graph.dijkstra('A');
+        assertSame(first, graph.dijkstra('A'));
+        graph.dijkstra('B');
+        assertSame(first, graph.dijkstra('A'));
+
+        assertEquals(2, cache.hits());
+        assertEquals(2, cache.misses());
+        assertEquals(0, cache.evictions());
+        assertEquals(2, cache.size());
+        assertEquals(4, first.getDistance('E'));
+    }
+
+    @Test
+    public void testEveryChangeInvalidates() {
+        graph.enableShortestPathCache(1 << 20);
+        ShortestPathCache<Character, WeightedEdge> cache = graph.getShortestPathCache();
+        assertEquals(7, graph.dijkstra('A').getDistance('D'));
+
+        graph.addEdge('C', 'D', new WeightedEdge(1));
+        assertEquals(4, graph.dijkstra('A').getDistance('D'));
+
+        graph.removeEdge('C', 'D');
+        assertEquals(7, graph.dijkstra('A').getDistance('D'));
+
+        graph.addVertex('F');
+        assertEquals(Integer.MAX_VALUE, graph.dijkstra('A').getDistance('F'));
+
+        graph.removeVertex('B');
+        DijkstraPath<Character, WeightedEdge> result = graph.dijkstra('A');
+        assertEquals(Integer.MAX_VALUE, result.getDistance('D'));
+        assertFalse(result.getDistances().containsKey('B'));
+
+        assertEquals(0, cache.hits());
+        assertEquals(5, cache.misses());
+        assertEquals(4, cache.invalidations());
+    }
+
+    @Test
+    public void testLruEvictionByMemory() {
+        // cada resultado: 2 arreglos de 5 ints
+        graph.enableShortestPathCache(2 * 40);
+        ShortestPathCache<Character, WeightedEdge> cache = graph.getShortestPathCache();
+
+        graph.dijkstra('A');
+        graph.dijkstra('B');
+        graph.dijkstra('A');   // B pasa a ser el menos usado
+        graph.dijkstra('C');   // sale B
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictions());
+        assertTrue(cache.bytes() <= cache.maxBytes());
+
+        graph.dijkstra('A');
+        graph.dijkstra('B');
+        assertEquals(2, cache.hits());
+        assertEquals(4, cache.misses());
+        assertEquals(2, cache.evictions());
+    }
+
+    @Test
+    public void testResultIsNotAffectedByLaterChanges() {
+        DijkstraPath<Character, WeightedEdge> result = graph.dijkstra('A');
+        graph.addEdge('A', 'D', new WeightedEdge(1));
+        graph.removeVertex('C');
+
+        assertEquals(7, result.getDistance('D'));
+        assertEquals("[A, C, E]", result.getShortestPathTo('E'));
+        assertEquals(1, graph.dijkstra('A').getDistance('D'));
+    }
+
+    @Test
+    public void testDistancesView() {
+        Map<Character, Integer> expected = new HashMap<>();
+        expected.put('A', 0);
+        expected.put('B', 5);
+        expected.put('C', 3);
+        expected.put('D', 7);
+        expected.put('E', 4);
+
+        Map<Character, Integer> distances = graph.dijkstra('A').getDistances();
+        assertEquals(expected, distances);
+        assertEquals(expected, new HashMap<>(distances));
+        assertNull(distances.get('Z'));
+        assertThrows(UnsupportedOperationException.class, () -> distances.put('Z', 1));
+        assertThrows(RuntimeException.class, () -> graph.dijkstra('A').getDistance('Z'));
+    }
+
+    @Test
+    public void testExceptionForInvalidSize() {
+        assertThrows(RuntimeException.class, () -> graph.enableShortestPathCache(0));
+    }
+}
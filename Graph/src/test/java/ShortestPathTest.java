@@ -0,0 +1,169 @@
+import core.*;
+import core.GraphService.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+
+/**
+ * Test cases for point-to-point shortestPath (bidirectional Dijkstra and A*)
+ * Results must agree with the full single-source dijkstra
+ */
+public class ShortestPathTest {
+
+    private GraphService<Character, WeightedEdge> directed(Storage storage) {
+        // mismo grafo dirigido que DijkstraTest
+        GraphService<Character, WeightedEdge> g = new GraphBuilder<Character, WeightedEdge>()
+                .withDirected(EdgeMode.DIRECTED)
+                .withAcceptWeight(Weight.YES)
+                .withStorage(storage)
+                .build();
+        g.addEdge('A', 'B', new WeightedEdge(5));
+        g.addEdge('A', 'C', new WeightedEdge(3));
+        g.addEdge('B', 'D', new WeightedEdge(2));
+        g.addEdge('B', 'E', new WeightedEdge(6));
+        g.addEdge('C', 'E', new WeightedEdge(1));
+        return g;
+    }
+
+    private GraphService<Character, WeightedEdge> undirected(Storage storage) {
+        // mismo grafo no dirigido que DijkstraTest
+        GraphService<Character, WeightedEdge> g = new GraphBuilder<Character, WeightedEdge>()
+                .withDirected(EdgeMode.UNDIRECTED)
+                .withAcceptWeight(Weight.YES)
+                .withStorage(storage)
+                .build();
+        g.addEdge('A', 'B', new WeightedEdge(4));
+        g.addEdge('A', 'C', new WeightedEdge(7));
+        g.addEdge('B', 'D', new WeightedEdge(2));
+        g.addEdge('B', 'E', new WeightedEdge(3));
+        g.addEdge('C', 'E', new WeightedEdge(1));
+        return g;
+    }
+
+    @Test
+    public void testDirectedGraph() {
+        for (Storage storage : Storage.values()) {
+            GraphService<Character, WeightedEdge> g = directed(storage);
+
+            DijkstraPath<Character, WeightedEdge> result = g.shortestPath('A', 'E');
+            assertEquals("[A, C, E]", result.getShortestPathTo('E'), storage.name());
+            assertEquals(4, result.getDistances().get('E').intValue(), storage.name());
+
+            result = g.shortestPath('A', 'D');
+            assertEquals("[A, B, D]", result.getShortestPathTo('D'), storage.name());
+            assertEquals(7, result.getDistances().get('D').intValue(), storage.name());
+        }
+    }
+
+    @Test
+    public void testUndirectedGraphIsBidirectional() {
+        for (Storage storage : Storage.values()) {
+            GraphService<Character, WeightedEdge> g = undirected(storage);
+
+            DijkstraPath<Character, WeightedEdge> result = g.shortestPath('A', 'D');
+            assertEquals("[A, B, D]", result.getShortestPathTo('D'), storage.name());
+            assertEquals(6, result.getDistances().get('D').intValue(), storage.name());
+
+            result = g.shortestPath('D', 'C');
+            assertEquals("[D, B, E, C]", result.getShortestPathTo('C'), storage.name());
+            assertEquals(6, result.getDistances().get('C').intValue(), storage.name());
+        }
+    }
+
+    @Test
+    public void testSameVertexAndUnreachable() {
+        GraphService<Character, WeightedEdge> g = directed(Storage.SPARSE);
+        g.addVertex('F');
+
+        DijkstraPath<Character, WeightedEdge> result = g.shortestPath('B', 'B');
+        assertEquals("[B]", result.getShortestPathTo('B'));
+        assertEquals(0, result.getDistances().get('B').intValue());
+
+        result = g.shortestPath('A', 'F');
+        assertEquals(Integer.MAX_VALUE, result.getDistances().get('F').intValue());
+        assertEquals("[]", result.getShortestPathTo('F'));
+
+        result = g.shortestPath('E', 'A');
+        assertEquals("[]", result.getShortestPathTo('A'), "no hay ejes de vuelta");
+    }
+
+    @Test
+    public void testExceptions() {
+        GraphService<Character, WeightedEdge> g = directed(Storage.SPARSE);
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> g.shortestPath('A', 'Z'));
+        assertTrue(exception.getMessage().contains("Target vertex does not exist"));
+        exception = assertThrows(RuntimeException.class, () -> g.shortestPath(null, 'A'));
+        assertTrue(exception.getMessage().contains("Source vertex does not exist"));
+
+        GraphService<Character, WeightedEdge> multi = new GraphBuilder<Character, WeightedEdge>()
+                .withMultiplicity(Multiplicity.MULTIPLE)
+                .withAcceptWeight(Weight.YES)
+                .build();
+        multi.addEdge('A', 'B', new WeightedEdge(1));
+        exception = assertThrows(RuntimeException.class, () -> multi.shortestPath('A', 'B'));
+        assertTrue(exception.getMessage().contains("Dijkstra algorithm is only allowed for simple graphs"));
+
+        GraphService<Character, EmptyEdgeProp> unweighted = new GraphBuilder<Character, EmptyEdgeProp>().build();
+        unweighted.addEdge('A', 'B', new EmptyEdgeProp());
+        exception = assertThrows(RuntimeException.class, () -> unweighted.shortestPath('A', 'B'));
+        assertTrue(exception.getMessage().contains("Dijkstra algorithm requires a weighted graph"));
+    }
+
+    @Test
+    public void testAStarOnGrid() {
+        // grilla de 30x30 con pesos >= 1: la distancia Manhattan es admisible
+        int side = 30;
+        for (Storage storage : Storage.values()) {
+            GraphService<Integer, WeightedEdge> g = new GraphBuilder<Integer, WeightedEdge>()
+                    .withDirected(EdgeMode.UNDIRECTED)
+                    .withAcceptWeight(Weight.YES)
+                    .withStorage(storage)
+                    .build();
+            Random random = new Random(7);
+            for (int r = 0; r < side; r++) {
+                for (int c = 0; c < side; c++) {
+                    if (c + 1 < side)
+                        g.addEdge(r * side + c, r * side + c + 1, new WeightedEdge(1 + random.nextInt(5)));
+                    if (r + 1 < side)
+                        g.addEdge(r * side + c, (r + 1) * side + c, new WeightedEdge(1 + random.nextInt(5)));
+                }
+            }
+
+            int target = side * side - 1;
+            int expected = g.dijkstra(0).getDistances().get(target);
+
+            DijkstraPath<Integer, WeightedEdge> aStar = g.shortestPath(0, target,
+                    v -> (side - 1 - v / side) + (side - 1 - v % side));
+            assertEquals(expected, aStar.getDistances().get(target).intValue(), storage.name());
+            assertEquals(expected, g.shortestPath(0, target).getDistances().get(target).intValue(), storage.name());
+        }
+    }
+
+    @Test
+    public void testRandomGraphsAgreeWithDijkstra() {
+        Random random = new Random(1234);
+        for (EdgeMode mode : EdgeMode.values()) {
+            GraphService<Integer, WeightedEdge> g = new GraphBuilder<Integer, WeightedEdge>()
+                    .withDirected(mode)
+                    .withAcceptWeight(Weight.YES)
+                    .build();
+            for (int i = 0; i < 200; i++)
+                g.addVertex(i);
+            for (int i = 0; i < 800; i++) {
+                int from = random.nextInt(200);
+                int to = random.nextInt(200);
+                if (from != to && !g.removeEdge(from, to))
+                    g.addEdge(from, to, new WeightedEdge(random.nextInt(20)));
+            }
+
+            for (int source = 0; source < 200; source += 23) {
+                DijkstraPath<Integer, WeightedEdge> full = g.dijkstra(source);
+                for (int target = 0; target < 200; target += 11) {
+                    DijkstraPath<Integer, WeightedEdge> single = g.shortestPath(source, target);
+                    assertEquals(full.getDistances().get(target), single.getDistances().get(target),
+                            mode + " " + source + " -> " + target);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+import core.*;
+import core.GraphService.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Test cases for stronglyConnectedComponents()
+ * Tests component ids, their reverse topological order and large inputs
+ */
+public class StronglyConnectedComponentsTest {
+
+    private GraphService<Character, EmptyEdgeProp> directed(Storage storage) {
+        // componentes {A, B, C}, {D, E}, {F}
+        GraphService<Character, EmptyEdgeProp> g = new GraphBuilder<Character, EmptyEdgeProp>()
+                .withDirected(EdgeMode.DIRECTED)
+                .withStorage(storage)
+                .build();
+        g.addEdge('A', 'B', new EmptyEdgeProp());
+        g.addEdge('B', 'C', new EmptyEdgeProp());
+        g.addEdge('C', 'A', new EmptyEdgeProp());
+        g.addEdge('C', 'D', new EmptyEdgeProp());
+        g.addEdge('D', 'E', new EmptyEdgeProp());
+        g.addEdge('E', 'D', new EmptyEdgeProp());
+        g.addEdge('E', 'F', new EmptyEdgeProp());
+        return g;
+    }
+
+    @Test
+    public void testDirectedComponents() {
+        for (Storage storage : Storage.values()) {
+            VertexLabels<Character> scc = directed(storage).stronglyConnectedComponents();
+
+            assertEquals(3, scc.count(), storage.name());
+            assertEquals(scc.get('A'), scc.get('B'));
+            assertEquals(scc.get('A'), scc.get('C'));
+            assertEquals(scc.get('D'), scc.get('E'));
+            assertNotEquals(scc.get('A'), scc.get('D'));
+            assertNotEquals(scc.get('D'), scc.get('F'));
+
+            // orden topologico inverso: los ejes van de ids mayores a menores
+            assertTrue(scc.get('A') > scc.get('D'), storage.name());
+            assertTrue(scc.get('D') > scc.get('F'), storage.name());
+        }
+    }
+
+    @Test
+    public void testRecomputedAfterEachChange() {
+        // la copia Csr se reutiliza entre llamadas: cada cambio la tiene que descartar
+        for (Storage storage : Storage.values()) {
+            GraphService<Character, EmptyEdgeProp> g = directed(storage);
+            assertEquals(3, g.stronglyConnectedComponents().count(), storage.name());
+            assertTrue(g.hasCycle(), storage.name());
+
+            g.addEdge('F', 'A', new EmptyEdgeProp());
+            assertEquals(1, g.stronglyConnectedComponents().count(), storage.name());
+
+            g.removeEdge('F', 'A');
+            assertEquals(3, g.stronglyConnectedComponents().count(), storage.name());
+
+            g.addVertex('G');
+            assertEquals(4, g.stronglyConnectedComponents().count(), storage.name());
+
+            g.removeVertex('C');
+            g.removeVertex('E');
+            assertEquals(5, g.stronglyConnectedComponents().count(), storage.name());
+            assertFalse(g.hasCycle(), storage.name());
+        }
+    }
+
+    @Test
+    public void testUndirectedGivesConnectedComponents() {
+        GraphService<Character, EmptyEdgeProp> g = new GraphBuilder<Character, EmptyEdgeProp>()
+                .withDirected(EdgeMode.UNDIRECTED)
+                .build();
+        g.addEdge('A', 'B', new EmptyEdgeProp());
+        g.addEdge('C', 'B', new EmptyEdgeProp());
+        g.addEdge('D', 'E', new EmptyEdgeProp());
+        g.addVertex('F');
+
+        VertexLabels<Character> components = g.stronglyConnectedComponents();
+        assertEquals(3, components.count());
+        assertEquals(components.get('A'), components.get('C'));
+        assertNotEquals(components.get('A'), components.get('D'));
+        assertNotEquals(components.get('D'), components.get('F'));
+    }
+
+    @Test
+    public void testLabelsArrayAndRemovedVertices() {
+        GraphService<Character, EmptyEdgeProp> g = directed(Storage.SPARSE);
+        g.removeVertex('B');
+
+        VertexLabels<Character> scc = g.stronglyConnectedComponents();
+        // sin B el ciclo A -> B -> C -> A se rompe
+        assertEquals(4, scc.count());
+        assertFalse(scc.contains('B'));
+        assertThrows(RuntimeException.class, () -> scc.get('B'));
+
+        Set<Character> seen = new HashSet<>();
+        for (int id = 0; id < scc.bound(); id++) {
+            if (scc.vertexAt(id) == null) {
+                assertEquals(-1, scc.labels()[id], "un id libre no tiene componente");
+            } else {
+                seen.add(scc.vertexAt(id));
+                assertEquals(scc.get(scc.vertexAt(id)), scc.labels()[id]);
+            }
+        }
+        assertEquals(g.getVertices(), seen);
+        assertEquals(5, scc.toMap().size());
+    }
+
+    @Test
+    public void testRandomGraphAgainstReachability() {
+        // dos vertices estan en la misma componente sii cada uno alcanza al otro
+        Random random = new Random(11);
+        GraphService<Integer, EmptyEdgeProp> g = new GraphBuilder<Integer, EmptyEdgeProp>()
+                .withDirected(EdgeMode.DIRECTED)
+                .withAcceptSelfLoop(SelfLoop.YES)
+                .build();
+        for (int i = 0; i < 60; i++)
+            g.addVertex(i);
+        for (int i = 0; i < 90; i++) {
+            int from = random.nextInt(60);
+            int to = random.nextInt(60);
+            if (!g.removeEdge(from, to))
+                g.addEdge(from, to, new EmptyEdgeProp());
+        }
+
+        VertexLabels<Integer> scc = g.stronglyConnectedComponents();
+        boolean[][] reach = new boolean[60][60];
+        for (int v = 0; v < 60; v++) {
+            for (Integer w : g.getBFS(v))
+                reach[v][w] = true;
+        }
+        for (int v = 0; v < 60; v++) {
+            for (int w = 0; w < 60; w++) {
+                assertEquals(reach[v][w] && reach[w][v], scc.get(v) == scc.get(w), v + " " + w);
+                if (reach[v][w] && scc.get(v) != scc.get(w))
+                    assertTrue(scc.get(v) > scc.get(w), "orden topologico inverso " + v + " " + w);
+            }
+        }
+    }
+
+    @Test
+    public void testLongCycle() {
+        int length = 1_000_000;
+        GraphService<Integer, EmptyEdgeProp> g = new GraphBuilder<Integer, EmptyEdgeProp>()
+                .withDirected(EdgeMode.DIRECTED)
+                .build();
+        EmptyEdgeProp edge = new EmptyEdgeProp();
+        for (int i = 0; i + 1 < length; i++)
+            g.addEdge(i, i + 1, edge);
+        assertEquals(length, g.stronglyConnectedComponents().count());
+
+        g.addEdge(length - 1, 0, edge);
+        assertEquals(1, g.stronglyConnectedComponents().count());
+    }
+}
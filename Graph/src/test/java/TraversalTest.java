@@ -13,6 +13,11 @@ import java.util.List;
  * Tests both print methods and iterable methods
  */
 public class TraversalTest {
+
+    // DenseStorageTest lo redefine para correr la suite con Storage.DENSE
+    protected Storage storage() {
+        return Storage.SPARSE;
+    }
     
     private GraphService<Character, EmptyEdgeProp> directedGraph;
     private GraphService<Character, EmptyEdgeProp> undirectedGraph;
@@ -29,6 +34,7 @@ public class TraversalTest {
                 .withDirected(EdgeMode.DIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
         
         directedGraph.addEdge('A', 'B', new EmptyEdgeProp());
@@ -45,6 +51,7 @@ public class TraversalTest {
                 .withDirected(EdgeMode.UNDIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
         
         undirectedGraph.addEdge('A', 'B', new EmptyEdgeProp());
@@ -221,6 +228,7 @@ public class TraversalTest {
                 .withDirected(EdgeMode.DIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
         
         singleVertexGraph.addVertex('X');
@@ -248,6 +256,7 @@ public class TraversalTest {
                 .withDirected(EdgeMode.DIRECTED)
                 .withAcceptSelfLoop(SelfLoop.NO)
                 .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
                 .build();
         
         disconnectedGraph.addEdge('A', 'B', new EmptyEdgeProp());
@@ -271,4 +280,63 @@ public class TraversalTest {
         assertTrue(dfsResult.contains('B'), "DFS should contain B");
         assertFalse(dfsResult.contains('C'), "DFS should not reach isolated vertex C");
     }
-} 
\ No newline at end of file
+
+    @Test
+    public void testTraversalAfterVertexIdReuse() {
+        // removeVertex libera ids que despues reusan los vertices nuevos
+        GraphService<Integer, EmptyEdgeProp> g = new GraphBuilder<Integer, EmptyEdgeProp>()
+                .withMultiplicity(Multiplicity.SIMPLE)
+                .withDirected(EdgeMode.UNDIRECTED)
+                .withAcceptSelfLoop(SelfLoop.NO)
+                .withAcceptWeight(Weight.NO)
+                .withStorage(storage())
+                .build();
+        for (int i = 0; i < 6; i++)
+            g.addEdge(i, i + 1, new EmptyEdgeProp());
+        g.removeVertex(2);
+        g.removeVertex(4);
+        g.addEdge(1, 10, new EmptyEdgeProp());
+        g.addEdge(10, 11, new EmptyEdgeProp());
+        g.addEdge(11, 3, new EmptyEdgeProp());
+
+        List<Integer> bfsResult = new ArrayList<>();
+        for (Integer vertex : g.getBFS(0))
+            bfsResult.add(vertex);
+        assertEquals(List.of(0, 1, 10, 11, 3), bfsResult);
+
+        List<Integer> dfsResult = new ArrayList<>();
+        for (Integer vertex : g.getDFS(3))
+            dfsResult.add(vertex);
+        assertEquals(List.of(3, 11, 10, 1, 0), dfsResult);
+        assertTrue(g.isBipartite());
+
+        g.addEdge(1, 11, new EmptyEdgeProp());
+        assertFalse(g.isBipartite());
+    }
+
+    @Test
+    public void testPrintDFSOnLongPath() {
+        // antes printDFS era recursivo y un camino largo agotaba la pila.
+        // Queda en SPARSE: con 10^5 vertices la matriz densa ocupa ~1.25 GB
+        GraphService<Integer, EmptyEdgeProp> g = new GraphBuilder<Integer, EmptyEdgeProp>()
+                .withMultiplicity(Multiplicity.SIMPLE)
+                .withDirected(EdgeMode.DIRECTED)
+                .withAcceptSelfLoop(SelfLoop.NO)
+                .withAcceptWeight(Weight.NO)
+                .build();
+        for (int i = 0; i < 100_000; i++)
+            g.addEdge(i, i + 1, new EmptyEdgeProp());
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(baos));
+        try {
+            g.printDFS(0);
+        } finally {
+            System.setOut(originalOut);
+        }
+        String output = baos.toString().trim();
+        assertTrue(output.startsWith("DFS from 0: 0 1 2 "));
+        assertTrue(output.endsWith(" 99999 100000"));
+    }
+}
@@ -0,0 +1,112 @@
+import core.*;
+import core.GraphService.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+
+/**
+ * Test cases for the edge weight extraction registered on GraphBuilder
+ * and for Dijkstra over the indexed heap
+ */
+public class WeightFunctionTest {
+
+    // eje sin getWeight(): solo se puede usar con una funcion de peso
+    static class Road {
+        final int km;
+
+        Road(int km) {
+            this.km = km;
+        }
+    }
+
+    static class NoWeight {
+    }
+
+    @Test
+    public void testCustomWeightFunction() {
+        GraphService<Character, Road> g = new GraphBuilder<Character, Road>()
+                .withDirected(EdgeMode.DIRECTED)
+                .withWeightFunction(road -> road.km)
+                .build();
+
+        g.addEdge('A', 'B', new Road(5));
+        g.addEdge('A', 'C', new Road(3));
+        g.addEdge('C', 'B', new Road(1));
+
+        DijkstraPath<Character, Road> result = g.dijkstra('A');
+        assertEquals(4, result.getDistances().get('B').intValue());
+        assertEquals("[A, C, B]", result.getShortestPathTo('B'));
+    }
+
+    @Test
+    public void testCoreWeightedEdgeIsReadNatively() {
+        GraphService<Character, core.WeightedEdge> g = new GraphBuilder<Character, core.WeightedEdge>()
+                .withDirected(EdgeMode.UNDIRECTED)
+                .withAcceptWeight(Weight.YES)
+                .build();
+
+        g.addEdge('A', 'B', new core.WeightedEdge(2));
+        g.addEdge('B', 'C', new core.WeightedEdge(2));
+        g.addEdge('A', 'C', new core.WeightedEdge(7));
+
+        assertEquals(4, g.dijkstra('A').getDistances().get('C').intValue());
+    }
+
+    @Test
+    public void testEdgeWithoutGetWeightIsRejected() {
+        GraphService<Character, NoWeight> g = new GraphBuilder<Character, NoWeight>()
+                .withAcceptWeight(Weight.YES)
+                .build();
+
+        assertThrows(RuntimeException.class, () -> g.addEdge('A', 'B', new NoWeight()));
+        assertEquals(0, g.numberOfVertices(), "la validacion ocurre antes de crear los vertices");
+    }
+
+    @Test
+    public void testWeightFunctionOnDenseStorage() {
+        GraphService<Character, Road> g = new GraphBuilder<Character, Road>()
+                .withDirected(EdgeMode.UNDIRECTED)
+                .withWeightFunction(road -> road.km)
+                .withStorage(Storage.DENSE)
+                .build();
+
+        g.addEdge('A', 'B', new Road(5));
+        g.addEdge('B', 'C', new Road(1));
+
+        assertEquals(6, g.dijkstra('A').getDistances().get('C').intValue());
+    }
+
+    @Test
+    public void testSameDistancesAsDenseReference() {
+        // grafo aleatorio: el Dijkstra con heap indexado debe coincidir con el O(V^2) denso
+        GraphService<Integer, WeightedEdge> sparse = new GraphBuilder<Integer, WeightedEdge>()
+                .withDirected(EdgeMode.DIRECTED)
+                .withAcceptWeight(Weight.YES)
+                .build();
+        GraphService<Integer, WeightedEdge> dense = new GraphBuilder<Integer, WeightedEdge>()
+                .withDirected(EdgeMode.DIRECTED)
+                .withAcceptWeight(Weight.YES)
+                .withStorage(Storage.DENSE)
+                .build();
+
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            int from = random.nextInt(300);
+            int to = random.nextInt(300);
+            if (from == to || sparse.getVertices().contains(from) && sparse.removeEdge(from, to)) {
+                // ya existia: se saca tambien del denso para mantenerlos iguales
+                dense.removeEdge(from, to);
+                continue;
+            }
+            WeightedEdge edge = new WeightedEdge(random.nextInt(50));
+            sparse.addEdge(from, to, edge);
+            dense.addEdge(from, to, edge);
+        }
+
+        for (int source = 0; source < 300; source += 37) {
+            if (!sparse.getVertices().contains(source))
+                continue;
+            assertEquals(dense.dijkstra(source).getDistances(), sparse.dijkstra(source).getDistances());
+        }
+    }
+}
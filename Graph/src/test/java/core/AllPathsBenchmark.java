@@ -0,0 +1,59 @@
+package core;
+
+import core.GraphService.*;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+// Caminos de 0 a n-1 en un DAG denso: una lista con todos contra allPaths, countPaths y parallelCountPaths.
+public class AllPathsBenchmark {
+
+	public static void main(String[] args) {
+		int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 26;
+		double density = args.length > 1 ? Double.parseDouble(args[1]) : 0.8;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+		GraphService<Integer, EmptyEdgeProp> g = new GraphBuilder<Integer, EmptyEdgeProp>()
+				.withDirected(EdgeMode.DIRECTED)
+				.build();
+		Random random = new Random(1);
+		for (int i = 0; i < vertices; i++)
+			for (int j = i + 1; j < vertices; j++)
+				if (random.nextDouble() < density)
+					g.addEdge(i, j, new EmptyEdgeProp());
+		int end = vertices - 1;
+
+		System.out.printf("%d vertices, %d edges, %d threads%n", vertices, g.numberOfEdges(),
+				Runtime.getRuntime().availableProcessors());
+		System.out.printf("%-18s %14s %12s %12s%n", "mode", "paths", "ms", "MB");
+		for (int round = 0; round < rounds; round++) {
+			long before = usedMemory();
+			long start = System.nanoTime();
+			List<List<Integer>> all = g.allPaths(0, end).collect(Collectors.toList());
+			report("collect", all.size(), start, usedMemory() - before);
+			all = null;
+
+			before = usedMemory();
+			start = System.nanoTime();
+			report("stream", g.allPaths(0, end).count(), start, usedMemory() - before);
+
+			start = System.nanoTime();
+			report("countPaths", g.countPaths(0, end), start, 0);
+
+			start = System.nanoTime();
+			report("parallelCount", g.parallelCountPaths(0, end, Integer.MAX_VALUE), start, 0);
+		}
+	}
+
+	private static void report(String mode, long paths, long start, long bytes) {
+		System.out.printf("%-18s %14d %12.1f %12.1f%n", mode, paths, (System.nanoTime() - start) / 1e6,
+				Math.max(0, bytes) / 1e6);
+	}
+
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++)
+			System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
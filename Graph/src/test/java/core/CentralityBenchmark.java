@@ -0,0 +1,53 @@
+package core;
+
+import core.GraphService.*;
+import java.util.Random;
+
+// PageRank, grado, closeness y betweenness sobre un grafo dirigido al azar.
+public class CentralityBenchmark {
+
+	public static void main(String[] args) {
+		int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		int edges = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+		int samples = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+		int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+
+		GraphService<Integer, EmptyEdgeProp> g = new GraphBuilder<Integer, EmptyEdgeProp>()
+				.withMultiplicity(Multiplicity.MULTIPLE)
+				.withDirected(EdgeMode.DIRECTED)
+				.withAcceptSelfLoop(SelfLoop.YES)
+				.build();
+		Random random = new Random(1);
+		for (int i = 0; i < vertices; i++)
+			g.addVertex(i);
+		for (int e = 0; e < edges; e++)
+			g.addEdge(random.nextInt(vertices), random.nextInt(vertices), new EmptyEdgeProp());
+		CsrGraph<Integer, EmptyEdgeProp> csr = g.freeze();
+		g = null;
+
+		int threads = Runtime.getRuntime().availableProcessors();
+		System.out.printf("%d vertices, %d edges, %d threads%n", vertices, csr.numberOfEdges(), threads);
+		System.out.printf("%-22s %12s %12s%n", "mode", "ms", "rounds");
+		for (int round = 0; round < rounds; round++) {
+			long start = System.nanoTime();
+			report("pageRank 1 thread", start, Centrality.of(csr).withThreads(1).pageRank().rounds());
+
+			start = System.nanoTime();
+			report("pageRank " + threads + " threads", start,
+					Centrality.of(csr).withThreads(threads).pageRank().rounds());
+
+			start = System.nanoTime();
+			report("degree", start, Centrality.of(csr).degree().rounds());
+
+			start = System.nanoTime();
+			report("closeness", start, Centrality.of(csr).withSamples(samples).closeness().rounds());
+
+			start = System.nanoTime();
+			report("betweenness", start, Centrality.of(csr).withSamples(samples).betweenness().rounds());
+		}
+	}
+
+	private static void report(String mode, long start, int rounds) {
+		System.out.printf("%-22s %12.1f %12d%n", mode, (System.nanoTime() - start) / 1e6, rounds);
+	}
+}
@@ -0,0 +1,97 @@
+package core;
+
+import core.GraphService.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Operaciones por segundo con varios hilos: un lock por llamada contra Concurrency.SNAPSHOT.
+public class ConcurrentGraphBenchmark {
+
+	public static void main(String[] args) throws InterruptedException {
+		int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+		int edges = args.length > 1 ? Integer.parseInt(args[1]) : 250_000;
+		int threads = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+		double seconds = args.length > 3 ? Double.parseDouble(args[3]) : 2;
+
+		System.out.printf("%d vertices, %d edges, %d threads, %d processors%n", vertices, edges, threads,
+				Runtime.getRuntime().availableProcessors());
+		System.out.printf("%-8s %16s %16s %10s%n", "writes", "global lock/s", "snapshot/s", "ratio");
+		for (double writes : new double[] { 0, 0.001, 0.01, 0.1, 0.5 }) {
+			double locked = run(build(Concurrency.NONE, vertices, edges), true, writes, vertices, threads, seconds);
+			double snapshot = run(build(Concurrency.SNAPSHOT, vertices, edges), false, writes, vertices, threads,
+					seconds);
+			System.out.printf("%-8s %16.0f %16.0f %10.2f%n", writes * 100 + "%", locked, snapshot, snapshot / locked);
+		}
+	}
+
+	private static GraphService<Integer, WeightedEdge> build(Concurrency concurrency, int vertices, int edges) {
+		GraphService<Integer, WeightedEdge> g = new GraphBuilder<Integer, WeightedEdge>()
+				.withMultiplicity(Multiplicity.MULTIPLE)
+				.withDirected(EdgeMode.UNDIRECTED)
+				.withAcceptSelfLoop(SelfLoop.YES)
+				.withAcceptWeight(Weight.YES)
+				.withConcurrency(concurrency)
+				.build();
+		Random random = new Random(1);
+		if (g instanceof ConcurrentGraph) {
+			((ConcurrentGraph<Integer, WeightedEdge>) g).update(batch -> fill(batch, random, vertices, edges));
+		} else {
+			fill(g, random, vertices, edges);
+		}
+		return g;
+	}
+
+	private static void fill(GraphService<Integer, WeightedEdge> g, Random random, int vertices, int edges) {
+		for (int v = 0; v < vertices; v++)
+			g.addVertex(v);
+		for (int e = 0; e < edges; e++)
+			g.addEdge(random.nextInt(vertices), random.nextInt(vertices), new WeightedEdge(1 + random.nextInt(9)));
+	}
+
+	private static double run(GraphService<Integer, WeightedEdge> g, boolean lock, double writes, int vertices,
+			int threads, double seconds) throws InterruptedException {
+		Object global = new Object();
+		AtomicLong operations = new AtomicLong();
+		long end = System.nanoTime() + (long) (seconds * 1e9);
+		List<Thread> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			Random random = new Random(t);
+			Thread worker = new Thread(() -> {
+				long done = 0;
+				while (System.nanoTime() < end) {
+					if (lock) {
+						synchronized (global) {
+							operation(g, random, writes, vertices);
+						}
+					} else {
+						operation(g, random, writes, vertices);
+					}
+					done++;
+				}
+				operations.addAndGet(done);
+			});
+			workers.add(worker);
+			worker.start();
+		}
+		for (Thread worker : workers)
+			worker.join();
+		return operations.get() / seconds;
+	}
+
+	private static void operation(GraphService<Integer, WeightedEdge> g, Random random, double writes, int vertices) {
+		int from = random.nextInt(vertices);
+		if (random.nextDouble() < writes) {
+			g.removeEdge(from, random.nextInt(vertices));
+			g.addEdge(from, random.nextInt(vertices), new WeightedEdge(1 + random.nextInt(9)));
+		} else if (random.nextInt(100) == 0) {
+			g.isBipartite();
+		} else {
+			int visited = 0;
+			for (Integer v : g.getBFS(from))
+				if (++visited == 256)
+					break;
+		}
+	}
+}
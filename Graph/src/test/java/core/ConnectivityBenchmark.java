@@ -0,0 +1,63 @@
+package core;
+
+import core.GraphService.*;
+import java.util.Random;
+
+// hasCycle y stronglyConnectedComponents sobre un grafo dirigido al azar que cambia entre rondas.
+public class ConnectivityBenchmark {
+
+	public static void main(String[] args) {
+		int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		int edges = args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+		GraphService<Integer, EmptyEdgeProp> g = new GraphBuilder<Integer, EmptyEdgeProp>()
+				.withMultiplicity(Multiplicity.MULTIPLE)
+				.withDirected(EdgeMode.DIRECTED)
+				.withAcceptSelfLoop(SelfLoop.YES)
+				.build();
+		Random random = new Random(1);
+		EmptyEdgeProp edge = new EmptyEdgeProp();
+		long start = System.nanoTime();
+		for (int v = 0; v < vertices; v++)
+			g.addVertex(v);
+		for (int e = 0; e < edges; e++)
+			g.addEdge(random.nextInt(vertices), random.nextInt(vertices), edge);
+		System.out.printf("%d vertices, %d edges, built in %.1f s%n", vertices, edges, (System.nanoTime() - start) / 1e9);
+
+		IndexedGraph<Integer> view = ((AdjacencyListGraph<Integer, EmptyEdgeProp>) g).indexedView();
+		System.out.printf("%-22s %10s %14s%n", "operation", "ms", "Medges/s");
+		for (int round = 0; round < rounds; round++) {
+			start = System.nanoTime();
+			Csr csr = Csr.of(view, false);
+			report("csr copy", start, edges);
+
+			start = System.nanoTime();
+			boolean cycle = Connectivity.hasCycle(csr, true);
+			report("hasCycle (on csr)", start, edges);
+
+			start = System.nanoTime();
+			int count = Connectivity.stronglyConnectedComponents(csr, view.vertexIndex()).count();
+			report("scc (on csr)", start, edges);
+
+			// un cambio descarta la copia Csr del grafo: la primera llamada la
+			// rearma y la siguiente la reutiliza
+			g.addVertex(vertices + round);
+			start = System.nanoTime();
+			g.hasCycle();
+			report("hasCycle() + copy", start, edges);
+
+			start = System.nanoTime();
+			g.stronglyConnectedComponents();
+			report("stronglyConnected()", start, edges);
+
+			if (round == rounds - 1)
+				System.out.printf("cycle=%s components=%d%n", cycle, count);
+		}
+	}
+
+	private static void report(String name, long start, int edges) {
+		double millis = (System.nanoTime() - start) / 1e6;
+		System.out.printf("%-22s %10.1f %14.1f%n", name, millis, edges / millis / 1e3);
+	}
+}
@@ -0,0 +1,66 @@
+package core;
+
+import core.GraphService.*;
+import java.util.Random;
+
+// Memoria y tiempo de recorrido de las listas de adyacencia contra su foto CSR (freeze()).
+public class CsrGraphBenchmark {
+
+	public static void main(String[] args) {
+		int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+		int edges = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+		long before = usedMemory();
+		GraphService<Integer, WeightedEdge> g = new GraphBuilder<Integer, WeightedEdge>()
+				.withMultiplicity(Multiplicity.MULTIPLE)
+				.withDirected(EdgeMode.DIRECTED)
+				.withAcceptSelfLoop(SelfLoop.YES)
+				.withAcceptWeight(Weight.YES)
+				.build();
+		Random random = new Random(1);
+		for (int v = 0; v < vertices; v++)
+			g.addVertex(v);
+		// un WeightedEdge por eje, como en un uso real
+		for (int e = 0; e < edges; e++)
+			g.addEdge(random.nextInt(vertices), random.nextInt(vertices), new WeightedEdge(1 + random.nextInt(9)));
+		long graphBytes = usedMemory() - before;
+
+		before = usedMemory();
+		long start = System.nanoTime();
+		CsrGraph<Integer, WeightedEdge> csr = g.freeze();
+		double freezeMillis = (System.nanoTime() - start) / 1e6;
+		long csrBytes = usedMemory() - before;
+
+		System.out.printf("%d vertices, %d edges, freeze() in %.1f ms%n", vertices, edges, freezeMillis);
+		System.out.printf("%-14s %10s %12s %14s %14s%n", "layout", "MB", "bytes/edge", "bfs ms", "scc ms");
+		for (int round = 0; round < rounds; round++) {
+			report("adjacency", g, graphBytes, edges);
+			report("csr", csr, csrBytes, edges);
+		}
+	}
+
+	private static void report(String name, GraphService<Integer, WeightedEdge> g, long bytes, int edges) {
+		long start = System.nanoTime();
+		int visited = 0;
+		for (Integer v : g.getBFS(0))
+			visited++;
+		double bfsMillis = (System.nanoTime() - start) / 1e6;
+
+		start = System.nanoTime();
+		int components = g.stronglyConnectedComponents().count();
+		double sccMillis = (System.nanoTime() - start) / 1e6;
+
+		System.out.printf("%-14s %10.1f %12.1f %14.1f %14.1f%n", name, bytes / 1e6, (double) bytes / edges,
+				bfsMillis, sccMillis);
+		if (visited + components < 0)
+			System.out.println();
+	}
+
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++)
+			System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
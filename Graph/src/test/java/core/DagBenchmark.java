@@ -0,0 +1,65 @@
+package core;
+
+import core.GraphService.*;
+import java.util.Random;
+
+// dijkstra contra dagShortestPaths (y criticalPath) en un DAG al azar, sobre el grafo y sobre su CsrGraph.
+public class DagBenchmark {
+
+	public static void main(String[] args) {
+		int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+		int edges = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+		GraphService<Integer, WeightedEdge> g = new GraphBuilder<Integer, WeightedEdge>()
+				.withMultiplicity(Multiplicity.SIMPLE)
+				.withDirected(EdgeMode.DIRECTED)
+				.withAcceptWeight(Weight.YES)
+				.build();
+		Random random = new Random(1);
+		for (int i = 0; i < vertices; i++)
+			g.addVertex(i);
+		// cada vertice tiene ejes a vertices cercanos mas grandes (uno por tramo
+		// de 4, sin repetir), asi casi todo se alcanza desde 0
+		int degree = Math.max(1, edges / vertices);
+		for (int from = 0; from < vertices; from++)
+			for (int j = 0; j < degree; j++) {
+				int to = from + 1 + 4 * j + random.nextInt(4);
+				if (to < vertices)
+					g.addEdge(from, to, new WeightedEdge(1 + random.nextInt(100)));
+			}
+		CsrGraph<Integer, WeightedEdge> csr = g.freeze();
+
+		System.out.printf("%d vertices, %d edges%n", vertices, g.numberOfEdges());
+		System.out.printf("%-22s %12s %12s%n", "mode", "ms", "dist(n-1)");
+		for (int round = 0; round < rounds; round++) {
+			long start = System.nanoTime();
+			int distance = g.dijkstra(0).getDistance(vertices - 1);
+			report("dijkstra", start, distance);
+
+			start = System.nanoTime();
+			distance = g.dagShortestPaths(0).getDistance(vertices - 1);
+			report("dagShortestPaths", start, distance);
+
+			start = System.nanoTime();
+			int length = g.criticalPath().size();
+			report("criticalPath", start, length);
+
+			start = System.nanoTime();
+			distance = csr.dijkstra(0).getDistance(vertices - 1);
+			report("csr dijkstra", start, distance);
+
+			start = System.nanoTime();
+			distance = csr.dagShortestPaths(0).getDistance(vertices - 1);
+			report("csr dagShortestPaths", start, distance);
+
+			start = System.nanoTime();
+			length = csr.criticalPath().size();
+			report("csr criticalPath", start, length);
+		}
+	}
+
+	private static void report(String mode, long start, int value) {
+		System.out.printf("%-22s %12.1f %12d%n", mode, (System.nanoTime() - start) / 1e6, value);
+	}
+}
@@ -0,0 +1,70 @@
+package core;
+
+import core.GraphService.*;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+// Escalabilidad de DeltaStepping con 1, 2, 4 ... hilos contra dijkstra secuencial sobre la foto CSR.
+public class DeltaSteppingBenchmark {
+
+	public static void main(String[] args) {
+		int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+		int edges = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+		int maxThreads = args.length > 2 ? Integer.parseInt(args[2])
+				: Math.max(4, Runtime.getRuntime().availableProcessors());
+		int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+		double delta = args.length > 4 ? Double.parseDouble(args[4]) : 0;
+
+		GraphService<Integer, WeightedEdge> g = new GraphBuilder<Integer, WeightedEdge>()
+				.withMultiplicity(Multiplicity.SIMPLE)
+				.withDirected(EdgeMode.DIRECTED)
+				.withAcceptWeight(Weight.YES)
+				.build();
+		Random random = new Random(1);
+		for (int i = 0; i < vertices; i++)
+			g.addVertex(i);
+		// dijkstra exige grafo simple: el eje j de cada vertice cae en el tramo j
+		// de vertices / degree, asi no se repiten
+		int degree = Math.max(1, edges / vertices);
+		int stride = vertices / degree;
+		for (int from = 0; from < vertices; from++)
+			for (int j = 0; j < degree; j++) {
+				int to = (from + 1 + j * stride + random.nextInt(Math.max(1, stride - 1))) % vertices;
+				g.addEdge(from, to, new WeightedEdge(1 + random.nextInt(1000)));
+			}
+		CsrGraph<Integer, WeightedEdge> csr = g.freeze();
+		g = null;
+		Csr out = csr.csr();
+		int source = 0;
+
+		System.out.printf("%d vertices, %d edges, %d processors, delta %.1f%n", vertices, csr.numberOfEdges(),
+				Runtime.getRuntime().availableProcessors(), delta > 0 ? delta : DeltaStepping.defaultDelta(out));
+		System.out.printf("%-18s %12s %10s%n", "engine", "ms", "speedup");
+		for (int round = 0; round < rounds; round++) {
+			long start = System.nanoTime();
+			DijkstraPath<Integer, WeightedEdge> expected = csr.dijkstra(source);
+			double sequential = (System.nanoTime() - start) / 1e6;
+			System.out.printf("%-18s %12.1f %10s%n", "dijkstra", sequential, "1.00");
+
+			int[] reference = null;
+			for (int threads = 1; threads <= maxThreads; threads *= 2) {
+				ForkJoinPool pool = new ForkJoinPool(threads);
+				int[] prev = new int[out.vertexBound()];
+				start = System.nanoTime();
+				double[] dist = DeltaStepping.distances(out, csr.vertexIndex(), source, delta, pool, prev);
+				double ms = (System.nanoTime() - start) / 1e6;
+				pool.shutdown();
+				System.out.printf("%-18s %12.1f %10.2f%n", "delta " + threads + " threads", ms, sequential / ms);
+
+				for (int v = 0; v < dist.length; v++)
+					if ((int) Math.min(dist[v], Integer.MAX_VALUE) != expected.getDistance(csr.vertexIndex().vertexOf(v)))
+						throw new AssertionError("distance differs at " + v);
+				if (reference == null)
+					reference = prev;
+				else if (!Arrays.equals(reference, prev))
+					throw new AssertionError("previous vertices depend on the number of threads");
+			}
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package core;
+
+import core.GraphService.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+// Ejes por segundo al cargar una lista de ejes: split + addEdge contra EdgeListLoader.load.
+public class EdgeListLoaderBenchmark {
+
+	public static void main(String[] args) throws IOException {
+		int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+		int edges = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+		int repetitions = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+		Path file = Files.createTempFile("edges", ".txt");
+		try {
+			Random random = new Random(1);
+			try (Writer out = Files.newBufferedWriter(file)) {
+				for (int e = 0; e < edges; e++)
+					out.write(random.nextInt(vertices) + " " + random.nextInt(vertices) + " "
+							+ (1 + random.nextInt(9)) + "\n");
+			}
+			System.out.printf("%d vertices, %d edges, %d MB, %d processors%n", vertices, edges,
+					Files.size(file) >> 20, Runtime.getRuntime().availableProcessors());
+			System.out.printf("%-12s %16s %16s%n", "", "addEdge edges/s", "loader edges/s");
+
+			for (int r = 0; r < repetitions; r++) {
+				long start = System.nanoTime();
+				GraphService<Integer, WeightedEdge> byLine = lineByLine(file);
+				double lineTime = (System.nanoTime() - start) / 1e9;
+
+				start = System.nanoTime();
+				GraphService<Integer, WeightedEdge> loaded = EdgeListLoader.load(builder(), file, Integer::valueOf,
+						s -> new WeightedEdge(Integer.parseInt(s)));
+				double loaderTime = (System.nanoTime() - start) / 1e9;
+
+				if (byLine.numberOfEdges() != loaded.numberOfEdges())
+					throw new IllegalStateException("different graphs");
+				System.out.printf("%-12s %16.0f %16.0f%n", "run " + r, edges / lineTime, edges / loaderTime);
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	private static GraphBuilder<Integer, WeightedEdge> builder() {
+		return new GraphBuilder<Integer, WeightedEdge>()
+				.withMultiplicity(Multiplicity.MULTIPLE)
+				.withDirected(EdgeMode.DIRECTED)
+				.withAcceptSelfLoop(SelfLoop.YES)
+				.withAcceptWeight(Weight.YES);
+	}
+
+	private static GraphService<Integer, WeightedEdge> lineByLine(Path file) throws IOException {
+		GraphService<Integer, WeightedEdge> g = builder().build();
+		try (BufferedReader in = Files.newBufferedReader(file)) {
+			for (String line = in.readLine(); line != null; line = in.readLine()) {
+				String[] parts = line.split(" ");
+				g.addEdge(Integer.valueOf(parts[0]), Integer.valueOf(parts[1]),
+						new WeightedEdge(Integer.parseInt(parts[2])));
+			}
+		}
+		return g;
+	}
+}
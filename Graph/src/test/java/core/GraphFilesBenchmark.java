@@ -0,0 +1,69 @@
+package core;
+
+import core.GraphService.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+// GraphFiles.write / open y recorrer los buffers mapeados contra la foto en memoria.
+public class GraphFilesBenchmark {
+
+	public static void main(String[] args) throws IOException {
+		int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		int edges = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+		GraphService<Integer, WeightedEdge> g = new GraphBuilder<Integer, WeightedEdge>()
+				.withMultiplicity(Multiplicity.MULTIPLE)
+				.withDirected(EdgeMode.DIRECTED)
+				.withAcceptSelfLoop(SelfLoop.YES)
+				.withAcceptWeight(Weight.YES)
+				.build();
+		Random random = new Random(1);
+		for (int v = 0; v < vertices; v++)
+			g.addVertex(v);
+		for (int e = 0; e < edges; e++)
+			g.addEdge(random.nextInt(vertices), random.nextInt(vertices), new WeightedEdge(1 + random.nextInt(9)));
+
+		Path file = Files.createTempFile("graph", ".bin");
+		try {
+			long start = System.nanoTime();
+			GraphFiles.write(g, file, GraphCodec.integers(), null);
+			double writeMillis = (System.nanoTime() - start) / 1e6;
+			System.out.printf("%d vertices, %d edges: write %.1f ms, %.1f MB%n", vertices, edges, writeMillis,
+					Files.size(file) / 1e6);
+
+			CsrGraph<Integer, WeightedEdge> csr = g.freeze();
+			System.out.printf("%-10s %12s %14s %14s%n", "round", "open ms", "first idOf ms", "bfs ms");
+			for (int round = 0; round < rounds; round++) {
+				start = System.nanoTime();
+				MappedGraph<Integer, WeightedEdge> mapped = GraphFiles.open(file, GraphCodec.integers(), null);
+				double openMillis = (System.nanoTime() - start) / 1e6;
+
+				start = System.nanoTime();
+				if (mapped.idOf(vertices - 1) != vertices - 1)
+					System.out.println("wrong id");
+				double lookupMillis = (System.nanoTime() - start) / 1e6;
+
+				start = System.nanoTime();
+				int visited = 0;
+				for (Integer v : mapped.getBFS(0))
+					visited++;
+				double mappedMillis = (System.nanoTime() - start) / 1e6;
+
+				start = System.nanoTime();
+				for (Integer v : csr.getBFS(0))
+					visited--;
+				double csrMillis = (System.nanoTime() - start) / 1e6;
+
+				System.out.printf("%-10s %12.1f %14.3f %14.1f%n", "mapped", openMillis, lookupMillis, mappedMillis);
+				System.out.printf("%-10s %12s %14s %14.1f%n", "csr", "-", "-", csrMillis);
+				if (visited != 0)
+					System.out.println("different traversals");
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package core;
+
+import core.GraphService.*;
+import java.util.Random;
+
+// edgesBetween y removeEdge sobre un hub con muchos ejes paralelos en un multigrafo.
+public class HubAdjacencyBenchmark {
+
+	public static void main(String[] args) {
+		int hubEdges = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		int targets = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+		int operations = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+
+		GraphService<Integer, WeightedEdge> g = new GraphBuilder<Integer, WeightedEdge>()
+				.withMultiplicity(Multiplicity.MULTIPLE)
+				.withDirected(EdgeMode.DIRECTED)
+				.withAcceptWeight(Weight.YES)
+				.withIncomingIndex(IncomingIndex.YES)
+				.build();
+		AdjacencyListGraph<Integer, WeightedEdge> list = (AdjacencyListGraph<Integer, WeightedEdge>) g;
+
+		long start = System.nanoTime();
+		for (int i = 0; i < hubEdges; i++)
+			g.addEdge(0, 1 + i % targets, new WeightedEdge(i));
+		report("addEdge", hubEdges, start);
+
+		Random random = new Random(1);
+		start = System.nanoTime();
+		long found = 0;
+		for (int i = 0; i < operations; i++)
+			found += list.edgesBetween(0, 1 + random.nextInt(targets)).size();
+		report("edgesBetween", operations, start);
+
+		start = System.nanoTime();
+		int removed = 0;
+		for (int i = 0; i < operations; i++) {
+			int edge = random.nextInt(hubEdges);
+			if (g.removeEdge(0, 1 + edge % targets, new WeightedEdge(edge)))
+				removed++;
+		}
+		report("removeEdge(v, w, e)", operations, start);
+
+		start = System.nanoTime();
+		for (int i = 0; i < operations; i++)
+			g.removeEdge(0, 1 + random.nextInt(targets));
+		report("removeEdge(v, w)", operations, start);
+
+		System.out.printf("%d edges found, %d removed by property, %d edges left%n", found, removed,
+				g.numberOfEdges());
+	}
+
+	private static void report(String operation, int count, long start) {
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.printf("%-22s %10d ops %10.1f ms %14.0f ops/s%n", operation, count, seconds * 1e3,
+				count / seconds);
+	}
+}
@@ -0,0 +1,58 @@
+package core;
+
+import core.GraphService.*;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+// parallelBfs contra getBFS en un grafo no dirigido al azar, con distintos tamanos de ForkJoinPool.
+public class ParallelBfsBenchmark {
+
+	public static void main(String[] args) {
+		int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		int edges = args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+		GraphService<Integer, EmptyEdgeProp> g = new GraphBuilder<Integer, EmptyEdgeProp>()
+				.withMultiplicity(Multiplicity.MULTIPLE)
+				.withDirected(EdgeMode.UNDIRECTED)
+				.withAcceptSelfLoop(SelfLoop.YES)
+				.build();
+		Random random = new Random(1);
+		EmptyEdgeProp edge = new EmptyEdgeProp();
+		for (int v = 0; v < vertices; v++)
+			g.addVertex(v);
+		for (int e = 0; e < edges; e++)
+			g.addEdge(random.nextInt(vertices), random.nextInt(vertices), edge);
+
+		IndexedGraph<Integer> view = ((AdjacencyListGraph<Integer, EmptyEdgeProp>) g).indexedView();
+		int source = view.vertexIndex().idOf(0);
+		int cores = Runtime.getRuntime().availableProcessors();
+		System.out.printf("%d vertices, %d edges, %d cores%n", vertices, edges, cores);
+		System.out.printf("%-26s %10s%n", "engine", "ms");
+
+		for (int round = 0; round < rounds; round++) {
+			long start = System.nanoTime();
+			int visited = 0;
+			for (Integer v : g.getBFS(0))
+				visited++;
+			report("BFSIterator", start);
+
+			for (int threads = 1; threads <= cores; threads *= 2) {
+				ForkJoinPool pool = new ForkJoinPool(threads);
+				start = System.nanoTime();
+				VertexLabels<Integer> hops = ParallelBfs.hopDistances(view, source, pool);
+				report("parallelBfs " + threads + " threads", start);
+				pool.shutdown();
+
+				if (round == rounds - 1 && threads == 1)
+					System.out.printf("reached %d (iterator %d), levels %d%n",
+							Arrays.stream(hops.labels()).filter(d -> d >= 0).count(), visited, hops.count());
+			}
+		}
+	}
+
+	private static void report(String name, long start) {
+		System.out.printf("%-26s %10.1f%n", name, (System.nanoTime() - start) / 1e6);
+	}
+}
@@ -0,0 +1,60 @@
+package core;
+
+import core.GraphService.*;
+import java.util.Random;
+
+// Memoria, inDegree y removeVertex con y sin IncomingIndex.YES.
+public class ReverseIndexBenchmark {
+
+	public static void main(String[] args) {
+		int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+		int edges = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+		int removals = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+		System.out.printf("%d vertices, %d edges, %d removals%n", vertices, edges, removals);
+		System.out.printf("%-10s %12s %15s %18s%n", "index", "heap MB", "inDegree ns/op", "removeVertex ms/op");
+		for (IncomingIndex index : IncomingIndex.values())
+			run(index, vertices, edges, removals);
+	}
+
+	private static void run(IncomingIndex index, int vertices, int edges, int removals) {
+		long before = usedMemory();
+		GraphService<Integer, WeightedEdge> g = new GraphBuilder<Integer, WeightedEdge>()
+				.withMultiplicity(Multiplicity.MULTIPLE)
+				.withDirected(EdgeMode.DIRECTED)
+				.withAcceptSelfLoop(SelfLoop.YES)
+				.withAcceptWeight(Weight.YES)
+				.withIncomingIndex(index)
+				.build();
+		Random random = new Random(1);
+		for (int v = 0; v < vertices; v++)
+			g.addVertex(v);
+		for (int e = 0; e < edges; e++)
+			g.addEdge(random.nextInt(vertices), random.nextInt(vertices), new WeightedEdge(1 + random.nextInt(9)));
+		long heap = usedMemory() - before;
+
+		// con pocas consultas alcanza: sin indice cada una recorre todo el grafo
+		int queries = index == IncomingIndex.YES ? vertices : Math.min(vertices, 500);
+		long sum = 0;
+		long start = System.nanoTime();
+		for (int v = 0; v < queries; v++)
+			sum += g.inDegree(v);
+		long inDegreeNanos = (System.nanoTime() - start) / queries;
+
+		start = System.nanoTime();
+		for (int i = 0; i < removals; i++)
+			g.removeVertex(i);
+		double removeMillis = (System.nanoTime() - start) / 1e6 / removals;
+
+		System.out.printf("%-10s %12.1f %15d %18.3f%n", index, heap / 1e6, inDegreeNanos, removeMillis);
+		if (sum < 0)
+			System.out.println(g.numberOfVertices());
+	}
+
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++)
+			System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
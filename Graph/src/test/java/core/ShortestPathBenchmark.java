@@ -0,0 +1,63 @@
+package core;
+
+import core.GraphService.*;
+import java.util.Random;
+
+// Vertices que fija shortestPath(from, to) contra dijkstra(from) en una grilla con pesos al azar.
+public class ShortestPathBenchmark {
+
+	public static void main(String[] args) {
+		int side = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+		int queries = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+		Random random = new Random(1);
+		GraphService<Integer, WeightedEdge> g = new GraphBuilder<Integer, WeightedEdge>()
+				.withDirected(EdgeMode.UNDIRECTED)
+				.withAcceptWeight(Weight.YES)
+				.build();
+		for (int r = 0; r < side; r++) {
+			for (int c = 0; c < side; c++) {
+				if (c + 1 < side)
+					g.addEdge(r * side + c, r * side + c + 1, new WeightedEdge(1 + random.nextInt(9)));
+				if (r + 1 < side)
+					g.addEdge(r * side + c, (r + 1) * side + c, new WeightedEdge(1 + random.nextInt(9)));
+			}
+		}
+
+		IndexedGraph<Integer> view = ((AdjacencyListGraph<Integer, WeightedEdge>) g).indexedView();
+		VertexIndex<Integer> index = view.vertexIndex();
+
+		long fullSettled = 0, bidirectionalSettled = 0, aStarSettled = 0;
+		long fullNanos = 0, bidirectionalNanos = 0, aStarNanos = 0;
+
+		for (int q = 0; q < queries; q++) {
+			int from = random.nextInt(side * side);
+			int to = random.nextInt(side * side);
+
+			long start = System.nanoTime();
+			DijkstraPath<Integer, WeightedEdge> full = g.dijkstra(from);
+			fullNanos += System.nanoTime() - start;
+			// dijkstra(source) fija todos los alcanzables
+			fullSettled += full.getDistances().values().stream().filter(d -> d != Integer.MAX_VALUE).count();
+
+			start = System.nanoTime();
+			ShortestPaths.Route route = ShortestPaths.between(view, index.idOf(from), index.idOf(to), null);
+			bidirectionalNanos += System.nanoTime() - start;
+			bidirectionalSettled += route.settled;
+
+			int targetRow = to / side, targetColumn = to % side;
+			start = System.nanoTime();
+			route = ShortestPaths.between(view, index.idOf(from), index.idOf(to),
+					v -> Math.abs(v / side - targetRow) + Math.abs(v % side - targetColumn));
+			aStarNanos += System.nanoTime() - start;
+			aStarSettled += route.settled;
+		}
+
+		System.out.printf("grid %dx%d, %d queries%n", side, side, queries);
+		System.out.printf("%-15s %15s %12s%n", "engine", "settled/query", "ms/query");
+		System.out.printf("%-15s %15d %12.3f%n", "dijkstra", fullSettled / queries, fullNanos / 1e6 / queries);
+		System.out.printf("%-15s %15d %12.3f%n", "bidirectional", bidirectionalSettled / queries,
+				bidirectionalNanos / 1e6 / queries);
+		System.out.printf("%-15s %15d %12.3f%n", "A*", aStarSettled / queries, aStarNanos / 1e6 / queries);
+	}
+}
@@ -0,0 +1,58 @@
+package core;
+
+import core.GraphService.*;
+import java.util.Random;
+
+// dijkstra(source) repetido sin cache y con enableShortestPathCache.
+public class ShortestPathCacheBenchmark {
+
+	public static void main(String[] args) {
+		int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		int edges = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+		int hubs = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+		int queries = args.length > 3 ? Integer.parseInt(args[3]) : 500;
+
+		SimpleOrDefault<Integer, WeightedEdge> g = (SimpleOrDefault<Integer, WeightedEdge>) new GraphBuilder<Integer, WeightedEdge>()
+				.withDirected(EdgeMode.DIRECTED)
+				.withAcceptSelfLoop(SelfLoop.YES)
+				.withAcceptWeight(Weight.YES)
+				.build();
+		Random random = new Random(1);
+		for (int v = 0; v < vertices; v++)
+			g.addVertex(v);
+		for (int e = 0; e < edges; e++) {
+			int from = random.nextInt(vertices);
+			int to = random.nextInt(vertices);
+			if (!g.removeEdge(from, to))
+				g.addEdge(from, to, new WeightedEdge(1 + random.nextInt(9)));
+		}
+
+		int[] sources = new int[queries];
+		for (int q = 0; q < queries; q++)
+			sources[q] = random.nextInt(hubs);
+
+		System.out.printf("%d vertices, %d edges, %d queries over %d sources%n", vertices, g.numberOfEdges(), queries,
+				hubs);
+		run("no cache", g, sources);
+
+		// todos los origenes entran
+		g.enableShortestPathCache(hubs * 8L * vertices + 1);
+		run("cache", g, sources);
+		System.out.println(g.getShortestPathCache());
+
+		// la mitad: hay evictions
+		g.enableShortestPathCache(hubs / 2 * 8L * vertices);
+		run("half cache", g, sources);
+		System.out.println(g.getShortestPathCache());
+	}
+
+	private static void run(String name, SimpleOrDefault<Integer, WeightedEdge> g, int[] sources) {
+		long start = System.nanoTime();
+		long sum = 0;
+		for (int source : sources)
+			sum += g.dijkstra(source).getDistance(source);
+		System.out.printf("%-12s %10.1f ms%n", name, (System.nanoTime() - start) / 1e6);
+		if (sum != 0)
+			System.out.println("distance to itself is not 0");
+	}
+}
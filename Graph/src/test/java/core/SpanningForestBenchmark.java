@@ -0,0 +1,64 @@
+package core;
+
+import core.GraphService.*;
+import core.IndexedGraph.EdgeCursor;
+import java.util.Random;
+
+// minimumSpanningForest() contra un Prim secuencial sobre las listas de adyacencia.
+public class SpanningForestBenchmark {
+
+	public static void main(String[] args) {
+		int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+		int edges = args.length > 1 ? Integer.parseInt(args[1]) : 3_000_000;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+		AdjacencyListGraph<Integer, WeightedEdge> g = (AdjacencyListGraph<Integer, WeightedEdge>) new GraphBuilder<Integer, WeightedEdge>()
+				.withMultiplicity(Multiplicity.MULTIPLE)
+				.withDirected(EdgeMode.UNDIRECTED)
+				.withAcceptSelfLoop(SelfLoop.YES)
+				.withAcceptWeight(Weight.YES)
+				.build();
+		Random random = new Random(1);
+		for (int v = 0; v < vertices; v++)
+			g.addVertex(v);
+		for (int e = 0; e < edges; e++)
+			g.addEdge(random.nextInt(vertices), random.nextInt(vertices), new WeightedEdge(1 + random.nextInt(1000)));
+
+		System.out.printf("%d vertices, %d edges, %d threads%n", vertices, edges,
+				Runtime.getRuntime().availableProcessors());
+		System.out.printf("%-10s %14s %12s%n", "algorithm", "weight", "ms");
+		for (int round = 0; round < rounds; round++) {
+			long start = System.nanoTime();
+			double weight = g.minimumSpanningForest().totalWeight();
+			System.out.printf("%-10s %14.0f %12.1f%n", "boruvka", weight, (System.nanoTime() - start) / 1e6);
+
+			start = System.nanoTime();
+			weight = prim(g.indexedView());
+			System.out.printf("%-10s %14.0f %12.1f%n", "prim", weight, (System.nanoTime() - start) / 1e6);
+		}
+	}
+
+	// Prim desde cada vertice todavia no alcanzado (un arbol por componente)
+	private static double prim(IndexedGraph<Integer> graph) {
+		int n = graph.vertexIndex().bound();
+		boolean[] inTree = new boolean[n];
+		IndexedMinHeap heap = new IndexedMinHeap(n);
+		EdgeCursor cursor = graph.outgoing();
+		double total = 0;
+		for (int root = 0; root < n; root++) {
+			if (inTree[root] || !graph.vertexIndex().isLive(root))
+				continue;
+			heap.insertOrDecrease(root, 0);
+			while (!heap.isEmpty()) {
+				total += heap.peekKey();
+				int u = heap.poll();
+				inTree[u] = true;
+				cursor.reset(u);
+				while (cursor.next())
+					if (!inTree[cursor.target()])
+						heap.insertOrDecrease(cursor.target(), cursor.weight());
+			}
+		}
+		return total;
+	}
+}
@@ -0,0 +1,82 @@
+package core;
+
+import core.GraphService.*;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+// Bytes asignados y tiempo por recorrido (getBFS, getDFS, isBipartite, inDegree).
+public class TraversalAllocationBenchmark {
+
+	private static final com.sun.management.ThreadMXBean THREADS =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	public static void main(String[] args) {
+		int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+		int edges = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+		int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+		GraphService<Character, EmptyEdgeProp> small = graph(EdgeMode.UNDIRECTED);
+		small.addEdge('A', 'B', new EmptyEdgeProp());
+		small.addEdge('A', 'C', new EmptyEdgeProp());
+		small.addEdge('B', 'D', new EmptyEdgeProp());
+		small.addEdge('B', 'E', new EmptyEdgeProp());
+		small.addEdge('C', 'E', new EmptyEdgeProp());
+
+		GraphService<Integer, EmptyEdgeProp> large = graph(EdgeMode.UNDIRECTED);
+		GraphService<Integer, EmptyEdgeProp> directed = graph(EdgeMode.DIRECTED);
+		Random random = new Random(1);
+		for (int v = 0; v < vertices; v++) {
+			large.addVertex(v);
+			directed.addVertex(v);
+		}
+		for (int e = 0; e < edges; e++) {
+			int from = random.nextInt(vertices);
+			int to = random.nextInt(vertices);
+			large.addEdge(from, to, new EmptyEdgeProp());
+			directed.addEdge(from, to, new EmptyEdgeProp());
+		}
+
+		System.out.printf("large: %d vertices, %d edges%n", vertices, edges);
+		System.out.printf("%-22s %16s %12s%n", "operation", "bytes/op", "ms/op");
+		for (int round = 0; round < rounds; round++) {
+			boolean print = round == rounds - 1;
+			measure("small getBFS", 100_000, print, () -> count(small.getBFS('A')));
+			measure("small getDFS", 100_000, print, () -> count(small.getDFS('A')));
+			measure("small isBipartite", 100_000, print, () -> small.isBipartite() ? 1 : 0);
+			measure("large getBFS", 1, print, () -> count(large.getBFS(0)));
+			measure("large getDFS", 1, print, () -> count(large.getDFS(0)));
+			measure("large isBipartite", 1, print, () -> large.isBipartite() ? 1 : 0);
+			measure("large inDegree", 20, print, () -> directed.inDegree(0));
+		}
+	}
+
+	private static <V> GraphService<V, EmptyEdgeProp> graph(EdgeMode mode) {
+		return new GraphBuilder<V, EmptyEdgeProp>()
+				.withMultiplicity(Multiplicity.MULTIPLE)
+				.withDirected(mode)
+				.withAcceptSelfLoop(SelfLoop.YES)
+				.withAcceptWeight(Weight.NO)
+				.build();
+	}
+
+	private static long count(Iterable<?> traversal) {
+		long visited = 0;
+		for (Object vertex : traversal)
+			visited++;
+		return visited;
+	}
+
+	private static long sink;
+
+	private static void measure(String operation, int repetitions, boolean print, java.util.function.LongSupplier run) {
+		long thread = Thread.currentThread().getId();
+		long bytes = THREADS.getThreadAllocatedBytes(thread);
+		long start = System.nanoTime();
+		for (int i = 0; i < repetitions; i++)
+			sink += run.getAsLong();
+		double ms = (System.nanoTime() - start) / 1e6 / repetitions;
+		bytes = THREADS.getThreadAllocatedBytes(thread) - bytes;
+		if (print)
+			System.out.printf("%-22s %16d %12.4f%n", operation, bytes / repetitions, ms);
+	}
+}